@@ -0,0 +1,139 @@
+package org.brapi.schematools.analyse.graphql;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.experimental.Accessors;
+import org.brapi.schematools.core.options.Options;
+import org.brapi.schematools.core.utils.ConfigurationUtils;
+import org.brapi.schematools.core.validiation.Validation;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Options for the {@link GraphQLQuerySynthesiser} and {@link GraphQLLoadTester}.
+ */
+@Getter
+@Setter
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+@Accessors(chain = true)
+public class GraphQLLoadTestOptions implements Options {
+
+    private Integer concurrency;
+    private Integer requestsPerShape;
+    private Integer warmupRequestsPerShape;
+    private Integer pageSize;
+    private Integer nestingDepth;
+    private Integer timeoutSeconds;
+    private Map<String, Object> sampleValues = new HashMap<>();
+
+    /**
+     * Load the default options
+     * @return The default options
+     */
+    public static GraphQLLoadTestOptions load() {
+        try {
+            return ConfigurationUtils.load("graphql-load-test-options.yaml", GraphQLLoadTestOptions.class) ;
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Load the options from an options file in YAML or JSON. The options file may have missing
+     * (defined) values, in these cases the default values are loaded. See {@link #load()}
+     * @param optionsFile The path to the options file in YAML or JSON.
+     * @return The options loaded from the YAML or JSON file.
+     * @throws IOException if the options file cannot be found or is incorrectly formatted.
+     */
+    public static GraphQLLoadTestOptions load(Path optionsFile) throws IOException {
+        return load().override(ConfigurationUtils.load(optionsFile, GraphQLLoadTestOptions.class)) ;
+    }
+
+    /**
+     * Load the options from an options input stream in YAML or JSON. The options file may have missing
+     * (defined) values, in these cases the default values are loaded. See {@link #load()}
+     * @param inputStream The input stream in YAML or JSON.
+     * @return The options loaded from input stream.
+     * @throws IOException if the input stream is not valid or the content is incorrectly formatted.
+     */
+    public static GraphQLLoadTestOptions load(InputStream inputStream) throws IOException {
+        return load().override(ConfigurationUtils.load(inputStream, GraphQLLoadTestOptions.class)) ;
+    }
+
+    /**
+     * Overrides the values in this Options Object from the provided Options Object if they are non-null
+     * @param overrideOptions the options which will be used to override this Options Object
+     * @return this object for method chaining
+     */
+    public GraphQLLoadTestOptions override(GraphQLLoadTestOptions overrideOptions) {
+        if (overrideOptions.concurrency != null) {
+            concurrency = overrideOptions.concurrency;
+        }
+
+        if (overrideOptions.requestsPerShape != null) {
+            requestsPerShape = overrideOptions.requestsPerShape;
+        }
+
+        if (overrideOptions.warmupRequestsPerShape != null) {
+            warmupRequestsPerShape = overrideOptions.warmupRequestsPerShape;
+        }
+
+        if (overrideOptions.pageSize != null) {
+            pageSize = overrideOptions.pageSize;
+        }
+
+        if (overrideOptions.nestingDepth != null) {
+            nestingDepth = overrideOptions.nestingDepth;
+        }
+
+        if (overrideOptions.timeoutSeconds != null) {
+            timeoutSeconds = overrideOptions.timeoutSeconds;
+        }
+
+        if (overrideOptions.sampleValues != null) {
+            sampleValues.putAll(overrideOptions.sampleValues);
+        }
+
+        return this ;
+    }
+
+    public Validation validate() {
+        return Validation.valid()
+            .assertNotNull(concurrency, "'concurrency' option on %s is null", this.getClass().getSimpleName())
+            .assertNotNull(requestsPerShape, "'requestsPerShape' option on %s is null", this.getClass().getSimpleName())
+            .assertNotNull(warmupRequestsPerShape, "'warmupRequestsPerShape' option on %s is null", this.getClass().getSimpleName())
+            .assertNotNull(pageSize, "'pageSize' option on %s is null", this.getClass().getSimpleName())
+            .assertNotNull(nestingDepth, "'nestingDepth' option on %s is null", this.getClass().getSimpleName())
+            .assertNotNull(timeoutSeconds, "'timeoutSeconds' option on %s is null", this.getClass().getSimpleName())
+            .assertNotNull(sampleValues, "'sampleValues' option on %s is null", this.getClass().getSimpleName());
+    }
+
+    /**
+     * Gets the sample value used for an argument or input field, for example the ID used in single queries
+     * @param name the name of the argument or input field
+     * @return the sample value, or {@code null} if there is no sample value for the argument or input field
+     */
+    @JsonIgnore
+    public Object getSampleValueFor(String name) {
+        return sampleValues.get(name);
+    }
+
+    /**
+     * Gets the timeout of each request
+     * @return the timeout of each request
+     */
+    @JsonIgnore
+    public Duration getTimeout() {
+        return Duration.ofSeconds(timeoutSeconds);
+    }
+}
@@ -0,0 +1,57 @@
+package org.brapi.schematools.analyse.graphql;
+
+import lombok.Value;
+import org.dflib.DataFrame;
+import org.dflib.builder.DataFrameArrayAppender;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * The results of a load test, with a result for each query shape
+ */
+@Value
+public class GraphQLLoadTestReport {
+    private static final String[] COLUMN_NAMES = new String[]{
+        "Shape",
+        "Requests",
+        "Errors",
+        "Throughput (/s)",
+        "Mean (ms)",
+        "p50 (ms)",
+        "p90 (ms)",
+        "p99 (ms)",
+        "Max (ms)"};
+
+    int concurrency;
+    List<GraphQLLoadTestResult> results;
+
+    /**
+     * Creates a table of the results, with a row for each query shape
+     * @return a table of the results
+     */
+    public DataFrame toDataFrame() {
+        DataFrameArrayAppender appender = DataFrame.byArrayRow(COLUMN_NAMES).appender();
+
+        results.forEach(result -> {
+            LatencyHistogram latencies = result.getLatencies();
+
+            appender.append(
+                result.getShape().getName(),
+                latencies.getCount() + result.getErrorCount(),
+                result.getErrorCount(),
+                Math.round(result.getThroughput() * 10) / 10.0,
+                toMillis(latencies.getMean()),
+                toMillis(latencies.getPercentile(50)),
+                toMillis(latencies.getPercentile(90)),
+                toMillis(latencies.getPercentile(99)),
+                toMillis(latencies.getMax()));
+        });
+
+        return appender.toDataFrame().as(String.format("GraphQL Load Test (concurrency %d)", concurrency));
+    }
+
+    private double toMillis(Duration duration) {
+        return Math.round(duration.toNanos() / 1e4) / 100.0;
+    }
+}
@@ -0,0 +1,38 @@
+package org.brapi.schematools.analyse.graphql;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.time.Duration;
+
+/**
+ * The result of load testing a single {@link GraphQLQueryShape}
+ */
+@Value
+@Builder
+public class GraphQLLoadTestResult {
+    /**
+     * The query shape that was executed
+     */
+    GraphQLQueryShape shape;
+    /**
+     * The latencies of the successful requests
+     */
+    LatencyHistogram latencies;
+    /**
+     * The number of requests that failed, either with an HTTP error status, a GraphQL error or an exception
+     */
+    long errorCount;
+    /**
+     * The elapsed time taken to execute all the measured requests
+     */
+    Duration elapsedTime;
+
+    /**
+     * Gets the number of requests per second, both successful and failed
+     * @return the number of requests per second
+     */
+    public double getThroughput() {
+        return elapsedTime.isZero() ? 0.0 : (latencies.getCount() + errorCount) / (elapsedTime.toNanos() / 1e9);
+    }
+}
@@ -0,0 +1,169 @@
+package org.brapi.schematools.analyse.graphql;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.brapi.schematools.core.authorization.AuthorizationProvider;
+import org.brapi.schematools.core.response.Response;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.brapi.schematools.core.response.Response.fail;
+import static org.brapi.schematools.core.response.Response.success;
+
+/**
+ * Drives a GraphQL endpoint with the queries synthesised by the {@link GraphQLQuerySynthesiser}, and
+ * records the latencies for each query shape. The shapes are executed one after another, and the requests
+ * for each shape are sent from virtual threads, with at most {@link GraphQLLoadTestOptions#getConcurrency()}
+ * requests in flight at any time. Each shape is first executed {@link GraphQLLoadTestOptions#getWarmupRequestsPerShape()}
+ * times without recording the latencies, so that the server and client are warmed up.
+ * A request fails if the response does not have a 200 status code, or contains GraphQL errors.
+ */
+@Slf4j
+public class GraphQLLoadTester {
+    private final URI endpoint;
+    private final HttpClient client;
+    private final AuthorizationProvider authorizationProvider;
+    private final GraphQLLoadTestOptions options;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Creates a load tester
+     * @param endpoint the URL of the GraphQL endpoint, for example 'http://localhost:8081/graphql'
+     * @param client the HTTP client to use for the execution of requests
+     * @param authorizationProvider the authorization provider need for authorization
+     * @param options the load test options
+     */
+    public GraphQLLoadTester(URI endpoint, HttpClient client, AuthorizationProvider authorizationProvider, GraphQLLoadTestOptions options) {
+        this.endpoint = endpoint;
+        this.client = client;
+        this.authorizationProvider = authorizationProvider;
+        this.options = options;
+        this.objectMapper = new ObjectMapper();
+    }
+
+    /**
+     * Executes the load test
+     * @param shapes the query shapes to be executed
+     * @return the report of the load test, or a failed response if the options are not valid or
+     * the authorization could not be obtained
+     */
+    public Response<GraphQLLoadTestReport> run(List<GraphQLQueryShape> shapes) {
+        return options.validate().asResponse()
+            .mapOnCondition(authorizationProvider.required(), authorizationProvider::getAuthorization)
+            .map(authorization -> run(shapes, authorization.getResult()));
+    }
+
+    private Response<GraphQLLoadTestReport> run(List<GraphQLQueryShape> shapes, String authorization) {
+        List<GraphQLLoadTestResult> results = new ArrayList<>();
+
+        for (GraphQLQueryShape shape : shapes) {
+            Response<HttpRequest> request = createRequest(shape, authorization);
+
+            if (request.hasErrors()) {
+                return fail(Response.ErrorType.VALIDATION,
+                    String.format("Can not create request for '%s' : %s", shape.getName(), request.getMessagesCombined(", ")));
+            }
+
+            log.debug("Executing '{}' {} times", shape.getName(), options.getRequestsPerShape());
+
+            execute(request.getResult(), options.getWarmupRequestsPerShape(), null, new AtomicLong());
+
+            LatencyHistogram latencies = new LatencyHistogram();
+            AtomicLong errorCount = new AtomicLong();
+
+            long start = System.nanoTime();
+
+            execute(request.getResult(), options.getRequestsPerShape(), latencies, errorCount);
+
+            results.add(GraphQLLoadTestResult.builder()
+                .shape(shape)
+                .latencies(latencies)
+                .errorCount(errorCount.get())
+                .elapsedTime(Duration.ofNanos(System.nanoTime() - start))
+                .build());
+        }
+
+        return success(new GraphQLLoadTestReport(options.getConcurrency(), results));
+    }
+
+    private void execute(HttpRequest request, int requests, LatencyHistogram latencies, AtomicLong errorCount) {
+        Semaphore permits = new Semaphore(options.getConcurrency());
+
+        // closing the executor waits for all the requests to complete
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < requests; i++) {
+                permits.acquireUninterruptibly();
+
+                executor.submit(() -> {
+                    try {
+                        send(request, latencies, errorCount);
+                    } finally {
+                        permits.release();
+                    }
+                });
+            }
+        }
+    }
+
+    private void send(HttpRequest request, LatencyHistogram latencies, AtomicLong errorCount) {
+        long start = System.nanoTime();
+
+        try {
+            HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+
+            long latency = System.nanoTime() - start;
+
+            if (response.statusCode() == 200 && !objectMapper.readTree(response.body()).has("errors")) {
+                if (latencies != null) {
+                    latencies.recordNanos(latency);
+                }
+            } else {
+                log.debug("Request to '{}' failed with status {} : {}", request.uri(), response.statusCode(), response.body());
+                errorCount.incrementAndGet();
+            }
+        } catch (IOException e) {
+            log.debug("Request to '{}' failed : {}", request.uri(), e.getMessage());
+            errorCount.incrementAndGet();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            errorCount.incrementAndGet();
+        }
+    }
+
+    private Response<HttpRequest> createRequest(GraphQLQueryShape shape, String authorization) {
+        Map<String, Object> body = new LinkedHashMap<>();
+
+        body.put("query", shape.getQuery());
+        body.put("variables", shape.getVariables());
+
+        try {
+            HttpRequest.Builder builder = HttpRequest.newBuilder(endpoint)
+                .timeout(options.getTimeout())
+                .header("Content-Type", "application/json")
+                .header("Accept", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(body)));
+
+            if (authorization != null) {
+                builder.header("Authorization", authorization);
+            }
+
+            return success(builder.build());
+        } catch (JsonProcessingException e) {
+            return fail(Response.ErrorType.VALIDATION, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package org.brapi.schematools.analyse.graphql;
+
+import lombok.Builder;
+import lombok.Singular;
+import lombok.Value;
+
+import java.util.Map;
+
+/**
+ * A query synthesised from a GraphQL schema by the {@link GraphQLQuerySynthesiser}, with the
+ * variables needed to execute it. The latencies of a load test are recorded per shape.
+ */
+@Value
+@Builder
+public class GraphQLQueryShape {
+    /**
+     * The name of the shape, which is the name of the query field and the depth of the nested
+     * relationships that are selected, for example 'studies' or 'studies/2'
+     */
+    String name;
+    /**
+     * The name of the query field
+     */
+    String fieldName;
+    /**
+     * The depth of the nested relationships that are selected, zero if only the fields of the queried type are selected
+     */
+    int depth;
+    /**
+     * The query document
+     */
+    String query;
+    /**
+     * The variables of the query
+     */
+    @Singular
+    Map<String, Object> variables;
+}
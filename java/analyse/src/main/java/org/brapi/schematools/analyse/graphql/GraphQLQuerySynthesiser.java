@@ -0,0 +1,192 @@
+package org.brapi.schematools.analyse.graphql;
+
+import graphql.schema.*;
+import lombok.extern.slf4j.Slf4j;
+import org.brapi.schematools.core.graphql.options.GraphQLGeneratorOptions;
+import org.brapi.schematools.core.response.Response;
+
+import java.util.*;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.brapi.schematools.core.response.Response.success;
+
+/**
+ * Synthesises representative queries from a GraphQL schema generated by the
+ * {@link org.brapi.schematools.core.graphql.GraphQLGenerator}, for use in a load test. A query is
+ * synthesised for each field on the query type, selecting all the scalar and enum fields of the
+ * returned type. List queries are given a page of the size in {@link GraphQLLoadTestOptions#getPageSize()},
+ * and the generated input types, such as those used for search queries, are populated from the
+ * {@link GraphQLLoadTestOptions#getSampleValues()}. If {@link GraphQLLoadTestOptions#getNestingDepth()}
+ * is greater than zero, a further query is synthesised for each field that also selects the nested
+ * relationships to that depth. Queries with required arguments that have no sample value are skipped.
+ */
+@Slf4j
+public class GraphQLQuerySynthesiser {
+    private static final String TYPENAME = "__typename";
+
+    private final GraphQLGeneratorOptions generatorOptions;
+    private final GraphQLLoadTestOptions options;
+
+    /**
+     * Creates a synthesiser
+     * @param generatorOptions the options with which the schema was generated
+     * @param options the load test options
+     */
+    public GraphQLQuerySynthesiser(GraphQLGeneratorOptions generatorOptions, GraphQLLoadTestOptions options) {
+        this.generatorOptions = generatorOptions;
+        this.options = options;
+    }
+
+    /**
+     * Synthesises the queries for a schema
+     * @param schema the GraphQL schema
+     * @return the synthesised queries, or a failed response if the options are not valid
+     */
+    public Response<List<GraphQLQueryShape>> synthesise(GraphQLSchema schema) {
+        return options.validate().asResponse().merge(generatorOptions.validate().asResponse())
+            .map(() -> success(schema.getQueryType().getFieldDefinitions().stream()
+                .flatMap(field -> synthesise(field).stream())
+                .toList()));
+    }
+
+    private List<GraphQLQueryShape> synthesise(GraphQLFieldDefinition field) {
+        Map<String, Object> variables = new LinkedHashMap<>();
+
+        for (GraphQLArgument argument : field.getArguments()) {
+            Object value = createValue(argument.getName(), argument.getType());
+
+            if (value != null) {
+                variables.put(argument.getName(), value);
+            } else if (GraphQLTypeUtil.isNonNull(argument.getType())) {
+                log.debug("Skipping query '{}', no sample value for required argument '{}'", field.getName(), argument.getName());
+
+                return List.of();
+            }
+        }
+
+        return IntStream.of(0, options.getNestingDepth())
+            .distinct()
+            .mapToObj(depth -> createShape(field, variables, depth))
+            .toList();
+    }
+
+    private GraphQLQueryShape createShape(GraphQLFieldDefinition field, Map<String, Object> variables, int depth) {
+        StringBuilder query = new StringBuilder("query ")
+            .append(depth > 0 ? String.format("%s_%d", field.getName(), depth) : field.getName());
+
+        List<GraphQLArgument> arguments = field.getArguments().stream()
+            .filter(argument -> variables.containsKey(argument.getName()))
+            .toList();
+
+        if (!arguments.isEmpty()) {
+            query.append(arguments.stream()
+                .map(argument -> String.format("$%s: %s", argument.getName(), GraphQLTypeUtil.simplePrint(argument.getType())))
+                .collect(Collectors.joining(", ", "(", ")")));
+        }
+
+        query.append(" { ").append(field.getName());
+
+        if (!arguments.isEmpty()) {
+            query.append(arguments.stream()
+                .map(argument -> String.format("%s: $%s", argument.getName(), argument.getName()))
+                .collect(Collectors.joining(", ", "(", ")")));
+        }
+
+        query.append(createSelectionSet(field.getType(), depth)).append(" }");
+
+        return GraphQLQueryShape.builder()
+            .name(depth > 0 ? String.format("%s/%d", field.getName(), depth) : field.getName())
+            .fieldName(field.getName())
+            .depth(depth)
+            .query(query.toString())
+            .variables(variables)
+            .build();
+    }
+
+    private Object createValue(String name, GraphQLInputType type) {
+        GraphQLType unwrappedType = GraphQLTypeUtil.unwrapNonNull(type);
+
+        if (unwrappedType instanceof GraphQLInputObjectType inputObjectType) {
+            if (inputObjectType.getName().equals(generatorOptions.getQueryType().getListQuery().getPageInputTypeName())) {
+                Map<String, Object> page = new LinkedHashMap<>();
+
+                page.put("page", 0);
+                page.put("pageSize", options.getPageSize());
+
+                return page;
+            }
+
+            // an empty input is still provided, so that the search is executed without filters
+            return createInput(inputObjectType, new HashSet<>());
+        }
+
+        return options.getSampleValueFor(name);
+    }
+
+    private Map<String, Object> createInput(GraphQLInputObjectType inputObjectType, Set<String> visitedTypeNames) {
+        Map<String, Object> input = new LinkedHashMap<>();
+
+        visitedTypeNames.add(inputObjectType.getName());
+
+        inputObjectType.getFieldDefinitions().forEach(inputField -> {
+            Object value = null;
+
+            if (GraphQLTypeUtil.unwrapAll(inputField.getType()) instanceof GraphQLInputObjectType fieldType) {
+                // nested inputs are only provided if they have sample values, and are not recursive
+                if (!visitedTypeNames.contains(fieldType.getName()) && GraphQLTypeUtil.unwrapNonNull(inputField.getType()) == fieldType) {
+                    Map<String, Object> nestedInput = createInput(fieldType, visitedTypeNames);
+                    value = nestedInput.isEmpty() ? null : nestedInput;
+                }
+            } else {
+                value = options.getSampleValueFor(inputField.getName());
+            }
+
+            if (value != null) {
+                input.put(inputField.getName(), value);
+            }
+        });
+
+        visitedTypeNames.remove(inputObjectType.getName());
+
+        return input;
+    }
+
+    private String createSelectionSet(GraphQLOutputType type, int depth) {
+        GraphQLUnmodifiedType unwrappedType = GraphQLTypeUtil.unwrapAll(type);
+
+        if (!(unwrappedType instanceof GraphQLFieldsContainer fieldsContainer)) {
+            return unwrappedType instanceof GraphQLUnionType ? String.format(" { %s }", TYPENAME) : "";
+        }
+
+        List<String> selections = new ArrayList<>();
+
+        for (GraphQLFieldDefinition field : fieldsContainer.getFieldDefinitions()) {
+            if (field.getArguments().stream().anyMatch(argument -> GraphQLTypeUtil.isNonNull(argument.getType()))) {
+                continue;
+            }
+
+            GraphQLUnmodifiedType fieldType = GraphQLTypeUtil.unwrapAll(field.getType());
+
+            if (GraphQLTypeUtil.isLeaf(fieldType)) {
+                selections.add(field.getName());
+            } else if (isWrapperField(field)) {
+                // the data and page of a list response are not relationships, so do not count towards the depth
+                selections.add(field.getName() + createSelectionSet(field.getType(), depth));
+            } else if (depth > 0) {
+                selections.add(field.getName() + createSelectionSet(field.getType(), depth - 1));
+            }
+        }
+
+        if (selections.isEmpty()) {
+            selections.add(TYPENAME);
+        }
+
+        return String.format(" { %s }", String.join(" ", selections));
+    }
+
+    private boolean isWrapperField(GraphQLFieldDefinition field) {
+        return field.getName().equals(generatorOptions.getQueryType().getListQuery().getDataFieldName()) ||
+            field.getName().equals(generatorOptions.getQueryType().getListQuery().getPageFieldName());
+    }
+}
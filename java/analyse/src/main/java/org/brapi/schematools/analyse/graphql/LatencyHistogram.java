@@ -0,0 +1,106 @@
+package org.brapi.schematools.analyse.graphql;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A histogram of request latencies, with exponentially sized buckets so that the recorded latencies
+ * are accurate to within 5% from one microsecond up to one hour, in a fixed amount of memory. The buckets
+ * are sized in nanoseconds, so rounding does not add to the error, and all latencies below one microsecond
+ * share the first bucket. Latencies can be recorded concurrently from many threads without locking.
+ */
+public class LatencyHistogram {
+    private static final double BUCKET_GROWTH = 1.05;
+    private static final double LOG_BUCKET_GROWTH = Math.log(BUCKET_GROWTH);
+    private static final long MIN_NANOS = 1000;
+    private static final long MAX_NANOS = Duration.ofHours(1).toNanos();
+    private static final int BUCKET_COUNT = bucketIndex(MAX_NANOS) + 1;
+
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_COUNT);
+    private final AtomicLong count = new AtomicLong();
+    private final AtomicLong totalNanos = new AtomicLong();
+    private final AtomicLong maxNanos = new AtomicLong();
+
+    /**
+     * Records a latency
+     * @param latency the latency to be recorded
+     */
+    public void record(Duration latency) {
+        recordNanos(latency.toNanos());
+    }
+
+    /**
+     * Records a latency in nanoseconds
+     * @param nanos the latency to be recorded in nanoseconds
+     */
+    public void recordNanos(long nanos) {
+        buckets.incrementAndGet(bucketIndex(Math.min(nanos, MAX_NANOS)));
+        count.incrementAndGet();
+        totalNanos.addAndGet(nanos);
+        maxNanos.accumulateAndGet(nanos, Math::max);
+    }
+
+    /**
+     * Gets the number of recorded latencies
+     * @return the number of recorded latencies
+     */
+    public long getCount() {
+        return count.get();
+    }
+
+    /**
+     * Gets the mean of the recorded latencies
+     * @return the mean of the recorded latencies, or zero if no latencies have been recorded
+     */
+    public Duration getMean() {
+        long recorded = count.get();
+
+        return recorded > 0 ? Duration.ofNanos(totalNanos.get() / recorded) : Duration.ZERO;
+    }
+
+    /**
+     * Gets the maximum recorded latency
+     * @return the maximum recorded latency, or zero if no latencies have been recorded
+     */
+    public Duration getMax() {
+        return Duration.ofNanos(maxNanos.get());
+    }
+
+    /**
+     * Gets the latency below which the provided percentage of the recorded latencies fall. The value
+     * is the upper bound of the bucket containing the percentile, so may be up to 5% higher than the recorded latency,
+     * or up to one microsecond for latencies below one microsecond.
+     * @param percentile the percentile, between 0 and 100, for example 99 for the 99th percentile
+     * @return the latency at the percentile, or zero if no latencies have been recorded
+     */
+    public Duration getPercentile(double percentile) {
+        long recorded = count.get();
+
+        if (recorded == 0) {
+            return Duration.ZERO;
+        }
+
+        long rank = Math.max(1, (long) Math.ceil(recorded * Math.min(Math.max(percentile, 0), 100) / 100));
+        long cumulative = 0;
+
+        for (int index = 0; index < BUCKET_COUNT; index++) {
+            cumulative += buckets.get(index);
+
+            if (cumulative >= rank) {
+                return Duration.ofNanos(Math.min(bucketUpperBoundNanos(index), maxNanos.get()));
+            }
+        }
+
+        return getMax();
+    }
+
+    // bucket 0 holds latencies up to MIN_NANOS, bucket i those above MIN_NANOS * BUCKET_GROWTH^(i-1) up to MIN_NANOS * BUCKET_GROWTH^i
+    private static int bucketIndex(long nanos) {
+        return nanos <= MIN_NANOS ? 0 : (int) Math.ceil(Math.log((double) nanos / MIN_NANOS) / LOG_BUCKET_GROWTH);
+    }
+
+    private static long bucketUpperBoundNanos(int index) {
+        return (long) Math.ceil(MIN_NANOS * Math.pow(BUCKET_GROWTH, index));
+    }
+}
@@ -0,0 +1,43 @@
+package org.brapi.schematools.analyse.graphql;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GraphQLLoadTestOptionsTest {
+
+    @Test
+    void load() {
+        GraphQLLoadTestOptions options = GraphQLLoadTestOptions.load();
+
+        assertTrue(options.validate().isValid());
+
+        assertEquals(16, options.getConcurrency());
+        assertEquals(100, options.getRequestsPerShape());
+        assertEquals(10, options.getWarmupRequestsPerShape());
+        assertEquals(100, options.getPageSize());
+        assertEquals(2, options.getNestingDepth());
+        assertEquals(30, options.getTimeout().toSeconds());
+        assertTrue(options.getSampleValues().isEmpty());
+    }
+
+    @Test
+    void overwrite() throws IOException, URISyntaxException {
+        GraphQLLoadTestOptions options = GraphQLLoadTestOptions.load(
+            Path.of(ClassLoader.getSystemResource("graphql-load-test-override-options.yaml").toURI()));
+
+        assertTrue(options.validate().isValid());
+
+        assertEquals(4, options.getConcurrency());
+        assertEquals(100, options.getRequestsPerShape());
+        assertEquals(1, options.getNestingDepth());
+        assertEquals("study1", options.getSampleValueFor("studyDbId"));
+        assertEquals(List.of("Maize"), options.getSampleValueFor("commonCropNames"));
+        assertNull(options.getSampleValueFor("germplasmDbId"));
+    }
+}
@@ -0,0 +1,83 @@
+package org.brapi.schematools.analyse.graphql;
+
+import com.sun.net.httpserver.HttpServer;
+import org.brapi.schematools.core.authorization.NoAuthorizationProvider;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GraphQLLoadTesterTest {
+    private HttpServer server;
+    private final AtomicInteger requestCount = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/graphql", exchange -> {
+            requestCount.incrementAndGet();
+
+            String request = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+            byte[] body = (request.contains("failing") ?
+                "{\"errors\":[{\"message\":\"failed\"}]}" : "{\"data\":{}}").getBytes(StandardCharsets.UTF_8);
+
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+
+            try (OutputStream outputStream = exchange.getResponseBody()) {
+                outputStream.write(body);
+            }
+        });
+        server.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    void run() {
+        GraphQLLoadTestOptions options = GraphQLLoadTestOptions.load()
+            .setConcurrency(4)
+            .setRequestsPerShape(20)
+            .setWarmupRequestsPerShape(2);
+
+        GraphQLLoadTester loadTester = new GraphQLLoadTester(
+            URI.create(String.format("http://localhost:%d/graphql", server.getAddress().getPort())),
+            HttpClient.newHttpClient(), new NoAuthorizationProvider(), options);
+
+        GraphQLLoadTestReport report = loadTester.run(List.of(
+                GraphQLQueryShape.builder().name("studies").fieldName("studies").query("query studies { studies { data { studyDbId } } }").build(),
+                GraphQLQueryShape.builder().name("failing").fieldName("failing").query("query failing { failing }").build()))
+            .onFailDoWithResponse(response -> fail(response.getMessagesCombined(", "))).getResult();
+
+        assertEquals(44, requestCount.get());
+        assertEquals(4, report.getConcurrency());
+        assertEquals(2, report.getResults().size());
+
+        GraphQLLoadTestResult studies = report.getResults().get(0);
+
+        assertEquals("studies", studies.getShape().getName());
+        assertEquals(20, studies.getLatencies().getCount());
+        assertEquals(0, studies.getErrorCount());
+        assertTrue(studies.getThroughput() > 0);
+
+        GraphQLLoadTestResult failing = report.getResults().get(1);
+
+        assertEquals(0, failing.getLatencies().getCount());
+        assertEquals(20, failing.getErrorCount());
+
+        assertEquals(2, report.toDataFrame().height());
+    }
+}
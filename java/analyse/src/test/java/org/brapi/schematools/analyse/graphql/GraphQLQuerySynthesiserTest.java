@@ -0,0 +1,66 @@
+package org.brapi.schematools.analyse.graphql;
+
+import graphql.ExecutionInput;
+import graphql.ExecutionResult;
+import graphql.GraphQL;
+import graphql.schema.GraphQLSchema;
+import graphql.schema.idl.RuntimeWiring;
+import graphql.schema.idl.SchemaGenerator;
+import graphql.schema.idl.SchemaParser;
+import org.brapi.schematools.core.graphql.options.GraphQLGeneratorOptions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GraphQLQuerySynthesiserTest {
+
+    private static final GraphQLSchema SCHEMA = new SchemaGenerator().makeExecutableSchema(new SchemaParser().parse("""
+        type Query {
+            study(studyDbId: ID!): Study
+            studies(paging: PageInput, input: StudyInput): StudyListResponse
+            trial(trialDbId: ID!): Trial
+        }
+        input PageInput { page: Int pageSize: Int }
+        input StudyInput { studyDbIds: [String] commonCropNames: [String] trial: TrialInput }
+        input TrialInput { trialDbIds: [String] }
+        type StudyListResponse { data: [Study] page: PageInfo }
+        type PageInfo { pageNumber: Int pageSize: Int totalCount: Int totalPages: Int }
+        type Study { studyDbId: ID! studyName: String trial: Trial observationVariables(paging: PageInput): [Variable] }
+        type Trial { trialDbId: ID! trialName: String studies: [Study] }
+        type Variable { observationVariableDbId: ID! }
+        """), RuntimeWiring.MOCKED_WIRING);
+
+    @Test
+    void synthesise() {
+        GraphQLLoadTestOptions options = GraphQLLoadTestOptions.load()
+            .setNestingDepth(1)
+            .setSampleValues(Map.of("studyDbId", "study1", "commonCropNames", List.of("Maize")));
+
+        List<GraphQLQueryShape> shapes = new GraphQLQuerySynthesiser(GraphQLGeneratorOptions.load(), options).synthesise(SCHEMA)
+            .onFailDoWithResponse(response -> fail(response.getMessagesCombined(", "))).getResult();
+
+        // 'trial' is skipped, since there is no sample value for 'trialDbId'
+        assertEquals(List.of("study", "study/1", "studies", "studies/1"), shapes.stream().map(GraphQLQueryShape::getName).toList());
+
+        assertEquals("query study($studyDbId: ID!) { study(studyDbId: $studyDbId) { studyDbId studyName } }", shapes.get(0).getQuery());
+        assertEquals("query study_1($studyDbId: ID!) { study(studyDbId: $studyDbId) " +
+            "{ studyDbId studyName trial { trialDbId trialName } observationVariables { observationVariableDbId } } }", shapes.get(1).getQuery());
+        assertEquals("query studies($paging: PageInput, $input: StudyInput) { studies(paging: $paging, input: $input) " +
+            "{ data { studyDbId studyName } page { pageNumber pageSize totalCount totalPages } } }", shapes.get(2).getQuery());
+
+        assertEquals(Map.of("studyDbId", "study1"), shapes.get(0).getVariables());
+        assertEquals(Map.of(
+            "paging", Map.of("page", 0, "pageSize", 100),
+            "input", Map.of("commonCropNames", List.of("Maize"))), shapes.get(2).getVariables());
+
+        for (GraphQLQueryShape shape : shapes) {
+            ExecutionResult result = GraphQL.newGraphQL(SCHEMA).build()
+                .execute(ExecutionInput.newExecutionInput(shape.getQuery()).variables(shape.getVariables()).build());
+
+            assertTrue(result.getErrors().isEmpty(), () -> shape.getName() + " : " + result.getErrors());
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package org.brapi.schematools.analyse.graphql;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LatencyHistogramTest {
+
+    @Test
+    void percentiles() {
+        LatencyHistogram histogram = new LatencyHistogram();
+
+        IntStream.rangeClosed(1, 100).parallel().forEach(millis -> histogram.record(Duration.ofMillis(millis)));
+
+        assertEquals(100, histogram.getCount());
+        assertEquals(Duration.ofMillis(100), histogram.getMax());
+        assertEquals(Duration.ofNanos(50_500_000), histogram.getMean());
+
+        assertWithin(Duration.ofMillis(50), histogram.getPercentile(50));
+        assertWithin(Duration.ofMillis(90), histogram.getPercentile(90));
+        assertWithin(Duration.ofMillis(99), histogram.getPercentile(99));
+        assertEquals(Duration.ofMillis(100), histogram.getPercentile(100));
+    }
+
+    @Test
+    void microseconds() {
+        LatencyHistogram histogram = new LatencyHistogram();
+
+        IntStream.rangeClosed(1, 20).forEach(micros -> histogram.record(Duration.ofNanos(micros * 1000L)));
+
+        assertWithin(Duration.ofNanos(1000), histogram.getPercentile(5));
+        assertWithin(Duration.ofNanos(2000), histogram.getPercentile(10));
+        assertWithin(Duration.ofNanos(10_000), histogram.getPercentile(50));
+        assertEquals(Duration.ofNanos(20_000), histogram.getPercentile(100));
+    }
+
+    @Test
+    void empty() {
+        LatencyHistogram histogram = new LatencyHistogram();
+
+        assertEquals(0, histogram.getCount());
+        assertEquals(Duration.ZERO, histogram.getMean());
+        assertEquals(Duration.ZERO, histogram.getPercentile(99));
+    }
+
+    private void assertWithin(Duration expected, Duration actual) {
+        assertTrue(actual.compareTo(expected) >= 0 && actual.toNanos() <= expected.toNanos() * 1.05,
+            () -> String.format("Expected %s within 5%% but was %s", expected, actual));
+    }
+}
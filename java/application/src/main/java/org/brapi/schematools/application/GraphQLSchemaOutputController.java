@@ -0,0 +1,81 @@
+package org.brapi.schematools.application;
+
+import jakarta.servlet.http.HttpServletResponse;
+import org.brapi.schematools.core.graphql.GraphQLSchemaOutputCache;
+import org.brapi.schematools.core.graphql.datafetcher.ExecutableGraphQLSchema;
+import org.brapi.schematools.core.graphql.metadata.GraphQLGeneratorMetadata;
+import org.brapi.schematools.core.graphql.options.GraphQLGeneratorOptions;
+import org.brapi.schematools.core.response.Response;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.function.Supplier;
+
+import static org.brapi.schematools.core.response.Response.success;
+
+/**
+ * Serves the schema of the GraphQL stub server in SDL and as the JSON result of the standard introspection
+ * query. Both are streamed to the response as they are written. If the 'brapi.graphql.cache-directory' is
+ * provided they are created once and cached there, keyed on a fingerprint of the BrAPI JSON Schema and options,
+ * or of the snapshot if the schema is loaded from a snapshot, so that frequent requests are served from the cache
+ * files rather than printing the schema or writing the introspection result. The fingerprint is created on
+ * the first request, so that hashing the BrAPI JSON Schema does not slow the startup.
+ */
+@RestController
+@ConditionalOnProperty("brapi.schema.directory")
+public class GraphQLSchemaOutputController {
+    private final ExecutableGraphQLSchema executableSchema;
+    private final GraphQLSchemaOutputCache cache;
+    private final Supplier<Response<String>> fingerprintSupplier;
+    private String fingerprint;
+
+    public GraphQLSchemaOutputController(ExecutableGraphQLSchema executableSchema,
+                                         GraphQLGeneratorOptions options,
+                                         @Value("${brapi.schema.directory}") String schemaDirectory,
+                                         @Value("${brapi.graphql.snapshot:}") String snapshotFile,
+                                         @Value("${brapi.graphql.cache-directory:}") String cacheDirectory) {
+        this.executableSchema = executableSchema;
+        this.cache = new GraphQLSchemaOutputCache(cacheDirectory.isBlank() ? null : Path.of(cacheDirectory));
+        this.fingerprintSupplier = snapshotFile.isBlank() ?
+            () -> GraphQLSchemaOutputCache.fingerprint(Path.of(schemaDirectory), options, new GraphQLGeneratorMetadata()) :
+            () -> GraphQLSchemaOutputCache.fingerprintSnapshot(Path.of(snapshotFile));
+    }
+
+    @GetMapping(value = "/graphql/schema.graphqls", produces = MediaType.TEXT_PLAIN_VALUE)
+    public void getSchema(HttpServletResponse response) throws IOException {
+        cache.writeIDL(getFingerprint(), () -> success(executableSchema.getSchema()), openWriter(response, MediaType.TEXT_PLAIN_VALUE))
+            .getResultOrThrow(this::asException);
+    }
+
+    @GetMapping(value = "/graphql/introspection", produces = MediaType.APPLICATION_JSON_VALUE)
+    public void getIntrospection(HttpServletResponse response) throws IOException {
+        cache.writeIntrospection(getFingerprint(), () -> success(executableSchema.getSchema()), openWriter(response, MediaType.APPLICATION_JSON_VALUE))
+            .getResultOrThrow(this::asException);
+    }
+
+    private PrintWriter openWriter(HttpServletResponse response, String contentType) throws IOException {
+        response.setContentType(contentType);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+
+        return response.getWriter();
+    }
+
+    private synchronized String getFingerprint() {
+        if (fingerprint == null) {
+            fingerprint = fingerprintSupplier.get().getResultOrThrow(this::asException);
+        }
+
+        return fingerprint;
+    }
+
+    private IllegalStateException asException(Response<?> response) {
+        return new IllegalStateException(response.getMessagesCombined(", "));
+    }
+}
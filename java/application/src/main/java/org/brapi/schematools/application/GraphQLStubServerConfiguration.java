@@ -0,0 +1,266 @@
+package org.brapi.schematools.application;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import graphql.execution.instrumentation.Instrumentation;
+import graphql.schema.GraphQLSchema;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.brapi.schematools.core.brapischema.BrAPISchemaReader;
+import org.brapi.schematools.core.graphql.GraphQLGenerator;
+import org.brapi.schematools.core.graphql.GraphQLSchemaSnapshot;
+import org.brapi.schematools.core.graphql.datafetcher.ExecutableGraphQLSchema;
+import org.brapi.schematools.core.graphql.datafetcher.GraphQLDataFetcherGenerator;
+import org.brapi.schematools.core.graphql.datafetcher.InMemoryBrAPIDataStore;
+import org.brapi.schematools.core.graphql.execution.PersistedQueryDocumentProvider;
+import org.brapi.schematools.core.graphql.instrumentation.BatchLoadTiming;
+import org.brapi.schematools.core.graphql.instrumentation.QueryComplexityInstrumentation;
+import org.brapi.schematools.core.graphql.instrumentation.QueryCost;
+import org.brapi.schematools.core.graphql.instrumentation.QueryCostCalculator;
+import org.brapi.schematools.core.graphql.instrumentation.QueryCostListener;
+import org.brapi.schematools.core.graphql.instrumentation.ResolverMetricsInstrumentation;
+import org.brapi.schematools.core.graphql.instrumentation.ResolverMetricsListener;
+import org.brapi.schematools.core.graphql.instrumentation.ResolverTiming;
+import org.brapi.schematools.core.graphql.options.GraphQLGeneratorOptions;
+import org.brapi.schematools.core.model.BrAPIClass;
+import org.brapi.schematools.core.response.Response;
+import org.dataloader.MappedBatchLoader;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.graphql.ExecutionGraphQlService;
+import org.springframework.graphql.execution.BatchLoaderRegistry;
+import org.springframework.graphql.execution.DefaultBatchLoaderRegistry;
+import org.springframework.graphql.execution.DefaultExecutionGraphQlService;
+import org.springframework.graphql.execution.GraphQlSource;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Serves the generated GraphQL schema as a stub server, answering queries from the JSON examples
+ * in the 'brapi.examples.directory'. Enabled by setting 'brapi.schema.directory' to the BrAPI JSON Schema
+ * directory. The schema is loaded from the snapshot in 'brapi.graphql.snapshot' if provided, otherwise it is
+ * generated on startup, with the options in 'brapi.graphql.options' if provided. Queries that exceed the depth
+ * or complexity limits in the options are rejected, and the cost of each query is recorded in the
+ * 'brapi.graphql.query.depth' and 'brapi.graphql.query.complexity' metrics. Parsed and validated queries are
+ * cached, including the persisted queries in 'brapi.graphql.persisted-queries', and the hits and misses are
+ * recorded in the 'brapi.graphql.document.cache' metrics. Queries can also be sent by their hash alone, as
+ * Apollo automatic persisted queries. The time taken to resolve each query and relationship
+ * field is recorded in the 'brapi.graphql.resolver' metrics, tagged with the BrAPI entity and relationship type,
+ * and the sizes of the batches loaded for the relationships in the 'brapi.graphql.batch' metrics. If
+ * 'brapi.graphql.resolver-tracing' is {@code true} the timings of each query are also returned in the
+ * 'resolverTracing' extension of the result.
+ */
+@Slf4j
+@Configuration
+@ConditionalOnProperty("brapi.schema.directory")
+public class GraphQLStubServerConfiguration {
+
+    @Bean
+    public GraphQLGeneratorOptions graphQLGeneratorOptions(@Value("${brapi.graphql.options:}") String optionsFile) throws IOException {
+        return optionsFile.isBlank() ? GraphQLGeneratorOptions.load() : GraphQLGeneratorOptions.load(Path.of(optionsFile));
+    }
+
+    /**
+     * Reads the BrAPI classes once, so that they are shared by the beans that need them
+     */
+    @Bean
+    public List<BrAPIClass> brAPIClasses(GraphQLGeneratorOptions options, @Value("${brapi.schema.directory}") String schemaDirectory) {
+        return new BrAPISchemaReader(options.getBrAPISchemaReader())
+            .readDirectories(Path.of(schemaDirectory))
+            .getResultOrThrow(this::asException);
+    }
+
+    @Bean
+    public InMemoryBrAPIDataStore brAPIDataStore(GraphQLGeneratorOptions options,
+                                                 @Value("${brapi.examples.directory:}") String examplesDirectory) {
+        InMemoryBrAPIDataStore store = new InMemoryBrAPIDataStore(options.getProperties().getIds()::getIDFieldFor);
+
+        if (examplesDirectory.isBlank()) {
+            log.warn("No 'brapi.examples.directory' provided, all queries will return empty results");
+
+            return store;
+        }
+
+        return store.load(Path.of(examplesDirectory)).getResultOrThrow(this::asException);
+    }
+
+    @Bean
+    public ExecutableGraphQLSchema executableGraphQLSchema(GraphQLGeneratorOptions options,
+                                                           InMemoryBrAPIDataStore store,
+                                                           List<BrAPIClass> brAPIClasses,
+                                                           @Value("${brapi.graphql.snapshot:}") String snapshotFile) {
+        Response<GraphQLSchema> schema = snapshotFile.isBlank() ?
+            new GraphQLGenerator(options).generate(brAPIClasses) :
+            new GraphQLSchemaSnapshot().read(Path.of(snapshotFile));
+
+        return schema
+            .mapResultToResponse(graphQLSchema -> new GraphQLDataFetcherGenerator(options, store).generate(brAPIClasses, graphQLSchema))
+            .getResultOrThrow(this::asException);
+    }
+
+    @Bean
+    public BatchLoaderRegistry batchLoaderRegistry(ExecutableGraphQLSchema executableSchema,
+                                                   ResolverMetricsInstrumentation resolverMetricsInstrumentation) {
+        BatchLoaderRegistry registry = new DefaultBatchLoaderRegistry();
+
+        executableSchema.getBatchLoaders().forEach((name, batchLoader) -> {
+            MappedBatchLoader<String, Object> instrumentedBatchLoader = resolverMetricsInstrumentation.instrument(name, batchLoader);
+
+            registry.<String, Object>forName(name)
+                .registerMappedBatchLoader((keys, environment) -> Mono.fromCompletionStage(instrumentedBatchLoader.load(keys)));
+        });
+
+        return registry;
+    }
+
+    @Bean
+    public QueryComplexityInstrumentation queryComplexityInstrumentation(GraphQLGeneratorOptions options,
+                                                                         MeterRegistry meterRegistry,
+                                                                         List<BrAPIClass> brAPIClasses) {
+        QueryCostCalculator calculator = new QueryCostCalculator(options, brAPIClasses);
+
+        DistributionSummary depth = DistributionSummary.builder("brapi.graphql.query.depth")
+            .description("The depth of the GraphQL queries")
+            .register(meterRegistry);
+
+        DistributionSummary complexity = DistributionSummary.builder("brapi.graphql.query.complexity")
+            .description("The estimated complexity of the GraphQL queries")
+            .register(meterRegistry);
+
+        return new QueryComplexityInstrumentation(calculator, options.getQueryComplexity(), new QueryCostListener() {
+            @Override
+            public void costCalculated(QueryCost cost) {
+                depth.record(cost.getDepth());
+                complexity.record(cost.getComplexity());
+            }
+
+            @Override
+            public void queryRejected(QueryCost cost, String reason) {
+                Counter.builder("brapi.graphql.query.rejected")
+                    .description("The number of GraphQL queries rejected for exceeding the limits")
+                    .tag("reason", reason)
+                    .register(meterRegistry)
+                    .increment();
+            }
+        });
+    }
+
+    @Bean
+    public ResolverMetricsInstrumentation resolverMetricsInstrumentation(GraphQLGeneratorOptions options,
+                                                                         MeterRegistry meterRegistry,
+                                                                         List<BrAPIClass> brAPIClasses,
+                                                                         @Value("${brapi.graphql.resolver-tracing:false}") boolean tracing) {
+        return new ResolverMetricsInstrumentation(options, brAPIClasses, new ResolverMetricsListener() {
+            @Override
+            public void fieldResolved(ResolverTiming timing) {
+                Timer.builder("brapi.graphql.resolver")
+                    .description("The time taken to resolve the GraphQL query and relationship fields")
+                    .tag("type", timing.getTypeName())
+                    .tag("field", timing.getFieldName())
+                    .tag("entity", timing.getEntity())
+                    .tag("relationship", timing.getRelationship())
+                    .tag("outcome", timing.isFailed() ? "error" : "success")
+                    .register(meterRegistry)
+                    .record(timing.getDuration());
+
+                DistributionSummary.builder("brapi.graphql.resolver.results")
+                    .description("The number of objects returned by the GraphQL query and relationship fields")
+                    .tag("type", timing.getTypeName())
+                    .tag("field", timing.getFieldName())
+                    .tag("entity", timing.getEntity())
+                    .tag("relationship", timing.getRelationship())
+                    .register(meterRegistry)
+                    .record(timing.getResultCount());
+            }
+
+            @Override
+            public void batchLoaded(BatchLoadTiming timing) {
+                Timer.builder("brapi.graphql.batch")
+                    .description("The time taken to load the batches of related BrAPI entities")
+                    .tag("loader", timing.getLoaderName())
+                    .tag("outcome", timing.isFailed() ? "error" : "success")
+                    .register(meterRegistry)
+                    .record(timing.getDuration());
+
+                DistributionSummary.builder("brapi.graphql.batch.size")
+                    .description("The number of keys in the batches of related BrAPI entities")
+                    .tag("loader", timing.getLoaderName())
+                    .register(meterRegistry)
+                    .record(timing.getBatchSize());
+            }
+        }, tracing);
+    }
+
+    @Bean
+    public PersistedQueryDocumentProvider persistedQueryDocumentProvider(MeterRegistry meterRegistry,
+                                                                         @Value("${brapi.graphql.persisted-queries:}") String persistedQueriesDirectory,
+                                                                         @Value("${brapi.graphql.document-cache-size:1000}") int documentCacheSize) {
+        PersistedQueryDocumentProvider provider = new PersistedQueryDocumentProvider(documentCacheSize);
+
+        if (!persistedQueriesDirectory.isBlank()) {
+            provider.registerAll(Path.of(persistedQueriesDirectory))
+                .onSuccessDoWithResult(hashes -> log.info("Registered {} persisted queries from '{}'", hashes.size(), persistedQueriesDirectory))
+                .getResultOrThrow(this::asException);
+        }
+
+        FunctionCounter.builder("brapi.graphql.document.cache", provider, PersistedQueryDocumentProvider::getHitCount)
+            .description("The number of GraphQL queries whose parsed and validated document was cached")
+            .tag("result", "hit")
+            .register(meterRegistry);
+
+        FunctionCounter.builder("brapi.graphql.document.cache", provider, PersistedQueryDocumentProvider::getMissCount)
+            .description("The number of GraphQL queries whose document had to be parsed and validated")
+            .tag("result", "miss")
+            .register(meterRegistry);
+
+        Gauge.builder("brapi.graphql.document.cache.hit.ratio", provider, PersistedQueryDocumentProvider::getHitRatio)
+            .description("The ratio of GraphQL queries whose parsed and validated document was cached")
+            .register(meterRegistry);
+
+        Gauge.builder("brapi.graphql.document.cache.size", provider, PersistedQueryDocumentProvider::getCachedDocumentCount)
+            .description("The number of cached GraphQL documents")
+            .register(meterRegistry);
+
+        return provider;
+    }
+
+    @Bean
+    public PersistedQueryRequestFilter persistedQueryRequestFilter(PersistedQueryDocumentProvider documentProvider,
+                                                                   ObjectMapper objectMapper,
+                                                                   @Value("${spring.graphql.path:/graphql}") String path) {
+        return new PersistedQueryRequestFilter(documentProvider, objectMapper, path);
+    }
+
+    @Bean
+    public GraphQlSource graphQlSource(ExecutableGraphQLSchema executableSchema,
+                                       ObjectProvider<Instrumentation> instrumentations,
+                                       PersistedQueryDocumentProvider documentProvider) {
+        return GraphQlSource.builder(executableSchema.getSchema())
+            .instrumentation(instrumentations.orderedStream().toList())
+            .configureGraphQl(builder -> builder.preparsedDocumentProvider(documentProvider))
+            .build();
+    }
+
+    @Bean
+    public ExecutionGraphQlService executionGraphQlService(GraphQlSource graphQlSource, BatchLoaderRegistry batchLoaderRegistry) {
+        DefaultExecutionGraphQlService service = new DefaultExecutionGraphQlService(graphQlSource);
+
+        service.addDataLoaderRegistrar(batchLoaderRegistry);
+
+        return service;
+    }
+
+    private IllegalStateException asException(Response<?> response) {
+        return new IllegalStateException(response.getMessagesCombined(", "));
+    }
+}
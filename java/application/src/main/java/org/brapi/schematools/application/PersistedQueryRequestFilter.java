@@ -0,0 +1,151 @@
+package org.brapi.schematools.application;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.brapi.schematools.core.graphql.execution.PersistedQueryDocumentProvider;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Resolves the query of the requests to the GraphQL endpoint that only send the hash of a persisted query in the
+ * 'persistedQuery' extension, since the GraphQL HTTP handler rejects requests without a query. The query is added
+ * to the request, and the {@link PersistedQueryDocumentProvider} then uses its cached document. If there is no
+ * query with the hash, the 'PersistedQueryNotFound' error is returned, so that the client can send the query
+ * together with its hash. All other requests are passed on unchanged.
+ */
+public class PersistedQueryRequestFilter extends OncePerRequestFilter {
+    private static final String QUERY = "query";
+    private static final String EXTENSIONS = "extensions";
+
+    private final PersistedQueryDocumentProvider documentProvider;
+    private final ObjectMapper objectMapper;
+    private final String path;
+
+    public PersistedQueryRequestFilter(PersistedQueryDocumentProvider documentProvider, ObjectMapper objectMapper, String path) {
+        this.documentProvider = documentProvider;
+        this.objectMapper = objectMapper;
+        this.path = path;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !HttpMethod.POST.matches(request.getMethod()) ||
+            !path.equals(request.getRequestURI().substring(request.getContextPath().length()));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        byte[] content = request.getInputStream().readAllBytes();
+
+        Map<String, Object> body;
+
+        try {
+            body = objectMapper.readValue(content, new TypeReference<>() {});
+        } catch (JsonProcessingException e) {
+            // left to the GraphQL HTTP handler to reject
+            filterChain.doFilter(new ContentRequest(request, content), response);
+            return;
+        }
+
+        String hash = body != null && body.get(EXTENSIONS) instanceof Map<?, ?> extensions ?
+            PersistedQueryDocumentProvider.findRequestedHash(extensions) : null;
+
+        if (hash == null || body.get(QUERY) instanceof String query && !query.isBlank()) {
+            filterChain.doFilter(new ContentRequest(request, content), response);
+            return;
+        }
+
+        Optional<String> persistedQuery = documentProvider.findQuery(hash);
+
+        if (persistedQuery.isEmpty()) {
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+            objectMapper.writeValue(response.getWriter(),
+                Map.of("errors", List.of(PersistedQueryDocumentProvider.persistedQueryNotFound(hash).toSpecification())));
+            return;
+        }
+
+        body.put(QUERY, persistedQuery.get());
+
+        filterChain.doFilter(new ContentRequest(request, objectMapper.writeValueAsBytes(body)), response);
+    }
+
+    /**
+     * A request whose body has already been read, or has been replaced
+     */
+    private static class ContentRequest extends HttpServletRequestWrapper {
+        private final byte[] content;
+
+        private ContentRequest(HttpServletRequest request, byte[] content) {
+            super(request);
+            this.content = content;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream inputStream = new ByteArrayInputStream(content);
+
+            return new ServletInputStream() {
+                @Override
+                public boolean isFinished() {
+                    return inputStream.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(ReadListener readListener) {
+                    throw new UnsupportedOperationException();
+                }
+
+                @Override
+                public int read() {
+                    return inputStream.read();
+                }
+
+                @Override
+                public int read(byte[] bytes, int offset, int length) {
+                    return inputStream.read(bytes, offset, length);
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            return new BufferedReader(new InputStreamReader(getInputStream(), getCharacterEncoding() != null ?
+                Charset.forName(getCharacterEncoding()) : StandardCharsets.UTF_8));
+        }
+
+        @Override
+        public int getContentLength() {
+            return content.length;
+        }
+
+        @Override
+        public long getContentLengthLong() {
+            return content.length;
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package org.brapi.schematools.application;
+
+import org.brapi.schematools.core.graphql.execution.PersistedQueryDocumentProvider;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+    properties = "brapi.schema.directory=../core/src/test/resources/BrAPI-Schema")
+class GraphQLStubServerTest {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Test
+    void query() {
+        postGraphQL(Map.of("query", "{ __schema { queryType { name } } }"))
+            .jsonPath("$.errors").doesNotExist()
+            .jsonPath("$.data.__schema.queryType.name").isEqualTo("Query");
+    }
+
+    @Test
+    void automaticPersistedQuery() {
+        String query = "{ __typename }";
+        Map<String, Object> extensions = Map.of("persistedQuery",
+            Map.of("version", 1, "sha256Hash", PersistedQueryDocumentProvider.hash(query)));
+
+        // the hash only, before the query is known
+        postGraphQL(Map.of("extensions", extensions))
+            .jsonPath("$.errors[0].message").isEqualTo("PersistedQueryNotFound")
+            .jsonPath("$.errors[0].extensions.code").isEqualTo("PERSISTED_QUERY_NOT_FOUND");
+
+        // the hash and the query, which registers the query
+        postGraphQL(Map.of("query", query, "extensions", extensions))
+            .jsonPath("$.errors").doesNotExist()
+            .jsonPath("$.data.__typename").isEqualTo("Query");
+
+        // the hash only, after the query is known
+        postGraphQL(Map.of("extensions", extensions))
+            .jsonPath("$.errors").doesNotExist()
+            .jsonPath("$.data.__typename").isEqualTo("Query");
+    }
+
+    @Test
+    void getSchema() {
+        String schema = webTestClient.get()
+            .uri("/graphql/schema.graphqls")
+            .exchange()
+            .expectStatus().isOk()
+            .expectHeader().contentTypeCompatibleWith(MediaType.TEXT_PLAIN)
+            .expectBody(String.class)
+            .returnResult()
+            .getResponseBody();
+
+        assertNotNull(schema);
+        assertTrue(schema.contains("type Query"), schema);
+        assertTrue(schema.contains("type Study"), schema);
+    }
+
+    @Test
+    void getIntrospection() {
+        webTestClient.get()
+            .uri("/graphql/introspection")
+            .exchange()
+            .expectStatus().isOk()
+            .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_JSON)
+            .expectBody()
+            .jsonPath("$.__schema.queryType.name").isEqualTo("Query")
+            .jsonPath("$.__schema.types[?(@.name == 'Study')]").exists();
+    }
+
+    private WebTestClient.BodyContentSpec postGraphQL(Map<String, Object> body) {
+        return webTestClient.post()
+            .uri("/graphql")
+            .contentType(MediaType.APPLICATION_JSON)
+            .bodyValue(body)
+            .exchange()
+            .expectStatus().isOk()
+            .expectBody();
+    }
+}
@@ -0,0 +1,113 @@
+package org.brapi.schematools.benchmark;
+
+import org.brapi.schematools.core.brapischema.BrAPISchemaReader;
+import org.brapi.schematools.core.brapischema.BrAPISchemaReaderOptions;
+import org.brapi.schematools.core.model.BrAPIClass;
+import org.brapi.schematools.core.response.Response;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Locates the resources used by the benchmarks. By default, the bundled BrAPI-Schema
+ * and OpenAPI-Components test resources of the core module are used. These locations can be
+ * overridden with the 'brapi.schema' and 'brapi.components' system properties. The GraphQL
+ * schema snapshot is located with the 'brapi.graphql.snapshot' system property.
+ */
+public class BenchmarkResources {
+    private static final String CORE_TEST_RESOURCES = "../core/src/test/resources";
+
+    /**
+     * Gets the directory containing the BrAPI JSON Schema
+     * @return the directory containing the BrAPI JSON Schema
+     */
+    public static Path getSchemaDirectory() {
+        return getDirectory("brapi.schema", "BrAPI-Schema");
+    }
+
+    /**
+     * Gets the directory containing the additional OpenAPI components
+     * @return the directory containing the additional OpenAPI components
+     */
+    public static Path getComponentsDirectory() {
+        return getDirectory("brapi.components", "OpenAPI-Components");
+    }
+
+    /**
+     * Gets the GraphQL schema snapshot file, which is created by the 'createGraphQLSnapshot' task
+     * @return the GraphQL schema snapshot file
+     */
+    public static Path getGraphQLSnapshotFile() {
+        String snapshotFile = System.getProperty("brapi.graphql.snapshot");
+
+        if (snapshotFile == null || !Files.isRegularFile(Path.of(snapshotFile))) {
+            throw new IllegalStateException(String.format("Can not find GraphQL schema snapshot '%s', set the 'brapi.graphql.snapshot' system property", snapshotFile));
+        }
+
+        return Path.of(snapshotFile);
+    }
+
+    /**
+     * Reads the BrAPI classes from a schema directory, failing if there are any errors
+     * @param options the options for the schema reader
+     * @param schemaDirectory the directory containing the BrAPI JSON Schema
+     * @return the BrAPI classes
+     */
+    public static List<BrAPIClass> readClasses(BrAPISchemaReaderOptions options, Path schemaDirectory) {
+        return new BrAPISchemaReader(options).readDirectories(schemaDirectory).getResultOrThrow();
+    }
+
+    /**
+     * Deletes a directory and all its contents
+     * @param directory the directory to be deleted
+     * @throws IOException if the directory can not be deleted
+     */
+    public static void deleteDirectory(Path directory) throws IOException {
+        if (directory == null || !Files.exists(directory)) {
+            return;
+        }
+
+        try (Stream<Path> paths = Files.walk(directory)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(path);
+            }
+        }
+    }
+
+    private static Path getDirectory(String propertyName, String resourceName) {
+        Path directory = Path.of(System.getProperty(propertyName, CORE_TEST_RESOURCES + "/" + resourceName));
+
+        if (!Files.isDirectory(directory)) {
+            throw new IllegalStateException(String.format("Can not find directory '%s', set the '%s' system property", directory, propertyName));
+        }
+
+        return directory;
+    }
+
+    /**
+     * A schema reader that returns classes that have already been read, so that
+     * the generators can be benchmarked without the cost of reading the schema.
+     */
+    public static class PreloadedBrAPISchemaReader extends BrAPISchemaReader {
+        private final List<BrAPIClass> brAPIClasses;
+
+        /**
+         * Creates a reader that always returns the provided classes
+         * @param options the options for the schema reader
+         * @param brAPIClasses the classes that have already been read
+         */
+        public PreloadedBrAPISchemaReader(BrAPISchemaReaderOptions options, List<BrAPIClass> brAPIClasses) {
+            super(options);
+            this.brAPIClasses = brAPIClasses;
+        }
+
+        @Override
+        public Response<List<BrAPIClass>> readDirectories(Path schemaDirectory) {
+            return Response.success(brAPIClasses);
+        }
+    }
+}
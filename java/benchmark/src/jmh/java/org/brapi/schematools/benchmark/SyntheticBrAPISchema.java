@@ -0,0 +1,171 @@
+package org.brapi.schematools.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Creates a synthetic BrAPI JSON Schema that scales the number of entities and properties.
+ * The bundled BrAPI JSON Schema is copied to the target directory and an additional module
+ * is added that contains the synthetic primary entities, each with its own request schema.
+ * Each entity has an id and name property, references to the common 'ExternalReference' and
+ * 'AdditionalInfo' classes, and the requested number of additional scalar and array properties.
+ */
+public class SyntheticBrAPISchema {
+    /**
+     * The name of the module containing the synthetic entities
+     */
+    public static final String MODULE = "BrAPI-Synthetic";
+
+    private static final String SCHEMA = "http://json-schema.org/draft/2020-12/schema";
+    private static final String ID_FORMAT = "https://brapi.org/Specification/BrAPI-Schema/%s/%s.json";
+    private static final List<String> PROPERTY_TYPES = List.of("string", "integer", "number", "boolean", "array");
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    private final int entityCount;
+    private final int propertyCount;
+
+    /**
+     * Creates a synthetic schema
+     * @param entityCount the number of synthetic primary entities
+     * @param propertyCount the number of additional properties for each entity
+     */
+    public SyntheticBrAPISchema(int entityCount, int propertyCount) {
+        this.entityCount = entityCount;
+        this.propertyCount = propertyCount;
+    }
+
+    /**
+     * Copies the source schema to the target directory and adds the synthetic entities
+     * @param sourceDirectory the directory containing the BrAPI JSON Schema to be copied
+     * @param targetDirectory the directory in which the synthetic schema is created
+     * @return the target directory
+     * @throws IOException if the schema can not be copied or written
+     */
+    public Path write(Path sourceDirectory, Path targetDirectory) throws IOException {
+        copyDirectory(sourceDirectory, targetDirectory);
+
+        Path moduleDirectory = Files.createDirectories(targetDirectory.resolve(MODULE));
+        Path requestsDirectory = Files.createDirectories(targetDirectory.resolve("Requests"));
+
+        for (int index = 1; index <= entityCount; ++index) {
+            String entityName = getEntityName(index);
+            String requestName = entityName + "Request";
+
+            mapper.writerWithDefaultPrettyPrinter().writeValue(
+                moduleDirectory.resolve(entityName + ".json").toFile(), createEntitySchema(entityName));
+            mapper.writerWithDefaultPrettyPrinter().writeValue(
+                requestsDirectory.resolve(requestName + ".json").toFile(), createRequestSchema(entityName, requestName));
+        }
+
+        return targetDirectory;
+    }
+
+    /**
+     * Gets the name of a synthetic entity
+     * @param index the index of the entity, starting from 1
+     * @return the name of the synthetic entity
+     */
+    public static String getEntityName(int index) {
+        return String.format("SyntheticEntity%d", index);
+    }
+
+    private ObjectNode createEntitySchema(String entityName) {
+        String propertyPrefix = toLowerCaseFirst(entityName);
+
+        ObjectNode entity = mapper.createObjectNode();
+        ObjectNode properties = entity.putObject("properties");
+
+        properties.set(propertyPrefix + "DbId", createProperty("string", String.format("The unique identifier for a %s", entityName)));
+        properties.set(propertyPrefix + "Name", createProperty("string", String.format("The human readable name for a %s", entityName)));
+
+        ObjectNode additionalInfo = properties.putObject("additionalInfo");
+        additionalInfo.put("description", "A free space containing any additional information related to a particular object.");
+        additionalInfo.put("$ref", "../BrAPI-Common/AdditionalInfo.json#/$defs/AdditionalInfo");
+        additionalInfo.put("relationshipType", "one-to-one");
+
+        ObjectNode externalReferences = properties.putObject("externalReferences");
+        externalReferences.put("description", "An array of external reference ids.");
+        externalReferences.put("relationshipType", "one-to-many");
+        externalReferences.putObject("items").put("$ref", "../BrAPI-Common/ExternalReference.json#/$defs/ExternalReference");
+        externalReferences.putArray("type").add("null").add("array");
+
+        for (int index = 1; index <= propertyCount; ++index) {
+            String type = PROPERTY_TYPES.get(index % PROPERTY_TYPES.size());
+            properties.set(String.format("%sProperty%d", propertyPrefix, index), createProperty(type, String.format("Synthetic %s property %d", type, index)));
+        }
+
+        entity.putArray("required").add(propertyPrefix + "DbId").add(propertyPrefix + "Name");
+        entity.put("title", entityName);
+        entity.put("description", String.format("The synthetic entity %s", entityName));
+        entity.put("type", "object");
+        entity.putObject("brapi-metadata").put("primaryModel", true);
+
+        return createSchema(MODULE, entityName, entity);
+    }
+
+    private ObjectNode createRequestSchema(String entityName, String requestName) {
+        String propertyPrefix = toLowerCaseFirst(entityName);
+
+        ObjectNode request = mapper.createObjectNode();
+        ObjectNode properties = request.putObject("properties");
+
+        properties.set(propertyPrefix + "DbIds", createProperty("array", String.format("An array of primary database identifiers to identify a set of %s", entityName)));
+        properties.set(propertyPrefix + "Names", createProperty("array", String.format("An array of human readable names to identify a set of %s", entityName)));
+
+        request.put("type", "object");
+        request.putObject("brapi-metadata").put("request", true);
+
+        return createSchema("Requests", requestName, request);
+    }
+
+    private ObjectNode createProperty(String type, String description) {
+        ObjectNode property = mapper.createObjectNode();
+
+        property.put("description", description);
+
+        if (type.equals("array")) {
+            property.putObject("items").put("type", "string");
+        }
+
+        ArrayNode types = property.putArray("type");
+        types.add("null");
+        types.add(type);
+
+        return property;
+    }
+
+    private ObjectNode createSchema(String module, String name, ObjectNode definition) {
+        ObjectNode schema = mapper.createObjectNode();
+
+        schema.putObject("$defs").set(name, definition);
+        schema.put("$id", String.format(ID_FORMAT, module, name));
+        schema.put("$schema", SCHEMA);
+
+        return schema;
+    }
+
+    private static String toLowerCaseFirst(String value) {
+        return Character.toLowerCase(value.charAt(0)) + value.substring(1);
+    }
+
+    private static void copyDirectory(Path source, Path target) throws IOException {
+        try (Stream<Path> paths = Files.walk(source)) {
+            for (Path path : paths.toList()) {
+                Path copy = target.resolve(source.relativize(path).toString());
+                if (Files.isDirectory(path)) {
+                    Files.createDirectories(copy);
+                } else {
+                    Files.copy(path, copy);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package org.brapi.schematools.benchmark.graphql;
+
+import org.brapi.schematools.core.graphql.GraphQLGenerator;
+import org.brapi.schematools.core.graphql.GraphQLSchemaSnapshot;
+
+import java.nio.file.Path;
+
+/**
+ * Generates the GraphQL schema from a BrAPI JSON Schema directory and writes it as a snapshot,
+ * for use by the {@link GraphQLSchemaSnapshotBenchmark}.
+ */
+public class CreateGraphQLSnapshot {
+
+    /**
+     * Creates the GraphQL schema snapshot
+     * @param args the directory containing the BrAPI JSON Schema and the path of the snapshot file
+     */
+    public static void main(String[] args) {
+        if (args.length != 2) {
+            throw new IllegalArgumentException("Usage: CreateGraphQLSnapshot <schema directory> <snapshot file>");
+        }
+
+        new GraphQLGenerator().generate(Path.of(args[0]))
+            .mapResultToResponse(schema -> new GraphQLSchemaSnapshot().write(schema, Path.of(args[1])))
+            .getResultOrThrow();
+    }
+}
@@ -0,0 +1,62 @@
+package org.brapi.schematools.benchmark.graphql;
+
+import graphql.schema.GraphQLSchema;
+import org.brapi.schematools.benchmark.BenchmarkResources;
+import org.brapi.schematools.core.graphql.GraphQLGenerator;
+import org.brapi.schematools.core.graphql.GraphQLSchemaSnapshot;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the cold-start time of generating the GraphQL schema from the BrAPI JSON Schema with
+ * loading it from a {@link GraphQLSchemaSnapshot}. Each measurement is a single call in a fresh JVM,
+ * without warmup, so that class loading and JIT compilation are included as they are when a service starts.
+ * The snapshot is created beforehand by the 'createGraphQLSnapshot' task in a separate JVM.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+@Fork(10)
+public class GraphQLSchemaSnapshotBenchmark {
+
+    private Path schemaDirectory;
+    private Path snapshotFile;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        schemaDirectory = BenchmarkResources.getSchemaDirectory();
+        snapshotFile = BenchmarkResources.getGraphQLSnapshotFile();
+    }
+
+    /**
+     * Generates the GraphQL schema from the BrAPI JSON Schema
+     * @return the generated schema
+     */
+    @Benchmark
+    public GraphQLSchema generateFromJsonSchema() {
+        return new GraphQLGenerator().generate(schemaDirectory).getResultOrThrow();
+    }
+
+    /**
+     * Loads the executable GraphQL schema from the snapshot
+     * @return the loaded schema
+     */
+    @Benchmark
+    public GraphQLSchema loadFromSnapshot() {
+        return new GraphQLSchemaSnapshot().read(snapshotFile).getResultOrThrow();
+    }
+}
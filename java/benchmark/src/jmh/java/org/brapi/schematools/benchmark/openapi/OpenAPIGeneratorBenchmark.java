@@ -0,0 +1,154 @@
+package org.brapi.schematools.benchmark.openapi;
+
+import io.swagger.v3.oas.models.OpenAPI;
+import org.brapi.schematools.benchmark.BenchmarkResources;
+import org.brapi.schematools.benchmark.BenchmarkResources.PreloadedBrAPISchemaReader;
+import org.brapi.schematools.core.brapischema.BrAPISchemaReader;
+import org.brapi.schematools.core.model.BrAPIClass;
+import org.brapi.schematools.core.openapi.generator.CachingOpenAPIComponentsReader;
+import org.brapi.schematools.core.openapi.generator.OpenAPIComponentsReader;
+import org.brapi.schematools.core.openapi.generator.OpenAPIGenerator;
+import org.brapi.schematools.core.openapi.generator.OpenAPIWriter;
+import org.brapi.schematools.core.openapi.generator.options.OpenAPIGeneratorOptions;
+import org.brapi.schematools.core.response.Response;
+import org.brapi.schematools.core.utils.BrAPIClassCacheBuilder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.brapi.schematools.core.utils.OpenAPIUtils.OUTPUT_FORMAT_JSON;
+
+/**
+ * Benchmarks the generation of the OpenAPI Specification from the bundled BrAPI JSON Schema,
+ * end to end and in its phases. The phases are reading the schema, constructing the class cache,
+ * generating the paths and components from an already read schema, and writing the specification
+ * through the {@link OpenAPIWriter}. Run with the gc profiler to report the allocation rate.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MINUTES)
+@Warmup(iterations = 3, time = 10)
+@Measurement(iterations = 5, time = 10)
+@Fork(1)
+public class OpenAPIGeneratorBenchmark {
+    private static final String BRAPI_CORE = "BrAPI-Core";
+
+    @Param({"false", "true"})
+    private boolean separateByModule;
+
+    private Path schemaDirectory;
+    private Path componentsDirectory;
+    private Path outputDirectory;
+
+    private OpenAPIGeneratorOptions options;
+    private List<BrAPIClass> brAPIClasses;
+    private List<String> brAPICoreClassNames;
+    private List<OpenAPI> specifications;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        schemaDirectory = BenchmarkResources.getSchemaDirectory();
+        componentsDirectory = BenchmarkResources.getComponentsDirectory();
+        outputDirectory = Files.createTempDirectory("openapi-benchmark");
+
+        options = OpenAPIGeneratorOptions.load().setSeparateByModule(separateByModule);
+        brAPIClasses = BenchmarkResources.readClasses(options.getBrAPISchemaReader(), schemaDirectory);
+        brAPICoreClassNames = brAPIClasses.stream()
+            .filter(brAPIClass -> BRAPI_CORE.equals(brAPIClass.getModule()))
+            .map(BrAPIClass::getName)
+            .toList();
+
+        specifications = generateFromReadSchema();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        BenchmarkResources.deleteDirectory(outputDirectory);
+        CachingOpenAPIComponentsReader.clearMemoryCache();
+    }
+
+    /**
+     * Generates the specification end to end, reading the schema and components from disk
+     * @return the generated specifications
+     */
+    @Benchmark
+    public List<OpenAPI> generate() {
+        return new OpenAPIGenerator(new BrAPISchemaReader(options.getBrAPISchemaReader()), new OpenAPIComponentsReader(), options)
+            .generate(schemaDirectory, componentsDirectory)
+            .getResultOrThrow();
+    }
+
+    /**
+     * Reads the BrAPI JSON Schema
+     * @return the BrAPI classes
+     */
+    @Benchmark
+    public List<BrAPIClass> readSchema() {
+        return new BrAPISchemaReader(options.getBrAPISchemaReader()).readDirectories(schemaDirectory).getResultOrThrow();
+    }
+
+    /**
+     * Constructs the class cache from an already read schema
+     * @return the class cache
+     */
+    @Benchmark
+    public BrAPIClassCacheBuilder.BrAPIClassCache buildClassCache() {
+        return BrAPIClassCacheBuilder.builder(brAPIClasses).validClasses(options.getBrAPISchemaReader().getValidClasses()).build();
+    }
+
+    /**
+     * Generates the paths and components from an already read schema and cached components.
+     * This includes the construction of the class cache, see {@link #buildClassCache()}
+     * @return the generated specifications
+     */
+    @Benchmark
+    public List<OpenAPI> generateFromReadSchema() {
+        return new OpenAPIGenerator(new PreloadedBrAPISchemaReader(options.getBrAPISchemaReader(), brAPIClasses), new CachingOpenAPIComponentsReader(), options)
+            .generate(schemaDirectory, componentsDirectory)
+            .getResultOrThrow();
+    }
+
+    /**
+     * Generates the paths and components for the classes in the BrAPI-Core module,
+     * from an already read schema and cached components
+     * @return the generated specifications
+     */
+    @Benchmark
+    public List<OpenAPI> generateBrAPICore() {
+        return new OpenAPIGenerator(new PreloadedBrAPISchemaReader(options.getBrAPISchemaReader(), brAPIClasses), new CachingOpenAPIComponentsReader(), options)
+            .generate(schemaDirectory, componentsDirectory, brAPICoreClassNames)
+            .getResultOrThrow();
+    }
+
+    /**
+     * Writes already generated specifications through the {@link OpenAPIWriter}, discarding the output
+     * so that the result is not dominated by the disk
+     * @return the paths that would have been written
+     * @throws IOException if the specifications can not be written
+     */
+    @Benchmark
+    public List<Path> write() throws IOException {
+        return new OpenAPIWriter(outputDirectory, OUTPUT_FORMAT_JSON, separateByModule,
+            path -> Response.success(new PrintWriter(Writer.nullWriter())))
+            .write(specifications)
+            .getResultOrThrow();
+    }
+}
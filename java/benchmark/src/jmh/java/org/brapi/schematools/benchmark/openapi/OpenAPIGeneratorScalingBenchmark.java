@@ -0,0 +1,97 @@
+package org.brapi.schematools.benchmark.openapi;
+
+import io.swagger.v3.oas.models.OpenAPI;
+import org.brapi.schematools.benchmark.BenchmarkResources;
+import org.brapi.schematools.benchmark.BenchmarkResources.PreloadedBrAPISchemaReader;
+import org.brapi.schematools.benchmark.SyntheticBrAPISchema;
+import org.brapi.schematools.core.brapischema.BrAPISchemaReader;
+import org.brapi.schematools.core.model.BrAPIClass;
+import org.brapi.schematools.core.openapi.generator.CachingOpenAPIComponentsReader;
+import org.brapi.schematools.core.openapi.generator.OpenAPIComponentsReader;
+import org.brapi.schematools.core.openapi.generator.OpenAPIGenerator;
+import org.brapi.schematools.core.openapi.generator.options.OpenAPIGeneratorOptions;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks how the generation of the OpenAPI Specification scales with the size of the schema.
+ * The bundled BrAPI JSON Schema is extended with a number of synthetic entities, each with a number
+ * of additional properties, see {@link SyntheticBrAPISchema}. Plotting the results against the
+ * parameters gives the scaling curves for the end to end generation and for generation from an
+ * already read schema.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 10)
+@Measurement(iterations = 5, time = 10)
+@Fork(1)
+public class OpenAPIGeneratorScalingBenchmark {
+
+    @Param({"0", "25", "100", "400"})
+    private int entityCount;
+
+    @Param({"10", "50"})
+    private int propertyCount;
+
+    private Path schemaDirectory;
+    private Path componentsDirectory;
+
+    private OpenAPIGeneratorOptions options;
+    private List<BrAPIClass> brAPIClasses;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        schemaDirectory = new SyntheticBrAPISchema(entityCount, propertyCount)
+            .write(BenchmarkResources.getSchemaDirectory(), Files.createTempDirectory("openapi-scaling-benchmark"));
+        componentsDirectory = BenchmarkResources.getComponentsDirectory();
+
+        options = OpenAPIGeneratorOptions.load().setSeparateByModule(false);
+        brAPIClasses = BenchmarkResources.readClasses(options.getBrAPISchemaReader(), schemaDirectory);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        BenchmarkResources.deleteDirectory(schemaDirectory);
+        CachingOpenAPIComponentsReader.clearMemoryCache();
+    }
+
+    /**
+     * Generates the specification end to end, reading the schema and components from disk
+     * @return the generated specifications
+     */
+    @Benchmark
+    public List<OpenAPI> generate() {
+        return new OpenAPIGenerator(new BrAPISchemaReader(options.getBrAPISchemaReader()), new OpenAPIComponentsReader(), options)
+            .generate(schemaDirectory, componentsDirectory)
+            .getResultOrThrow();
+    }
+
+    /**
+     * Generates the paths and components from an already read schema and cached components
+     * @return the generated specifications
+     */
+    @Benchmark
+    public List<OpenAPI> generateFromReadSchema() {
+        return new OpenAPIGenerator(new PreloadedBrAPISchemaReader(options.getBrAPISchemaReader(), brAPIClasses), new CachingOpenAPIComponentsReader(), options)
+            .generate(schemaDirectory, componentsDirectory)
+            .getResultOrThrow();
+    }
+}
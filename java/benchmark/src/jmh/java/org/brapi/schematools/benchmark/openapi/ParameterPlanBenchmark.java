@@ -0,0 +1,93 @@
+package org.brapi.schematools.benchmark.openapi;
+
+import io.swagger.v3.oas.models.OpenAPI;
+import org.brapi.schematools.benchmark.BenchmarkResources;
+import org.brapi.schematools.benchmark.BenchmarkResources.PreloadedBrAPISchemaReader;
+import org.brapi.schematools.core.model.BrAPIClass;
+import org.brapi.schematools.core.openapi.generator.CachingOpenAPIComponentsReader;
+import org.brapi.schematools.core.openapi.generator.OpenAPIGenerator;
+import org.brapi.schematools.core.openapi.generator.options.OpenAPIGeneratorOptions;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the building of the query parameters of the list GET endpoints, which are created from the
+ * parameter plan of each request class. The specification is generated from an already read schema and
+ * cached components with all the other endpoints disabled, with and without the list GET endpoints, so
+ * the difference between the two is the cost of the list GET endpoints, which is dominated by the building
+ * of their parameters. Each generation builds the parameter plans once, as in a single generation run.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 10)
+@Measurement(iterations = 5, time = 10)
+@Fork(1)
+public class ParameterPlanBenchmark {
+    private static final String BRAPI_CORE = "BrAPI-Core";
+
+    @Param({"BrAPI-Core", "all"})
+    private String module;
+
+    @Param({"true", "false"})
+    private boolean listGetEndpoints;
+
+    private Path schemaDirectory;
+    private Path componentsDirectory;
+
+    private OpenAPIGeneratorOptions options;
+    private List<BrAPIClass> brAPIClasses;
+    private List<String> classNames;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        schemaDirectory = BenchmarkResources.getSchemaDirectory();
+        componentsDirectory = BenchmarkResources.getComponentsDirectory();
+
+        options = OpenAPIGeneratorOptions.load();
+        options.getGet().setGenerate(listGetEndpoints);
+        options.getGetWithId().setGenerate(false);
+        options.getPost().setGenerate(false);
+        options.getPut().setGenerate(false);
+        options.getDelete().setGenerate(false);
+        options.getSearch().setGenerate(false);
+
+        brAPIClasses = BenchmarkResources.readClasses(options.getBrAPISchemaReader(), schemaDirectory);
+        classNames = brAPIClasses.stream()
+            .filter(brAPIClass -> module.equals("all") || BRAPI_CORE.equals(brAPIClass.getModule()))
+            .map(BrAPIClass::getName)
+            .toList();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        CachingOpenAPIComponentsReader.clearMemoryCache();
+    }
+
+    /**
+     * Generates the specification for the classes of the module, with only the list GET endpoints
+     * if they are generated
+     * @return the generated specifications
+     */
+    @Benchmark
+    public List<OpenAPI> generateListGetEndpoints() {
+        return new OpenAPIGenerator(new PreloadedBrAPISchemaReader(options.getBrAPISchemaReader(), brAPIClasses), new CachingOpenAPIComponentsReader(), options)
+            .generate(schemaDirectory, componentsDirectory, classNames)
+            .getResultOrThrow();
+    }
+}
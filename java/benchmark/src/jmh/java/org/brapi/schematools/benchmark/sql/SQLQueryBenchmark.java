@@ -0,0 +1,232 @@
+package org.brapi.schematools.benchmark.sql;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.brapi.schematools.benchmark.BenchmarkResources;
+import org.brapi.schematools.core.model.BrAPIClass;
+import org.brapi.schematools.core.sql.SQLDataLoadGenerator;
+import org.brapi.schematools.core.sql.SQLGenerator;
+import org.brapi.schematools.core.sql.SyntheticEntityGenerator;
+import org.brapi.schematools.core.sql.metadata.SQLGeneratorMetadata;
+import org.brapi.schematools.core.sql.options.SQLDialect;
+import org.brapi.schematools.core.sql.options.SQLGeneratorOptions;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks representative list, search and join queries against the tables generated by the
+ * {@link SQLGenerator} for the PostgreSQL dialect, in an embedded PostgreSQL database. The tables are loaded
+ * with a synthetic dataset of a number of entities for each BrAPI type, see {@link SyntheticEntityGenerator}.
+ * Running the benchmarks with and without the generated index script shows the effect of the indexes, and
+ * comparing the results between releases catches index regressions.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class SQLQueryBenchmark {
+
+    private static final Set<String> SCRIPTS = Set.of("drop_tables.sql", "add_constraints.sql", "add_indexes.sql");
+
+    @Param({"1000", "10000"})
+    private int entityCount;
+
+    @Param({"true", "false"})
+    private boolean indexes;
+
+    private Path outputPath;
+    private EmbeddedPostgres postgres;
+    private Connection connection;
+
+    private PreparedStatement listStudies;
+    private PreparedStatement listStudiesByKeyset;
+    private PreparedStatement searchStudiesByType;
+    private PreparedStatement searchStudiesByTrial;
+    private PreparedStatement joinStudyTrial;
+    private PreparedStatement joinStudyObservationVariables;
+
+    private int index;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        outputPath = Files.createTempDirectory("sql-query-benchmark");
+
+        SQLGeneratorOptions options = SQLGeneratorOptions.load()
+            .setOverwrite(true)
+            .setDialect(SQLDialect.POSTGRESQL)
+            .setGenerateIndexScript(true);
+        SQLGeneratorMetadata metadata = SQLGeneratorMetadata.load();
+
+        List<BrAPIClass> brAPIClasses = BenchmarkResources.readClasses(options.getBrAPISchemaReader(), BenchmarkResources.getSchemaDirectory());
+
+        List<Path> paths = new SQLGenerator(options, outputPath.resolve("ddl"))
+            .generate(BenchmarkResources.getSchemaDirectory(), metadata)
+            .getResultOrThrow();
+
+        List<Path> loadPaths = new SQLDataLoadGenerator(options, outputPath.resolve("data"))
+            .generate(brAPIClasses, metadata, new SyntheticEntityGenerator(options).generate(brAPIClasses, entityCount).getResultOrThrow())
+            .getResultOrThrow();
+
+        postgres = EmbeddedPostgres.start();
+        connection = postgres.getPostgresDatabase().getConnection();
+
+        try (Statement statement = connection.createStatement()) {
+            for (Path path : paths) {
+                if (!SCRIPTS.contains(path.getFileName().toString())) {
+                    statement.execute(Files.readString(path));
+                }
+            }
+
+            statement.execute(Files.readString(loadPaths.getFirst()));
+            statement.execute(Files.readString(outputPath.resolve("ddl/add_constraints.sql")));
+
+            if (indexes) {
+                statement.execute(Files.readString(outputPath.resolve("ddl/add_indexes.sql")));
+            }
+
+            statement.execute("ANALYZE");
+        }
+
+        listStudies = connection.prepareStatement(
+            "SELECT * FROM brapi_Studies ORDER BY studyDbId LIMIT 100 OFFSET ?");
+        // the same page as the list query generated by the SQLQueryTemplateGenerator, with keyset pagination
+        listStudiesByKeyset = connection.prepareStatement(
+            "SELECT * FROM brapi_Studies WHERE studyDbId > ? ORDER BY studyDbId LIMIT 100");
+        searchStudiesByType = connection.prepareStatement(
+            "SELECT * FROM brapi_Studies WHERE studyType = ?");
+        searchStudiesByTrial = connection.prepareStatement(
+            "SELECT * FROM brapi_Studies WHERE trialDbId = ?");
+        joinStudyTrial = connection.prepareStatement(
+            "SELECT s.studyDbId, s.studyName, t.trialName FROM brapi_Studies s JOIN brapi_Trials t ON t.trialDbId = s.trialDbId WHERE s.studyDbId = ?");
+        joinStudyObservationVariables = connection.prepareStatement(
+            "SELECT v.* FROM brapi_ObservationVariableByStudy l " +
+                "JOIN brapi_ObservationVariables v ON v.observationVariableDbId = l.observationVariableDbId WHERE l.studyDbId = ?");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException, SQLException {
+        if (connection != null) {
+            connection.close();
+        }
+
+        if (postgres != null) {
+            postgres.close();
+        }
+
+        BenchmarkResources.deleteDirectory(outputPath);
+    }
+
+    /**
+     * Lists a page of the studies
+     * @return the number of rows
+     * @throws SQLException if the query fails
+     */
+    @Benchmark
+    public int listStudies() throws SQLException {
+        listStudies.setInt(1, (nextIndex() * 100) % entityCount);
+
+        return count(listStudies);
+    }
+
+    /**
+     * Lists a page of the studies, seeking to the page by the last ID of the previous page rather than by offset
+     * @return the number of rows
+     * @throws SQLException if the query fails
+     */
+    @Benchmark
+    public int listStudiesByKeyset() throws SQLException {
+        listStudiesByKeyset.setString(1, "studyDbId-" + ((nextIndex() * 100) % entityCount));
+
+        return count(listStudiesByKeyset);
+    }
+
+    /**
+     * Searches for the studies by a column in the request
+     * @return the number of rows
+     * @throws SQLException if the query fails
+     */
+    @Benchmark
+    public int searchStudiesByType() throws SQLException {
+        searchStudiesByType.setString(1, "studyType-" + nextIndex());
+
+        return count(searchStudiesByType);
+    }
+
+    /**
+     * Searches for the studies by a foreign key column
+     * @return the number of rows
+     * @throws SQLException if the query fails
+     */
+    @Benchmark
+    public int searchStudiesByTrial() throws SQLException {
+        searchStudiesByTrial.setString(1, "trialDbId-" + nextIndex());
+
+        return count(searchStudiesByTrial);
+    }
+
+    /**
+     * Gets a study with its trial
+     * @return the number of rows
+     * @throws SQLException if the query fails
+     */
+    @Benchmark
+    public int joinStudyTrial() throws SQLException {
+        joinStudyTrial.setString(1, "studyDbId-" + nextIndex());
+
+        return count(joinStudyTrial);
+    }
+
+    /**
+     * Gets the observation variables of a study through the link table
+     * @return the number of rows
+     * @throws SQLException if the query fails
+     */
+    @Benchmark
+    public int joinStudyObservationVariables() throws SQLException {
+        joinStudyObservationVariables.setString(1, "studyDbId-" + nextIndex());
+
+        return count(joinStudyObservationVariables);
+    }
+
+    private int nextIndex() {
+        index = (index + 1) % entityCount;
+
+        return index;
+    }
+
+    private int count(PreparedStatement statement) throws SQLException {
+        int count = 0;
+
+        try (ResultSet resultSet = statement.executeQuery()) {
+            while (resultSet.next()) {
+                ++count;
+            }
+        }
+
+        return count;
+    }
+}
@@ -19,7 +19,8 @@ import picocli.CommandLine;
         MarkdownSubCommand.class,
         CompareSubCommand.class,
         VersionSubCommand.class,
-        ExamplesSubCommand.class
+        ExamplesSubCommand.class,
+        LoadTestSubCommand.class
     },
     mixinStandardHelpOptions = true
 )
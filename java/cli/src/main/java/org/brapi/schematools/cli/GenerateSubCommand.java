@@ -1,16 +1,15 @@
 package org.brapi.schematools.cli;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import graphql.ExecutionResult;
-import graphql.GraphQL;
-import graphql.introspection.IntrospectionQuery;
 import graphql.schema.GraphQLSchema;
 import graphql.schema.idl.SchemaPrinter;
 import io.swagger.v3.oas.models.OpenAPI;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.jena.ontapi.model.OntModel;
+import org.brapi.schematools.core.brapischema.BrAPISchemaReader;
 import org.brapi.schematools.core.graphql.GraphQLGenerator;
+import org.brapi.schematools.core.graphql.GraphQLIntrospectionWriter;
+import org.brapi.schematools.core.graphql.GraphQLSchemaOutputCache;
+import org.brapi.schematools.core.graphql.GraphQLSchemaSnapshot;
 import org.brapi.schematools.core.graphql.metadata.GraphQLGeneratorMetadata;
 import org.brapi.schematools.core.graphql.options.GraphQLGeneratorOptions;
 import org.brapi.schematools.core.markdown.MarkdownGenerator;
@@ -18,6 +17,8 @@ import org.brapi.schematools.core.markdown.options.MarkdownGeneratorOptions;
 import org.brapi.schematools.core.ontmodel.OntModelGenerator;
 import org.brapi.schematools.core.ontmodel.metadata.OntModelGeneratorMetadata;
 import org.brapi.schematools.core.ontmodel.options.OntModelGeneratorOptions;
+import org.brapi.schematools.core.openapi.generator.CachingOpenAPIComponentsReader;
+import org.brapi.schematools.core.openapi.generator.OpenAPIComponentsReader;
 import org.brapi.schematools.core.openapi.generator.OpenAPIGenerator;
 import org.brapi.schematools.core.openapi.generator.OpenAPIWriter;
 import org.brapi.schematools.core.openapi.generator.metadata.OpenAPIGeneratorMetadata;
@@ -29,7 +30,10 @@ import org.brapi.schematools.core.r6.RGenerator;
 import org.brapi.schematools.core.r6.metadata.RGeneratorMetadata;
 import org.brapi.schematools.core.r6.options.RGeneratorOptions;
 import org.brapi.schematools.core.response.Response;
+import org.brapi.schematools.core.sql.ColumnarSchemaGenerator;
 import org.brapi.schematools.core.sql.SQLGenerator;
+import org.brapi.schematools.core.sql.SQLMigrationGenerator;
+import org.brapi.schematools.core.sql.SQLQueryTemplateGenerator;
 import org.brapi.schematools.core.sql.metadata.SQLGeneratorMetadata;
 import org.brapi.schematools.core.sql.options.SQLGeneratorOptions;
 import org.brapi.schematools.core.xlsx.XSSFWorkbookGenerator;
@@ -42,9 +46,11 @@ import java.io.PrintWriter;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.List;
+import java.util.function.Supplier;
 
 import static org.brapi.schematools.cli.OutputFormat.GRAPHQL;
 import static org.brapi.schematools.cli.OutputFormat.GRAPHQL_INTROSPECTION;
+import static org.brapi.schematools.cli.OutputFormat.GRAPHQL_SNAPSHOT;
 import static org.brapi.schematools.core.utils.OpenAPIUtils.OUTPUT_FORMAT_JSON;
 import static org.brapi.schematools.core.utils.OpenAPIUtils.OUTPUT_FORMAT_YAML;
 
@@ -85,6 +91,18 @@ public class GenerateSubCommand extends AbstractSubCommand {
     @CommandLine.Option(names = {"-y", "--separate"}, description = "Output into separate files if possible instead of a single file.")
     private Boolean separate;
 
+    @CommandLine.Option(names = {"--cache"}, description = "The directory used to cache the parsed OpenAPI Components, and the GraphQL schema and introspection outputs, between runs, for example a directory in the build output. If not provided nothing is cached.")
+    private Path cacheDirectory;
+
+    @CommandLine.Option(names = {"--migrateFrom"}, description = "The directory containing the previous version of the BrAPI JSON schema. For the SQL output format, a script to migrate the existing tables from the previous version is generated instead of the CREATE TABLE scripts.")
+    private Path migrateFromDirectory;
+
+    @CommandLine.Option(names = {"--columnar"}, description = "For the SQL output format, generate the Parquet message types and Avro schemas for the tables instead of the CREATE TABLE scripts. False by default.")
+    private boolean columnar;
+
+    @CommandLine.Option(names = {"--queries"}, description = "For the SQL output format, generate the keyset paginated list and search query templates for the tables, and their supporting indexes, instead of the CREATE TABLE scripts. False by default.")
+    private boolean queries;
+
     @Override
     public void execute() throws IOException {
         switch (outputFormat) {
@@ -95,7 +113,7 @@ public class GenerateSubCommand extends AbstractSubCommand {
                     OpenAPIGeneratorMetadata.load(metadataPath) : OpenAPIGeneratorMetadata.load();
                 generateOpenAPISpecification(options, metadata);
             }
-            case GRAPHQL, GRAPHQL_INTROSPECTION -> {
+            case GRAPHQL, GRAPHQL_INTROSPECTION, GRAPHQL_SNAPSHOT -> {
                 if (isGeneratingIntoSeparateFiles()) {
                     handleError("The 'separate' option is not available for GraphQL schema.");
                 }
@@ -187,14 +205,34 @@ public class GenerateSubCommand extends AbstractSubCommand {
     private void generateGraphQLSchema(GraphQLGeneratorOptions options, GraphQLGeneratorMetadata metadata) {
         GraphQLGenerator graphQLGenerator = new GraphQLGenerator(options);
 
+        if (outputFormat != GRAPHQL_SNAPSHOT && cacheDirectory != null) {
+            GraphQLSchemaOutputCache cache = new GraphQLSchemaOutputCache(cacheDirectory);
+            Supplier<Response<GraphQLSchema>> schemaSupplier = () -> graphQLGenerator.generate(schemaDirectory, metadata);
+
+            GraphQLSchemaOutputCache.fingerprint(schemaDirectory, options, metadata)
+                .mapResultToResponse(fingerprint -> openWriter(outputPath)
+                    .mapResultToResponse(printWriter -> outputGraphQLSchema(cache, fingerprint, schemaSupplier, printWriter)))
+                .onFailDoWithResponse(this::printGraphQLSchemaErrors);
+
+            return;
+        }
+
         Response<GraphQLSchema> response = graphQLGenerator.generate(schemaDirectory, metadata);
 
         response
             .onSuccessDoWithResultOnCondition(outputFormat == GRAPHQL, this::outputIDLSchema)
             .onSuccessDoWithResultOnCondition(outputFormat == GRAPHQL_INTROSPECTION, this::outputIntrospectionSchema)
+            .onSuccessDoWithResultOnCondition(outputFormat == GRAPHQL_SNAPSHOT, this::outputSchemaSnapshot)
             .onFailDoWithResponse(this::printGraphQLSchemaErrors);
     }
 
+    private Response<PrintWriter> outputGraphQLSchema(GraphQLSchemaOutputCache cache, String fingerprint, Supplier<Response<GraphQLSchema>> schemaSupplier, PrintWriter printWriter) {
+        try (printWriter) {
+            return outputFormat == GRAPHQL_INTROSPECTION ?
+                cache.writeIntrospection(fingerprint, schemaSupplier, printWriter) : cache.writeIDL(fingerprint, schemaSupplier, printWriter);
+        }
+    }
+
     private void outputIDLSchema(GraphQLSchema schema) {
         openWriter(outputPath)
             .onSuccessDoWithResult(printWriter -> printWriter.print(new SchemaPrinter().print(schema)))
@@ -202,28 +240,23 @@ public class GenerateSubCommand extends AbstractSubCommand {
     }
 
     private void outputIntrospectionSchema(GraphQLSchema schema) {
-        try {
-            GraphQL graphQL = GraphQL.newGraphQL(schema).build();
-            ExecutionResult executionResult = graphQL.execute(IntrospectionQuery.INTROSPECTION_QUERY);
-
-            ObjectMapper mapper = new ObjectMapper();
-
-            openWriter(outputPath)
-                .onSuccessDoWithResult(printWriter -> {
-                    try {
-                        printWriter.print(mapper.writeValueAsString(executionResult.toSpecification().get("data")));
-                    } catch (JsonProcessingException e) {
-                        throw new RuntimeException(e);
-                    }
-                })
-                .onSuccessDoWithResult(PrintWriter::close);
+        openWriter(outputPath)
+            .onSuccessDoWithResult(printWriter -> new GraphQLIntrospectionWriter().write(schema, printWriter)
+                .onFailDoWithResponse(response -> printErrors("There was an error writing the GraphQL introspection", response.getAllErrors())))
+            .onSuccessDoWithResult(PrintWriter::close);
+    }
 
-        } catch (Exception exception) {
-            handleException(exception);
+    private void outputSchemaSnapshot(GraphQLSchema schema) {
+        if (outputPath == null) {
+            handleError("The 'file' option is required for the GRAPHQL_SNAPSHOT output format.");
+            return;
         }
+
+        new GraphQLSchemaSnapshot().write(schema, outputPath)
+            .onFailDoWithResponse(response -> printErrors("There was an error writing the GraphQL schema snapshot", response.getAllErrors()));
     }
 
-    private void printGraphQLSchemaErrors(Response<GraphQLSchema> response) {
+    private void printGraphQLSchemaErrors(Response<?> response) {
         if (response.getAllErrors().size() == 1) {
             printErrors("There was 1 error generating the GraphQL Schema", response.getAllErrors());
         } else {
@@ -232,7 +265,10 @@ public class GenerateSubCommand extends AbstractSubCommand {
     }
 
     private void generateOpenAPISpecification(OpenAPIGeneratorOptions options, OpenAPIGeneratorMetadata metadata) {
-        OpenAPIGenerator openAPIGenerator = new OpenAPIGenerator(options);
+        OpenAPIGenerator openAPIGenerator = new OpenAPIGenerator(
+            new BrAPISchemaReader(options.getBrAPISchemaReader()),
+            cacheDirectory != null ? new CachingOpenAPIComponentsReader(cacheDirectory) : new OpenAPIComponentsReader(),
+            options);
 
         Response<List<OpenAPI>> response = openAPIGenerator.generate(schemaDirectory, componentsDirectory, metadata);
 
@@ -490,9 +526,18 @@ public class GenerateSubCommand extends AbstractSubCommand {
 
                     Files.createDirectories(outputPath);
 
-                    SQLGenerator sqlGenerator = new SQLGenerator(options, outputPath);
-
-                    Response<List<Path>> response = sqlGenerator.generate(schemaDirectory, metadata);
+                    Response<List<Path>> response;
+
+                    if (migrateFromDirectory != null) {
+                        response = new SQLMigrationGenerator(options, outputPath).generate(migrateFromDirectory, schemaDirectory, metadata)
+                            .mapResult(path -> path != null ? List.of(path) : List.<Path>of());
+                    } else if (columnar) {
+                        response = new ColumnarSchemaGenerator(options, outputPath).generate(schemaDirectory);
+                    } else if (queries) {
+                        response = new SQLQueryTemplateGenerator(options, outputPath).generate(schemaDirectory, metadata);
+                    } else {
+                        response = new SQLGenerator(options, outputPath).generate(schemaDirectory, metadata);
+                    }
 
                     response.onSuccessDoWithResult(this::outputSQLPaths).onFailDoWithResponse(this::printSQLErrors);
                 }
@@ -0,0 +1,88 @@
+package org.brapi.schematools.cli;
+
+import graphql.schema.GraphQLSchema;
+import lombok.extern.slf4j.Slf4j;
+import org.brapi.schematools.analyse.TabularReportWriter;
+import org.brapi.schematools.analyse.graphql.GraphQLLoadTestOptions;
+import org.brapi.schematools.analyse.graphql.GraphQLLoadTestReport;
+import org.brapi.schematools.analyse.graphql.GraphQLLoadTester;
+import org.brapi.schematools.analyse.graphql.GraphQLQuerySynthesiser;
+import org.brapi.schematools.core.authorization.AuthorizationProvider;
+import org.brapi.schematools.core.authorization.BasicAuthorizationProvider;
+import org.brapi.schematools.core.authorization.NoAuthorizationProvider;
+import org.brapi.schematools.core.graphql.GraphQLGenerator;
+import org.brapi.schematools.core.graphql.options.GraphQLGeneratorOptions;
+import org.dflib.Printers;
+import picocli.CommandLine;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.nio.file.Path;
+
+/**
+ * Load Test Command
+ */
+@CommandLine.Command(
+    name = "loadtest", mixinStandardHelpOptions = true,
+    description = "Load tests a GraphQL endpoint with queries synthesised from the GraphQL schema generated from a BrAPI JSON schema"
+)
+@Slf4j
+public class LoadTestSubCommand extends AbstractSubCommand {
+
+    @CommandLine.Parameters(index = "0", description = "The directory containing the BrAPI JSON schema")
+    private Path schemaDirectory;
+    @CommandLine.Parameters(index = "1", description = "The URL of the GraphQL endpoint, for example 'http://localhost:8081/graphql'")
+    private URI endpoint;
+
+    @CommandLine.Option(names = {"-o", "--options"}, description = "The path of the load test options file. If not provided the default options will be used.")
+    private Path optionsPath;
+    @CommandLine.Option(names = {"-g", "--graphQLOptions"}, description = "The path of the GraphQL generator options file, with which the schema on the endpoint was generated. If not provided the default options will be used.")
+    private Path graphQLOptionsPath;
+    @CommandLine.Option(names = {"-n", "--concurrency"}, description = "The maximum number of concurrent requests, overrides the value in the options.")
+    private Integer concurrency;
+    @CommandLine.Option(names = {"-r", "--report"}, description = "The path to Excel workbook where the report is sent. If not provided, the standard out is used.")
+    private Path reportPath;
+    @CommandLine.Option(names = {"-u", "--username"}, description = "The username for authentication if required. If not provided the current system username is used.")
+    private String username = System.getProperty("user.name");
+    @CommandLine.Option(names = {"-p", "--password"}, interactive = true, arity = "0..1", description = "The password for the supplied username, if basic authentication is required.")
+    private String password;
+
+    @Override
+    protected void execute() throws IOException {
+        GraphQLLoadTestOptions options = optionsPath != null ?
+            GraphQLLoadTestOptions.load(optionsPath) : GraphQLLoadTestOptions.load();
+        GraphQLGeneratorOptions graphQLOptions = graphQLOptionsPath != null ?
+            GraphQLGeneratorOptions.load(graphQLOptionsPath) : GraphQLGeneratorOptions.load();
+
+        if (concurrency != null) {
+            options.setConcurrency(concurrency);
+        }
+
+        GraphQLLoadTester loadTester = new GraphQLLoadTester(endpoint, HttpClient.newBuilder().build(), authorisation(), options);
+
+        new GraphQLGenerator(graphQLOptions).generate(schemaDirectory)
+            .mapResultToResponse((GraphQLSchema schema) -> new GraphQLQuerySynthesiser(graphQLOptions, options).synthesise(schema))
+            .mapResultToResponse(loadTester::run)
+            .onSuccessDoWithResult(this::outputReport)
+            .onFailDoWithResponse(response -> printErrors("Load test failed due to: ", response.getAllErrors()));
+    }
+
+    private AuthorizationProvider authorisation() {
+        return password != null ?
+            BasicAuthorizationProvider.builder().username(username).password(password).build() :
+            new NoAuthorizationProvider();
+    }
+
+    private void outputReport(GraphQLLoadTestReport report) {
+        if (reportPath != null) {
+            try {
+                TabularReportWriter.writer().autoSizeColumns().writeToExcel(report.toDataFrame(), reportPath);
+            } catch (IOException e) {
+                handleException(e);
+            }
+        } else {
+            log.info(Printers.tabular.print(report.toDataFrame()));
+        }
+    }
+}
@@ -21,6 +21,10 @@ public enum OutputFormat {
      * Use this format to generate a GraphQL schema in introspection format
      */
     GRAPHQL_INTROSPECTION,
+    /**
+     * Use this format to generate a compact GraphQL schema snapshot, which can be loaded quickly as an executable schema
+     */
+    GRAPHQL_SNAPSHOT,
     /**
      * Use this format to generate OWL specification in turtle format
      */
@@ -0,0 +1,27 @@
+package org.brapi.schematools.core.graphql;
+
+import graphql.TypeResolutionEnvironment;
+import graphql.schema.GraphQLObjectType;
+import graphql.schema.TypeResolver;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Resolves an interface or union to a single default object type, which is looked up
+ * by name in the schema at execution time. Used by the {@link GraphQLGenerator} and
+ * when a schema is loaded from a {@link GraphQLSchemaSnapshot}.
+ */
+@Getter
+@AllArgsConstructor
+class DefaultTypeResolver implements TypeResolver {
+    /**
+     * The name of the object type to which the interface or union is resolved,
+     * or {@code null} if there is no object type to resolve to
+     */
+    private final String defaultTypeName;
+
+    @Override
+    public GraphQLObjectType getType(TypeResolutionEnvironment environment) {
+        return defaultTypeName != null ? environment.getSchema().getObjectType(defaultTypeName) : null;
+    }
+}
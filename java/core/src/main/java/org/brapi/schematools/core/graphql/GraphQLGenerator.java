@@ -1,8 +1,8 @@
 package org.brapi.schematools.core.graphql;
 
 import graphql.AssertException;
-import graphql.TypeResolutionEnvironment;
 import graphql.schema.*;
+import graphql.schema.idl.SchemaPrinter;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
@@ -17,6 +17,7 @@ import org.brapi.schematools.core.utils.StringUtils;
 
 import java.nio.file.Path;
 import java.util.*;
+import java.util.concurrent.ConcurrentSkipListMap;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -94,6 +95,29 @@ public class GraphQLGenerator {
             schemaReader.readDirectories(schemaDirectory).mapResultToResponse(brAPISchemas -> new Generator(options, metadata, brAPISchemas).generate()));
     }
 
+    /**
+     * Generates the {@link GraphQLSchema} from BrAPI classes that have already been read from the
+     * complete BrAPI Specification, for example by a {@link BrAPISchemaReader}.
+     *
+     * @param brAPIClasses the BrAPI classes of the complete BrAPI Specification
+     * @return the {@link GraphQLSchema} from the BrAPI classes
+     */
+    public Response<GraphQLSchema> generate(List<BrAPIClass> brAPIClasses) {
+        return generate(brAPIClasses, new GraphQLGeneratorMetadata());
+    }
+
+    /**
+     * Generates the {@link GraphQLSchema} from BrAPI classes that have already been read from the
+     * complete BrAPI Specification, for example by a {@link BrAPISchemaReader}.
+     *
+     * @param brAPIClasses the BrAPI classes of the complete BrAPI Specification
+     * @param metadata     additional metadata that is used in the generation
+     * @return the {@link GraphQLSchema} from the BrAPI classes
+     */
+    public Response<GraphQLSchema> generate(List<BrAPIClass> brAPIClasses, GraphQLGeneratorMetadata metadata) {
+        return options.validate().asResponse().merge(() -> new Generator(options, metadata, brAPIClasses).generate());
+    }
+
     @Getter
     private static class Generator {
         private final GraphQLGeneratorOptions options;
@@ -114,46 +138,64 @@ public class GraphQLGenerator {
             this.metadata = metadata;
 
             this.brAPIClassCache = BrAPIClassCacheBuilder.builder(brAPISchemas).build();
-            outputTypes = new TreeMap<>();
-            interfaceTypes = new TreeMap<>();
-            unionTypes = new TreeMap<>();
-            enumTypes = new TreeMap<>();
-            inputTypes = new TreeMap<>();
-            listResponseTypesToBeCreated = new TreeMap<>();
-            inputObjectTypeForListQueryToBeCreated = new TreeMap<>();
+            outputTypes = createRegistry();
+            interfaceTypes = createRegistry();
+            unionTypes = createRegistry();
+            enumTypes = createRegistry();
+            inputTypes = createRegistry();
+            listResponseTypesToBeCreated = createRegistry();
+            inputObjectTypeForListQueryToBeCreated = createRegistry();
         }
 
         public Response<GraphQLSchema> generate() {
-            return brAPIClassCache.getBrAPIClasses().stream()
+            return streamBrAPIClasses()
                 .filter(this::isNonPrimaryModel)
                 .map(this::createOutputType)
                 .collect(Response.toList())
                 .mapOnCondition(options.isGeneratingCreateMutation() || options.isGeneratingUpdateMutation(),
-                    () -> brAPIClassCache.getBrAPIClasses().stream()
+                    () -> streamBrAPIClasses()
                         .filter(this::isGeneratingInputTypeForMutation)
                         .map(this::createInputObjectTypeForModel)
                         .collect(Response.toList()))
                 .mapOnCondition(options.isGeneratingListQueries(),
-                    () -> brAPIClassCache.getBrAPIClasses().stream()
+                    () -> streamBrAPIClasses()
                         .filter(this::isGeneratingInputTypeForListQuery)
                         .map(this::createInputObjectTypeForListQuery)
                         .collect(Response.toList()))
                 .mapOnCondition(options.isGeneratingSearchQueries(),
-                    () -> brAPIClassCache.getBrAPIClasses().stream()
+                    () -> streamBrAPIClasses()
                         .filter(this::isGeneratingInputTypeForSearchQuery)
                         .map(this::createInputObjectTypeForSearchQuery)
                         .collect(Response.toList()))
-                .map(() -> brAPIClassCache.getBrAPIClasses().stream()
+                .map(() -> streamBrAPIClasses()
                     .filter(this::isInterface)
                     .map(this::createInterfaceType)
                     .collect(Response.toList()))
-                .map(() -> brAPIClassCache.getBrAPIClasses().stream()
+                .map(() -> streamBrAPIClasses()
                     .filter(this::isPrimaryModel)
                     .map(this::createPrimaryModel)
                     .collect(Response.toList()))
                 .mapResultToResponse(this::createSchema);
         }
 
+        /**
+         * Creates a registry for the generated types, which is sorted by name so that the types are
+         * always added to the schema in the same order. If the types are constructed in parallel the
+         * registry is thread-safe.
+         */
+        private <T> Map<String, T> createRegistry() {
+            return options.isGeneratingInParallel() ? new ConcurrentSkipListMap<>() : new TreeMap<>();
+        }
+
+        /**
+         * Streams the BrAPI classes, in parallel if the types are constructed in parallel. Each pass
+         * over the classes completes before the next begins, and the results of each pass are collected
+         * in encounter order.
+         */
+        private Stream<BrAPIClass> streamBrAPIClasses() {
+            return options.isGeneratingInParallel() ? brAPIClassCache.getBrAPIClasses().parallelStream() : brAPIClassCache.getBrAPIClasses().stream();
+        }
+
         private boolean isGeneratingInputTypeForListQuery(BrAPIClass brAPIClass) {
             return isPrimaryModel(brAPIClass) &&
                 (options.isGeneratingListQueryFor(brAPIClass.getName()) &&
@@ -244,8 +286,8 @@ public class GraphQLGenerator {
                 builder.additionalType(createPageType());
             }
 
-            interfaceTypes.values().forEach(graphQLType -> codeRegistry.typeResolver(graphQLType, new InterfaceTypeResolver(graphQLType)));
-            unionTypes.values().forEach(graphQLType -> codeRegistry.typeResolver(graphQLType, new UnionTypeResolver(graphQLType)));
+            interfaceTypes.values().forEach(graphQLType -> codeRegistry.typeResolver(graphQLType, new DefaultTypeResolver(findDefaultImplementation(graphQLType))));
+            unionTypes.values().forEach(graphQLType -> codeRegistry.typeResolver(graphQLType, new DefaultTypeResolver(findDefaultPossibleType(graphQLType))));
 
             builder.codeRegistry(codeRegistry.build());
 
@@ -259,6 +301,19 @@ public class GraphQLGenerator {
             }
         }
 
+        private String findDefaultImplementation(GraphQLInterfaceType interfaceType) {
+            return outputTypes.values().stream()
+                .filter(type -> type instanceof GraphQLObjectType objectType &&
+                    objectType.getInterfaces().stream().anyMatch(implemented -> implemented.getName().equals(interfaceType.getName())))
+                .map(GraphQLNamedOutputType::getName)
+                .findFirst()
+                .orElse(null);
+        }
+
+        private String findDefaultPossibleType(GraphQLUnionType unionType) {
+            return unionType.getTypes().isEmpty() ? null : unionType.getTypes().get(0).getName();
+        }
+
         private GraphQLNamedOutputType createAdditionalInfoType(GraphQLNamedOutputType additionalInfo) {
             if (additionalInfo instanceof GraphQLObjectType graphQLObjectType && !graphQLObjectType.getFields().isEmpty()) {
                 GraphQLObjectType keyValuePairType = newObject()
@@ -467,10 +522,6 @@ public class GraphQLGenerator {
                     return success(existingType);
                 }
 
-                if (isInterface(brAPIObjectType)) {
-                    System.out.println(brAPIObjectType.getName());
-                }
-
                 GraphQLObjectType.Builder builder = newObject()
                     .name(brAPIObjectType.getName())
                     .description(brAPIObjectType.getDescription());
@@ -666,12 +717,13 @@ public class GraphQLGenerator {
         }
 
         private Response<GraphQLNamedInputType> createInputObjectType(String name, BrAPIClass type) {
-            GraphQLNamedInputType existingType = inputTypes.get(name);
+            // the placeholder for the type is registered atomically, so each input type is constructed only once,
+            // by the first caller, without locking. Any other caller, including the recursive calls for input types
+            // that refer to each other, gets the placeholder, which refers to the type by name until it is replaced
+            GraphQLNamedInputType existingType = inputTypes.putIfAbsent(name, GraphQLTypeReference.typeRef(name));
 
             if (existingType != null) {
                 return success(existingType);
-            } else {
-                addInputObjectType(GraphQLTypeReference.typeRef(name));
             }
 
             if (type instanceof BrAPIObjectType brAPIObjectType) {
@@ -906,36 +958,50 @@ public class GraphQLGenerator {
             };
         }
 
+        /*
+         * The add methods register a type by name and return the type that is kept for that name. If two
+         * different types are given the same name, the one whose definition sorts first is kept, whichever
+         * is registered first, so the schema does not depend on the order in which the types are constructed,
+         * and is the same whether or not they are constructed in parallel. The other types refer to
+         * the kept type by name.
+         */
         private Response<GraphQLNamedOutputType> addObjectType(GraphQLNamedOutputType type) {
-            outputTypes.put(type.getName(), type);
-
-            return success(type);
+            return success(register(outputTypes, type));
         }
 
         private Response<GraphQLInterfaceType> addInterfaceType(GraphQLInterfaceType type) {
-            interfaceTypes.put(type.getName(), type);
-
-            return success(type);
+            return success(register(interfaceTypes, type));
         }
 
         private Response<GraphQLUnionType> addUnionType(GraphQLUnionType type) {
-            unionTypes.put(type.getName(), type);
-
-            return success(type);
+            return success(register(unionTypes, type));
         }
 
         private Response<GraphQLEnumType> addEnumType(GraphQLEnumType type) {
-            enumTypes.put(type.getName(), type);
-
-            return success(type);
+            return success(register(enumTypes, type));
         }
 
         private Response<GraphQLNamedInputType> addInputObjectType(GraphQLNamedInputType type) {
+            // replaces the placeholder registered by the only caller that constructs the type, see createInputObjectType
             inputTypes.put(type.getName(), type);
 
             return success(type);
         }
 
+        private <T extends GraphQLNamedType> T register(Map<String, T> types, T type) {
+            return types.merge(type.getName(), type, this::resolveDuplicate);
+        }
+
+        private <T extends GraphQLNamedType> T resolveDuplicate(T existingType, T type) {
+            if (existingType == type) {
+                return existingType;
+            }
+
+            SchemaPrinter printer = new SchemaPrinter();
+
+            return printer.print(existingType).compareTo(printer.print(type)) <= 0 ? existingType : type;
+        }
+
         private GraphQLFieldDefinition.Builder generateSingleGraphQLQuery(GraphQLObjectType type) {
 
             return newFieldDefinition()
@@ -1247,26 +1313,4 @@ public class GraphQLGenerator {
             return success(arguments);
         }
     }
-
-    @AllArgsConstructor
-    private static class UnionTypeResolver implements TypeResolver {
-
-        private GraphQLUnionType unionType;
-
-        @Override
-        public GraphQLObjectType getType(TypeResolutionEnvironment schemaName) {
-            return (GraphQLObjectType) this.unionType.getTypes().get(0);
-        }
-    }
-
-    @AllArgsConstructor
-    private static class InterfaceTypeResolver implements TypeResolver {
-
-        private GraphQLInterfaceType interfaceType;
-
-        @Override
-        public GraphQLObjectType getType(TypeResolutionEnvironment schemaName) {
-            return (GraphQLObjectType) this.interfaceType.getChildren().get(0);
-        }
-    }
 }
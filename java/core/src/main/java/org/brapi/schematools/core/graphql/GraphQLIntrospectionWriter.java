@@ -0,0 +1,528 @@
+package org.brapi.schematools.core.graphql;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import graphql.GraphQLContext;
+import graphql.introspection.IntrospectionQuery;
+import graphql.language.*;
+import graphql.parser.Parser;
+import graphql.schema.*;
+import org.brapi.schematools.core.response.Response;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.util.*;
+
+import static org.brapi.schematools.core.response.Response.fail;
+import static org.brapi.schematools.core.response.Response.success;
+
+/**
+ * Writes the result of an introspection query over a {@link GraphQLSchema} directly as JSON, without
+ * executing the query. Executing an introspection query builds the full result as a tree of maps
+ * before it can be serialised, which for the full BrAPI schema is large, whereas this writer streams
+ * each value to the output as it is visited. The output is the 'data' of the introspection result,
+ * and is the same as executing the query, for example with {@link graphql.GraphQL#execute(String)}.
+ * The writer supports the fields, aliases and fragments used by introspection queries, such as
+ * {@link IntrospectionQuery#INTROSPECTION_QUERY}, but not variables or directives.
+ */
+public class GraphQLIntrospectionWriter {
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private static final String TYPENAME = "__typename";
+    private static final String INCLUDE_DEPRECATED = "includeDeprecated";
+
+    private final OperationDefinition operation;
+    private final Map<String, FragmentDefinition> fragments = new HashMap<>();
+
+    /**
+     * Creates a writer for the standard introspection query {@link IntrospectionQuery#INTROSPECTION_QUERY}
+     */
+    public GraphQLIntrospectionWriter() {
+        this(IntrospectionQuery.INTROSPECTION_QUERY);
+    }
+
+    /**
+     * Creates a writer for an introspection query
+     * @param query the introspection query, which must contain a single operation
+     */
+    public GraphQLIntrospectionWriter(String query) {
+        Document document = Parser.parse(query);
+
+        List<OperationDefinition> operations = document.getDefinitionsOfType(OperationDefinition.class);
+
+        if (operations.size() != 1) {
+            throw new IllegalArgumentException(String.format("Introspection query must contain a single operation, but has %d", operations.size()));
+        }
+
+        this.operation = operations.get(0);
+
+        document.getDefinitionsOfType(FragmentDefinition.class).forEach(fragment -> fragments.put(fragment.getName(), fragment));
+    }
+
+    /**
+     * Writes the result of the introspection query to a writer. The writer is not closed.
+     * @param schema the schema to be introspected
+     * @param writer the writer to which the JSON is written
+     * @return the schema, or a failed response if the result could not be written
+     */
+    public Response<GraphQLSchema> write(GraphQLSchema schema, Writer writer) {
+        try (JsonGenerator generator = JSON_FACTORY.createGenerator(writer).disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)) {
+            return write(schema, generator);
+        } catch (IOException e) {
+            return fail(Response.ErrorType.VALIDATION, String.format("Can not write GraphQL introspection : %s", e.getMessage()));
+        }
+    }
+
+    /**
+     * Writes the result of the introspection query to an output stream, in UTF-8. The output stream is not closed.
+     * @param schema the schema to be introspected
+     * @param outputStream the output stream to which the JSON is written
+     * @return the schema, or a failed response if the result could not be written
+     */
+    public Response<GraphQLSchema> write(GraphQLSchema schema, OutputStream outputStream) {
+        try (JsonGenerator generator = JSON_FACTORY.createGenerator(outputStream, JsonEncoding.UTF8).disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)) {
+            return write(schema, generator);
+        } catch (IOException e) {
+            return fail(Response.ErrorType.VALIDATION, String.format("Can not write GraphQL introspection : %s", e.getMessage()));
+        }
+    }
+
+    private Response<GraphQLSchema> write(GraphQLSchema schema, JsonGenerator generator) throws IOException {
+        try {
+            new Writing(schema, generator).writeQuery(operation.getSelectionSet());
+
+            return success(schema);
+        } catch (IllegalArgumentException e) {
+            return fail(Response.ErrorType.VALIDATION, String.format("Can not write GraphQL introspection : %s", e.getMessage()));
+        }
+    }
+
+    private class Writing {
+        private final GraphQLSchema schema;
+        private final JsonGenerator generator;
+
+        private Writing(GraphQLSchema schema, JsonGenerator generator) {
+            this.schema = schema;
+            this.generator = generator;
+        }
+
+        private void writeQuery(SelectionSet selectionSet) throws IOException {
+            generator.writeStartObject();
+
+            for (Field field : collectFields(selectionSet)) {
+                generator.writeFieldName(field.getResultKey());
+
+                switch (field.getName()) {
+                    case "__schema" -> writeSchema(field.getSelectionSet());
+                    case "__type" -> writeType(schema.getType(getStringArgument(field, "name")), field.getSelectionSet());
+                    case TYPENAME -> generator.writeString(schema.getQueryType().getName());
+                    default -> throw unsupportedField("Query", field);
+                }
+            }
+
+            generator.writeEndObject();
+        }
+
+        private void writeSchema(SelectionSet selectionSet) throws IOException {
+            generator.writeStartObject();
+
+            for (Field field : collectFields(selectionSet)) {
+                generator.writeFieldName(field.getResultKey());
+
+                switch (field.getName()) {
+                    case "description" -> generator.writeString(schema.getDescription());
+                    case "types" -> writeTypes(schema.getAllTypesAsList(), field.getSelectionSet());
+                    case "queryType" -> writeType(schema.getQueryType(), field.getSelectionSet());
+                    case "mutationType" -> writeType(schema.getMutationType(), field.getSelectionSet());
+                    case "subscriptionType" -> writeType(schema.getSubscriptionType(), field.getSelectionSet());
+                    case "directives" -> writeDirectives(schema.getDirectives(), field.getSelectionSet());
+                    case TYPENAME -> generator.writeString("__Schema");
+                    default -> throw unsupportedField("__Schema", field);
+                }
+            }
+
+            generator.writeEndObject();
+        }
+
+        private void writeTypes(List<? extends GraphQLType> types, SelectionSet selectionSet) throws IOException {
+            if (types == null) {
+                generator.writeNull();
+                return;
+            }
+
+            generator.writeStartArray();
+
+            for (GraphQLType type : types) {
+                writeType(type, selectionSet);
+            }
+
+            generator.writeEndArray();
+        }
+
+        private void writeType(GraphQLType type, SelectionSet selectionSet) throws IOException {
+            if (type == null) {
+                generator.writeNull();
+                return;
+            }
+
+            generator.writeStartObject();
+
+            for (Field field : collectFields(selectionSet)) {
+                generator.writeFieldName(field.getResultKey());
+
+                switch (field.getName()) {
+                    case "kind" -> generator.writeString(getKind(type));
+                    case "name" -> generator.writeString(type instanceof GraphQLNamedType namedType ? namedType.getName() : null);
+                    case "description" -> generator.writeString(type instanceof GraphQLNamedType namedType ? namedType.getDescription() : null);
+                    case "specifiedByURL", "specifiedByUrl" ->
+                        generator.writeString(type instanceof GraphQLScalarType scalarType ? scalarType.getSpecifiedByUrl() : null);
+                    case "fields" -> writeFields(type, isIncludingDeprecated(field), field.getSelectionSet());
+                    case "interfaces" -> writeTypes(getInterfaces(type), field.getSelectionSet());
+                    case "possibleTypes" -> writeTypes(getPossibleTypes(type), field.getSelectionSet());
+                    case "enumValues" -> writeEnumValues(type, isIncludingDeprecated(field), field.getSelectionSet());
+                    case "inputFields" -> writeInputFields(type, isIncludingDeprecated(field), field.getSelectionSet());
+                    case "ofType" -> writeType(type instanceof GraphQLModifiedType modifiedType ? modifiedType.getWrappedType() : null, field.getSelectionSet());
+                    case TYPENAME -> generator.writeString("__Type");
+                    default -> throw unsupportedField("__Type", field);
+                }
+            }
+
+            generator.writeEndObject();
+        }
+
+        private void writeFields(GraphQLType type, boolean includeDeprecated, SelectionSet selectionSet) throws IOException {
+            if (!(type instanceof GraphQLFieldsContainer fieldsContainer)) {
+                generator.writeNull();
+                return;
+            }
+
+            generator.writeStartArray();
+
+            for (GraphQLFieldDefinition fieldDefinition : schema.getCodeRegistry().getFieldVisibility().getFieldDefinitions(fieldsContainer)) {
+                if (includeDeprecated || !fieldDefinition.isDeprecated()) {
+                    writeField(fieldDefinition, selectionSet);
+                }
+            }
+
+            generator.writeEndArray();
+        }
+
+        private void writeField(GraphQLFieldDefinition fieldDefinition, SelectionSet selectionSet) throws IOException {
+            generator.writeStartObject();
+
+            for (Field field : collectFields(selectionSet)) {
+                generator.writeFieldName(field.getResultKey());
+
+                switch (field.getName()) {
+                    case "name" -> generator.writeString(fieldDefinition.getName());
+                    case "description" -> generator.writeString(fieldDefinition.getDescription());
+                    case "args" -> writeArguments(fieldDefinition.getArguments(), isIncludingDeprecated(field), field.getSelectionSet());
+                    case "type" -> writeType(fieldDefinition.getType(), field.getSelectionSet());
+                    case "isDeprecated" -> generator.writeBoolean(fieldDefinition.isDeprecated());
+                    case "deprecationReason" -> generator.writeString(fieldDefinition.getDeprecationReason());
+                    case TYPENAME -> generator.writeString("__Field");
+                    default -> throw unsupportedField("__Field", field);
+                }
+            }
+
+            generator.writeEndObject();
+        }
+
+        private void writeArguments(List<GraphQLArgument> arguments, boolean includeDeprecated, SelectionSet selectionSet) throws IOException {
+            generator.writeStartArray();
+
+            for (GraphQLArgument argument : arguments) {
+                if (includeDeprecated || !argument.isDeprecated()) {
+                    writeInputValue(argument.getName(), argument.getDescription(), argument.getType(),
+                        argument.hasSetDefaultValue() ? argument.getArgumentDefaultValue() : null,
+                        argument.isDeprecated(), argument.getDeprecationReason(), selectionSet);
+                }
+            }
+
+            generator.writeEndArray();
+        }
+
+        private void writeInputFields(GraphQLType type, boolean includeDeprecated, SelectionSet selectionSet) throws IOException {
+            if (!(type instanceof GraphQLInputObjectType inputObjectType)) {
+                generator.writeNull();
+                return;
+            }
+
+            generator.writeStartArray();
+
+            for (GraphQLInputObjectField inputField : schema.getCodeRegistry().getFieldVisibility().getFieldDefinitions(inputObjectType)) {
+                if (includeDeprecated || !inputField.isDeprecated()) {
+                    writeInputValue(inputField.getName(), inputField.getDescription(), inputField.getType(),
+                        inputField.hasSetDefaultValue() ? inputField.getInputFieldDefaultValue() : null,
+                        inputField.isDeprecated(), inputField.getDeprecationReason(), selectionSet);
+                }
+            }
+
+            generator.writeEndArray();
+        }
+
+        private void writeInputValue(String name, String description, GraphQLInputType type, InputValueWithState defaultValue,
+                                     boolean deprecated, String deprecationReason, SelectionSet selectionSet) throws IOException {
+            generator.writeStartObject();
+
+            for (Field field : collectFields(selectionSet)) {
+                generator.writeFieldName(field.getResultKey());
+
+                switch (field.getName()) {
+                    case "name" -> generator.writeString(name);
+                    case "description" -> generator.writeString(description);
+                    case "type" -> writeType(type, field.getSelectionSet());
+                    case "defaultValue" -> generator.writeString(defaultValue != null ?
+                        AstPrinter.printAst(toLiteral(defaultValue, type)) : null);
+                    case "isDeprecated" -> generator.writeBoolean(deprecated);
+                    case "deprecationReason" -> generator.writeString(deprecationReason);
+                    case TYPENAME -> generator.writeString("__InputValue");
+                    default -> throw unsupportedField("__InputValue", field);
+                }
+            }
+
+            generator.writeEndObject();
+        }
+
+        private void writeEnumValues(GraphQLType type, boolean includeDeprecated, SelectionSet selectionSet) throws IOException {
+            if (!(type instanceof GraphQLEnumType enumType)) {
+                generator.writeNull();
+                return;
+            }
+
+            generator.writeStartArray();
+
+            for (GraphQLEnumValueDefinition enumValue : enumType.getValues()) {
+                if (includeDeprecated || !enumValue.isDeprecated()) {
+                    writeEnumValue(enumValue, selectionSet);
+                }
+            }
+
+            generator.writeEndArray();
+        }
+
+        private void writeEnumValue(GraphQLEnumValueDefinition enumValue, SelectionSet selectionSet) throws IOException {
+            generator.writeStartObject();
+
+            for (Field field : collectFields(selectionSet)) {
+                generator.writeFieldName(field.getResultKey());
+
+                switch (field.getName()) {
+                    case "name" -> generator.writeString(enumValue.getName());
+                    case "description" -> generator.writeString(enumValue.getDescription());
+                    case "isDeprecated" -> generator.writeBoolean(enumValue.isDeprecated());
+                    case "deprecationReason" -> generator.writeString(enumValue.getDeprecationReason());
+                    case TYPENAME -> generator.writeString("__EnumValue");
+                    default -> throw unsupportedField("__EnumValue", field);
+                }
+            }
+
+            generator.writeEndObject();
+        }
+
+        private void writeDirectives(List<GraphQLDirective> directives, SelectionSet selectionSet) throws IOException {
+            generator.writeStartArray();
+
+            for (GraphQLDirective directive : directives) {
+                writeDirective(directive, selectionSet);
+            }
+
+            generator.writeEndArray();
+        }
+
+        private void writeDirective(GraphQLDirective directive, SelectionSet selectionSet) throws IOException {
+            generator.writeStartObject();
+
+            for (Field field : collectFields(selectionSet)) {
+                generator.writeFieldName(field.getResultKey());
+
+                switch (field.getName()) {
+                    case "name" -> generator.writeString(directive.getName());
+                    case "description" -> generator.writeString(directive.getDescription());
+                    case "locations" -> {
+                        generator.writeStartArray();
+                        for (Enum<?> location : directive.validLocations()) {
+                            generator.writeString(location.name());
+                        }
+                        generator.writeEndArray();
+                    }
+                    case "args" -> writeArguments(directive.getArguments(), isIncludingDeprecated(field), field.getSelectionSet());
+                    case "isRepeatable" -> generator.writeBoolean(directive.isRepeatable());
+                    case TYPENAME -> generator.writeString("__Directive");
+                    default -> throw unsupportedField("__Directive", field);
+                }
+            }
+
+            generator.writeEndObject();
+        }
+
+        private String getKind(GraphQLType type) {
+            if (type instanceof GraphQLObjectType) {
+                return "OBJECT";
+            } else if (type instanceof GraphQLInterfaceType) {
+                return "INTERFACE";
+            } else if (type instanceof GraphQLUnionType) {
+                return "UNION";
+            } else if (type instanceof GraphQLEnumType) {
+                return "ENUM";
+            } else if (type instanceof GraphQLInputObjectType) {
+                return "INPUT_OBJECT";
+            } else if (type instanceof GraphQLScalarType) {
+                return "SCALAR";
+            } else if (type instanceof GraphQLList) {
+                return "LIST";
+            } else if (type instanceof GraphQLNonNull) {
+                return "NON_NULL";
+            }
+
+            throw new IllegalArgumentException(String.format("Unknown type '%s'", type));
+        }
+
+        private List<? extends GraphQLType> getInterfaces(GraphQLType type) {
+            if (type instanceof GraphQLImplementingType implementingType) {
+                return implementingType.getInterfaces();
+            }
+
+            return null;
+        }
+
+        private List<? extends GraphQLType> getPossibleTypes(GraphQLType type) {
+            if (type instanceof GraphQLInterfaceType interfaceType) {
+                return schema.getImplementations(interfaceType);
+            } else if (type instanceof GraphQLUnionType unionType) {
+                return unionType.getTypes();
+            }
+
+            return null;
+        }
+    }
+
+    private Collection<Field> collectFields(SelectionSet selectionSet) {
+        Map<String, Field> fields = new LinkedHashMap<>();
+
+        if (selectionSet != null) {
+            collectFields(selectionSet, fields);
+        }
+
+        return fields.values();
+    }
+
+    private void collectFields(SelectionSet selectionSet, Map<String, Field> fields) {
+        for (Selection<?> selection : selectionSet.getSelections()) {
+            if (selection instanceof Field field) {
+                // fields with the same result key are merged, as they are when the query is executed
+                fields.merge(field.getResultKey(), field, this::mergeFields);
+            } else if (selection instanceof InlineFragment inlineFragment) {
+                collectFields(inlineFragment.getSelectionSet(), fields);
+            } else if (selection instanceof FragmentSpread fragmentSpread) {
+                FragmentDefinition fragment = fragments.get(fragmentSpread.getName());
+
+                if (fragment == null) {
+                    throw new IllegalArgumentException(String.format("Unknown fragment '%s'", fragmentSpread.getName()));
+                }
+
+                collectFields(fragment.getSelectionSet(), fields);
+            }
+        }
+    }
+
+    private Field mergeFields(Field field, Field otherField) {
+        if (field.getSelectionSet() == null || otherField.getSelectionSet() == null) {
+            return field;
+        }
+
+        List<Selection> selections = new ArrayList<>(field.getSelectionSet().getSelections());
+        selections.addAll(otherField.getSelectionSet().getSelections());
+
+        return field.transform(builder -> builder.selectionSet(SelectionSet.newSelectionSet(selections).build()));
+    }
+
+    private boolean isIncludingDeprecated(Field field) {
+        return findArgument(field, INCLUDE_DEPRECATED).getValue() instanceof BooleanValue value && value.isValue();
+    }
+
+    private String getStringArgument(Field field, String name) {
+        if (findArgument(field, name).getValue() instanceof StringValue value) {
+            return value.getValue();
+        }
+
+        throw new IllegalArgumentException(String.format("Field '%s' requires the string argument '%s'", field.getName(), name));
+    }
+
+    private Argument findArgument(Field field, String name) {
+        return field.getArguments().stream()
+            .filter(argument -> argument.getName().equals(name))
+            .findFirst()
+            .orElse(new Argument(name, NullValue.of()));
+    }
+
+    /**
+     * Converts a default value to a literal with the public API, because {@code ValuesResolver#valueToLiteral}
+     * is internal to graphql-java. Values that are already literals, for example from SDL, are used as they
+     * are, otherwise the value is converted following the type, in the same way as graphql-java does.
+     */
+    private static Value<?> toLiteral(InputValueWithState defaultValue, GraphQLInputType type) {
+        if (defaultValue.isLiteral() && defaultValue.getValue() instanceof Value<?> value) {
+            return value;
+        }
+
+        return toLiteral(defaultValue.getValue(), type);
+    }
+
+    private static Value<?> toLiteral(Object value, GraphQLInputType type) {
+        if (value == null) {
+            return NullValue.of();
+        }
+
+        if (type instanceof GraphQLNonNull nonNullType) {
+            return toLiteral(value, (GraphQLInputType) nonNullType.getWrappedType());
+        }
+
+        if (type instanceof GraphQLList listType) {
+            GraphQLInputType itemType = (GraphQLInputType) listType.getWrappedType();
+
+            if (value instanceof Iterable<?> items) {
+                List<Value> values = new ArrayList<>();
+
+                items.forEach(item -> values.add(toLiteral(item, itemType)));
+
+                return ArrayValue.newArrayValue().values(values).build();
+            }
+
+            // a single value is accepted for a list type
+            return toLiteral(value, itemType);
+        }
+
+        if (type instanceof GraphQLInputObjectType inputObjectType && value instanceof Map<?, ?> fields) {
+            List<ObjectField> objectFields = new ArrayList<>();
+
+            for (GraphQLInputObjectField field : inputObjectType.getFieldDefinitions()) {
+                if (fields.containsKey(field.getName())) {
+                    objectFields.add(new ObjectField(field.getName(), toLiteral(fields.get(field.getName()), field.getType())));
+                }
+            }
+
+            return ObjectValue.newObjectValue().objectFields(objectFields).build();
+        }
+
+        if (type instanceof GraphQLEnumType enumType) {
+            return enumType.getValues().stream()
+                .filter(enumValue -> value.equals(enumValue.getValue()) || value.equals(enumValue.getName()))
+                .findFirst()
+                .map(enumValue -> EnumValue.of(enumValue.getName()))
+                .orElseThrow(() -> new IllegalArgumentException(String.format("Value '%s' is not valid for enum '%s'", value, enumType.getName())));
+        }
+
+        if (type instanceof GraphQLScalarType scalarType) {
+            return scalarType.getCoercing().valueToLiteral(value, GraphQLContext.getDefault(), Locale.getDefault());
+        }
+
+        throw new IllegalArgumentException(String.format("Value '%s' is not valid for type '%s'", value, GraphQLTypeUtil.simplePrint(type)));
+    }
+
+    private IllegalArgumentException unsupportedField(String typeName, Field field) {
+        return new IllegalArgumentException(String.format("Field '%s' on '%s' is not supported", field.getName(), typeName));
+    }
+}
@@ -0,0 +1,266 @@
+package org.brapi.schematools.core.graphql;
+
+import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import graphql.schema.GraphQLSchema;
+import graphql.schema.idl.SchemaPrinter;
+import lombok.extern.slf4j.Slf4j;
+import org.brapi.schematools.core.graphql.metadata.GraphQLGeneratorMetadata;
+import org.brapi.schematools.core.graphql.options.GraphQLGeneratorOptions;
+import org.brapi.schematools.core.response.Response;
+import org.brapi.schematools.core.utils.HashUtils;
+import org.brapi.schematools.core.utils.Version;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+import java.util.function.BiFunction;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import static org.brapi.schematools.core.response.Response.fail;
+import static org.brapi.schematools.core.response.Response.success;
+
+/**
+ * Caches the GraphQL schema printed in SDL and the result of the standard introspection query in a cache
+ * directory on disk, so that they are only created once for the same inputs, including across separate runs,
+ * for example of the command line interface. Caching is opt-in, without a cache directory the outputs are
+ * created each time. The outputs are never held in memory by the cache: a cached output is copied from its
+ * cache file to the writer, and an output that is not cached is written to the writer as it is created, and
+ * at the same time to its cache file. Cache entries are keyed on a fingerprint of the inputs,
+ * see {@link #fingerprint(Path, GraphQLGeneratorOptions, GraphQLGeneratorMetadata)} and
+ * {@link #fingerprintSnapshot(Path)}, and the schema is only generated if an output is not already
+ * cached. The introspection result is written with the {@link GraphQLIntrospectionWriter}.
+ */
+@Slf4j
+public class GraphQLSchemaOutputCache {
+
+    private static final String IDL_CACHE_FILE_FORMAT = "schema-%s.graphqls";
+    private static final String INTROSPECTION_CACHE_FILE_FORMAT = "introspection-%s.json";
+
+    private static final ObjectMapper FINGERPRINT_MAPPER = JsonMapper.builder()
+        .enable(MapperFeature.SORT_PROPERTIES_ALPHABETICALLY)
+        .enable(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS)
+        .disable(SerializationFeature.FAIL_ON_EMPTY_BEANS)
+        .build();
+
+    private final Path cacheDirectory;
+    private final SchemaPrinter schemaPrinter = new SchemaPrinter();
+    private final GraphQLIntrospectionWriter introspectionWriter = new GraphQLIntrospectionWriter();
+
+    /**
+     * Creates a cache that stores the outputs in the provided cache directory
+     * @param cacheDirectory the directory in which the cache files are stored, if {@code null}
+     *                       the outputs are not cached
+     */
+    public GraphQLSchemaOutputCache(Path cacheDirectory) {
+        this.cacheDirectory = cacheDirectory;
+    }
+
+    /**
+     * Creates a fingerprint of the inputs from which a GraphQL schema is generated, that is the SHA-256
+     * hash of the files in the schema directory, the options, the metadata and the version of the tools.
+     * @param schemaDirectory the directory containing the BrAPI JSON schema
+     * @param options the options used to generate the schema
+     * @param metadata the metadata used to generate the schema
+     * @return the fingerprint as a lower case hex string, or a failed response if the inputs could not be read
+     */
+    public static Response<String> fingerprint(Path schemaDirectory, GraphQLGeneratorOptions options, GraphQLGeneratorMetadata metadata) {
+        Path directory = schemaDirectory.toAbsolutePath().normalize();
+
+        try (Stream<Path> paths = Files.walk(directory)) {
+            List<Path> files = paths.filter(Files::isRegularFile).sorted().toList();
+
+            return success(HashUtils.sha256(String.join("\n",
+                HashUtils.sha256(directory, files),
+                FINGERPRINT_MAPPER.writeValueAsString(options),
+                FINGERPRINT_MAPPER.writeValueAsString(metadata),
+                Version.getVersion())));
+        } catch (IOException | RuntimeException e) {
+            return fail(Response.ErrorType.VALIDATION, String.format("Can not create fingerprint of '%s' : %s", schemaDirectory, e.getMessage()));
+        }
+    }
+
+    /**
+     * Creates a fingerprint of a schema snapshot, see {@link GraphQLSchemaSnapshot}, that is the SHA-256
+     * hash of the snapshot file and the version of the tools.
+     * @param snapshotFile the path of the snapshot file
+     * @return the fingerprint as a lower case hex string, or a failed response if the snapshot could not be read
+     */
+    public static Response<String> fingerprintSnapshot(Path snapshotFile) {
+        Path file = snapshotFile.toAbsolutePath().normalize();
+
+        try {
+            return success(HashUtils.sha256(String.join("\n",
+                HashUtils.sha256(file.getParent(), List.of(file)),
+                Version.getVersion())));
+        } catch (IOException e) {
+            return fail(Response.ErrorType.VALIDATION, String.format("Can not create fingerprint of '%s' : %s", snapshotFile, e.getMessage()));
+        }
+    }
+
+    /**
+     * Writes the schema printed in SDL, from the cache if it is already cached, otherwise printing
+     * and caching it. The writer is not closed.
+     * @param fingerprint the fingerprint of the inputs from which the schema is generated
+     * @param schemaSupplier supplies the schema, only called if the SDL is not already cached
+     * @param writer the writer to which the SDL is written
+     * @return the writer, or a failed response if the schema could not be generated or written
+     * @param <W> the type of the writer
+     */
+    public <W extends Writer> Response<W> writeIDL(String fingerprint, Supplier<Response<GraphQLSchema>> schemaSupplier, W writer) {
+        return write(String.format(IDL_CACHE_FILE_FORMAT, fingerprint), schemaSupplier, writer, this::printIDL);
+    }
+
+    /**
+     * Writes the JSON result of the standard introspection query, from the cache if it is already cached,
+     * otherwise writing and caching it. The writer is not closed.
+     * @param fingerprint the fingerprint of the inputs from which the schema is generated
+     * @param schemaSupplier supplies the schema, only called if the introspection result is not already cached
+     * @param writer the writer to which the introspection result is written
+     * @return the writer, or a failed response if the schema could not be generated or written
+     * @param <W> the type of the writer
+     */
+    public <W extends Writer> Response<W> writeIntrospection(String fingerprint, Supplier<Response<GraphQLSchema>> schemaSupplier, W writer) {
+        return write(String.format(INTROSPECTION_CACHE_FILE_FORMAT, fingerprint), schemaSupplier, writer, introspectionWriter::write);
+    }
+
+    private <W extends Writer> Response<W> write(String key, Supplier<Response<GraphQLSchema>> schemaSupplier, W writer,
+                                                 BiFunction<GraphQLSchema, Writer, Response<GraphQLSchema>> output) {
+        if (cacheDirectory == null) {
+            return schemaSupplier.get()
+                .mapResultToResponse(schema -> output.apply(schema, writer))
+                .map(() -> success(writer));
+        }
+
+        Path cacheFile = cacheDirectory.resolve(key);
+
+        if (Files.isRegularFile(cacheFile)) {
+            log.debug("Using '{}' cached in '{}'", key, cacheDirectory);
+            return copyCacheFile(cacheFile, writer);
+        }
+
+        return schemaSupplier.get()
+            .mapResultToResponse(schema -> writeAndCache(cacheFile, schema, writer, output));
+    }
+
+    private <W extends Writer> Response<W> copyCacheFile(Path cacheFile, W writer) {
+        try (Reader reader = Files.newBufferedReader(cacheFile, StandardCharsets.UTF_8)) {
+            reader.transferTo(writer);
+
+            return success(writer);
+        } catch (IOException e) {
+            return fail(Response.ErrorType.VALIDATION, String.format("Can not write cache file '%s' : %s", cacheFile, e.getMessage()));
+        }
+    }
+
+    private <W extends Writer> Response<W> writeAndCache(Path cacheFile, GraphQLSchema schema, W writer,
+                                                         BiFunction<GraphQLSchema, Writer, Response<GraphQLSchema>> output) {
+        try (TeeWriter teeWriter = new TeeWriter(writer, cacheFile)) {
+            return output.apply(schema, teeWriter)
+                .onSuccessDo(teeWriter::commit)
+                .map(() -> success(writer));
+        }
+    }
+
+    private Response<GraphQLSchema> printIDL(GraphQLSchema schema, Writer writer) {
+        try {
+            writer.write(schemaPrinter.print(schema));
+
+            return success(schema);
+        } catch (IOException e) {
+            return fail(Response.ErrorType.VALIDATION, String.format("Can not write GraphQL schema : %s", e.getMessage()));
+        }
+    }
+
+    /**
+     * Writes everything written to it to a writer, and at the same time to a temporary file, which replaces the
+     * cache file when committed, so that a concurrent reader never sees a partial cache file. If the temporary
+     * file can not be written the output is still written to the writer, but is not cached. Closing
+     * the tee writer does not close the writer, and deletes the temporary file if it was not committed.
+     */
+    private static class TeeWriter extends Writer {
+        private final Writer writer;
+        private final Path cacheFile;
+        private Path temporaryFile;
+        private Writer temporaryFileWriter;
+
+        private TeeWriter(Writer writer, Path cacheFile) {
+            this.writer = writer;
+            this.cacheFile = cacheFile;
+
+            try {
+                Files.createDirectories(cacheFile.getParent());
+                temporaryFile = Files.createTempFile(cacheFile.getParent(), "graphql-", ".tmp");
+                temporaryFileWriter = Files.newBufferedWriter(temporaryFile, StandardCharsets.UTF_8);
+            } catch (IOException e) {
+                abandon(e);
+            }
+        }
+
+        @Override
+        public void write(char[] buffer, int offset, int length) throws IOException {
+            writer.write(buffer, offset, length);
+
+            if (temporaryFileWriter != null) {
+                try {
+                    temporaryFileWriter.write(buffer, offset, length);
+                } catch (IOException e) {
+                    abandon(e);
+                }
+            }
+        }
+
+        @Override
+        public void flush() throws IOException {
+            writer.flush();
+        }
+
+        private void commit() {
+            if (temporaryFileWriter != null) {
+                try {
+                    temporaryFileWriter.close();
+                    temporaryFileWriter = null;
+                    Files.move(temporaryFile, cacheFile, StandardCopyOption.REPLACE_EXISTING);
+                    temporaryFile = null;
+                } catch (IOException e) {
+                    abandon(e);
+                }
+            }
+        }
+
+        @Override
+        public void close() {
+            if (temporaryFileWriter != null || temporaryFile != null) {
+                abandon(null);
+            }
+        }
+
+        private void abandon(IOException exception) {
+            if (exception != null) {
+                log.warn("Can not write cache file '{}' : {}", cacheFile, exception.getMessage());
+            }
+
+            try {
+                if (temporaryFileWriter != null) {
+                    temporaryFileWriter.close();
+                }
+                if (temporaryFile != null) {
+                    Files.deleteIfExists(temporaryFile);
+                }
+            } catch (IOException e) {
+                log.warn("Can not delete temporary cache file '{}' : {}", temporaryFile, e.getMessage());
+            } finally {
+                temporaryFileWriter = null;
+                temporaryFile = null;
+            }
+        }
+    }
+}
@@ -0,0 +1,253 @@
+package org.brapi.schematools.core.graphql;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import graphql.AssertException;
+import graphql.language.InterfaceTypeDefinition;
+import graphql.language.ScalarTypeDefinition;
+import graphql.language.UnionTypeDefinition;
+import graphql.schema.*;
+import graphql.schema.idl.*;
+import graphql.schema.idl.errors.SchemaProblem;
+import org.brapi.schematools.core.response.Response;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import static org.brapi.schematools.core.response.Response.fail;
+import static org.brapi.schematools.core.response.Response.success;
+
+/**
+ * Writes a generated {@link GraphQLSchema} to a compact snapshot, and rebuilds an executable
+ * {@link GraphQLSchema} from a snapshot. The snapshot is a GZIP compressed JSON document holding the
+ * schema in SDL, together with the object type to which each interface and union is resolved.
+ * Loading a snapshot avoids reading the BrAPI JSON Schema and constructing every type, so a
+ * snapshot can be created at build time and loaded quickly when a service starts.
+ */
+public class GraphQLSchemaSnapshot {
+    private static final int VERSION = 1;
+    private static final String VERSION_FIELD = "version";
+    private static final String SDL_FIELD = "sdl";
+    private static final String TYPE_RESOLVERS_FIELD = "typeResolvers";
+
+    private static final Coercing<Object, Object> PASS_THROUGH_COERCING = new Coercing<>() {
+        @Override
+        public Object serialize(Object dataFetcherResult) {
+            return dataFetcherResult;
+        }
+
+        @Override
+        public Object parseValue(Object input) {
+            return input;
+        }
+
+        @Override
+        public Object parseLiteral(Object input) {
+            return input;
+        }
+    };
+
+    private final ObjectMapper objectMapper;
+    private final SchemaPrinter schemaPrinter;
+
+    /**
+     * Creates a new Snapshot reader and writer with a standard ObjectMapper
+     */
+    public GraphQLSchemaSnapshot() {
+        this(new ObjectMapper());
+    }
+
+    /**
+     * Creates a new Snapshot reader and writer with a predefined ObjectMapper
+     * @param mapper a predefined ObjectMapper
+     */
+    public GraphQLSchemaSnapshot(ObjectMapper mapper) {
+        this.objectMapper = mapper;
+        this.schemaPrinter = new SchemaPrinter(SchemaPrinter.Options.defaultOptions()
+            .includeSchemaDefinition(true)
+            .includeDirectiveDefinitions(false));
+    }
+
+    /**
+     * Prints the schema in SDL, in the same way as it is held in a snapshot
+     * @param schema the schema to be printed
+     * @return the schema in SDL
+     */
+    public String printSchema(GraphQLSchema schema) {
+        return schemaPrinter.print(schema);
+    }
+
+    /**
+     * Writes a snapshot of the schema to a file, creating any parent directories
+     * @param schema the schema to be written
+     * @param snapshotFile the path of the snapshot file
+     * @return the path of the snapshot file, or a failed response if the snapshot could not be written
+     */
+    public Response<Path> write(GraphQLSchema schema, Path snapshotFile) {
+        try {
+            if (snapshotFile.getParent() != null) {
+                Files.createDirectories(snapshotFile.getParent());
+            }
+
+            try (OutputStream outputStream = Files.newOutputStream(snapshotFile)) {
+                return write(schema, outputStream).withResult(snapshotFile);
+            }
+        } catch (IOException e) {
+            return fail(Response.ErrorType.VALIDATION, String.format("Can not write GraphQL schema snapshot to '%s' : %s", snapshotFile, e.getMessage()));
+        }
+    }
+
+    /**
+     * Writes a snapshot of the schema to an output stream. The output stream is not closed.
+     * @param schema the schema to be written
+     * @param outputStream the output stream to which the snapshot is written
+     * @return the schema, or a failed response if the snapshot could not be written
+     */
+    public Response<GraphQLSchema> write(GraphQLSchema schema, OutputStream outputStream) {
+        try {
+            ObjectNode root = objectMapper.createObjectNode();
+
+            root.put(VERSION_FIELD, VERSION);
+            root.put(SDL_FIELD, printSchema(schema));
+            root.set(TYPE_RESOLVERS_FIELD, objectMapper.valueToTree(findDefaultTypeNames(schema)));
+
+            GZIPOutputStream gzipOutputStream = new GZIPOutputStream(outputStream);
+            objectMapper.writer().without(JsonGenerator.Feature.AUTO_CLOSE_TARGET).writeValue(gzipOutputStream, root);
+            gzipOutputStream.finish();
+
+            return success(schema);
+        } catch (IOException | IllegalArgumentException e) {
+            return fail(Response.ErrorType.VALIDATION, String.format("Can not write GraphQL schema snapshot : %s", e.getMessage()));
+        }
+    }
+
+    /**
+     * Reads a snapshot file and rebuilds an executable schema from it. The interfaces and unions are
+     * resolved to the same object types as in the schema from which the snapshot was created.
+     * @param snapshotFile the path of the snapshot file
+     * @return the executable schema, or a failed response if the snapshot could not be read
+     */
+    public Response<GraphQLSchema> read(Path snapshotFile) {
+        try (InputStream inputStream = Files.newInputStream(snapshotFile)) {
+            return read(inputStream);
+        } catch (IOException e) {
+            return fail(Response.ErrorType.VALIDATION, String.format("Can not read GraphQL schema snapshot from '%s' : %s", snapshotFile, e.getMessage()));
+        }
+    }
+
+    /**
+     * Reads a snapshot from an input stream and rebuilds an executable schema from it. The input stream is not closed.
+     * @param inputStream the input stream from which the snapshot is read
+     * @return the executable schema, or a failed response if the snapshot could not be read
+     */
+    public Response<GraphQLSchema> read(InputStream inputStream) {
+        JsonNode root;
+
+        try {
+            root = objectMapper.reader().without(JsonParser.Feature.AUTO_CLOSE_SOURCE).readTree(new GZIPInputStream(inputStream));
+        } catch (IOException e) {
+            return fail(Response.ErrorType.VALIDATION, String.format("Can not read GraphQL schema snapshot : %s", e.getMessage()));
+        }
+
+        if (root == null || root.path(VERSION_FIELD).asInt() != VERSION) {
+            return fail(Response.ErrorType.VALIDATION, String.format("Unsupported GraphQL schema snapshot version '%s', expected '%d'",
+                root != null ? root.path(VERSION_FIELD).asText() : null, VERSION));
+        }
+
+        if (!root.path(SDL_FIELD).isTextual()) {
+            return fail(Response.ErrorType.VALIDATION, "GraphQL schema snapshot does not contain a schema");
+        }
+
+        Map<String, String> defaultTypeNames = new TreeMap<>();
+
+        root.path(TYPE_RESOLVERS_FIELD).fields().forEachRemaining(entry ->
+            defaultTypeNames.put(entry.getKey(), entry.getValue().isNull() ? null : entry.getValue().asText()));
+
+        try {
+            TypeDefinitionRegistry registry = new SchemaParser().parse(root.get(SDL_FIELD).asText());
+
+            return success(new SchemaGenerator().makeExecutableSchema(registry, createRuntimeWiring(registry, defaultTypeNames)));
+        } catch (SchemaProblem | AssertException e) {
+            return fail(Response.ErrorType.VALIDATION, String.format("Can not build GraphQL schema from snapshot : %s", e.getMessage()));
+        }
+    }
+
+    private Map<String, String> findDefaultTypeNames(GraphQLSchema schema) {
+        Map<String, String> defaultTypeNames = new TreeMap<>();
+
+        schema.getAllTypesAsList().forEach(type -> {
+            if (type instanceof GraphQLInterfaceType interfaceType) {
+                defaultTypeNames.put(interfaceType.getName(), findDefaultTypeName(schema, interfaceType));
+            } else if (type instanceof GraphQLUnionType unionType) {
+                defaultTypeNames.put(unionType.getName(), findDefaultTypeName(schema, unionType));
+            }
+        });
+
+        return defaultTypeNames;
+    }
+
+    private String findDefaultTypeName(GraphQLSchema schema, GraphQLInterfaceType interfaceType) {
+        if (findTypeResolver(schema, interfaceType) instanceof DefaultTypeResolver defaultTypeResolver) {
+            return defaultTypeResolver.getDefaultTypeName();
+        }
+
+        List<GraphQLObjectType> implementations = schema.getImplementations(interfaceType);
+
+        return implementations.isEmpty() ? null : implementations.get(0).getName();
+    }
+
+    private String findDefaultTypeName(GraphQLSchema schema, GraphQLUnionType unionType) {
+        if (findTypeResolver(schema, unionType) instanceof DefaultTypeResolver defaultTypeResolver) {
+            return defaultTypeResolver.getDefaultTypeName();
+        }
+
+        return unionType.getTypes().isEmpty() ? null : unionType.getTypes().get(0).getName();
+    }
+
+    private TypeResolver findTypeResolver(GraphQLSchema schema, GraphQLNamedOutputType type) {
+        try {
+            return type instanceof GraphQLInterfaceType interfaceType ?
+                schema.getCodeRegistry().getTypeResolver(interfaceType) :
+                schema.getCodeRegistry().getTypeResolver((GraphQLUnionType) type);
+        } catch (AssertException e) {
+            // no type resolver is registered for the type
+            return null;
+        }
+    }
+
+    private RuntimeWiring createRuntimeWiring(TypeDefinitionRegistry registry, Map<String, String> defaultTypeNames) {
+        RuntimeWiring.Builder builder = RuntimeWiring.newRuntimeWiring();
+
+        registry.scalars().values().stream()
+            .filter(scalar -> !ScalarInfo.isGraphqlSpecifiedScalar(scalar.getName()))
+            .map(this::createScalarType)
+            .forEach(builder::scalar);
+
+        registry.getTypes(InterfaceTypeDefinition.class).forEach(type ->
+            builder.type(TypeRuntimeWiring.newTypeWiring(type.getName()).typeResolver(new DefaultTypeResolver(defaultTypeNames.get(type.getName())))));
+
+        registry.getTypes(UnionTypeDefinition.class).forEach(type ->
+            builder.type(TypeRuntimeWiring.newTypeWiring(type.getName()).typeResolver(new DefaultTypeResolver(defaultTypeNames.get(type.getName())))));
+
+        return builder.build();
+    }
+
+    private GraphQLScalarType createScalarType(ScalarTypeDefinition definition) {
+        return GraphQLScalarType.newScalar()
+            .name(definition.getName())
+            .description(definition.getDescription() != null ? definition.getDescription().getContent() : null)
+            .coercing(PASS_THROUGH_COERCING)
+            .build();
+    }
+}
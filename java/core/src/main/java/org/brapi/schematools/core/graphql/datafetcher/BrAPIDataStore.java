@@ -0,0 +1,55 @@
+package org.brapi.schematools.core.graphql.datafetcher;
+
+import java.util.*;
+
+/**
+ * A store of BrAPI entities used by the data fetchers created by the {@link GraphQLDataFetcherGenerator}.
+ * Each entity is held as a map of property names to JSON-like values, that is strings, numbers,
+ * booleans, lists and maps. Implementations must be thread-safe, since the data fetchers and data loaders
+ * may call the store concurrently.
+ */
+public interface BrAPIDataStore {
+
+    /**
+     * Gets all the entities of a BrAPI type
+     * @param typeName the name of the BrAPI type
+     * @return all the entities of the BrAPI type, or an empty list if there are none
+     */
+    List<Map<String, Object>> findAll(String typeName);
+
+    /**
+     * Finds the entities of a BrAPI type by their ids
+     * @param typeName the name of the BrAPI type
+     * @param ids the ids of the entities
+     * @return the entities keyed by their id, ids without an entity are absent from the map
+     */
+    Map<String, Map<String, Object>> findByIds(String typeName, Set<String> ids);
+
+    /**
+     * Finds the entities of a BrAPI type that match a filter, see {@link EntityFilters#matches(Map, Map)}
+     * @param typeName the name of the BrAPI type
+     * @param filter the filter, usually the input of a list or search query
+     * @return the entities that match the filter
+     */
+    default List<Map<String, Object>> findByFilter(String typeName, Map<String, Object> filter) {
+        return findAll(typeName).stream().filter(entity -> EntityFilters.matches(entity, filter)).toList();
+    }
+
+    /**
+     * Finds the entities of a BrAPI type that have one of the provided values in a field. The field can hold a single
+     * value, a list of values, or an object or list of objects that have the field, see {@link EntityFilters#getValues(Map, String)}
+     * @param typeName the name of the BrAPI type
+     * @param fieldName the name of the field, for example 'studyDbId'
+     * @param values the values to be found
+     * @return the entities grouped by the value they hold, values without an entity are absent from the map
+     */
+    default Map<String, List<Map<String, Object>>> findByFieldValues(String typeName, String fieldName, Set<String> values) {
+        Map<String, List<Map<String, Object>>> entities = new HashMap<>();
+
+        findAll(typeName).forEach(entity -> EntityFilters.getValues(entity, fieldName).stream()
+            .filter(values::contains)
+            .forEach(value -> entities.computeIfAbsent(value, key -> new ArrayList<>()).add(entity)));
+
+        return entities;
+    }
+}
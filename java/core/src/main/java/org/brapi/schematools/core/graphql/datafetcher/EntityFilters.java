@@ -0,0 +1,100 @@
+package org.brapi.schematools.core.graphql.datafetcher;
+
+import java.util.*;
+
+/**
+ * Utility methods for matching BrAPI entities, which are held as maps of property names to
+ * JSON-like values, against the inputs of list and search queries.
+ */
+public class EntityFilters {
+
+    /**
+     * Determines if an entity matches a filter. Each non-null filter value is compared with the entity field
+     * of the same name, or if the entity has no such field and the filter name is plural, with the singular
+     * field, for example the filter 'studyDbIds' is compared with the field 'studyDbId'. A list filter value
+     * matches if any of its values is held by the field. Filter names without a matching field are ignored,
+     * as are filters on paging.
+     * @param entity the entity to be matched
+     * @param filter the filter, usually the input of a list or search query
+     * @return {@code true} if the entity matches all the filter values, {@code false} otherwise
+     */
+    public static boolean matches(Map<String, Object> entity, Map<String, Object> filter) {
+        if (filter == null) {
+            return true;
+        }
+
+        for (Map.Entry<String, Object> entry : filter.entrySet()) {
+            if (entry.getValue() == null || entry.getValue() instanceof Map) {
+                continue;
+            }
+
+            String fieldName = findFieldName(entity, entry.getKey());
+
+            if (fieldName != null) {
+                Set<String> values = getValues(entity, fieldName);
+
+                if (toStrings(entry.getValue()).stream().noneMatch(values::contains)) {
+                    return false;
+                }
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Gets the values held by the field of an entity as strings. If the field holds a list, each value in the list
+     * is returned. If the field is not present the entity is searched for an object, or a list of objects, that have the
+     * field, for example the value of 'studyDbId' is found in an entity with a field 'study' holding {@code {"studyDbId" : "1"}}
+     * @param entity the entity
+     * @param fieldName the name of the field
+     * @return the values held by the field as strings, or an empty set if there are none
+     */
+    public static Set<String> getValues(Map<String, Object> entity, String fieldName) {
+        if (entity.containsKey(fieldName)) {
+            return toStrings(entity.get(fieldName));
+        }
+
+        Set<String> values = new LinkedHashSet<>();
+
+        entity.values().forEach(value -> {
+            if (value instanceof Map<?, ?> map && map.containsKey(fieldName)) {
+                values.addAll(toStrings(map.get(fieldName)));
+            } else if (value instanceof List<?> list) {
+                list.stream()
+                    .filter(item -> item instanceof Map<?, ?> map && map.containsKey(fieldName))
+                    .forEach(item -> values.addAll(toStrings(((Map<?, ?>) item).get(fieldName))));
+            }
+        });
+
+        return values;
+    }
+
+    private static String findFieldName(Map<String, Object> entity, String filterName) {
+        if (entity.containsKey(filterName)) {
+            return filterName;
+        }
+
+        if (filterName.endsWith("s")) {
+            String singularName = filterName.substring(0, filterName.length() - 1);
+
+            if (entity.containsKey(singularName)) {
+                return singularName;
+            }
+        }
+
+        return null;
+    }
+
+    private static Set<String> toStrings(Object value) {
+        Set<String> strings = new LinkedHashSet<>();
+
+        if (value instanceof Collection<?> collection) {
+            collection.stream().filter(Objects::nonNull).map(String::valueOf).forEach(strings::add);
+        } else if (value != null && !(value instanceof Map)) {
+            strings.add(String.valueOf(value));
+        }
+
+        return strings;
+    }
+}
@@ -0,0 +1,50 @@
+package org.brapi.schematools.core.graphql.datafetcher;
+
+import graphql.schema.GraphQLSchema;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.dataloader.DataLoaderFactory;
+import org.dataloader.DataLoaderRegistry;
+import org.dataloader.MappedBatchLoader;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * A GraphQL schema with data fetchers, together with the batch loaders used by the data fetchers
+ * to resolve the relationships between BrAPI types. A new {@link DataLoaderRegistry} must be
+ * created for each query execution, see {@link #createDataLoaderRegistry()}.
+ */
+@Getter
+@AllArgsConstructor
+public class ExecutableGraphQLSchema {
+    /**
+     * The executable schema
+     */
+    private final GraphQLSchema schema;
+    /**
+     * The batch loaders keyed by the data loader name
+     */
+    private final Map<String, MappedBatchLoader<String, Object>> batchLoaders;
+
+    /**
+     * Gets the batch loaders keyed by the data loader name
+     * @return a read-only map of the batch loaders keyed by the data loader name
+     */
+    public Map<String, MappedBatchLoader<String, Object>> getBatchLoaders() {
+        return Collections.unmodifiableMap(batchLoaders);
+    }
+
+    /**
+     * Creates a new registry holding a data loader for each batch loader. Data loaders cache the
+     * loaded values, so a new registry should be created for each query execution.
+     * @return a new registry holding a data loader for each batch loader
+     */
+    public DataLoaderRegistry createDataLoaderRegistry() {
+        DataLoaderRegistry registry = new DataLoaderRegistry();
+
+        batchLoaders.forEach((name, batchLoader) -> registry.register(name, DataLoaderFactory.newMappedDataLoader(batchLoader)));
+
+        return registry;
+    }
+}
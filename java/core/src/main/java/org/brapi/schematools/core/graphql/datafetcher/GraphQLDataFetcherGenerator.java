@@ -0,0 +1,386 @@
+package org.brapi.schematools.core.graphql.datafetcher;
+
+import graphql.schema.*;
+import org.brapi.schematools.core.brapischema.BrAPISchemaReader;
+import org.brapi.schematools.core.graphql.GraphQLGenerator;
+import org.brapi.schematools.core.graphql.options.GraphQLGeneratorOptions;
+import org.brapi.schematools.core.model.BrAPIArrayType;
+import org.brapi.schematools.core.model.BrAPIClass;
+import org.brapi.schematools.core.model.BrAPIObjectProperty;
+import org.brapi.schematools.core.model.BrAPIObjectType;
+import org.brapi.schematools.core.model.BrAPIType;
+import org.brapi.schematools.core.options.LinkType;
+import org.brapi.schematools.core.response.Response;
+import org.brapi.schematools.core.utils.BrAPIClassCacheBuilder;
+import org.brapi.schematools.core.utils.BrAPITypeUtils;
+import org.dataloader.DataLoader;
+import org.dataloader.MappedBatchLoader;
+
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+
+import static graphql.schema.FieldCoordinates.coordinates;
+import static org.brapi.schematools.core.response.Response.success;
+import static org.brapi.schematools.core.utils.BrAPITypeUtils.unwrapType;
+
+/**
+ * Adds data fetchers to a GraphQL schema created by the {@link GraphQLGenerator}, so that the schema
+ * can answer queries from a {@link BrAPIDataStore}. Data fetchers are created for the single, list and
+ * search queries of every primary model, and for the fields that link one primary model to another,
+ * as determined by the link type of the property. Linked entities are loaded with data loaders,
+ * so that the entities needed by a nested query are loaded in a single batch per type. List queries that do not
+ * request a page size return the default page size in the query complexity options, which is the page size used
+ * to estimate the cost of the query.
+ */
+public class GraphQLDataFetcherGenerator {
+    private static final String COMMON_CROP_NAME = "commonCropName";
+
+    private final BrAPISchemaReader schemaReader;
+    private final GraphQLGeneratorOptions options;
+    private final BrAPIDataStore store;
+
+    /**
+     * Creates a data fetcher generator with default options
+     * @param store the store from which the entities are fetched
+     */
+    public GraphQLDataFetcherGenerator(BrAPIDataStore store) {
+        this(GraphQLGeneratorOptions.load(), store);
+    }
+
+    /**
+     * Creates a data fetcher generator with the options used to generate the schema
+     * @param options the options used to generate the schema
+     * @param store the store from which the entities are fetched
+     */
+    public GraphQLDataFetcherGenerator(GraphQLGeneratorOptions options, BrAPIDataStore store) {
+        this(new BrAPISchemaReader(options.getBrAPISchemaReader()), options, store);
+    }
+
+    /**
+     * Creates a data fetcher generator with the options used to generate the schema and a custom schema reader
+     * @param schemaReader the reader for the BrAPI JSON Schema
+     * @param options the options used to generate the schema
+     * @param store the store from which the entities are fetched
+     */
+    public GraphQLDataFetcherGenerator(BrAPISchemaReader schemaReader, GraphQLGeneratorOptions options, BrAPIDataStore store) {
+        this.schemaReader = schemaReader;
+        this.options = options;
+        this.store = store;
+    }
+
+    /**
+     * Adds the data fetchers to a schema
+     * @param schemaDirectory the directory containing the BrAPI JSON Schema from which the schema was generated
+     * @param schema the schema generated by the {@link GraphQLGenerator} with the same options, or loaded from
+     *               a {@link org.brapi.schematools.core.graphql.GraphQLSchemaSnapshot}
+     * @return the schema with the data fetchers and the batch loaders they use
+     */
+    public Response<ExecutableGraphQLSchema> generate(Path schemaDirectory, GraphQLSchema schema) {
+        return options.validate().asResponse().merge(
+            schemaReader.readDirectories(schemaDirectory).mapResultToResponse(brAPIClasses -> new Generator(brAPIClasses, schema).generate()));
+    }
+
+    /**
+     * Adds the data fetchers to a schema
+     * @param brAPIClasses the BrAPI classes from which the schema was generated
+     * @param schema the schema generated by the {@link GraphQLGenerator} with the same options
+     * @return the schema with the data fetchers and the batch loaders they use
+     */
+    public Response<ExecutableGraphQLSchema> generate(List<BrAPIClass> brAPIClasses, GraphQLSchema schema) {
+        return options.validate().asResponse().merge(() -> new Generator(brAPIClasses, schema).generate());
+    }
+
+    private class Generator {
+        private final BrAPIClassCacheBuilder.BrAPIClassCache brAPIClassCache;
+        private final GraphQLSchema schema;
+        private final GraphQLCodeRegistry.Builder codeRegistry;
+        private final Map<String, MappedBatchLoader<String, Object>> batchLoaders = new TreeMap<>();
+
+        private Generator(List<BrAPIClass> brAPIClasses, GraphQLSchema schema) {
+            this.brAPIClassCache = BrAPIClassCacheBuilder.builder(brAPIClasses).build();
+            this.schema = schema;
+            this.codeRegistry = GraphQLCodeRegistry.newCodeRegistry(schema.getCodeRegistry());
+        }
+
+        private Response<ExecutableGraphQLSchema> generate() {
+            return brAPIClassCache.getBrAPIClasses().stream()
+                .filter(BrAPITypeUtils::isPrimaryModel)
+                .map(this::createQueryDataFetchers)
+                .collect(Response.toList())
+                .map(() -> brAPIClassCache.getBrAPIClasses().stream()
+                    .filter(brAPIClass -> brAPIClass instanceof BrAPIObjectType && schema.getObjectType(brAPIClass.getName()) != null)
+                    .map(brAPIClass -> createFieldDataFetchers((BrAPIObjectType) brAPIClass))
+                    .collect(Response.toList()))
+                .map(() -> success(new ExecutableGraphQLSchema(
+                    schema.transform(builder -> builder.codeRegistry(codeRegistry.build())), batchLoaders)));
+        }
+
+        private Response<String> createQueryDataFetchers(BrAPIClass brAPIClass) {
+            String typeName = brAPIClass.getName();
+
+            batchLoaders.put(typeName, ids -> CompletableFuture.completedFuture(new HashMap<>(store.findByIds(typeName, ids))));
+
+            GraphQLObjectType queryType = schema.getQueryType();
+
+            if (queryType == null) {
+                return success(typeName);
+            }
+
+            String singleQueryName = options.getSingleQueryNameFor(typeName);
+
+            if (options.isGeneratingSingleQueryFor(typeName) && queryType.getFieldDefinition(singleQueryName) != null) {
+                codeRegistry.dataFetcher(coordinates(queryType.getName(), singleQueryName), createSingleQueryDataFetcher(typeName));
+            }
+
+            String listQueryName = options.getListQueryNameFor(typeName);
+
+            if (options.isGeneratingListQueryFor(typeName) && queryType.getFieldDefinition(listQueryName) != null) {
+                codeRegistry.dataFetcher(coordinates(queryType.getName(), listQueryName), createListQueryDataFetcher(typeName));
+            }
+
+            String searchQueryName = options.getSearchQueryNameFor(typeName);
+
+            if (options.isGeneratingSearchQueryFor(typeName) && queryType.getFieldDefinition(searchQueryName) != null) {
+                codeRegistry.dataFetcher(coordinates(queryType.getName(), searchQueryName), createSearchQueryDataFetcher(typeName));
+            }
+
+            return success(typeName);
+        }
+
+        private Response<String> createFieldDataFetchers(BrAPIObjectType parentType) {
+            GraphQLObjectType objectType = schema.getObjectType(parentType.getName());
+
+            return parentType.getProperties().stream()
+                .map(property -> createFieldDataFetcher(parentType, objectType, property))
+                .collect(Response.toList())
+                .withResult(parentType.getName());
+        }
+
+        private Response<String> createFieldDataFetcher(BrAPIObjectType parentType, GraphQLObjectType objectType, BrAPIObjectProperty property) {
+            BrAPIType dereferencedType = brAPIClassCache.dereferenceType(unwrapType(property.getType()));
+
+            if (!(dereferencedType instanceof BrAPIClass childType && BrAPITypeUtils.isPrimaryModel(childType))) {
+                return success(property.getName());
+            }
+
+            boolean isArray = property.getType() instanceof BrAPIArrayType;
+
+            LinkType linkType = options.getProperties().getLinkTypeFor(parentType, property, dereferencedType).orElseResult(LinkType.NONE);
+
+            if (linkType == LinkType.SUB_QUERY) {
+                register(objectType, property.getName(), isArray ?
+                    createSubQueryDataFetcher(parentType, property, childType) : createLinkedObjectDataFetcher(property, childType));
+            } else if (linkType == LinkType.ID) {
+                // the same field names as the GraphQLGenerator
+                String fieldName = isArray ?
+                    options.getProperties().getIds().getIdFieldFor(property) : options.getProperties().getIds().getIdsFieldFor(property);
+
+                register(objectType, fieldName, createLinkedIdDataFetcher(fieldName, property, childType, isArray));
+            }
+
+            return success(property.getName());
+        }
+
+        private void register(GraphQLObjectType objectType, String fieldName, DataFetcher<?> dataFetcher) {
+            if (objectType.getFieldDefinition(fieldName) != null) {
+                codeRegistry.dataFetcher(coordinates(objectType.getName(), fieldName), dataFetcher);
+            }
+        }
+
+        private DataFetcher<Object> createSingleQueryDataFetcher(String typeName) {
+            String argumentName = options.getProperties().getIds().getNameFor(typeName);
+
+            return environment -> {
+                Object id = environment.getArgument(argumentName);
+
+                if (id == null) {
+                    return null;
+                }
+
+                String commonCropName = environment.getArgument(COMMON_CROP_NAME);
+
+                return load(environment, typeName, String.valueOf(id))
+                    .thenApply(entity -> commonCropName == null || entity == null ||
+                        EntityFilters.matches(asEntity(entity), Map.of(COMMON_CROP_NAME, commonCropName)) ? entity : null);
+            };
+        }
+
+        private DataFetcher<Object> createListQueryDataFetcher(String typeName) {
+            String inputName = options.getQueryInputParameterNameFor(typeName);
+            boolean paged = options.getQueryType().getListQuery().isPagedFor(typeName);
+
+            return environment -> createListResponse(
+                store.findByFilter(typeName, createFilter(environment, inputName)),
+                environment.getArgument(options.getQueryType().getListQuery().getPagingInputName()), paged);
+        }
+
+        private DataFetcher<Object> createSearchQueryDataFetcher(String typeName) {
+            String inputName = options.getInput().getNameFor(typeName);
+
+            return environment -> {
+                Map<String, Object> response = new LinkedHashMap<>();
+
+                response.put(options.getQueryType().getSearchQuery().getSearchIdFieldName(), null);
+                response.put(options.getQueryType().getListQuery().getDataFieldName(),
+                    store.findByFilter(typeName, createFilter(environment, inputName)));
+
+                return response;
+            };
+        }
+
+        private DataFetcher<Object> createSubQueryDataFetcher(BrAPIObjectType parentType, BrAPIObjectProperty property, BrAPIClass childType) {
+            String childName = childType.getName();
+            String childIdField = options.getProperties().getIds().getIDFieldFor(childName);
+            String childIdsField = options.getProperties().getIds().getIdsFieldFor(property);
+            String parentIdField = options.getProperties().getIds().getIDFieldFor(parentType.getName());
+            String inputName = options.getQueryInputParameterNameFor(childName);
+            boolean paged = options.getQueryType().getListQuery().isPagedFor(childName);
+
+            // the children which reference the parent are loaded in batches keyed by the parent id
+            String reverseLoaderName = String.format("%s.%s", childName, parentIdField);
+
+            batchLoaders.putIfAbsent(reverseLoaderName, parentIds ->
+                CompletableFuture.completedFuture(new HashMap<>(store.findByFieldValues(childName, parentIdField, parentIds))));
+
+            return environment -> {
+                Map<String, Object> source = asEntity(environment.getSource());
+
+                Set<String> childIds = new LinkedHashSet<>(EntityFilters.getValues(source, childIdsField));
+
+                if (source.get(property.getName()) instanceof List<?> children) {
+                    children.stream()
+                        .filter(Map.class::isInstance)
+                        .forEach(child -> childIds.addAll(EntityFilters.getValues(asEntity(child), childIdField)));
+                }
+
+                CompletableFuture<List<Object>> children;
+
+                if (!childIds.isEmpty()) {
+                    children = loadMany(environment, childName, childIds);
+                } else if (source.get(parentIdField) != null) {
+                    children = load(environment, reverseLoaderName, String.valueOf(source.get(parentIdField)))
+                        .thenApply(loaded -> loaded instanceof List<?> list ? new ArrayList<Object>(list) : new ArrayList<Object>());
+                } else {
+                    children = CompletableFuture.completedFuture(new ArrayList<>());
+                }
+
+                Map<String, Object> filter = createFilter(environment, inputName);
+
+                return children.thenApply(loaded -> createListResponse(
+                    loaded.stream().filter(Objects::nonNull).map(GraphQLDataFetcherGenerator::asEntity)
+                        .filter(child -> EntityFilters.matches(child, filter)).toList(),
+                    environment.getArgument(options.getQueryType().getListQuery().getPagingInputName()), paged));
+            };
+        }
+
+        private DataFetcher<Object> createLinkedObjectDataFetcher(BrAPIObjectProperty property, BrAPIClass childType) {
+            String childName = childType.getName();
+            String childIdField = options.getProperties().getIds().getIDFieldFor(childName);
+
+            return environment -> {
+                Map<String, Object> source = asEntity(environment.getSource());
+
+                Set<String> childIds = EntityFilters.getValues(source, childIdField);
+
+                if (childIds.isEmpty()) {
+                    return source.get(property.getName());
+                }
+
+                return load(environment, childName, childIds.iterator().next());
+            };
+        }
+
+        private DataFetcher<Object> createLinkedIdDataFetcher(String fieldName, BrAPIObjectProperty property, BrAPIClass childType, boolean isArray) {
+            String childIdField = options.getProperties().getIds().getIDFieldFor(childType.getName());
+
+            return environment -> {
+                Map<String, Object> source = asEntity(environment.getSource());
+
+                if (source.containsKey(fieldName)) {
+                    return source.get(fieldName);
+                }
+
+                Set<String> childIds = source.get(property.getName()) instanceof Map<?, ?> || source.get(property.getName()) instanceof List<?> ?
+                    EntityFilters.getValues(Map.of(property.getName(), source.get(property.getName())), childIdField) :
+                    EntityFilters.getValues(source, childIdField);
+
+                if (isArray) {
+                    return new ArrayList<>(childIds);
+                } else {
+                    return childIds.isEmpty() ? null : childIds.iterator().next();
+                }
+            };
+        }
+
+        private Map<String, Object> createFilter(DataFetchingEnvironment environment, String inputName) {
+            Map<String, Object> filter = new HashMap<>();
+
+            if (environment.getArgument(inputName) instanceof Map<?, ?> input) {
+                input.forEach((key, value) -> filter.put(String.valueOf(key), value));
+            }
+
+            if (environment.getArgument(COMMON_CROP_NAME) != null) {
+                filter.put(COMMON_CROP_NAME, environment.getArgument(COMMON_CROP_NAME));
+            }
+
+            return filter;
+        }
+
+        private Map<String, Object> createListResponse(List<Map<String, Object>> entities, Map<String, Object> paging, boolean paged) {
+            Map<String, Object> response = new LinkedHashMap<>();
+
+            if (!paged) {
+                response.put(options.getQueryType().getListQuery().getDataFieldName(), entities);
+
+                return response;
+            }
+
+            int page = paging != null && paging.get("page") instanceof Number number ? Math.max(number.intValue(), 0) : 0;
+            int pageSize = paging != null && paging.get("pageSize") instanceof Number number && number.intValue() > 0 ? number.intValue() :
+                options.getQueryComplexity().getDefaultPageSize();
+
+            int from = (int) Math.min((long) page * pageSize, entities.size());
+            int to = Math.min(from + pageSize, entities.size());
+
+            Map<String, Object> pageInfo = new LinkedHashMap<>();
+
+            pageInfo.put("currentPage", page);
+            pageInfo.put("pageSize", pageSize);
+            pageInfo.put("totalCount", entities.size());
+            pageInfo.put("totalPages", (entities.size() + pageSize - 1) / pageSize);
+
+            response.put(options.getQueryType().getListQuery().getDataFieldName(), entities.subList(from, to));
+            response.put(options.getQueryType().getListQuery().getPageFieldName(), pageInfo);
+
+            return response;
+        }
+
+        private CompletableFuture<Object> load(DataFetchingEnvironment environment, String loaderName, String key) {
+            DataLoader<String, Object> dataLoader = environment.getDataLoader(loaderName);
+
+            if (dataLoader != null) {
+                return dataLoader.load(key);
+            }
+
+            // no data loader registry was provided with the query, so load without batching
+            return batchLoaders.get(loaderName).load(Set.of(key)).toCompletableFuture().thenApply(values -> values.get(key));
+        }
+
+        private CompletableFuture<List<Object>> loadMany(DataFetchingEnvironment environment, String loaderName, Set<String> keys) {
+            DataLoader<String, Object> dataLoader = environment.getDataLoader(loaderName);
+
+            if (dataLoader != null) {
+                return dataLoader.loadMany(new ArrayList<>(keys));
+            }
+
+            return batchLoaders.get(loaderName).load(keys).toCompletableFuture()
+                .thenApply(values -> keys.stream().map(values::get).toList());
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> asEntity(Object value) {
+        return value instanceof Map<?, ?> map ? (Map<String, Object>) map : Collections.emptyMap();
+    }
+}
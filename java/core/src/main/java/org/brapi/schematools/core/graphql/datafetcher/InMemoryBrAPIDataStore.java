@@ -0,0 +1,144 @@
+package org.brapi.schematools.core.graphql.datafetcher;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.brapi.schematools.core.response.Response;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+import static org.brapi.schematools.core.response.Response.fail;
+import static org.brapi.schematools.core.response.Response.success;
+
+/**
+ * A {@link BrAPIDataStore} that holds the entities in memory, indexed by their id. The entities can be
+ * loaded from the JSON examples produced by the {@link org.brapi.schematools.core.examples.ExamplesGenerator},
+ * one file per BrAPI type named after the type, for example 'Study.json'. Each file holds an array
+ * of entities, a single entity, or a BrAPI response with the entities in 'result.data'.
+ */
+@Slf4j
+public class InMemoryBrAPIDataStore implements BrAPIDataStore {
+    private static final String JSON_EXTENSION = ".json";
+
+    private final Function<String, String> idFieldFor;
+    private final ObjectMapper mapper;
+    private final Map<String, List<Map<String, Object>>> entities = new ConcurrentHashMap<>();
+    private final Map<String, Map<String, Map<String, Object>>> entitiesById = new ConcurrentHashMap<>();
+
+    /**
+     * Creates an empty store
+     * @param idFieldFor provides the name of the id field for a BrAPI type, for example
+     *                   'studyDbId' for 'Study'
+     */
+    public InMemoryBrAPIDataStore(Function<String, String> idFieldFor) {
+        this(idFieldFor, new ObjectMapper());
+    }
+
+    /**
+     * Creates an empty store with a predefined ObjectMapper
+     * @param idFieldFor provides the name of the id field for a BrAPI type, for example
+     *                   'studyDbId' for 'Study'
+     * @param mapper a predefined ObjectMapper
+     */
+    public InMemoryBrAPIDataStore(Function<String, String> idFieldFor, ObjectMapper mapper) {
+        this.idFieldFor = idFieldFor;
+        this.mapper = mapper;
+    }
+
+    /**
+     * Adds entities of a BrAPI type to the store. Entities without an id are only
+     * returned by {@link #findAll(String)} and {@link #findByFilter(String, Map)}.
+     * @param typeName the name of the BrAPI type
+     * @param entities the entities to be added
+     * @return this store for method chaining
+     */
+    public InMemoryBrAPIDataStore add(String typeName, Collection<Map<String, Object>> entities) {
+        String idField = idFieldFor.apply(typeName);
+
+        Map<String, Map<String, Object>> byId = this.entitiesById.computeIfAbsent(typeName, key -> new ConcurrentHashMap<>());
+
+        entities.forEach(entity -> {
+            Object id = entity.get(idField);
+
+            if (id != null) {
+                byId.put(String.valueOf(id), entity);
+            }
+        });
+
+        this.entities.merge(typeName, List.copyOf(entities), (existing, added) -> Stream.concat(existing.stream(), added.stream()).toList());
+
+        return this;
+    }
+
+    /**
+     * Loads the entities for each BrAPI type from the JSON files in a directory
+     * @param examplesDirectory the directory containing the JSON files, one per BrAPI type
+     * @return this store, or a failed response if any of the files can not be read
+     */
+    public Response<InMemoryBrAPIDataStore> load(Path examplesDirectory) {
+        List<Path> files;
+
+        try (Stream<Path> paths = Files.list(examplesDirectory)) {
+            files = paths.filter(path -> Files.isRegularFile(path) && path.getFileName().toString().endsWith(JSON_EXTENSION))
+                .sorted()
+                .toList();
+        } catch (IOException e) {
+            return fail(Response.ErrorType.VALIDATION, String.format("Can not list examples in '%s' : %s", examplesDirectory, e.getMessage()));
+        }
+
+        return files.stream().map(this::load).collect(Response.toList()).withResult(this);
+    }
+
+    @Override
+    public List<Map<String, Object>> findAll(String typeName) {
+        return entities.getOrDefault(typeName, Collections.emptyList());
+    }
+
+    @Override
+    public Map<String, Map<String, Object>> findByIds(String typeName, Set<String> ids) {
+        Map<String, Map<String, Object>> byId = entitiesById.getOrDefault(typeName, Collections.emptyMap());
+        Map<String, Map<String, Object>> found = new HashMap<>();
+
+        ids.forEach(id -> {
+            Map<String, Object> entity = byId.get(id);
+
+            if (entity != null) {
+                found.put(id, entity);
+            }
+        });
+
+        return found;
+    }
+
+    private Response<String> load(Path file) {
+        String fileName = file.getFileName().toString();
+        String typeName = fileName.substring(0, fileName.length() - JSON_EXTENSION.length());
+
+        try {
+            JsonNode root = mapper.readTree(file.toFile());
+
+            if (root.has("result")) {
+                root = root.get("result").has("data") ? root.get("result").get("data") : root.get("result");
+            }
+
+            List<Map<String, Object>> loaded = root.isArray() ?
+                mapper.convertValue(root, new TypeReference<List<Map<String, Object>>>() {}) :
+                List.of(mapper.convertValue(root, new TypeReference<Map<String, Object>>() {}));
+
+            add(typeName, loaded);
+
+            log.debug("Loaded {} '{}' entities from '{}'", loaded.size(), typeName, file);
+
+            return success(typeName);
+        } catch (IOException | IllegalArgumentException e) {
+            return fail(Response.ErrorType.VALIDATION, String.format("Can not load examples from '%s' : %s", file, e.getMessage()));
+        }
+    }
+}
@@ -0,0 +1,273 @@
+package org.brapi.schematools.core.graphql.execution;
+
+import graphql.ExecutionInput;
+import graphql.GraphQLError;
+import graphql.GraphqlErrorBuilder;
+import graphql.execution.preparsed.PreparsedDocumentEntry;
+import graphql.execution.preparsed.PreparsedDocumentProvider;
+import lombok.extern.slf4j.Slf4j;
+import org.brapi.schematools.core.response.Response;
+import org.brapi.schematools.core.utils.HashUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+import static org.brapi.schematools.core.response.Response.fail;
+import static org.brapi.schematools.core.response.Response.success;
+
+/**
+ * Caches parsed and validated query documents, so that repeated queries skip parsing and validation.
+ * Persisted queries are registered up front and are keyed by the SHA-256 hash of the query. A client can
+ * execute a persisted query by sending only the hash in the 'persistedQuery' extension, using the same
+ * format as Apollo automatic persisted queries, for example
+ * {@code {"extensions": {"persistedQuery": {"version": 1, "sha256Hash": "..."}}}}. The documents of
+ * persisted queries are held for the lifetime of the provider, while the documents of other
+ * (ad-hoc) queries are held in a bounded least-recently-used cache.
+ * If a query is not registered, the 'PersistedQueryNotFound' error is returned, and the client can then send
+ * the query together with its hash, which registers it as an automatic persisted query. The automatic persisted
+ * queries are held in a bounded least-recently-used cache of the same size as the documents of ad-hoc queries.
+ * A provider must only be used with a single schema, since the documents are validated against the schema.
+ */
+@Slf4j
+public class PersistedQueryDocumentProvider implements PreparsedDocumentProvider {
+    private static final String PERSISTED_QUERY_EXTENSION = "persistedQuery";
+    private static final String SHA_256_HASH = "sha256Hash";
+    private static final String GRAPHQL_EXTENSION = ".graphql";
+
+    private final Map<String, String> persistedQueries = new ConcurrentHashMap<>();
+    private final Map<String, PreparsedDocumentEntry> persistedDocuments = new ConcurrentHashMap<>();
+    private final Map<String, PreparsedDocumentEntry> adHocDocuments;
+    private final Map<String, String> automaticQueries;
+    private final AtomicLong hitCount = new AtomicLong();
+    private final AtomicLong missCount = new AtomicLong();
+
+    /**
+     * Creates a provider
+     * @param maxAdHocDocuments the maximum number of documents of ad-hoc queries and of automatic persisted queries
+     *                          that are cached, if zero neither are cached
+     */
+    public PersistedQueryDocumentProvider(int maxAdHocDocuments) {
+        this.adHocDocuments = createLeastRecentlyUsedCache(maxAdHocDocuments);
+        this.automaticQueries = createLeastRecentlyUsedCache(maxAdHocDocuments);
+    }
+
+    /**
+     * Registers a persisted query
+     * @param query the query
+     * @return the SHA-256 hash of the query, as a hexadecimal string, which identifies the query
+     */
+    public String register(String query) {
+        String hash = hash(query);
+
+        persistedQueries.put(hash, query);
+
+        return hash;
+    }
+
+    /**
+     * Registers the queries in the '.graphql' files in a directory as persisted queries
+     * @param directory the directory containing the queries, one query per file
+     * @return the SHA-256 hashes of the registered queries, or a failed response if any of the files can not be read
+     */
+    public Response<List<String>> registerAll(Path directory) {
+        try (Stream<Path> paths = Files.list(directory)) {
+            return paths
+                .filter(path -> Files.isRegularFile(path) && path.getFileName().toString().endsWith(GRAPHQL_EXTENSION))
+                .sorted()
+                .map(this::registerFile)
+                .collect(Response.toList());
+        } catch (IOException e) {
+            return fail(Response.ErrorType.VALIDATION, String.format("Can not list persisted queries in '%s' : %s", directory, e.getMessage()));
+        }
+    }
+
+    /**
+     * Determines if a query with the provided hash has been registered
+     * @param hash the SHA-256 hash of the query, as a hexadecimal string
+     * @return {@code true} if a query with the provided hash has been registered, {@code false} otherwise
+     */
+    public boolean isPersisted(String hash) {
+        return persistedQueries.containsKey(hash);
+    }
+
+    /**
+     * Finds the query with the provided hash, either registered or sent earlier by a client as an automatic
+     * persisted query
+     * @param hash the SHA-256 hash of the query, as a hexadecimal string
+     * @return the query, or an empty optional if there is no query with the provided hash
+     */
+    public Optional<String> findQuery(String hash) {
+        String query = persistedQueries.get(hash);
+
+        return query != null ? Optional.of(query) : Optional.ofNullable(automaticQueries.get(hash));
+    }
+
+    /**
+     * Gets the number of registered persisted queries
+     * @return the number of registered persisted queries
+     */
+    public int getPersistedQueryCount() {
+        return persistedQueries.size();
+    }
+
+    /**
+     * Gets the number of cached documents, both for persisted and ad-hoc queries
+     * @return the number of cached documents
+     */
+    public int getCachedDocumentCount() {
+        return persistedDocuments.size() + adHocDocuments.size();
+    }
+
+    /**
+     * Gets the number of queries whose document was found in the cache
+     * @return the number of queries whose document was found in the cache
+     */
+    public long getHitCount() {
+        return hitCount.get();
+    }
+
+    /**
+     * Gets the number of queries whose document had to be parsed and validated
+     * @return the number of queries whose document had to be parsed and validated
+     */
+    public long getMissCount() {
+        return missCount.get();
+    }
+
+    /**
+     * Gets the ratio of queries whose document was found in the cache
+     * @return the ratio of queries whose document was found in the cache, or zero if there have been no queries
+     */
+    public double getHitRatio() {
+        long hits = hitCount.get();
+        long total = hits + missCount.get();
+
+        return total > 0 ? (double) hits / total : 0.0;
+    }
+
+    @Override
+    public CompletableFuture<PreparsedDocumentEntry> getDocumentAsync(ExecutionInput executionInput,
+                                                                      Function<ExecutionInput, PreparsedDocumentEntry> parseAndValidateFunction) {
+        String requestedHash = findRequestedHash(executionInput.getExtensions());
+
+        if (requestedHash != null && (executionInput.getQuery() == null || executionInput.getQuery().isBlank())) {
+            Optional<String> query = findQuery(requestedHash);
+
+            if (query.isEmpty()) {
+                missCount.incrementAndGet();
+
+                return CompletableFuture.completedFuture(new PreparsedDocumentEntry(persistedQueryNotFound(requestedHash)));
+            }
+
+            return CompletableFuture.completedFuture(
+                getDocument(requestedHash, executionInput.transform(builder -> builder.query(query.get())), parseAndValidateFunction));
+        }
+
+        String hash = hash(executionInput.getQuery());
+
+        if (requestedHash != null) {
+            if (!requestedHash.equals(hash)) {
+                return CompletableFuture.completedFuture(new PreparsedDocumentEntry(GraphqlErrorBuilder.newError()
+                    .message("The hash in the 'persistedQuery' extension does not match the query")
+                    .extensions(Map.of("persistedQueryId", requestedHash))
+                    .build()));
+            }
+
+            if (!persistedQueries.containsKey(hash)) {
+                automaticQueries.put(hash, executionInput.getQuery());
+            }
+        }
+
+        return CompletableFuture.completedFuture(getDocument(hash, executionInput, parseAndValidateFunction));
+    }
+
+    /**
+     * Finds the hash of the requested persisted query in the extensions of a request
+     * @param extensions the extensions of the request, may be {@code null}
+     * @return the SHA-256 hash in the 'persistedQuery' extension, as a lower case hexadecimal string, or {@code null}
+     * if the request has no 'persistedQuery' extension
+     */
+    public static String findRequestedHash(Map<?, ?> extensions) {
+        if (extensions != null &&
+            extensions.get(PERSISTED_QUERY_EXTENSION) instanceof Map<?, ?> persistedQuery &&
+            persistedQuery.get(SHA_256_HASH) instanceof String hash) {
+            return hash.toLowerCase(Locale.ROOT);
+        }
+
+        return null;
+    }
+
+    /**
+     * Creates the error returned if the requested persisted query is not found, in the same format as
+     * Apollo automatic persisted queries
+     * @param hash the SHA-256 hash of the requested persisted query
+     * @return the error
+     */
+    public static GraphQLError persistedQueryNotFound(String hash) {
+        return GraphqlErrorBuilder.newError()
+            .message("PersistedQueryNotFound")
+            .extensions(Map.of("code", "PERSISTED_QUERY_NOT_FOUND", "persistedQueryId", hash))
+            .build();
+    }
+
+    private PreparsedDocumentEntry getDocument(String hash, ExecutionInput executionInput,
+                                               Function<ExecutionInput, PreparsedDocumentEntry> parseAndValidateFunction) {
+        Map<String, PreparsedDocumentEntry> documents = persistedQueries.containsKey(hash) ? persistedDocuments : adHocDocuments;
+
+        PreparsedDocumentEntry entry = documents.get(hash);
+
+        if (entry != null) {
+            hitCount.incrementAndGet();
+
+            return entry;
+        }
+
+        missCount.incrementAndGet();
+
+        entry = parseAndValidateFunction.apply(executionInput);
+
+        // documents with errors are not cached, so that a client can not fill the cache with invalid queries
+        if (!entry.hasErrors()) {
+            documents.put(hash, entry);
+        }
+
+        return entry;
+    }
+
+    private static <V> Map<String, V> createLeastRecentlyUsedCache(int maxSize) {
+        return Collections.synchronizedMap(new LinkedHashMap<String, V>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, V> eldest) {
+                return size() > maxSize;
+            }
+        });
+    }
+
+    private Response<String> registerFile(Path file) {
+        try {
+            String hash = register(Files.readString(file));
+
+            log.debug("Registered persisted query '{}' from '{}'", hash, file);
+
+            return success(hash);
+        } catch (IOException e) {
+            return fail(Response.ErrorType.VALIDATION, String.format("Can not read persisted query from '%s' : %s", file, e.getMessage()));
+        }
+    }
+
+    /**
+     * Calculates the SHA-256 hash of a query
+     * @param query the query
+     * @return the SHA-256 hash of the query, as a lower case hexadecimal string
+     */
+    public static String hash(String query) {
+        return HashUtils.sha256(query);
+    }
+}
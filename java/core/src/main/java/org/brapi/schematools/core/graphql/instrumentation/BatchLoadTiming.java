@@ -0,0 +1,37 @@
+package org.brapi.schematools.core.graphql.instrumentation;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.time.Duration;
+
+/**
+ * The time taken by a batch load, as recorded by a batch loader instrumented by
+ * {@link ResolverMetricsInstrumentation#instrument}
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class BatchLoadTiming {
+    /**
+     * The name of the data loader
+     */
+    private final String loaderName;
+    /**
+     * The number of keys in the batch
+     */
+    private final int batchSize;
+    /**
+     * The number of values loaded for the keys
+     */
+    private final int resultCount;
+    /**
+     * The time taken to load the batch
+     */
+    private final Duration duration;
+    /**
+     * {@code true} if the batch load failed
+     */
+    private final boolean failed;
+}
@@ -0,0 +1,73 @@
+package org.brapi.schematools.core.graphql.instrumentation;
+
+import graphql.ExecutionResult;
+import graphql.execution.AbortExecutionException;
+import graphql.execution.ExecutionContext;
+import graphql.execution.instrumentation.InstrumentationContext;
+import graphql.execution.instrumentation.InstrumentationState;
+import graphql.execution.instrumentation.SimpleInstrumentationContext;
+import graphql.execution.instrumentation.SimplePerformantInstrumentation;
+import graphql.execution.instrumentation.parameters.InstrumentationExecuteOperationParameters;
+import lombok.extern.slf4j.Slf4j;
+import org.brapi.schematools.core.graphql.options.QueryComplexityOptions;
+
+/**
+ * Rejects queries whose depth or complexity, as calculated by the {@link QueryCostCalculator},
+ * exceed the limits in the {@link QueryComplexityOptions}. Queries are rejected after validation
+ * and before any field is resolved.
+ */
+@Slf4j
+public class QueryComplexityInstrumentation extends SimplePerformantInstrumentation {
+    private final QueryCostCalculator calculator;
+    private final QueryComplexityOptions options;
+    private final QueryCostListener listener;
+
+    /**
+     * Creates the instrumentation
+     * @param calculator the calculator for the schema
+     * @param options the limits on depth and complexity
+     */
+    public QueryComplexityInstrumentation(QueryCostCalculator calculator, QueryComplexityOptions options) {
+        this(calculator, options, cost -> {});
+    }
+
+    /**
+     * Creates the instrumentation with a listener for the calculated costs
+     * @param calculator the calculator for the schema
+     * @param options the limits on depth and complexity
+     * @param listener receives the cost of each query
+     */
+    public QueryComplexityInstrumentation(QueryCostCalculator calculator, QueryComplexityOptions options, QueryCostListener listener) {
+        this.calculator = calculator;
+        this.options = options;
+        this.listener = listener;
+    }
+
+    @Override
+    public InstrumentationContext<ExecutionResult> beginExecuteOperation(InstrumentationExecuteOperationParameters parameters, InstrumentationState state) {
+        ExecutionContext executionContext = parameters.getExecutionContext();
+
+        QueryCost cost = calculator.calculate(executionContext.getGraphQLSchema(), executionContext.getDocument(),
+            executionContext.getExecutionInput().getOperationName(), executionContext.getCoercedVariables());
+
+        log.debug("Query cost {}", cost);
+
+        listener.costCalculated(cost);
+
+        if (options.isLimitingDepth() && cost.getDepth() > options.getMaxDepth()) {
+            reject(cost, "depth", String.format("Query depth %d exceeds the maximum depth %d", cost.getDepth(), options.getMaxDepth()));
+        }
+
+        if (options.isLimitingComplexity() && cost.getComplexity() > options.getMaxComplexity()) {
+            reject(cost, "complexity", String.format("Query complexity %d exceeds the maximum complexity %d", cost.getComplexity(), options.getMaxComplexity()));
+        }
+
+        return SimpleInstrumentationContext.noOp();
+    }
+
+    private void reject(QueryCost cost, String reason, String message) {
+        listener.queryRejected(cost, reason);
+
+        throw new AbortExecutionException(message);
+    }
+}
@@ -0,0 +1,22 @@
+package org.brapi.schematools.core.graphql.instrumentation;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * The cost of a query calculated by the {@link QueryCostCalculator}
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class QueryCost {
+    /**
+     * The maximum depth of the fields selected by the query
+     */
+    private final int depth;
+    /**
+     * The complexity of the query, that is the estimated number of fields that will be resolved
+     */
+    private final int complexity;
+}
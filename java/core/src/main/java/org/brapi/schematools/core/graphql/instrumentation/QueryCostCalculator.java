@@ -0,0 +1,169 @@
+package org.brapi.schematools.core.graphql.instrumentation;
+
+import graphql.analysis.QueryTraverser;
+import graphql.analysis.QueryVisitorFieldEnvironment;
+import graphql.analysis.QueryVisitorStub;
+import graphql.execution.CoercedVariables;
+import graphql.language.Document;
+import graphql.schema.FieldCoordinates;
+import graphql.schema.GraphQLSchema;
+import org.brapi.schematools.core.graphql.options.GraphQLGeneratorOptions;
+import org.brapi.schematools.core.graphql.options.QueryComplexityOptions;
+import org.brapi.schematools.core.model.BrAPIArrayType;
+import org.brapi.schematools.core.model.BrAPIClass;
+import org.brapi.schematools.core.model.BrAPIObjectProperty;
+import org.brapi.schematools.core.model.BrAPIObjectType;
+import org.brapi.schematools.core.model.BrAPIType;
+import org.brapi.schematools.core.options.LinkType;
+import org.brapi.schematools.core.utils.BrAPIClassCacheBuilder;
+import org.brapi.schematools.core.utils.BrAPITypeUtils;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static graphql.schema.FieldCoordinates.coordinates;
+import static org.brapi.schematools.core.utils.BrAPITypeUtils.unwrapType;
+
+/**
+ * Calculates the depth and complexity of the queries executed against a schema generated by the
+ * {@link org.brapi.schematools.core.graphql.GraphQLGenerator}. Each field costs 1, plus the complexity of
+ * its selected fields multiplied by the number of objects the field is expected to return. List and search
+ * queries are expected to return a page of objects, either the page size requested in the paging input or
+ * {@link QueryComplexityOptions#getDefaultPageSize()}. Sub-query fields are expected to return the number
+ * of objects given by {@link QueryComplexityOptions#getExpectedCardinalityFor} for the relationship type of
+ * the property, capped at the requested page size. All other fields are expected to return a single object.
+ * Introspection fields, such as {@code __schema}, {@code __type} and {@code __typename}, and the fields
+ * selected within them are not counted in either the depth or the complexity.
+ */
+public class QueryCostCalculator {
+    private static final String PAGE_SIZE = "pageSize";
+    private static final String INTROSPECTION_PREFIX = "__";
+
+    private final GraphQLGeneratorOptions options;
+    private final Map<FieldCoordinates, Integer> listQueries = new HashMap<>();
+    private final Map<FieldCoordinates, Integer> subQueries = new HashMap<>();
+
+    /**
+     * Creates a calculator for the schema generated from the BrAPI classes
+     * @param options the options used to generate the schema
+     * @param brAPIClasses the BrAPI classes from which the schema was generated
+     */
+    public QueryCostCalculator(GraphQLGeneratorOptions options, List<BrAPIClass> brAPIClasses) {
+        this.options = options;
+
+        BrAPIClassCacheBuilder.BrAPIClassCache brAPIClassCache = BrAPIClassCacheBuilder.builder(brAPIClasses).build();
+
+        String queryTypeName = options.getQueryType().getName();
+        int defaultPageSize = options.getQueryComplexity().getDefaultPageSize();
+
+        brAPIClassCache.getBrAPIClasses().stream()
+            .filter(BrAPITypeUtils::isPrimaryModel)
+            .forEach(brAPIClass -> {
+                listQueries.put(coordinates(queryTypeName, options.getListQueryNameFor(brAPIClass.getName())), defaultPageSize);
+                listQueries.put(coordinates(queryTypeName, options.getSearchQueryNameFor(brAPIClass.getName())), defaultPageSize);
+            });
+
+        brAPIClassCache.getBrAPIClasses().stream()
+            .filter(BrAPIObjectType.class::isInstance)
+            .map(BrAPIObjectType.class::cast)
+            .forEach(brAPIObjectType -> brAPIObjectType.getProperties().stream()
+                .filter(property -> property.getType() instanceof BrAPIArrayType)
+                .filter(property -> isSubQuery(brAPIClassCache, brAPIObjectType, property))
+                .forEach(property -> subQueries.put(coordinates(brAPIObjectType.getName(), property.getName()),
+                    options.getQueryComplexity().getExpectedCardinalityFor(property.getRelationshipType()))));
+    }
+
+    /**
+     * Calculates the cost of a query
+     * @param schema the schema against which the query is executed
+     * @param document the parsed query
+     * @param operationName the name of the operation to be executed, may be {@code null} if the
+     *                      document has only one operation
+     * @param variables the coerced variables of the query
+     * @return the cost of the query
+     */
+    public QueryCost calculate(GraphQLSchema schema, Document document, String operationName, CoercedVariables variables) {
+        QueryTraverser queryTraverser = QueryTraverser.newQueryTraverser()
+            .schema(schema)
+            .document(document)
+            .operationName(operationName)
+            .coercedVariables(variables)
+            .build();
+
+        // the complexity of the selected fields keyed by the parent field, the top level fields have a null parent
+        Map<QueryVisitorFieldEnvironment, Integer> complexityByParent = new HashMap<>();
+        AtomicInteger depth = new AtomicInteger();
+
+        queryTraverser.visitPostOrder(new QueryVisitorStub() {
+            @Override
+            public void visitField(QueryVisitorFieldEnvironment environment) {
+                if (isIntrospection(environment)) {
+                    return;
+                }
+
+                int complexity = calculateFieldComplexity(environment, complexityByParent.getOrDefault(environment, 0));
+
+                complexityByParent.merge(environment.getParentEnvironment(), complexity, QueryCostCalculator::add);
+                depth.accumulateAndGet(getDepth(environment), Math::max);
+            }
+        });
+
+        return new QueryCost(depth.get(), complexityByParent.getOrDefault(null, 0));
+    }
+
+    private int calculateFieldComplexity(QueryVisitorFieldEnvironment environment, int childComplexity) {
+        FieldCoordinates fieldCoordinates = coordinates(environment.getFieldsContainer().getName(), environment.getFieldDefinition().getName());
+
+        Integer pageSize = getRequestedPageSize(environment);
+
+        int multiplier = 1;
+
+        if (listQueries.containsKey(fieldCoordinates)) {
+            multiplier = pageSize != null ? pageSize : listQueries.get(fieldCoordinates);
+        } else if (subQueries.containsKey(fieldCoordinates)) {
+            multiplier = pageSize != null ? Math.min(pageSize, subQueries.get(fieldCoordinates)) : subQueries.get(fieldCoordinates);
+        }
+
+        return add(1, (int) Math.min(Integer.MAX_VALUE, (long) multiplier * childComplexity));
+    }
+
+    private Integer getRequestedPageSize(QueryVisitorFieldEnvironment environment) {
+        Object paging = environment.getArguments().get(options.getQueryType().getListQuery().getPagingInputName());
+
+        if (paging instanceof Map<?, ?> pagingInput && pagingInput.get(PAGE_SIZE) instanceof Number pageSize && pageSize.intValue() > 0) {
+            return pageSize.intValue();
+        }
+
+        return null;
+    }
+
+    private static boolean isIntrospection(QueryVisitorFieldEnvironment environment) {
+        for (QueryVisitorFieldEnvironment current = environment; current != null; current = current.getParentEnvironment()) {
+            if (current.isTypeNameIntrospectionField() || current.getFieldDefinition().getName().startsWith(INTROSPECTION_PREFIX)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    private static int getDepth(QueryVisitorFieldEnvironment environment) {
+        int depth = 0;
+
+        for (QueryVisitorFieldEnvironment current = environment; current != null; current = current.getParentEnvironment()) {
+            ++depth;
+        }
+
+        return depth;
+    }
+
+    private static int add(int value1, int value2) {
+        return (int) Math.min(Integer.MAX_VALUE, (long) value1 + value2);
+    }
+
+    private boolean isSubQuery(BrAPIClassCacheBuilder.BrAPIClassCache brAPIClassCache, BrAPIObjectType brAPIObjectType, BrAPIObjectProperty property) {
+        BrAPIType dereferencedType = brAPIClassCache.dereferenceType(unwrapType(property.getType()));
+
+        return options.getProperties().getLinkTypeFor(brAPIObjectType, property, dereferencedType).orElseResult(LinkType.NONE) == LinkType.SUB_QUERY;
+    }
+}
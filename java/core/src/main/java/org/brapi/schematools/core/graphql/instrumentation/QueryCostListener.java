@@ -0,0 +1,21 @@
+package org.brapi.schematools.core.graphql.instrumentation;
+
+/**
+ * Receives the costs calculated by the {@link QueryComplexityInstrumentation}, for example to record them as metrics
+ */
+public interface QueryCostListener {
+
+    /**
+     * Called when the cost of a query has been calculated, before the query is executed or rejected
+     * @param cost the cost of the query
+     */
+    void costCalculated(QueryCost cost);
+
+    /**
+     * Called when a query is rejected because its cost exceeds the limits
+     * @param cost the cost of the query
+     * @param reason why the query was rejected
+     */
+    default void queryRejected(QueryCost cost, String reason) {
+    }
+}
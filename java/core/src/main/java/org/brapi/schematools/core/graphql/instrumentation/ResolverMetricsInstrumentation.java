@@ -0,0 +1,222 @@
+package org.brapi.schematools.core.graphql.instrumentation;
+
+import graphql.ExecutionResult;
+import graphql.execution.DataFetcherResult;
+import graphql.execution.instrumentation.InstrumentationContext;
+import graphql.execution.instrumentation.InstrumentationState;
+import graphql.execution.instrumentation.SimpleInstrumentationContext;
+import graphql.execution.instrumentation.SimplePerformantInstrumentation;
+import graphql.execution.instrumentation.parameters.InstrumentationCreateStateParameters;
+import graphql.execution.instrumentation.parameters.InstrumentationExecutionParameters;
+import graphql.execution.instrumentation.parameters.InstrumentationFieldFetchParameters;
+import graphql.schema.DataFetchingEnvironment;
+import graphql.schema.FieldCoordinates;
+import graphql.schema.GraphQLObjectType;
+import org.brapi.schematools.core.graphql.options.GraphQLGeneratorOptions;
+import org.brapi.schematools.core.model.BrAPIClass;
+import org.brapi.schematools.core.model.BrAPIObjectProperty;
+import org.brapi.schematools.core.model.BrAPIObjectType;
+import org.brapi.schematools.core.model.BrAPIType;
+import org.brapi.schematools.core.options.LinkType;
+import org.brapi.schematools.core.utils.BrAPIClassCacheBuilder;
+import org.brapi.schematools.core.utils.BrAPITypeUtils;
+import org.dataloader.MappedBatchLoader;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import static graphql.schema.FieldCoordinates.coordinates;
+import static org.brapi.schematools.core.utils.BrAPITypeUtils.unwrapType;
+
+/**
+ * Records the time taken to resolve the fields of a schema generated by the
+ * {@link org.brapi.schematools.core.graphql.GraphQLGenerator}, together with the number of objects returned,
+ * tagged with the BrAPI entity and relationship type. Only the single, list and search queries and the
+ * sub-query fields that link one BrAPI entity to another are timed, the other fields are resolved from
+ * their parent object and are not instrumented. The timings are passed to a {@link ResolverMetricsListener},
+ * and if tracing is enabled are also returned in the {@value #TRACING_EXTENSION} extension of each query result.
+ * The sizes of the batches loaded by the data loaders are recorded by wrapping the batch loaders with
+ * {@link #instrument(String, MappedBatchLoader)}.
+ */
+public class ResolverMetricsInstrumentation extends SimplePerformantInstrumentation {
+    /**
+     * The key of the extension in the query result holding the timings of the query, if tracing is enabled
+     */
+    public static final String TRACING_EXTENSION = "resolverTracing";
+
+    private static final String SINGLE_QUERY = "single-query";
+    private static final String LIST_QUERY = "list-query";
+    private static final String SEARCH_QUERY = "search-query";
+    private static final String UNSPECIFIED = "unspecified";
+
+    private final GraphQLGeneratorOptions options;
+    private final ResolverMetricsListener listener;
+    private final boolean tracing;
+    private final Map<FieldCoordinates, InstrumentedField> fields = new HashMap<>();
+
+    /**
+     * Creates the instrumentation without tracing
+     * @param options the options used to generate the schema
+     * @param brAPIClasses the BrAPI classes from which the schema was generated
+     * @param listener receives the timings
+     */
+    public ResolverMetricsInstrumentation(GraphQLGeneratorOptions options, List<BrAPIClass> brAPIClasses, ResolverMetricsListener listener) {
+        this(options, brAPIClasses, listener, false);
+    }
+
+    /**
+     * Creates the instrumentation
+     * @param options the options used to generate the schema
+     * @param brAPIClasses the BrAPI classes from which the schema was generated
+     * @param listener receives the timings
+     * @param tracing if {@code true} the timings of each query are returned in the {@value #TRACING_EXTENSION} extension
+     */
+    public ResolverMetricsInstrumentation(GraphQLGeneratorOptions options, List<BrAPIClass> brAPIClasses, ResolverMetricsListener listener, boolean tracing) {
+        this.options = options;
+        this.listener = listener;
+        this.tracing = tracing;
+
+        BrAPIClassCacheBuilder.BrAPIClassCache brAPIClassCache = BrAPIClassCacheBuilder.builder(brAPIClasses).build();
+
+        String queryTypeName = options.getQueryType().getName();
+
+        brAPIClassCache.getBrAPIClasses().stream()
+            .filter(BrAPITypeUtils::isPrimaryModel)
+            .map(BrAPIClass::getName)
+            .forEach(name -> {
+                fields.put(coordinates(queryTypeName, options.getSingleQueryNameFor(name)), new InstrumentedField(name, SINGLE_QUERY));
+                fields.put(coordinates(queryTypeName, options.getListQueryNameFor(name)), new InstrumentedField(name, LIST_QUERY));
+                fields.put(coordinates(queryTypeName, options.getSearchQueryNameFor(name)), new InstrumentedField(name, SEARCH_QUERY));
+            });
+
+        brAPIClassCache.getBrAPIClasses().stream()
+            .filter(BrAPIObjectType.class::isInstance)
+            .map(BrAPIObjectType.class::cast)
+            .forEach(brAPIObjectType -> brAPIObjectType.getProperties().stream()
+                .filter(property -> isSubQuery(brAPIClassCache, brAPIObjectType, property))
+                .forEach(property -> fields.put(coordinates(brAPIObjectType.getName(), property.getName()),
+                    new InstrumentedField(brAPIObjectType.getName(), property.getRelationshipType() != null ?
+                        property.getRelationshipType().getLabel() : UNSPECIFIED))));
+    }
+
+    /**
+     * Wraps a batch loader so that the size and duration of each batch is passed to the listener
+     * @param loaderName the name of the data loader
+     * @param batchLoader the batch loader to be instrumented
+     * @return the instrumented batch loader
+     * @param <K> the type of the keys
+     * @param <V> the type of the values
+     */
+    public <K, V> MappedBatchLoader<K, V> instrument(String loaderName, MappedBatchLoader<K, V> batchLoader) {
+        return keys -> {
+            long start = System.nanoTime();
+
+            return batchLoader.load(keys).whenComplete((values, throwable) -> listener.batchLoaded(new BatchLoadTiming(
+                loaderName, keys.size(), values != null ? values.size() : 0, Duration.ofNanos(System.nanoTime() - start), throwable != null)));
+        };
+    }
+
+    @Override
+    public InstrumentationState createState(InstrumentationCreateStateParameters parameters) {
+        return tracing ? new TracingState() : null;
+    }
+
+    @Override
+    public InstrumentationContext<Object> beginFieldFetch(InstrumentationFieldFetchParameters parameters, InstrumentationState state) {
+        DataFetchingEnvironment environment = parameters.getEnvironment();
+
+        if (!(environment.getParentType() instanceof GraphQLObjectType parentType)) {
+            return SimpleInstrumentationContext.noOp();
+        }
+
+        String fieldName = environment.getFieldDefinition().getName();
+
+        InstrumentedField field = fields.get(coordinates(parentType.getName(), fieldName));
+
+        if (field == null) {
+            return SimpleInstrumentationContext.noOp();
+        }
+
+        long start = System.nanoTime();
+
+        // completed when the fetched value is available, so includes the time waiting for the data loaders
+        return SimpleInstrumentationContext.whenCompleted((result, throwable) -> {
+            ResolverTiming timing = new ResolverTiming(parentType.getName(), fieldName,
+                environment.getExecutionStepInfo().getPath().toString(), field.entity(), field.relationship(),
+                Duration.ofNanos(System.nanoTime() - start), countResults(result), throwable != null);
+
+            listener.fieldResolved(timing);
+
+            if (state instanceof TracingState tracingState) {
+                tracingState.add(start, timing);
+            }
+        });
+    }
+
+    @Override
+    public CompletableFuture<ExecutionResult> instrumentExecutionResult(ExecutionResult executionResult, InstrumentationExecutionParameters parameters, InstrumentationState state) {
+        if (state instanceof TracingState tracingState) {
+            return CompletableFuture.completedFuture(executionResult.transform(builder -> builder.addExtension(TRACING_EXTENSION, tracingState.toExtension())));
+        }
+
+        return CompletableFuture.completedFuture(executionResult);
+    }
+
+    private int countResults(Object result) {
+        Object value = result instanceof DataFetcherResult<?> dataFetcherResult ? dataFetcherResult.getData() : result;
+
+        if (value == null) {
+            return 0;
+        }
+
+        if (value instanceof Map<?, ?> map && map.get(options.getQueryType().getListQuery().getDataFieldName()) instanceof Collection<?> data) {
+            return data.size();
+        }
+
+        return value instanceof Collection<?> collection ? collection.size() : 1;
+    }
+
+    private boolean isSubQuery(BrAPIClassCacheBuilder.BrAPIClassCache brAPIClassCache, BrAPIObjectType brAPIObjectType, BrAPIObjectProperty property) {
+        BrAPIType dereferencedType = brAPIClassCache.dereferenceType(unwrapType(property.getType()));
+
+        return dereferencedType instanceof BrAPIClass childType && BrAPITypeUtils.isPrimaryModel(childType) &&
+            options.getProperties().getLinkTypeFor(brAPIObjectType, property, dereferencedType).orElseResult(LinkType.NONE) == LinkType.SUB_QUERY;
+    }
+
+    private record InstrumentedField(String entity, String relationship) {
+    }
+
+    private static class TracingState implements InstrumentationState {
+        private final long startNanos = System.nanoTime();
+        private final Queue<Map<String, Object>> resolvers = new ConcurrentLinkedQueue<>();
+
+        private void add(long start, ResolverTiming timing) {
+            Map<String, Object> resolver = new LinkedHashMap<>();
+
+            resolver.put("path", timing.getPath());
+            resolver.put("parentType", timing.getTypeName());
+            resolver.put("fieldName", timing.getFieldName());
+            resolver.put("entity", timing.getEntity());
+            resolver.put("relationship", timing.getRelationship());
+            resolver.put("startOffset", start - startNanos);
+            resolver.put("duration", timing.getDuration().toNanos());
+            resolver.put("resultCount", timing.getResultCount());
+            resolver.put("failed", timing.isFailed());
+
+            resolvers.add(resolver);
+        }
+
+        private Map<String, Object> toExtension() {
+            Map<String, Object> extension = new LinkedHashMap<>();
+
+            extension.put("duration", System.nanoTime() - startNanos);
+            extension.put("resolvers", resolvers.stream()
+                .sorted(Comparator.comparingLong(resolver -> (Long) resolver.get("startOffset")))
+                .toList());
+
+            return extension;
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package org.brapi.schematools.core.graphql.instrumentation;
+
+/**
+ * Receives the timings recorded by the {@link ResolverMetricsInstrumentation}, for example to record them as metrics
+ */
+public interface ResolverMetricsListener {
+
+    /**
+     * Called when a query or relationship field has been resolved. May be called concurrently.
+     * @param timing the timing of the field
+     */
+    void fieldResolved(ResolverTiming timing);
+
+    /**
+     * Called when a batch load of an instrumented batch loader has completed. May be called concurrently.
+     * @param timing the timing of the batch load
+     */
+    default void batchLoaded(BatchLoadTiming timing) {
+    }
+}
@@ -0,0 +1,51 @@
+package org.brapi.schematools.core.graphql.instrumentation;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.time.Duration;
+
+/**
+ * The time taken to resolve a field, as recorded by the {@link ResolverMetricsInstrumentation}
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class ResolverTiming {
+    /**
+     * The name of the GraphQL type on which the field is defined
+     */
+    private final String typeName;
+    /**
+     * The name of the field
+     */
+    private final String fieldName;
+    /**
+     * The path of the field in the query result, for example '/studies/data[0]/observationVariables'
+     */
+    private final String path;
+    /**
+     * The name of the BrAPI entity, for queries the entity being queried and for relationships
+     * the entity on which the relationship is defined
+     */
+    private final String entity;
+    /**
+     * The type of query, for example 'list-query', or the label of the BrAPI relationship type,
+     * for example 'one-to-many', or 'unspecified' if the relationship type is not defined
+     */
+    private final String relationship;
+    /**
+     * The time from the start of the data fetcher until its value was available, including the time
+     * waiting for any batch loads
+     */
+    private final Duration duration;
+    /**
+     * The number of objects returned, for list responses the number of objects in the page of data
+     */
+    private final int resultCount;
+    /**
+     * {@code true} if the data fetcher failed
+     */
+    private final boolean failed;
+}
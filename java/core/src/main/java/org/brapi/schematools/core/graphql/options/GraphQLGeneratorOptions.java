@@ -30,10 +30,13 @@ public class GraphQLGeneratorOptions extends AbstractMainGeneratorOptions {
     private QueryTypeOptions queryType;
     private MutationTypeOptions mutationType;
     private GraphQLPropertiesOptions properties;
+    private QueryComplexityOptions queryComplexity;
     private Boolean mergeOneOfType;
     @Getter(AccessLevel.NONE)
     @Setter(AccessLevel.PRIVATE)
     private Map<String, Boolean> mergingOneOfTypeFor = new HashMap<>();
+    @Getter(AccessLevel.NONE)
+    private Boolean generateInParallel;
 
     /**
      * Load the default options
@@ -80,11 +83,14 @@ public class GraphQLGeneratorOptions extends AbstractMainGeneratorOptions {
             .assertNotNull(queryType,  "Query Options are null")
             .assertNotNull(mutationType, "Mutation Options are null")
             .assertNotNull(properties,  "Properties Options are null")
+            .assertNotNull(queryComplexity,  "Query Complexity Options are null")
             .assertNotNull(mergeOneOfType, "'mergeOneOfType' option on %s is null", this.getClass().getSimpleName())
+            .assertNotNull(generateInParallel, "'generateInParallel' option on %s is null", this.getClass().getSimpleName())
             .merge(input)
             .merge(queryType)
             .merge(mutationType)
-            .merge(properties) ;
+            .merge(properties)
+            .merge(queryComplexity) ;
     }
 
     /**
@@ -111,6 +117,10 @@ public class GraphQLGeneratorOptions extends AbstractMainGeneratorOptions {
             properties.override(overrideOptions.properties) ;
         }
 
+        if (overrideOptions.queryComplexity != null) {
+            queryComplexity.override(overrideOptions.queryComplexity) ;
+        }
+
         if (overrideOptions.mergeOneOfType != null) {
             setMergeOneOfType(overrideOptions.mergeOneOfType) ;
         }
@@ -122,6 +132,10 @@ public class GraphQLGeneratorOptions extends AbstractMainGeneratorOptions {
             });
         }
 
+        if (overrideOptions.generateInParallel != null) {
+            setGenerateInParallel(overrideOptions.generateInParallel) ;
+        }
+
         return this ;
     }
 
@@ -403,4 +417,29 @@ public class GraphQLGeneratorOptions extends AbstractMainGeneratorOptions {
 
         return this ;
     }
-}
\ No newline at end of file
+
+    /**
+     * Determines if the Generator should construct the independent GraphQL types in parallel.
+     * The generated schema is the same as when the types are constructed sequentially.
+     *
+     * @return {@code true} if the Generator should construct the independent GraphQL types in parallel,
+     * {@code false} otherwise
+     */
+    @JsonIgnore
+    public boolean isGeneratingInParallel() {
+        return generateInParallel != null && generateInParallel ;
+    }
+
+    /**
+     * Sets if the Generator should construct the independent GraphQL types in parallel.
+     *
+     * @param generateInParallel {@code true} if the Generator should construct the independent GraphQL types
+     *                           in parallel, {@code false} otherwise
+     * @return the options for chaining
+     */
+    public GraphQLGeneratorOptions setGenerateInParallel(Boolean generateInParallel) {
+        this.generateInParallel = generateInParallel ;
+
+        return this ;
+    }
+}
@@ -0,0 +1,97 @@
+package org.brapi.schematools.core.graphql.options;
+
+import lombok.*;
+import org.brapi.schematools.core.model.BrAPIRelationshipType;
+import org.brapi.schematools.core.options.Options;
+import org.brapi.schematools.core.validiation.Validation;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Provides options for limiting the depth and complexity of the queries executed against the generated schema
+ */
+@Getter
+@Setter
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class QueryComplexityOptions implements Options {
+    private Integer maxDepth;
+    private Integer maxComplexity;
+    private Integer defaultPageSize;
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.PRIVATE)
+    private Map<BrAPIRelationshipType, Integer> expectedCardinality = new EnumMap<>(BrAPIRelationshipType.class);
+
+    public Validation validate() {
+        return Validation.valid()
+            .assertNotNull(maxDepth, "'maxDepth' option on %s is null", this.getClass().getSimpleName())
+            .assertNotNull(maxComplexity, "'maxComplexity' option on %s is null", this.getClass().getSimpleName())
+            .assertNotNull(defaultPageSize, "'defaultPageSize' option on %s is null", this.getClass().getSimpleName())
+            .assertNotNull(expectedCardinality, "'expectedCardinality' option on %s is null", this.getClass().getSimpleName()) ;
+    }
+
+    /**
+     * Overrides the values in this Options Object from the provided Options Object if they are non-null
+     * @param overrideOptions the options which will be used to override this Options Object
+     */
+    public void override(QueryComplexityOptions overrideOptions) {
+        if (overrideOptions.maxDepth != null) {
+            setMaxDepth(overrideOptions.maxDepth);
+        }
+
+        if (overrideOptions.maxComplexity != null) {
+            setMaxComplexity(overrideOptions.maxComplexity);
+        }
+
+        if (overrideOptions.defaultPageSize != null) {
+            setDefaultPageSize(overrideOptions.defaultPageSize);
+        }
+
+        if (overrideOptions.expectedCardinality != null) {
+            overrideOptions.expectedCardinality.forEach((key, value) -> {
+                if (value == null) expectedCardinality.remove(key);
+                else expectedCardinality.put(key, value);
+            });
+        }
+    }
+
+    /**
+     * Determines if queries are limited by depth
+     * @return {@code true} if {@link #getMaxDepth()} is greater than zero, {@code false} otherwise
+     */
+    public final boolean isLimitingDepth() {
+        return maxDepth > 0;
+    }
+
+    /**
+     * Determines if queries are limited by complexity
+     * @return {@code true} if {@link #getMaxComplexity()} is greater than zero, {@code false} otherwise
+     */
+    public final boolean isLimitingComplexity() {
+        return maxComplexity > 0;
+    }
+
+    /**
+     * Gets the expected number of related objects for a relationship type, used to weight the complexity
+     * of the fields that return the related objects. Relationship types without an expected cardinality,
+     * or a {@code null} relationship type, have an expected cardinality of 1.
+     * @param relationshipType the relationship type
+     * @return the expected number of related objects for the relationship type
+     */
+    public final int getExpectedCardinalityFor(BrAPIRelationshipType relationshipType) {
+        return relationshipType != null ? expectedCardinality.getOrDefault(relationshipType, 1) : 1;
+    }
+
+    /**
+     * Sets the expected number of related objects for a relationship type
+     * @param relationshipType the relationship type
+     * @param cardinality the expected number of related objects for the relationship type
+     * @return the options for chaining
+     */
+    public final QueryComplexityOptions setExpectedCardinalityFor(BrAPIRelationshipType relationshipType, int cardinality) {
+        expectedCardinality.put(relationshipType, cardinality);
+
+        return this ;
+    }
+}
@@ -6,19 +6,23 @@ import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.brapi.schematools.core.markdown.options.GraphQLMarkdownGeneratorOptions;
 import org.brapi.schematools.core.response.Response;
+import org.brapi.schematools.core.utils.ContentHashManifest;
 import org.brapi.schematools.core.utils.StringUtils;
 
 import java.io.IOException;
 import java.io.PrintWriter;
+import java.io.StringWriter;
 import java.nio.charset.Charset;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
 import java.util.function.Function;
 import java.util.function.Supplier;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static java.util.function.UnaryOperator.identity;
 import static java.util.stream.Collectors.groupingBy;
@@ -127,8 +131,11 @@ public class GraphQLMarkdownGenerator {
         private final Pattern ignoreQueryNamePattern;
         private final Pattern ignoreTypeNamePattern;
 
+        private final ContentHashManifest manifest;
+
         public Generator(GraphQLSchema graphQLSchema) {
             this.graphQLSchema = graphQLSchema;
+            this.manifest = options.isOverwritingExistingFiles() && options.isSkippingUnchangedFiles() ? ContentHashManifest.load(outputPath) : null;
 
             Path typeDefinitionsPath = options.getTypeDefinitionsDirectory().isEmpty()
                 ? outputPath : outputPath.resolve(options.getTypeDefinitionsDirectory());
@@ -146,46 +153,43 @@ public class GraphQLMarkdownGenerator {
             ignoreQueryNamePattern = options.getIgnoreQueryNamePattern() != null ? Pattern.compile(options.getIgnoreQueryNamePattern()) : null ;
             ignoreTypeNamePattern = options.getIgnoreTypeNamePattern() != null ? Pattern.compile(options.getIgnoreTypeNamePattern()) : null ;
 
-            List<GraphQLFieldDefinition> objectFieldDefinitions = new ArrayList<>(
-                graphQLSchema.getAllTypesAsList().stream()
-                    .filter(type -> type instanceof GraphQLObjectType)
-                    .flatMap(type -> ((GraphQLObjectType) type).getFields().stream())
-                    .toList());
-
-            objectFieldDefinitions.addAll(graphQLSchema.getAllTypesAsList().stream()
-                .filter(type -> type instanceof GraphQLInterfaceType)
-                .flatMap(type -> ((GraphQLInterfaceType) type).getFields().stream())
-                .toList());
+            // the duplicate definitions are found in a single pass over the schema types
+            List<GraphQLFieldDefinition> objectFieldDefinitions = new ArrayList<>();
+            List<GraphQLFieldDefinition> interfaceFieldDefinitions = new ArrayList<>();
+            List<GraphQLInputObjectField> inputObjectFieldDefinitions = new ArrayList<>();
+
+            graphQLSchema.getAllTypesAsList().forEach(type -> {
+                if (type instanceof GraphQLObjectType objectType) {
+                    objectFieldDefinitions.addAll(objectType.getFields());
+                } else if (type instanceof GraphQLInterfaceType interfaceType) {
+                    interfaceFieldDefinitions.addAll(interfaceType.getFields());
+                } else if (type instanceof GraphQLInputObjectType inputObjectType) {
+                    inputObjectFieldDefinitions.addAll(inputObjectType.getFields());
+                }
+            });
 
-            duplicateObjectFieldDefinitions = new TreeMap<>(objectFieldDefinitions.stream()
-                .collect(groupingBy(GraphQLFieldDefinition::getName))
-                .values().stream()
-                .filter(fields -> fields.size() > 1)
-                .map(List::getFirst)
-                .collect(Collectors.toMap(GraphQLFieldDefinition::getName, Function.identity())));
+            objectFieldDefinitions.addAll(interfaceFieldDefinitions);
 
-            Map<String, List<GraphQLInputObjectField>> inputObjectFieldDefinitions = new TreeMap<>(graphQLSchema.getAllTypesAsList().stream()
-                .filter(type -> type instanceof GraphQLInputObjectType)
-                .flatMap(type -> ((GraphQLInputObjectType) type).getFields().stream())
-                .collect(groupingBy(GraphQLInputObjectField::getName)));
+            duplicateObjectFieldDefinitions = findDuplicates(objectFieldDefinitions, GraphQLFieldDefinition::getName);
 
-            duplicateInputObjectFieldDefinitions = new TreeMap<>(inputObjectFieldDefinitions.values().stream()
-                .filter(fields -> fields.size() > 1)
-                .map(List::getFirst)
-                .collect(Collectors.toMap(GraphQLInputObjectField::getName, identity())));
+            duplicateInputObjectFieldDefinitions = findDuplicates(inputObjectFieldDefinitions, GraphQLInputObjectField::getName);
 
             queryDefinitions = new TreeMap<>(graphQLSchema.getQueryType().getFields().stream()
                 .collect(Collectors.toMap(queryDefinition -> queryDefinition.getName().toLowerCase(), identity())));
 
-            Map<String, List<GraphQLArgument>> queryArgumentDefinitions = new TreeMap<>(graphQLSchema.getQueryType().getFields().stream()
+            duplicateQueryArgumentDefinitions = findDuplicates(graphQLSchema.getQueryType().getFields().stream()
                 .flatMap(queryDefinition -> queryDefinition.getArguments().stream())
-                .collect(groupingBy(GraphQLArgument::getName)));
+                .filter(argument -> !argument.getName().equals("input"))
+                .toList(), GraphQLArgument::getName);
+        }
 
-            duplicateQueryArgumentDefinitions = new TreeMap<>(queryArgumentDefinitions.entrySet().stream()
-                .filter(entry -> !entry.getKey().equals("input") && entry.getValue().size() > 1)
-                .map(Map.Entry::getValue)
+        private <T> Map<String, T> findDuplicates(List<T> definitions, Function<T, String> nameFunction) {
+            return new TreeMap<>(definitions.stream()
+                .collect(groupingBy(nameFunction))
+                .values().stream()
+                .filter(duplicates -> duplicates.size() > 1)
                 .map(List::getFirst)
-                .collect(Collectors.toMap(GraphQLArgument::getName, identity())));
+                .collect(Collectors.toMap(nameFunction, identity())));
         }
 
         public Response<List<Path>> generate() {
@@ -195,7 +199,21 @@ public class GraphQLMarkdownGenerator {
                 Files.createDirectories(queryDescriptionsPath);
                 Files.createDirectories(queryArgumentsPath);
 
-                return generateMarkdownFiles(graphQLSchema);
+                if (options.isGeneratingInParallel()) {
+                    // parallel streams started from within the pool use the pool, which bounds the number of concurrent writers
+                    ForkJoinPool writerPool = new ForkJoinPool(options.getWriterThreads() > 0 ?
+                        options.getWriterThreads() : Runtime.getRuntime().availableProcessors());
+
+                    try {
+                        return writerPool.submit(() -> generateMarkdownFiles(graphQLSchema)).get()
+                            .conditionalMapResultToResponse(manifest != null, paths -> manifest.save().withResult(paths));
+                    } finally {
+                        writerPool.shutdown();
+                    }
+                }
+
+                return generateMarkdownFiles(graphQLSchema)
+                    .conditionalMapResultToResponse(manifest != null, paths -> manifest.save().withResult(paths));
             } catch (Exception e) {
                 return fail(Response.ErrorType.VALIDATION, e.getMessage());
             }
@@ -203,30 +221,29 @@ public class GraphQLMarkdownGenerator {
 
         private Response<List<Path>> generateMarkdownFiles(GraphQLSchema graphQLSchema) {
 
-            List<Path> generatedPaths = new LinkedList<>();
+            List<Path> generatedPaths = new ArrayList<>();
 
             return Response.empty()
                 .mapOnCondition(options.isCreatingTopLevelFieldDefinitions(),
-                    () -> duplicateObjectFieldDefinitions.values().stream()
+                    () -> stream(duplicateObjectFieldDefinitions.values())
                         .map(this::generateMarkdownForTopLevelField).collect(Response.mergeLists())
                         .mapResult(generatedPaths::addAll))
                 .mapOnCondition(options.isCreatingTopLevelInputFieldDefinitions(),
-                    () -> duplicateInputObjectFieldDefinitions.values().stream()
+                    () -> stream(duplicateInputObjectFieldDefinitions.values())
                         .map(this::generateMarkdownForTopLevelField).collect(Response.mergeLists())
                         .mapResult(generatedPaths::addAll))
                 .mapOnCondition(options.isCreatingTopLevelArgumentDefinitions(),
-                    () -> duplicateQueryArgumentDefinitions.values().stream()
+                    () -> stream(duplicateQueryArgumentDefinitions.values())
                         .map(this::generateMarkdownForTopLevelArgument).collect(Response.mergeLists())
                         .mapResult(generatedPaths::addAll))
                 .map(
-                    () -> graphQLSchema.getAllTypesAsList()
-                        .stream()
+                    () -> stream(graphQLSchema.getAllTypesAsList())
                         .filter(type -> isGeneratingDescriptionForType(type.getName()))
                         .map(this::generateTypeMarkdown)
                         .collect(Response.mergeLists())
                         .mapResult(generatedPaths::addAll))
                 .map(
-                    () -> graphQLSchema.getQueryType().getFields().stream()
+                    () -> stream(graphQLSchema.getQueryType().getFields())
                         .filter(query -> isGeneratingDescriptionQuery(query.getName()))
                         .map(this::generateQueryMarkdown)
                         .collect(Response.mergeLists())
@@ -234,6 +251,11 @@ public class GraphQLMarkdownGenerator {
                 .map(() -> success(generatedPaths));
         }
 
+        private <T> Stream<T> stream(Collection<T> collection) {
+            // the paths are collected in encounter order, so the returned list is the same in parallel mode
+            return options.isGeneratingInParallel() ? collection.parallelStream() : collection.stream();
+        }
+
         private Response<List<Path>> generateTypeMarkdown(GraphQLNamedType graphQLNamedType) {
             if (graphQLNamedType instanceof GraphQLObjectType graphQLObjectType) {
                 return generateMarkdownForObjectType(graphQLObjectType);
@@ -482,7 +504,8 @@ public class GraphQLMarkdownGenerator {
                     log.warn("Output file '{}' already exists and was not overwritten", path);
                     return success(Collections.emptyList());
                 } else {
-                    PrintWriter printWriter = new PrintWriter(Files.newBufferedWriter(path, Charset.defaultCharset()));
+                    StringWriter content = new StringWriter();
+                    PrintWriter printWriter = new PrintWriter(content);
                     printWriter.println(descriptionProvider.get());
 
                     if (implementationText != null) {
@@ -498,6 +521,12 @@ public class GraphQLMarkdownGenerator {
 
                     printWriter.close();
 
+                    if (manifest != null) {
+                        manifest.write(path, content.toString());
+                    } else {
+                        Files.writeString(path, content.toString(), Charset.defaultCharset());
+                    }
+
                     return success(Collections.singletonList(path));
                 }
             } catch (IOException exception) {
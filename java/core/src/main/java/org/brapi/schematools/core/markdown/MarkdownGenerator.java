@@ -7,9 +7,11 @@ import org.brapi.schematools.core.markdown.options.MarkdownGeneratorOptions;
 import org.brapi.schematools.core.model.*;
 import org.brapi.schematools.core.response.Response;
 import org.brapi.schematools.core.utils.BrAPIClassCacheBuilder;
+import org.brapi.schematools.core.utils.ContentHashManifest;
 
 import java.io.IOException;
 import java.io.PrintWriter;
+import java.io.StringWriter;
 import java.nio.charset.Charset;
 import java.nio.file.Files;
 import java.nio.file.Path;
@@ -73,11 +75,13 @@ public class MarkdownGenerator {
         private final Path descriptionsPath ;
         private final Path fieldsPath ;
         private final Map<String, BrAPIObjectProperty> duplicateObjectProperties;
+        private final ContentHashManifest manifest ;
 
         public Generator(List<BrAPIClass> brAPIClasses) {
             this.brAPIClasses = BrAPIClassCacheBuilder.builder(brAPIClasses).cachePredicate(this::isGenerating).build().getBrAPIClassesAsMap() ;
             this.descriptionsPath = outputPath.resolve("descriptions") ;
             this.fieldsPath = outputPath.resolve("fields") ;
+            this.manifest = options.isOverwritingExistingFiles() && options.isSkippingUnchangedFiles() ? ContentHashManifest.load(outputPath) : null ;
 
             Map<String, List<BrAPIObjectProperty>> objectProperties = this.brAPIClasses
                 .values()
@@ -105,7 +109,8 @@ public class MarkdownGenerator {
                 Files.createDirectories(descriptionsPath) ;
                 Files.createDirectories(fieldsPath) ;
                 return generateMarkdownFilesForDuplicateProperties()
-                    .map(() -> generateMarkdownFiles(new ArrayList<>(brAPIClasses.values()))) ;
+                    .map(() -> generateMarkdownFiles(new ArrayList<>(brAPIClasses.values())))
+                    .conditionalMapResultToResponse(manifest != null, paths -> manifest.save().withResult(paths)) ;
             } catch (Exception e) {
                 return fail(Response.ErrorType.VALIDATION, e.getMessage()) ;
             }
@@ -229,9 +234,8 @@ public class MarkdownGenerator {
                     log.warn("Output file '{}' already exists and was not overwritten", path);
                     return Response.empty() ;
                 } else {
-                    Files.createDirectories(path.getParent()) ;
-
-                    PrintWriter printWriter = new PrintWriter(Files.newBufferedWriter(path, Charset.defaultCharset()));
+                    StringWriter content = new StringWriter() ;
+                    PrintWriter printWriter = new PrintWriter(content);
                     printWriter.println(text);
 
                     if (options.isAddingGeneratorComments()) {
@@ -240,6 +244,14 @@ public class MarkdownGenerator {
                     }
 
                     printWriter.close();
+
+                    if (manifest != null) {
+                        manifest.write(path, content.toString()) ;
+                    } else {
+                        Files.createDirectories(path.getParent()) ;
+                        Files.writeString(path, content.toString(), Charset.defaultCharset()) ;
+                    }
+
                     return success(path) ;
                 }
             } catch (IOException exception){
@@ -11,6 +11,7 @@ import lombok.experimental.Accessors;
 import org.brapi.schematools.core.graphql.GraphQLGenerator;
 import org.brapi.schematools.core.options.Options;
 import org.brapi.schematools.core.utils.ConfigurationUtils;
+import org.brapi.schematools.core.utils.ContentHashManifest;
 import org.brapi.schematools.core.validiation.Validation;
 
 import java.io.IOException;
@@ -32,6 +33,7 @@ import static org.brapi.schematools.core.markdown.GraphQLMarkdownGenerator.SEARC
 public class GraphQLMarkdownGeneratorOptions implements Options {
 
     private Boolean overwrite;
+    private Boolean skipUnchanged;
     private String queryDefinitionsDirectory;
     private String typeDefinitionsDirectory;
     private String descriptionsDirectory;
@@ -45,6 +47,8 @@ public class GraphQLMarkdownGeneratorOptions implements Options {
     private String ignoreQueryNamePattern;
     private String ignoreTypeNamePattern;
     private Boolean addGeneratorComments;
+    private Boolean generateInParallel;
+    private Integer writerThreads;
 
     /**
      * Load the default options
@@ -86,6 +90,7 @@ public class GraphQLMarkdownGeneratorOptions implements Options {
     public Validation validate() {
         return Validation.valid()
             .assertNotNull(overwrite, "'overwrite' option on %s is null", this.getClass().getSimpleName())
+            .assertNotNull(skipUnchanged, "'skipUnchanged' option on %s is null", this.getClass().getSimpleName())
             .assertNotNull(queryDefinitionsDirectory, "'queryDefinitionsDirectory' option on %s is null", this.getClass().getSimpleName())
             .assertNotNull(typeDefinitionsDirectory, "'typeDefinitionsDirectory' option on %s is null", this.getClass().getSimpleName())
             .assertNotNull(descriptionsDirectory, "'descriptionsDirectory' option on %s is null", this.getClass().getSimpleName())
@@ -93,7 +98,9 @@ public class GraphQLMarkdownGeneratorOptions implements Options {
             .assertNotNull(argumentsDirectory, "'argumentsDirectory' option on %s is null", this.getClass().getSimpleName())
             .assertNotNull(createTopLevelFieldDefinitions, "'createTopLevelFieldDefinitions' option on %s is null", this.getClass().getSimpleName())
             .assertNotNull(createTopLeveArgumentDefinitions, "'createTopLeveArgumentDefinitions' option on %s is null", this.getClass().getSimpleName())
-            .assertNotNull(introspectionQuery, "'introspectionQuery' option on %s is null", this.getClass().getSimpleName()) ;
+            .assertNotNull(introspectionQuery, "'introspectionQuery' option on %s is null", this.getClass().getSimpleName())
+            .assertNotNull(generateInParallel, "'generateInParallel' option on %s is null", this.getClass().getSimpleName())
+            .assertNotNull(writerThreads, "'writerThreads' option on %s is null", this.getClass().getSimpleName()) ;
     }
 
     /**
@@ -107,6 +114,10 @@ public class GraphQLMarkdownGeneratorOptions implements Options {
             overwrite = overrideOptions.overwrite;
         }
 
+        if (overrideOptions.skipUnchanged != null) {
+            skipUnchanged = overrideOptions.skipUnchanged;
+        }
+
         if (overrideOptions.queryDefinitionsDirectory != null) {
             queryDefinitionsDirectory = overrideOptions.queryDefinitionsDirectory;
         }
@@ -155,6 +166,14 @@ public class GraphQLMarkdownGeneratorOptions implements Options {
             addGeneratorComments = overrideOptions.addGeneratorComments;
         }
 
+        if (overrideOptions.generateInParallel != null) {
+            generateInParallel = overrideOptions.generateInParallel;
+        }
+
+        if (overrideOptions.writerThreads != null) {
+            writerThreads = overrideOptions.writerThreads;
+        }
+
         return this;
     }
 
@@ -168,6 +187,30 @@ public class GraphQLMarkdownGeneratorOptions implements Options {
         return overwrite != null && overwrite;
     }
 
+    /**
+     * Determines if the Generator should skip writing files whose content has not changed since the previous run,
+     * using the content hashes recorded in a manifest in the output directory, see {@link ContentHashManifest}.
+     * Only applies if existing files are overwritten.
+     *
+     * @return {@code true} if the Generator should skip writing unchanged files, {@code false} otherwise
+     */
+    @JsonIgnore
+    public boolean isSkippingUnchangedFiles() {
+        return skipUnchanged != null && skipUnchanged;
+    }
+
+    /**
+     * Determines if the Generator should write the Markdown files in parallel. The number of concurrent
+     * writers is given by {@link #getWriterThreads()}, or the number of available processors if zero.
+     * The returned paths are in the same order as when the files are written sequentially.
+     *
+     * @return {@code true} if the Generator should write the Markdown files in parallel, {@code false} otherwise
+     */
+    @JsonIgnore
+    public boolean isGeneratingInParallel() {
+        return generateInParallel != null && generateInParallel;
+    }
+
     /**
      * Creates the description for a GraphQLObjectType
      *
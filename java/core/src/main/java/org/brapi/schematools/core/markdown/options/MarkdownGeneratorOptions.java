@@ -8,6 +8,7 @@ import org.brapi.schematools.core.model.BrAPIClass;
 import org.brapi.schematools.core.model.BrAPIType;
 import org.brapi.schematools.core.options.AbstractMainGeneratorOptions;
 import org.brapi.schematools.core.utils.ConfigurationUtils;
+import org.brapi.schematools.core.utils.ContentHashManifest;
 import org.brapi.schematools.core.validiation.Validation;
 
 import java.io.IOException;
@@ -25,6 +26,7 @@ import java.nio.file.Path;
 public class MarkdownGeneratorOptions extends AbstractMainGeneratorOptions {
 
     private Boolean overwrite;
+    private Boolean skipUnchanged;
     private Boolean addGeneratorComments;
     private Boolean generateProperties;
     private Boolean generateDuplicateProperties;
@@ -76,7 +78,8 @@ public class MarkdownGeneratorOptions extends AbstractMainGeneratorOptions {
 
     public Validation validate() {
         return super.validate()
-                .assertNotNull(overwrite, "'overwrite' option on %s is null", this.getClass().getSimpleName());
+                .assertNotNull(overwrite, "'overwrite' option on %s is null", this.getClass().getSimpleName())
+                .assertNotNull(skipUnchanged, "'skipUnchanged' option on %s is null", this.getClass().getSimpleName());
     }
 
     /**
@@ -92,6 +95,10 @@ public class MarkdownGeneratorOptions extends AbstractMainGeneratorOptions {
             overwrite = overrideOptions.overwrite;
         }
 
+        if (overrideOptions.skipUnchanged != null) {
+            skipUnchanged = overrideOptions.skipUnchanged;
+        }
+
         if (overrideOptions.addGeneratorComments != null) {
             addGeneratorComments = overrideOptions.addGeneratorComments;
         }
@@ -125,6 +132,18 @@ public class MarkdownGeneratorOptions extends AbstractMainGeneratorOptions {
         return overwrite != null && overwrite;
     }
 
+    /**
+     * Determines if the Generator should skip writing files whose content has not changed since the previous run,
+     * using the content hashes recorded in a manifest in the output directory, see {@link ContentHashManifest}.
+     * Only applies if existing files are overwritten.
+     *
+     * @return {@code true} if the Generator should skip writing unchanged files, {@code false} otherwise
+     */
+    @JsonIgnore
+    public final boolean isSkippingUnchangedFiles() {
+        return skipUnchanged != null && skipUnchanged;
+    }
+
     /**
      * Determines if the Generator should create a hidden comment at the bottom of the Markdown.
      *
@@ -0,0 +1,17 @@
+package org.brapi.schematools.core.model;
+
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * A query parameter of the list endpoints of a BrAPI type, created from a property of its request class,
+ * see {@link org.brapi.schematools.core.utils.BrAPITypeUtils#findQueryParameters(BrAPIObjectType)}
+ */
+@Builder
+@Getter
+public class BrAPIQueryParameter {
+    BrAPIObjectProperty property ;
+    String name ;
+    String singularName ;
+    boolean subQuery ;
+}
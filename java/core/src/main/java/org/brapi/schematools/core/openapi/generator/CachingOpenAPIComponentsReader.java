@@ -0,0 +1,220 @@
+package org.brapi.schematools.core.openapi.generator;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.swagger.v3.core.util.Json;
+import io.swagger.v3.oas.models.Components;
+import io.swagger.v3.oas.models.media.Schema;
+import io.swagger.v3.oas.models.parameters.Parameter;
+import io.swagger.v3.oas.models.responses.ApiResponse;
+import io.swagger.v3.oas.models.security.SecurityScheme;
+import lombok.extern.slf4j.Slf4j;
+import org.brapi.schematools.core.response.Response;
+import org.brapi.schematools.core.utils.HashUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.brapi.schematools.core.response.Response.fail;
+import static org.brapi.schematools.core.response.Response.success;
+
+/**
+ * An {@link OpenAPIComponentsReader} that caches the parsed OpenAPI Components.
+ * The parsed components are held in memory for the lifetime of the process, and optionally
+ * in a cache directory on disk so that they can be reused across separate runs, for example
+ * by the command line interface. Cache entries are keyed on the SHA-256 hash of the component
+ * files, so any change to the files in the components directory invalidates the cache.
+ * The returned {@link Components} are read-only and loaded lazily, that is each parameter,
+ * response, schema or security scheme is only deserialised when it is first accessed.
+ */
+@Slf4j
+public class CachingOpenAPIComponentsReader extends OpenAPIComponentsReader {
+
+    private static final Map<Path, CachedComponents> MEMORY_CACHE = new ConcurrentHashMap<>();
+    private static final String CACHE_FILE_FORMAT = "components-%s.json";
+
+    private static final String FINGERPRINT = "fingerprint";
+    private static final String PARAMETERS = "parameters";
+    private static final String RESPONSES = "responses";
+    private static final String SCHEMAS = "schemas";
+    private static final String SECURITY_SCHEMES = "securitySchemes";
+
+    private final Path cacheDirectory;
+    private final ObjectMapper mapper;
+
+    /**
+     * Creates a reader that only caches the components in memory
+     */
+    public CachingOpenAPIComponentsReader() {
+        this(null);
+    }
+
+    /**
+     * Creates a reader that caches the components in memory and in the provided cache directory
+     * @param cacheDirectory the directory in which the cache files are stored, if {@code null}
+     *                       the components are only cached in memory
+     */
+    public CachingOpenAPIComponentsReader(Path cacheDirectory) {
+        this.cacheDirectory = cacheDirectory;
+        this.mapper = Json.mapper();
+    }
+
+    /**
+     * Removes all components cached in memory. Does not affect any cache directory.
+     */
+    public static void clearMemoryCache() {
+        MEMORY_CACHE.clear();
+    }
+
+    /**
+     * Read OpenAPI Components from YAML files, or from the cache if the files have not changed
+     * since they were last read.
+     * @param schemaDirectory The path to the directory containing the YAML files.
+     * @return read-only OpenAPI Components, which are deserialised lazily.
+     */
+    @Override
+    public Response<Components> readComponents(Path schemaDirectory) {
+        Path key = schemaDirectory.toAbsolutePath().normalize();
+
+        String fingerprint;
+
+        try {
+            fingerprint = HashUtils.sha256(key, findComponentFiles(key));
+        } catch (IOException | RuntimeException e) {
+            return fail(Response.ErrorType.VALIDATION, e.getMessage());
+        }
+
+        CachedComponents cachedComponents = MEMORY_CACHE.get(key);
+
+        if (cachedComponents != null && cachedComponents.fingerprint().equals(fingerprint)) {
+            log.debug("Using components for '{}' cached in memory", key);
+            return success(cachedComponents.toComponents(mapper));
+        }
+
+        cachedComponents = readCacheFile(fingerprint);
+
+        if (cachedComponents != null) {
+            log.debug("Using components for '{}' cached in '{}'", key, cacheDirectory);
+            MEMORY_CACHE.put(key, cachedComponents);
+            return success(cachedComponents.toComponents(mapper));
+        }
+
+        return super.readComponents(schemaDirectory)
+            .mapResultToResponse(components -> createCachedComponents(fingerprint, components))
+            .onSuccessDoWithResult(result -> MEMORY_CACHE.put(key, result))
+            .onSuccessDoWithResult(this::writeCacheFile)
+            .mapResult(result -> result.toComponents(mapper));
+    }
+
+    private Response<CachedComponents> createCachedComponents(String fingerprint, Components components) {
+        try {
+            return success(new CachedComponents(fingerprint,
+                toNodes(components.getParameters()),
+                toNodes(components.getResponses()),
+                toNodes(components.getSchemas()),
+                toNodes(components.getSecuritySchemes())));
+        } catch (IllegalArgumentException e) {
+            return fail(Response.ErrorType.VALIDATION, String.format("Can not cache components : %s", e.getMessage()));
+        }
+    }
+
+    private Map<String, JsonNode> toNodes(Map<String, ?> components) {
+        Map<String, JsonNode> nodes = new LinkedHashMap<>();
+
+        if (components != null) {
+            components.forEach((name, component) -> nodes.put(name, mapper.valueToTree(component)));
+        }
+
+        return nodes;
+    }
+
+    private CachedComponents readCacheFile(String fingerprint) {
+        if (cacheDirectory == null) {
+            return null;
+        }
+
+        Path cacheFile = cacheDirectory.resolve(String.format(CACHE_FILE_FORMAT, fingerprint));
+
+        if (!Files.isRegularFile(cacheFile)) {
+            return null;
+        }
+
+        try {
+            JsonNode root = mapper.readTree(cacheFile.toFile());
+
+            if (!fingerprint.equals(root.path(FINGERPRINT).asText())) {
+                log.warn("Ignoring cache file '{}' with an unexpected fingerprint", cacheFile);
+                return null;
+            }
+
+            return new CachedComponents(fingerprint,
+                fromNode(root.get(PARAMETERS)),
+                fromNode(root.get(RESPONSES)),
+                fromNode(root.get(SCHEMAS)),
+                fromNode(root.get(SECURITY_SCHEMES)));
+        } catch (IOException | RuntimeException e) {
+            log.warn("Can not read cache file '{}' : {}", cacheFile, e.getMessage());
+            return null;
+        }
+    }
+
+    private Map<String, JsonNode> fromNode(JsonNode node) {
+        Map<String, JsonNode> nodes = new LinkedHashMap<>();
+
+        if (node != null) {
+            node.fields().forEachRemaining(entry -> nodes.put(entry.getKey(), entry.getValue()));
+        }
+
+        return nodes;
+    }
+
+    private void writeCacheFile(CachedComponents cachedComponents) {
+        if (cacheDirectory == null) {
+            return;
+        }
+
+        Path cacheFile = cacheDirectory.resolve(String.format(CACHE_FILE_FORMAT, cachedComponents.fingerprint()));
+
+        try {
+            Files.createDirectories(cacheDirectory);
+
+            ObjectNode root = mapper.createObjectNode();
+
+            root.put(FINGERPRINT, cachedComponents.fingerprint());
+            root.set(PARAMETERS, mapper.valueToTree(cachedComponents.parameters()));
+            root.set(RESPONSES, mapper.valueToTree(cachedComponents.responses()));
+            root.set(SCHEMAS, mapper.valueToTree(cachedComponents.schemas()));
+            root.set(SECURITY_SCHEMES, mapper.valueToTree(cachedComponents.securitySchemes()));
+
+            // write to a temporary file first, so that a concurrent reader never sees a partial file
+            Path temporaryFile = Files.createTempFile(cacheDirectory, "components-", ".tmp");
+            mapper.writeValue(temporaryFile.toFile(), root);
+            Files.move(temporaryFile, cacheFile, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException | RuntimeException e) {
+            log.warn("Can not write cache file '{}' : {}", cacheFile, e.getMessage());
+        }
+    }
+
+    private record CachedComponents(String fingerprint,
+                                    Map<String, JsonNode> parameters,
+                                    Map<String, JsonNode> responses,
+                                    Map<String, JsonNode> schemas,
+                                    Map<String, JsonNode> securitySchemes) {
+
+        private Components toComponents(ObjectMapper mapper) {
+            Components components = new Components();
+
+            components.setParameters(new LazyComponentMap<>(mapper, Parameter.class, parameters));
+            components.setResponses(new LazyComponentMap<>(mapper, ApiResponse.class, responses));
+            components.setSchemas(new LazyComponentMap<>(mapper, Schema.class, schemas));
+            components.setSecuritySchemes(new LazyComponentMap<>(mapper, SecurityScheme.class, securitySchemes));
+
+            return components;
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package org.brapi.schematools.core.openapi.generator;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.util.*;
+
+/**
+ * A read-only map of OpenAPI components that are held as JSON trees and are only
+ * deserialised into model objects when they are first accessed. Each instance
+ * memoises its own deserialised components, so the JSON trees can be shared safely
+ * between instances, but an instance itself is not thread-safe.
+ *
+ * @param <T> the type of the OpenAPI component
+ */
+class LazyComponentMap<T> extends AbstractMap<String, T> {
+    private final ObjectMapper mapper;
+    private final Class<T> componentClass;
+    private final Map<String, JsonNode> nodes;
+    private final Map<String, T> components;
+
+    LazyComponentMap(ObjectMapper mapper, Class<T> componentClass, Map<String, JsonNode> nodes) {
+        this.mapper = mapper;
+        this.componentClass = componentClass;
+        this.nodes = nodes;
+        this.components = new HashMap<>();
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return nodes.containsKey(key);
+    }
+
+    @Override
+    public T get(Object key) {
+        if (key instanceof String name && nodes.containsKey(name)) {
+            return components.computeIfAbsent(name, this::deserialise);
+        }
+
+        return null;
+    }
+
+    @Override
+    public int size() {
+        return nodes.size();
+    }
+
+    @Override
+    public Set<String> keySet() {
+        return Collections.unmodifiableSet(nodes.keySet());
+    }
+
+    @Override
+    public Set<Entry<String, T>> entrySet() {
+        return new AbstractSet<>() {
+            @Override
+            public Iterator<Entry<String, T>> iterator() {
+                Iterator<String> names = nodes.keySet().iterator();
+
+                return new Iterator<>() {
+                    @Override
+                    public boolean hasNext() {
+                        return names.hasNext();
+                    }
+
+                    @Override
+                    public Entry<String, T> next() {
+                        String name = names.next();
+                        return new SimpleImmutableEntry<>(name, get(name));
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return nodes.size();
+            }
+        };
+    }
+
+    /**
+     * Gets the number of components that have been deserialised so far
+     *
+     * @return the number of components that have been deserialised so far
+     */
+    int getDeserialisedCount() {
+        return components.size();
+    }
+
+    private T deserialise(String name) {
+        try {
+            return mapper.treeToValue(nodes.get(name), componentClass);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(String.format("Can not deserialise %s '%s' : %s",
+                componentClass.getSimpleName(), name, e.getMessage()), e);
+        }
+    }
+}
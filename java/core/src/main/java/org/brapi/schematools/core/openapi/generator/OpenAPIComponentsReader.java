@@ -8,6 +8,8 @@ import org.brapi.schematools.core.response.Response;
 import java.io.IOException;
 import java.nio.file.Path;
 import java.nio.file.attribute.BasicFileAttributes;
+import java.util.List;
+import java.util.stream.Stream;
 
 import static java.nio.file.Files.find;
 import static org.brapi.schematools.core.response.Response.fail;
@@ -63,6 +65,18 @@ public class OpenAPIComponentsReader {
         }
     }
 
+    /**
+     * Finds the YAML files in the components directory that will be read by {@link #readComponents(Path)}
+     * @param schemaDirectory The path to the directory containing the YAML files.
+     * @return the component files, sorted by path
+     * @throws IOException if the directory can not be read
+     */
+    protected List<Path> findComponentFiles(Path schemaDirectory) throws IOException {
+        try (Stream<Path> paths = find(schemaDirectory, 3, this::schemaPathMatcher)) {
+            return paths.sorted().toList() ;
+        }
+    }
+
     private boolean schemaPathMatcher(Path path, BasicFileAttributes basicFileAttributes) {
         return basicFileAttributes.isRegularFile() && path.toString().endsWith(".yaml");
     }
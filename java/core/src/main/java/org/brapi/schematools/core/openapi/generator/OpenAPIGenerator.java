@@ -27,6 +27,8 @@ import java.io.IOException;
 import java.math.BigDecimal;
 import java.nio.file.Path;
 import java.util.*;
+import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
@@ -35,16 +37,21 @@ import java.util.stream.Stream;
 import static java.util.stream.Collectors.toList;
 import static org.brapi.schematools.core.response.Response.fail;
 import static org.brapi.schematools.core.response.Response.success;
+import static org.brapi.schematools.core.utils.BrAPITypeUtils.findQueryParameters;
 import static org.brapi.schematools.core.utils.BrAPITypeUtils.unwrapType;
 import static org.brapi.schematools.core.utils.StringUtils.toSentenceCase;
 
 /**
- * Generates an OpenAPI Specification from a BrAPI JSON Schema.
+ * Generates an OpenAPI Specification from a BrAPI JSON Schema. When separating by module, the component
+ * schemas of the types that are in more than one specification are shared between them, so the
+ * generated specifications must not be modified in place.
  */
 @AllArgsConstructor
 public class OpenAPIGenerator {
 
     public static final String BRAPI_COMMON = "BrAPI-Common";
+    private static final String EXTERNAL_REFERENCES_PARAMETERS = "ExternalReferencesParameters";
+    private static final String PAGING_PARAMETERS = "PagingParameters";
     private final BrAPISchemaReader schemaReader;
     private final OpenAPIComponentsReader componentsReader;
     private final OpenAPIGeneratorOptions options;
@@ -139,7 +146,7 @@ public class OpenAPIGenerator {
 
         return options.validate().asResponse().merge(componentsReader.readComponents(componentsDirectory))
             .mapResultToResponse(components -> schemaReader.readDirectories(schemaDirectory).mapResultToResponse(
-                brAPISchemas -> new Generator(options, metadata, brAPISchemas, components).generate(classNames)));
+                brAPISchemas -> new Generator(options, metadata, brAPISchemas, components, classNames).generate()));
 
     }
 
@@ -150,32 +157,50 @@ public class OpenAPIGenerator {
         private final BrAPIClassCacheBuilder.BrAPIClassCache brAPIClassCache;
 
         private final Map<String, Parameter> parameters;
+        private final Map<String, ApiResponse> componentResponses;
         private final Map<String, ApiResponse> responses;
         private final Map<String, Schema> schemas;
         private final Map<String, SecurityScheme> securitySchemes;
 
         private final Set<String> referencedSchemas;
+        private final Map<MemoKey, Response<Schema>> schemaMemo;
+        private final Map<MemoKey, Map<String, Object>> exampleMemo;
+        private final Map<BrAPIObjectType, ParameterPlan> parameterPlans;
+        private final Set<String> requestedClassNames;
+        private final boolean generatingSubset;
         private boolean versionIs3_1_OrLater = false;
 
         public Generator(OpenAPIGeneratorOptions options, OpenAPIGeneratorMetadata metadata, List<BrAPIClass> brAPIClasses, Components components) {
+            this(options, metadata, brAPIClasses, components, null);
+        }
+
+        public Generator(OpenAPIGeneratorOptions options, OpenAPIGeneratorMetadata metadata, List<BrAPIClass> brAPIClasses, Components components, Collection<String> classNames) {
             this.options = options;
             this.metadata = metadata;
-            // cache all the BrAPI classes
-            this.brAPIClassCache = BrAPIClassCacheBuilder.builder(brAPIClasses).validClasses(options.getBrAPISchemaReader().getValidClasses()).build();
+            this.requestedClassNames = classNames != null ? new HashSet<>(classNames) : Collections.emptySet();
+            this.generatingSubset = !requestedClassNames.isEmpty();
 
-            // Cache all the generic components (TODO generate these instead of reading from a directory)
-            if (components.getParameters() != null) {
-                this.parameters = new HashMap<>(components.getParameters());
-            } else {
-                this.parameters = new HashMap<>();
-            }
+            if (generatingSubset) {
+                // only cache the requested BrAPI classes and those they depend upon, all other classes
+                // remain valid, so that the options are validated in the same way as for the complete specification
+                List<String> validClasses = new ArrayList<>(options.getBrAPISchemaReader().getValidClasses());
+                brAPIClasses.stream().map(BrAPIClass::getName).forEach(validClasses::add);
 
-            if (components.getResponses() != null) {
-                this.responses = new HashMap<>(components.getResponses());
+                this.brAPIClassCache = BrAPIClassCacheBuilder.builder(findDependencyClosure(brAPIClasses)).validClasses(validClasses).build();
             } else {
-                this.responses = new HashMap<>();
+                // cache all the BrAPI classes
+                this.brAPIClassCache = BrAPIClassCacheBuilder.builder(brAPIClasses).validClasses(options.getBrAPISchemaReader().getValidClasses()).build();
             }
 
+            // Cache all the generic components (TODO generate these instead of reading from a directory)
+            // The parameters and responses are not copied, so that components that are loaded lazily
+            // are only deserialised if they are used
+            this.parameters = components.getParameters() != null ? components.getParameters() : Collections.emptyMap();
+            this.componentResponses = components.getResponses() != null ? components.getResponses() : Collections.emptyMap();
+
+            // the responses generated from the BrAPI classes
+            this.responses = new HashMap<>();
+
             if (components.getSchemas() != null) {
                 this.schemas = new HashMap<>(components.getSchemas());
             } else {
@@ -191,6 +216,13 @@ public class OpenAPIGenerator {
             // maintain a list of schemas that have been referenced elsewhere, but not yet generated
             this.referencedSchemas = new TreeSet<>();
 
+            // the component schemas and examples created during this run, which are shared between specifications
+            this.schemaMemo = new HashMap<>();
+            this.exampleMemo = new HashMap<>();
+
+            // the query parameters for each request class, built on first use
+            this.parameterPlans = new IdentityHashMap<>();
+
             brAPIClassCache.getBrAPIClasses()
                 .stream()
                 .filter(BrAPITypeUtils::isResponse)
@@ -199,14 +231,8 @@ public class OpenAPIGenerator {
         }
 
         public Response<List<OpenAPI>> generate() {
-            return options.validateAgainstCache(brAPIClassCache)
-                .asResponse()
-                .map(() -> generateSpecifications(brAPIClassCache.getBrAPIClasses()));
-        }
-
-        public Response<List<OpenAPI>> generate(Collection<String> classNames) {
-            if (classNames != null && !classNames.isEmpty()) {
-                Collection<BrAPIClass> values = brAPIClassCache.getBrAPIClasses().stream().filter(brAPIClass -> classNames.contains(brAPIClass.getName())).collect(toList());
+            if (generatingSubset) {
+                Collection<BrAPIClass> values = brAPIClassCache.getBrAPIClasses().stream().filter(brAPIClass -> requestedClassNames.contains(brAPIClass.getName())).collect(toList());
 
                 return options.validateAgainstCache(brAPIClassCache)
                     .asResponse()
@@ -218,6 +244,76 @@ public class OpenAPIGenerator {
             }
         }
 
+        /**
+         * Finds the requested classes and all the classes they depend upon. This includes the classes
+         * that are looked up by name during generation, such as the request, table and action request classes,
+         * and the response classes that reference any of the requested classes.
+         * @param brAPIClasses all the BrAPI classes
+         * @return the requested classes and all the classes they depend upon
+         */
+        private List<BrAPIClass> findDependencyClosure(List<BrAPIClass> brAPIClasses) {
+            Map<String, BrAPIClass> classMap = brAPIClasses.stream().collect(Collectors.toMap(BrAPIClass::getName, Function.identity()));
+
+            Deque<String> classNamesToVisit = new ArrayDeque<>();
+
+            classNamesToVisit.add(EXTERNAL_REFERENCES_PARAMETERS);
+            classNamesToVisit.add(PAGING_PARAMETERS);
+
+            requestedClassNames.stream().map(classMap::get).filter(Objects::nonNull).forEach(brAPIClass -> {
+                Set<String> referencedClassNames = findReferencedClassNames(brAPIClass);
+
+                classNamesToVisit.add(brAPIClass.getName());
+                classNamesToVisit.add(options.getTableNameFor(brAPIClass));
+                classNamesToVisit.add(BrAPIClassCacheBuilder.BrAPIClassCache.getRequestClassName(brAPIClass.getName()));
+                referencedClassNames.forEach(name -> classNamesToVisit.add(BrAPIClassCacheBuilder.BrAPIClassCache.getRequestClassName(name)));
+
+                if (brAPIClass instanceof BrAPIObjectType brAPIObjectType) {
+                    brAPIObjectType.getProperties().forEach(property -> classNamesToVisit.add(
+                        options.getActions().getActionRequestNameFor(options.getPluralFor(brAPIObjectType), property.getName())));
+                }
+            });
+
+            brAPIClasses.stream()
+                .filter(BrAPITypeUtils::isResponse)
+                .filter(brAPIClass -> findReferencedClassNames(brAPIClass).stream().anyMatch(requestedClassNames::contains))
+                .map(BrAPIClass::getName)
+                .forEach(classNamesToVisit::add);
+
+            Set<String> closure = new HashSet<>();
+
+            while (!classNamesToVisit.isEmpty()) {
+                String name = classNamesToVisit.poll();
+                BrAPIClass brAPIClass = classMap.get(name);
+
+                if (brAPIClass != null && closure.add(name)) {
+                    classNamesToVisit.addAll(findReferencedClassNames(brAPIClass));
+                }
+            }
+
+            return brAPIClasses.stream().filter(brAPIClass -> closure.contains(brAPIClass.getName())).toList();
+        }
+
+        private Set<String> findReferencedClassNames(BrAPIType type) {
+            Set<String> names = new HashSet<>();
+
+            addReferencedClassNames(type, names);
+
+            return names;
+        }
+
+        private void addReferencedClassNames(BrAPIType type, Set<String> names) {
+            switch (type) {
+                case BrAPIReferenceType brAPIReferenceType -> names.add(brAPIReferenceType.getName());
+                case BrAPIArrayType brAPIArrayType -> addReferencedClassNames(brAPIArrayType.getItems(), names);
+                case BrAPIObjectType brAPIObjectType ->
+                    brAPIObjectType.getProperties().forEach(property -> addReferencedClassNames(property.getType(), names));
+                case BrAPIOneOfType brAPIOneOfType ->
+                    brAPIOneOfType.getPossibleTypes().forEach(possibleType -> addReferencedClassNames(possibleType, names));
+                case null, default -> {
+                }
+            }
+        }
+
         public Response<List<OpenAPI>> generateSpecifications(Collection<BrAPIClass> classes) {
             if (options.isSeparatingByModule()) {
                 Map<String, List<BrAPIClass>> classesByModule = classes.stream()
@@ -347,7 +443,7 @@ public class OpenAPIGenerator {
                                 options.getActions().getPathItemNameFor(options.getPathItemNameFor(typeWithProperty.getType()), typeWithProperty.getProperty().getName()),
                                 pathItem)))
                         .collect(Response.toList()))
-                .merge(() -> generateComponents(primaryClasses, nonPrimaryClasses, openAPI.getComponents()).onSuccessDoWithResult(openAPI::components))
+                .merge(() -> generateComponents(primaryClasses, nonPrimaryClasses, openAPI.getComponents(), findReferencedComponents(openAPI, supplementalOpenAPI)).onSuccessDoWithResult(openAPI::components))
                 .merge(() -> success(openAPI.merge(supplementalOpenAPI)))
                 .map(() -> success(openAPI));
         }
@@ -568,12 +664,9 @@ public class OpenAPIGenerator {
                 }
 
                 if (requestClass instanceof BrAPIObjectType brAPIObjectType) {
-                    List<String> noSingularize = brAPIObjectType.getMetadata() != null && brAPIObjectType.getMetadata().getNoSingularizeProperties() != null
-                        ? brAPIObjectType.getMetadata().getNoSingularizeProperties() : Collections.emptyList();
-
-                    brAPIObjectType.getProperties().stream()
-                        .filter(property -> options.getGet().isUsingPropertyFromRequestFor(propertyObjectType, property))
-                        .map(property -> createListGetParameter(property, noSingularize))
+                    getParameterPlan(brAPIObjectType).parameters().stream()
+                        .filter(parameter -> options.getGet().isUsingPropertyFromRequestFor(propertyObjectType, parameter.getProperty()))
+                        .map(parameter -> createListGetParameter(parameter, true))
                         .collect(Response.toList())
                         .onSuccessDoWithResult(result -> parameters.addAll(0, result))
                         .map(() -> success(parameters));
@@ -657,8 +750,8 @@ public class OpenAPIGenerator {
             String name = options.getSingleResponseNameFor(type);
 
             if (type instanceof BrAPIObjectType) {
-                if (responses.containsKey(name)) {
-                    return success(responses.get(name));
+                if (containsResponse(name)) {
+                    return success(getResponse(name));
                 }
 
                 ApiResponse apiResponse = createApiResponse(name, new ObjectSchema().$ref(createSchemaRef(type.getName()))) ;
@@ -686,8 +779,8 @@ public class OpenAPIGenerator {
             String name = options.getListResponseNameFor(type);
 
             if (type instanceof BrAPIObjectType) {
-                if (responses.containsKey(name)) {
-                    return success(responses.get(name));
+                if (containsResponse(name)) {
+                    return success(getResponse(name));
                 }
 
                 ApiResponse apiResponse = createApiResponse(name, new ObjectSchema()
@@ -717,8 +810,8 @@ public class OpenAPIGenerator {
         private Response<ApiResponse> generateTableResponse(BrAPIType type) {
             String responseName = options.getTableResponseNameFor(type);
 
-            if (responses.containsKey(responseName)) {
-                return success(responses.get(responseName));
+            if (containsResponse(responseName)) {
+                return success(getResponse(responseName));
             }
 
             String tableName = options.getTableNameFor(type);
@@ -772,8 +865,8 @@ public class OpenAPIGenerator {
         private Response<ApiResponse> generateListResponse(BrAPIObjectTypeWithProperty typeWithProperty) {
             String name = options.getListResponseNameFor(typeWithProperty);
 
-            if (responses.containsKey(name)) {
-                return success(responses.get(name));
+            if (containsResponse(name)) {
+                return success(getResponse(name));
             }
 
             Schema itemSchema ;
@@ -863,21 +956,19 @@ public class OpenAPIGenerator {
                 }
 
                 if (requestClass instanceof BrAPIObjectType brAPIObjectType) {
-                    List<String> noSingularize = brAPIObjectType.getMetadata() != null && brAPIObjectType.getMetadata().getNoSingularizeProperties() != null
-                        ? brAPIObjectType.getMetadata().getNoSingularizeProperties() : Collections.emptyList();
+                    ParameterPlan parameterPlan = getParameterPlan(brAPIObjectType);
+
                     if (options.getGet().isUsingSubQueryPropertiesFor(type)) {
-                        List<String> subQueryProperties = brAPIObjectType.getMetadata() != null && brAPIObjectType.getMetadata().getSubQueryProperties() != null
-                            ? brAPIObjectType.getMetadata().getSubQueryProperties() : new ArrayList<>();
-                        return brAPIObjectType.getProperties().stream()
-                            .filter(property -> subQueryProperties.contains(property.getName()))
-                            .map(property -> createListGetParameter(property, noSingularize))
+                        return parameterPlan.parameters().stream()
+                            .filter(BrAPIQueryParameter::isSubQuery)
+                            .map(parameter -> createListGetParameter(parameter, true))
                             .collect(Response.toList())
                             .onSuccessDoWithResult(result -> parameters.addAll(0, result))
                             .map(() -> success(parameters));
                     }
-                    return brAPIObjectType.getProperties().stream()
-                        .filter(property -> options.getGet().isUsingPropertyFromRequestFor(type, property))
-                        .map(property -> createListGetParameter(property, noSingularize))
+                    return parameterPlan.parameters().stream()
+                        .filter(parameter -> options.getGet().isUsingPropertyFromRequestFor(type, parameter.getProperty()))
+                        .map(parameter -> createListGetParameter(parameter, true))
                         .collect(Response.toList())
                         .onSuccessDoWithResult(result -> parameters.addAll(0, result))
                         .map(() -> success(parameters));
@@ -920,12 +1011,9 @@ public class OpenAPIGenerator {
                 }
 
                 if (requestClass instanceof BrAPIObjectType brAPIObjectType) {
-                    List<String> noSingularize = brAPIObjectType.getMetadata() != null && brAPIObjectType.getMetadata().getNoSingularizeProperties() != null
-                        ? brAPIObjectType.getMetadata().getNoSingularizeProperties() : Collections.emptyList();
-
-                    return brAPIObjectType.getProperties().stream()
-                        .filter(property -> options.getTable().isUsingPropertyFromRequestFor(type, property))
-                        .map(property -> createTableListGetParameter(type, property, noSingularize))
+                    return getParameterPlan(brAPIObjectType).parameters().stream()
+                        .filter(parameter -> options.getTable().isUsingPropertyFromRequestFor(type, parameter.getProperty()))
+                        .map(parameter -> createTableListGetParameter(type, parameter))
                         .collect(Response.toList())
                         .onSuccessDoWithResult(result -> parameters.addAll(0, result))
                         .map(() -> success(parameters));
@@ -937,7 +1025,8 @@ public class OpenAPIGenerator {
             return success(parameters);
         }
 
-        private Response<Parameter> createTableListGetParameter(BrAPIObjectType type, BrAPIObjectProperty property, List<String> noSingularizeProperties) {
+        private Response<Parameter> createTableListGetParameter(BrAPIObjectType type, BrAPIQueryParameter parameter) {
+            BrAPIObjectProperty property = parameter.getProperty();
             String typeOverride = options.getTable().getPropertyTypeOverrideFor(type, property);
             if (typeOverride != null) {
                 Schema overrideSchema = switch (typeOverride) {
@@ -949,7 +1038,7 @@ public class OpenAPIGenerator {
                 };
                 if (overrideSchema != null) {
                     return success(new Parameter()
-                        .name(isConvertingToSingularProperty(property) && !noSingularizeProperties.contains(property.getName()) ? options.getSingularForProperty(property.getName()) : property.getName())
+                        .name(parameter.getName())
                         .in("query")
                         .description(property.getDescription())
                         .required(property.isRequired())
@@ -957,7 +1046,7 @@ public class OpenAPIGenerator {
                 }
                 return fail(Response.ErrorType.VALIDATION, String.format("Unknown primitive type '%s' for 'propertyTypeOverrideFor.%s.%s' on TableOptions", typeOverride, type.getName(), property.getName()));
             }
-            return createListGetParameter(property, noSingularizeProperties);
+            return createListGetParameter(parameter, true);
         }
 
         private Response<List<Parameter>> createSubPathListGetParametersFor(BrAPIObjectType type) {
@@ -979,11 +1068,9 @@ public class OpenAPIGenerator {
                 BrAPIClass requestClass = brAPIClassCache.getBrAPIRequestClass(type) ;
 
                 if (requestClass instanceof BrAPIObjectType brAPIObjectType) {
-                    List<String> subQueryProperties = requestClass.getMetadata() != null && requestClass.getMetadata().getSubQueryProperties() != null ? requestClass.getMetadata().getSubQueryProperties() : new ArrayList<>() ;
-
-                    return brAPIObjectType.getProperties().stream()
-                        .filter(property -> subQueryProperties.contains(property.getName()))
-                        .map(this::createListGetParameter)
+                    return getParameterPlan(brAPIObjectType).parameters().stream()
+                        .filter(BrAPIQueryParameter::isSubQuery)
+                        .map(parameter -> createListGetParameter(parameter, false))
                         .collect(Response.toList())
                         .onSuccessDoWithResult(result -> parameters.addAll(0, result))
                         .map(() -> success(parameters));
@@ -993,22 +1080,47 @@ public class OpenAPIGenerator {
             return success(parameters);
         }
 
-        private Response<Parameter> createListGetParameter(BrAPIObjectProperty property) {
-            return createListGetParameter(property, Collections.emptyList());
+        /**
+         * Gets the parameter plan for a request class. The plan is built once per request class
+         * and reused by the list get, table, sub-path and controlled vocabulary operations.
+         *
+         * @param requestType the request class
+         * @return the parameter plan for the request class
+         */
+        private ParameterPlan getParameterPlan(BrAPIObjectType requestType) {
+            ParameterPlan parameterPlan = parameterPlans.get(requestType);
+
+            if (parameterPlan == null) {
+                parameterPlan = createParameterPlan(requestType);
+                parameterPlans.put(requestType, parameterPlan);
+            }
+
+            return parameterPlan;
+        }
+
+        private ParameterPlan createParameterPlan(BrAPIObjectType requestType) {
+            return new ParameterPlan(findQueryParameters(requestType));
         }
 
-        private Response<Parameter> createListGetParameter(BrAPIObjectProperty property, List<String> noSingularizeProperties) {
-            return createSchemaForType(property.getType()).mapResult(
-                schema -> new Parameter()
-                    .name(isConvertingToSingularProperty(property) && !noSingularizeProperties.contains(property.getName()) ?  options.getSingularForProperty(property.getName()) : property.getName())
+        /**
+         * Creates a query parameter from a query parameter of the request class
+         *
+         * @param parameter the query parameter of the request class
+         * @param usingNoSingularize {@code true} if the 'noSingularizeProperties' of the request class are
+         *                           respected, otherwise array properties are always converted to singular
+         * @return the query parameter
+         */
+        private Response<Parameter> createListGetParameter(BrAPIQueryParameter parameter, boolean usingNoSingularize) {
+            BrAPIObjectProperty property = parameter.getProperty();
+
+            return createSchemaForType(property.getType())
+                .mapResult(schema -> property.getType() instanceof BrAPIArrayType ? upwrapSchema(schema) : schema)
+                .mapResult(schema -> new Parameter()
+                    .name(usingNoSingularize ? parameter.getName() : parameter.getSingularName())
                     .in("query")
                     .description(property.getDescription())
                     .required(property.isRequired())
-                    .schema(property.getType() instanceof BrAPIArrayType ? upwrapSchema(schema) : schema));
-        }
-
-        private boolean isConvertingToSingularProperty(BrAPIObjectProperty property) {
-            return property.getType() instanceof BrAPIArrayType;
+                    .schema(schema));
         }
 
         private Schema upwrapSchema(Schema schema) {
@@ -1055,6 +1167,19 @@ public class OpenAPIGenerator {
         }
 
         private Object createExampleFor(BrAPIObjectType type) {
+            MemoKey key = new MemoKey(type, null);
+
+            Map<String, Object> example = exampleMemo.get(key);
+
+            if (example == null) {
+                example = createExample(type);
+                exampleMemo.put(key, example);
+            }
+
+            return example;
+        }
+
+        private Map<String, Object> createExample(BrAPIObjectType type) {
             String idKey = options.getProperties().getIdPropertyFor(type)
                 .mapResult(p -> String.format("<%s>", p.getName()))
                 .orElseResult("<id>");
@@ -1062,17 +1187,30 @@ public class OpenAPIGenerator {
             Map<String, Object> result = new LinkedHashMap<>();
             result.put(idKey + "_1", createExampleObjectFor(type, 1));
             result.put(idKey + "_2", createExampleObjectFor(type, 2));
-            return result;
+            return Collections.unmodifiableMap(result);
         }
 
         private Map<String, Object> createExampleObjectFor(BrAPIObjectType type, int index) {
+            MemoKey key = new MemoKey(type, index);
+
+            Map<String, Object> example = exampleMemo.get(key);
+
+            if (example == null) {
+                example = createExampleObject(type, index);
+                exampleMemo.put(key, example);
+            }
+
+            return example;
+        }
+
+        private Map<String, Object> createExampleObject(BrAPIObjectType type, int index) {
             Map<String, Object> map = new LinkedHashMap<>();
             if (type.getProperties() != null) {
                 for (BrAPIObjectProperty property : type.getProperties()) {
                     map.put(property.getName(), createExampleValueFor(property, index));
                 }
             }
-            return map;
+            return Collections.unmodifiableMap(map);
         }
 
         private Object createExampleValueFor(BrAPIObjectProperty property, int index) {
@@ -1204,8 +1342,8 @@ public class OpenAPIGenerator {
         private Response<ApiResponse> generateBulkDeleteResponse(BrAPIObjectType type) {
             String responseName = options.getDelete().getBulkResponseNameFor(type);
 
-            if (responses.containsKey(responseName)) {
-                return success(responses.get(responseName));
+            if (containsResponse(responseName)) {
+                return success(getResponse(responseName));
             }
 
             String idPropertyName = options.getProperties().getIdPropertyNameFor(type);
@@ -1535,7 +1673,7 @@ public class OpenAPIGenerator {
             return apiResponses;
         }
 
-        private Response<Components> generateComponents(Collection<BrAPIObjectType> primaryTypes, Collection<BrAPIClass> nonPrimaryTypes, Components supplementalComponents) {
+        private Response<Components> generateComponents(Collection<BrAPIObjectType> primaryTypes, Collection<BrAPIClass> nonPrimaryTypes, Components supplementalComponents, Set<String> referencedComponents) {
             Components components = supplementalComponents != null ? supplementalComponents : new Components();
 
             if (components.getSchemas() == null) {
@@ -1553,9 +1691,9 @@ public class OpenAPIGenerator {
 
             return generateSchemas(primaryTypes, nonPrimaryTypes)
                 .onSuccessDoWithResult(schemaMap -> mergeComponents(components.getSchemas(), schemaMap))
-                .merge(this::generateResponses)
+                .merge(() -> generateResponses(referencedComponents))
                 .onSuccessDoWithResult(responsesMap -> mergeComponents(components.getResponses(), responsesMap))
-                .merge(this::generateParameters)
+                .merge(() -> generateParameters(referencedComponents))
                 .onSuccessDoWithResult(paramsMap -> mergeComponents(components.getParameters(), paramsMap))
                 .merge(this::generateSecuritySchemes)
                 .onSuccessDoWithResult(securityMap -> mergeComponents(components.getSecuritySchemes(), securityMap))
@@ -1576,7 +1714,7 @@ public class OpenAPIGenerator {
             Map<String, Schema> schemas = new TreeMap<>();
 
             return primaryTypes.stream().map(type -> generateSchemasForType(type).onSuccessDoWithResult(schemas::putAll)).collect(Response.toList())
-                .merge(nonPrimaryTypes.stream().map(type -> createSchemaForType(type).onSuccessDoWithResult(schema -> schemas.put(type.getName(), schema))).collect(Response.toList()))
+                .merge(nonPrimaryTypes.stream().map(type -> createComponentSchemaForType(type).onSuccessDoWithResult(schema -> schemas.put(type.getName(), schema))).collect(Response.toList()))
                 .onSuccessDo(() -> schemas.putAll(this.schemas))
                 .map(() -> success(schemas));
         }
@@ -1585,7 +1723,7 @@ public class OpenAPIGenerator {
             Map<String, Schema> schemas = new TreeMap<>();
 
             Response<Map<String, Schema>> response = types.stream()
-                .map(type -> createSchemaForType(type).onSuccessDoWithResult(schema -> schemas.put(type.getName(), schema))).collect(Response.toList())
+                .map(type -> createComponentSchemaForType(type).onSuccessDoWithResult(schema -> schemas.put(type.getName(), schema))).collect(Response.toList())
                 .onSuccessDo(() -> schemas.putAll(this.schemas))
                 .map(() -> success(schemas));
 
@@ -1600,14 +1738,51 @@ public class OpenAPIGenerator {
 
             return Response.empty()
                 .mergeOnCondition(creatingNewRequest,
-                    () -> createNewRequestSchemaForType(type).onSuccessDoWithResult(result -> schemas.put(options.getNewRequestNameFor(type), result)))
+                    () -> memoiseSchema(type, SchemaKind.NEW_REQUEST, () -> createNewRequestSchemaForType(type))
+                        .onSuccessDoWithResult(result -> schemas.put(options.getNewRequestNameFor(type), result)))
                 .merge(
-                    () -> createSchemaForType(type, creatingNewRequest).onSuccessDoWithResult(result -> schemas.put(type.getName(), result)))
+                    () -> memoiseSchema(type, creatingNewRequest ? SchemaKind.BASE_WITH_NEW_REQUEST : SchemaKind.BASE, () -> createSchemaForType(type, creatingNewRequest))
+                        .onSuccessDoWithResult(result -> schemas.put(type.getName(), result)))
                 .mergeOnCondition(options.getSearch().isGeneratingFor(type),
-                    () -> createSearchRequestSchemaForType(type).onSuccessDoWithResult(result -> schemas.put(options.getSearchRequestNameFor(type), result)))
+                    () -> memoiseSchema(type, SchemaKind.SEARCH_REQUEST, () -> createSearchRequestSchemaForType(type))
+                        .onSuccessDoWithResult(result -> schemas.put(options.getSearchRequestNameFor(type), result)))
                 .map(() -> success(schemas));
         }
 
+        /**
+         * Creates the schema for a type that is added directly to the components of a specification.
+         * The schema is memoised for the run, so the same instance is shared between all the
+         * specifications that contain the type, for example the common classes when separating by module.
+         *
+         * @param type the type for which the schema is created
+         * @return the schema for the type
+         */
+        private Response<Schema> createComponentSchemaForType(BrAPIType type) {
+            return memoiseSchema(type, SchemaKind.COMPONENT, () -> createSchemaForType(type));
+        }
+
+        /**
+         * Returns the schema previously created for a type in the same context, or creates and memoises it.
+         * Memoised schemas are shared without being copied, so they must not be modified by the caller.
+         *
+         * @param type the type for which the schema is created
+         * @param kind the kind of schema being created for the type
+         * @param schemaSupplier creates the schema if it has not already been created
+         * @return the memoised schema
+         */
+        private Response<Schema> memoiseSchema(BrAPIType type, SchemaKind kind, Supplier<Response<Schema>> schemaSupplier) {
+            MemoKey key = new MemoKey(type, new SchemaContext(kind, versionIs3_1_OrLater));
+
+            Response<Schema> schema = schemaMemo.get(key);
+
+            if (schema == null) {
+                schema = schemaSupplier.get();
+                schemaMemo.put(key, schema);
+            }
+
+            return schema;
+        }
+
         /**
          * Creates the base schema for a type
          *
@@ -1684,13 +1859,13 @@ public class OpenAPIGenerator {
                 Map<String, Schema> schemaProperties = new TreeMap<>();
 
                 if (type.getProperties().stream().anyMatch(property -> property.getName().equals("externalReferences"))) {
-                    this.brAPIClassCache.findBrAPIClass("ExternalReferencesParameters")
+                    this.brAPIClassCache.findBrAPIClass(EXTERNAL_REFERENCES_PARAMETERS)
                         .mapResultToResponse(this::createProperties)
                         .onSuccessDoWithResult(schemaProperties::putAll) ;
                 }
 
                 if (options.getSearch().isPagedFor(type)) {
-                    this.brAPIClassCache.findBrAPIClass("PagingParameters")
+                    this.brAPIClassCache.findBrAPIClass(PAGING_PARAMETERS)
                         .mapResultToResponse(this::createProperties)
                         .onSuccessDoWithResult(schemaProperties::putAll) ;
                 }
@@ -1704,12 +1879,81 @@ public class OpenAPIGenerator {
             }
         }
 
-        private Response<Map<String, ApiResponse>> generateResponses() {
-            return success(responses);
+        private Response<Map<String, ApiResponse>> generateResponses(Set<String> referencedComponents) {
+            Map<String, ApiResponse> allResponses = new HashMap<>();
+
+            componentResponses.keySet().stream()
+                .filter(name -> referencedComponents == null || referencedComponents.contains(Components.COMPONENTS_RESPONSES_REF + name))
+                .forEach(name -> allResponses.put(name, componentResponses.get(name)));
+
+            // generated responses replace any component response with the same name
+            allResponses.putAll(responses);
+
+            return success(allResponses);
         }
 
-        private Response<Map<String, Parameter>> generateParameters() {
-            return success(parameters);
+        private Response<Map<String, Parameter>> generateParameters(Set<String> referencedComponents) {
+            Map<String, Parameter> allParameters = new HashMap<>();
+
+            parameters.keySet().stream()
+                .filter(name -> referencedComponents == null || referencedComponents.contains(Components.COMPONENTS_PARAMETERS_REF + name))
+                .forEach(name -> allParameters.put(name, parameters.get(name)));
+
+            return success(allParameters);
+        }
+
+        private boolean containsResponse(String name) {
+            return responses.containsKey(name) || componentResponses.containsKey(name);
+        }
+
+        private ApiResponse getResponse(String name) {
+            ApiResponse response = responses.get(name);
+
+            return response != null ? response : componentResponses.get(name);
+        }
+
+        /**
+         * Finds the parameter and response components that are referenced by the paths in the specifications.
+         * Only used when generating a subset, so only the components needed by the subset are included.
+         *
+         * @param specifications the specifications containing the paths
+         * @return the references to parameter and response components, or {@code null} if all
+         * components should be included.
+         */
+        private Set<String> findReferencedComponents(OpenAPI... specifications) {
+            if (!generatingSubset) {
+                return null;
+            }
+
+            Set<String> references = new HashSet<>();
+
+            for (OpenAPI specification : specifications) {
+                if (specification.getPaths() != null) {
+                    specification.getPaths().values().forEach(pathItem -> {
+                        if (pathItem.getParameters() != null) {
+                            pathItem.getParameters().forEach(parameter -> addReference(references, parameter.get$ref()));
+                        }
+
+                        pathItem.readOperations().forEach(operation -> {
+                            if (operation.getParameters() != null) {
+                                operation.getParameters().forEach(parameter -> addReference(references, parameter.get$ref()));
+                            }
+
+                            if (operation.getResponses() != null) {
+                                operation.getResponses().values().forEach(response -> addReference(references, response.get$ref()));
+                            }
+                        });
+                    });
+                }
+            }
+
+            return references;
+        }
+
+        private void addReference(Set<String> references, String reference) {
+            if (reference != null) {
+                references.add(reference);
+            }
         }
 
         private Response<Map<String, SecurityScheme>> generateSecuritySchemes() {
@@ -2149,4 +2393,50 @@ public class OpenAPIGenerator {
         }
     }
 
+    /**
+     * The query parameters that can be created from the properties of a request class
+     *
+     * @param parameters the query parameters, in the order of the properties of the request class
+     */
+    private record ParameterPlan(List<BrAPIQueryParameter> parameters) {
+    }
+
+    /**
+     * The kinds of schema that are memoised for a type
+     */
+    private enum SchemaKind {
+        COMPONENT,
+        BASE,
+        BASE_WITH_NEW_REQUEST,
+        NEW_REQUEST,
+        SEARCH_REQUEST
+    }
+
+    /**
+     * The context in which a schema is created for a type
+     *
+     * @param kind                 the kind of schema
+     * @param versionIs3_1_OrLater {@code true} if the schema is created for OpenAPI 3.1 or later
+     */
+    private record SchemaContext(SchemaKind kind, boolean versionIs3_1_OrLater) {
+    }
+
+    /**
+     * Key for the memoised schemas and examples. The type is compared by identity, rather than
+     * by value, which avoids hashing the complete type hierarchy.
+     *
+     * @param type    the type
+     * @param context the context in which the schema or example is created, may be {@code null}
+     */
+    private record MemoKey(BrAPIType type, Object context) {
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof MemoKey key && type == key.type && Objects.equals(context, key.context);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * System.identityHashCode(type) + Objects.hashCode(context);
+        }
+    }
 }
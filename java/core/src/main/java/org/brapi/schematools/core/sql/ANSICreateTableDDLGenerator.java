@@ -10,74 +10,387 @@ import org.brapi.schematools.core.sql.metadata.SQLGeneratorMetadata;
 import org.brapi.schematools.core.sql.options.SQLGeneratorOptions;
 import org.brapi.schematools.core.utils.BrAPIClassCacheBuilder;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
 import java.util.*;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.function.Function;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 import static org.brapi.schematools.core.options.LinkType.ID;
 import static org.brapi.schematools.core.response.Response.fail;
 import static org.brapi.schematools.core.response.Response.success;
+import static org.brapi.schematools.core.sql.SQLGenerator.isAddingDepreciatedProperty;
 import static org.brapi.schematools.core.utils.BrAPITypeUtils.unwrapType;
 import static org.brapi.schematools.core.utils.StringUtils.*;
 
+/**
+ * Generates the DDL to create the tables for BrAPI types, with nested STRUCT, ARRAY and MAP column types.
+ * The dialect specific parts of the DDL, such as the column types and the table clauses, are created by
+ * protected methods that are overridden by the generators for the other dialects.
+ */
 @Slf4j
 public class ANSICreateTableDDLGenerator implements CreateTableDDLGenerator {
 
-    private final SQLGeneratorOptions options;
-    private final SQLGeneratorMetadata metadata;
+    protected final SQLGeneratorOptions options;
+    protected final SQLGeneratorMetadata metadata;
     private final BrAPIClassCacheBuilder.BrAPIClassCache brAPIClassCache;
+    private final SQLTableNames tableNames;
     private final String tableUsing;
     private final Map<String, Object> tableProperties;
     private final Set<String> constraints;
     private final Set<String> tables;
+    private final Set<String> indexes;
 
     public ANSICreateTableDDLGenerator(SQLGeneratorOptions options, SQLGeneratorMetadata metadata, List<BrAPIClass> brAPIClasses) {
         this.options = options;
         this.metadata = metadata;
         this.brAPIClassCache = BrAPIClassCacheBuilder.builder(brAPIClasses).build();
+        this.tableNames = new SQLTableNames(options, metadata);
 
         this.tableUsing = options.getTableUsing() != null && !options.getTableUsing().isBlank() ? options.getTableUsing() : null;
         this.tableProperties = options.getTableProperties();
-        this.tables = new TreeSet<>() ;
-        this.constraints = new TreeSet<>() ;
+        // sorted, so that the drop and constraint scripts are the same whether the tables are generated in parallel or not
+        this.tables = options.isGeneratingInParallel() ? new ConcurrentSkipListSet<>() : new TreeSet<>() ;
+        this.constraints = options.isGeneratingInParallel() ? new ConcurrentSkipListSet<>() : new TreeSet<>() ;
+        this.indexes = options.isGeneratingInParallel() ? new ConcurrentSkipListSet<>() : new TreeSet<>() ;
     }
 
     @Override
     public Response<String> generateDDLForObjectType(BrAPIObjectType brAPIObjectType) {
-        return new Generator(brAPIObjectType).generate();
+        return new Generator(brAPIObjectType).generate(new StringBuilder()).mapResult(StringBuilder::toString);
     }
 
     @Override
-    public Response<String> generateDropScript() {
+    public <A extends Appendable> Response<A> generateDDLForObjectType(BrAPIObjectType brAPIObjectType, A sink) {
+        return new Generator(brAPIObjectType).generate(sink);
+    }
 
-        StringBuilder builder = new StringBuilder();
+    @Override
+    public Response<List<SQLColumn>> generateColumnsForObjectType(BrAPIObjectType brAPIObjectType) {
+        return new Generator(brAPIObjectType).generateColumns();
+    }
 
-        for (String table : tables) {
-            builder.append("DROP TABLE IF EXISTS ");
-            builder.append(table);
-            builder.append(" ;");
-            builder.append(System.lineSeparator());
+    @Override
+    public Response<Map<String, String>> generateTableDefinitionsForObjectType(BrAPIObjectType brAPIObjectType) {
+        return new Generator(brAPIObjectType).generateTableDefinitions();
+    }
+
+    @Override
+    public List<String> generateAddColumnStatements(String tableName, SQLColumn column) {
+        StringBuilder builder = new StringBuilder("ALTER TABLE ");
+        builder.append(tableName);
+        builder.append(" ADD COLUMN ");
+        builder.append(quoteColumnName(column.getName()));
+        builder.append(" ");
+        builder.append(column.getType());
+
+        if (column.getComment() != null && isAlteringColumnComments()) {
+            builder.append(" COMMENT '");
+            builder.append(escapeSingleSQLQuotes(column.getComment()));
+            builder.append("'");
         }
 
-        return success(builder.toString());
+        builder.append(" ;");
+
+        return column.getComment() != null && !isAlteringColumnComments() ?
+            List.of(builder.toString(), generateColumnCommentStatement(tableName, column)) :
+            List.of(builder.toString());
+    }
+
+    @Override
+    public String generateAlterColumnTypeStatement(String tableName, SQLColumn oldColumn, SQLColumn newColumn) {
+        return String.format("ALTER TABLE %s ALTER COLUMN %s SET DATA TYPE %s ;", tableName, quoteColumnName(newColumn.getName()), newColumn.getType());
+    }
+
+    @Override
+    public String generateColumnCommentStatement(String tableName, SQLColumn column) {
+        return isAlteringColumnComments() ?
+            String.format("ALTER TABLE %s ALTER COLUMN %s COMMENT '%s' ;", tableName, quoteColumnName(column.getName()), escapeSingleSQLQuotes(column.getComment())) :
+            String.format("COMMENT ON COLUMN %s.%s IS '%s' ;", tableName, quoteColumnName(column.getName()), escapeSingleSQLQuotes(column.getComment()));
+    }
+
+    @Override
+    public Response<String> generateDropScript() {
+        return generateDropScript(new StringBuilder()).mapResult(StringBuilder::toString);
+    }
+
+    @Override
+    public <A extends Appendable> Response<A> generateDropScript(A sink) {
+        return writeStatements(tables.stream().map(this::createDropTableStatement).toList(), sink);
     }
 
     @Override
     public Response<String> generateForeignKeyConstraintScript() {
+        return generateForeignKeyConstraintScript(new StringBuilder()).mapResult(StringBuilder::toString);
+    }
+
+    @Override
+    public <A extends Appendable> Response<A> generateForeignKeyConstraintScript(A sink) {
+        return writeStatements(constraints, sink);
+    }
+
+    @Override
+    public Response<String> generateIndexScript() {
+        return generateIndexScript(new StringBuilder()).mapResult(StringBuilder::toString);
+    }
+
+    @Override
+    public <A extends Appendable> Response<A> generateIndexScript(A sink) {
+        return writeStatements(indexes, sink);
+    }
+
+    /**
+     * Gets the column type for a primitive BrAPI type
+     * @param type the name of the primitive type, for example 'string' or 'integer'
+     * @return the column type for the primitive type
+     */
+    protected Response<String> findSimpleColumnType(String type) {
+        return
+            switch (type) {
+                case "integer" -> success("INT");
+                case "number" -> success("DOUBLE");
+                case "boolean" -> success("BOOLEAN");
+                case "string" -> success("STRING");
+                default -> fail(Response.ErrorType.VALIDATION, String.format("Unknown type '%s'", type));
+            };
+    }
+
+    /**
+     * Creates the column type for an array of simple values
+     * @param itemColumnType the column type of the items
+     * @return the column type for the array
+     */
+    protected String createArrayColumnType(String itemColumnType) {
+        return "ARRAY<" + itemColumnType + ">";
+    }
+
+    /**
+     * Determines if embedded objects are stored in nested STRUCT columns. If not, embedded objects and
+     * arrays of objects are stored as documents, see {@link #getDocumentColumnType()}
+     * @return {@code true} if embedded objects are stored in nested STRUCT columns
+     */
+    protected boolean isUsingNestedColumnTypes() {
+        return true;
+    }
+
+    /**
+     * Gets the column type used for free-form documents, such as the additional info
+     * @return the column type used for free-form documents
+     */
+    protected String getDocumentColumnType() {
+        return "MAP<STRING,STRING>";
+    }
+
+    /**
+     * Determines if table and column comments are added inline in the CREATE TABLE statement,
+     * otherwise they are added in separate COMMENT ON statements after the CREATE TABLE statement
+     * @return {@code true} if table and column comments are added inline
+     */
+    protected boolean isUsingInlineComments() {
+        return true;
+    }
+
+    /**
+     * Determines if the comment of a column of an existing table is set in an ALTER TABLE statement,
+     * otherwise it is set in a separate COMMENT ON statement
+     * @return {@code true} if the comment of a column is set in an ALTER TABLE statement
+     */
+    protected boolean isAlteringColumnComments() {
+        return false;
+    }
+
+    /**
+     * Determines if a column is marked as a PRIMARY KEY
+     * @param brAPIObjectType the type for which the table is generated
+     * @param property the property for the column
+     * @param primaryTable {@code true} if the column is in the table for the type,
+     * {@code false} if it is in a link or controlled vocabulary table
+     * @return {@code true} if the column is marked as a PRIMARY KEY
+     */
+    protected boolean isPrimaryKeyColumn(BrAPIObjectType brAPIObjectType, BrAPIObjectProperty property, boolean primaryTable) {
+        return options.getProperties().isPrimaryLinkPropertyFor(brAPIObjectType, property);
+    }
+
+    /**
+     * Finds the properties for the columns of a foreign key constraint from a table to the table of a linked type
+     * @param brAPIObjectType the type for which the table is generated
+     * @param property the property that links to the linked type
+     * @param linkedType the linked type
+     * @return the properties for the columns of the foreign key, or an empty list if no foreign key is added
+     */
+    protected List<BrAPIObjectProperty> findForeignKeyProperties(BrAPIObjectType brAPIObjectType, BrAPIObjectProperty property, BrAPIObjectType linkedType) {
+        return options.getProperties().getLinkPropertiesFor(brAPIObjectType, property, linkedType);
+    }
+
+    /**
+     * Quotes the name of a column if needed by the dialect, for example if it is a reserved word
+     * @param columnName the name of the column
+     * @return the name of the column used in the statements
+     */
+    protected String quoteColumnName(String columnName) {
+        return columnName;
+    }
+
+    /**
+     * Creates a DROP TABLE statement
+     * @param tableName the full name of the table
+     * @return the DROP TABLE statement
+     */
+    protected String createDropTableStatement(String tableName) {
+        return "DROP TABLE IF EXISTS " + tableName + " ;";
+    }
+
+    /**
+     * Gets the data source format of the tables, added in a USING clause
+     * @return the data source format of the tables, or {@code null} if no USING clause is added
+     */
+    protected String getTableUsing() {
+        return tableUsing;
+    }
+
+    /**
+     * Creates the clause by which a table is partitioned
+     * @param tableName the full name of the table
+     * @param columns the partition columns, which are columns of the table
+     * @return the partition clause
+     */
+    protected String createPartitionClause(String tableName, List<String> columns) {
+        return "PARTITIONED BY (" + columns.stream().map(this::quoteColumnName).collect(Collectors.joining(", ")) + ")";
+    }
+
+    /**
+     * Creates the statements run after the table definition to create the partitions of a partitioned table
+     * @param tableName the full name of the table
+     * @param columns the partition columns, which are columns of the table
+     * @return the statements to create the partitions, by default none, since the partitions are
+     * created by the database as the rows are inserted
+     */
+    protected List<String> createPartitionStatements(String tableName, List<String> columns) {
+        return Collections.emptyList();
+    }
+
+    /**
+     * Creates the table constraints added at the end of the table definition for a type, for example
+     * a PRIMARY KEY on more than one column
+     * @param brAPIObjectType the type for which the table is generated
+     * @param tableName the full name of the table
+     * @return the table constraints, by default none, since the PRIMARY KEY is added to the ID column
+     */
+    protected List<String> createTableConstraints(BrAPIObjectType brAPIObjectType, String tableName) {
+        return Collections.emptyList();
+    }
+
+    /**
+     * Creates the clause by which a table is clustered
+     * @param tableName the full name of the table
+     * @param columns the clustering columns
+     * @return the cluster clause, or {@code null} if tables can not be clustered in the table definition
+     */
+    protected String createClusterClause(String tableName, List<String> columns) {
+        return "CLUSTER BY (" + String.join(",", columns) + ")";
+    }
+
+    /**
+     * Determines if the table properties are added in a TBLPROPERTIES clause
+     * @return {@code true} if the table properties are added in a TBLPROPERTIES clause
+     */
+    protected boolean isUsingTableProperties() {
+        return true;
+    }
+
+    /**
+     * Creates the statements to index the columns of a table
+     * @param tableName the full name of the table
+     * @param indexColumns the columns of each index, in the order in which they were found
+     * @param partitionColumns the columns by which the table is partitioned, or an empty list if it is not partitioned
+     * @param clustered {@code true} if the table is clustered
+     * @return the statements to index the columns
+     */
+    protected List<String> createIndexStatements(String tableName, List<List<String>> indexColumns, List<String> partitionColumns, boolean clustered) {
+        return indexColumns.stream().map(columns -> createIndexStatement(tableName, columns, null)).toList();
+    }
+
+    /**
+     * Creates the statements to index a document column, see {@link #getDocumentColumnType()}
+     * @param tableName the full name of the table
+     * @param column the document column
+     * @return the statements to index the document column, by default none
+     */
+    protected List<String> createDocumentIndexStatements(String tableName, String column) {
+        return Collections.emptyList();
+    }
+
+    /**
+     * Creates a CREATE INDEX statement
+     * @param tableName the full name of the table
+     * @param columns the indexed columns
+     * @param method the index method, or {@code null} for the default method
+     * @return the CREATE INDEX statement
+     */
+    protected String createIndexStatement(String tableName, List<String> columns, String method) {
         StringBuilder builder = new StringBuilder();
 
-        for (String constraint : constraints) {
-            builder.append(constraint);
-            builder.append(System.lineSeparator());
+        builder.append("CREATE INDEX ");
+        if (options.isAddingIfNotExists()) {
+            builder.append("IF NOT EXISTS ");
         }
+        builder.append(tableNames.getIndexName(tableName, columns));
+        builder.append(" ON ");
+        builder.append(tableName);
+        if (method != null) {
+            builder.append(" USING ");
+            builder.append(method);
+        }
+        builder.append(" (");
+        builder.append(columns.stream().map(this::quoteColumnName).collect(Collectors.joining(", ")));
+        builder.append(") ;");
+
+        return builder.toString();
+    }
+
+    /**
+     * Removes the table prefix, if any, from a full table name
+     * @param fullTableName the full name of the table
+     * @return the name of the table without the prefix
+     */
+    protected String removeTablePrefix(String fullTableName) {
+        return tableNames.removeTablePrefix(fullTableName);
+    }
+
+    private <A extends Appendable> Response<A> writeStatements(Collection<String> statements, A sink) {
+        try {
+            for (String statement : statements) {
+                sink.append(statement);
+                sink.append(System.lineSeparator());
+            }
 
-        return success(builder.toString());
+            return success(sink);
+        } catch (IOException exception) {
+            return fail(Response.ErrorType.VALIDATION, String.format("Can not write statements due to %s", exception.getMessage()));
+        }
     }
 
     private class Generator {
         private final BrAPIObjectType brAPIObjectType;
         private final List<LinkTable> linkTables = new ArrayList<>();
         private final List<ControlledVocabularyTable> controlledVocabularyTables = new ArrayList<>();
+        private final Set<String> indexableColumns = new HashSet<>();
+        private final Set<String> columnNames = new HashSet<>();
+        private final Map<String, List<List<String>>> indexColumns = new LinkedHashMap<>();
+        private final Set<String> clusteredTables = new HashSet<>();
+        private final List<String> commentStatements = new ArrayList<>();
+        private final Map<String, String> tableDefinitions = new LinkedHashMap<>();
+        private boolean addingDropTable = options.isAddingDropTable();
+        private boolean collectingTableDefinitions = false;
+        private boolean collectingColumns = false;
+        // the properties of the type from which the link columns are derived, by column name
+        private final Map<String, BrAPIObjectProperty> linkPropertiesByColumn = new HashMap<>();
+        private Appendable sink;
+        private String currentTableName;
+        private boolean currentPrimaryTable;
         private int indent = 0 ;
         private int arrayStructDepth = 0;
 
@@ -85,13 +398,14 @@ public class ANSICreateTableDDLGenerator implements CreateTableDDLGenerator {
             this.brAPIObjectType = brAPIObjectType;
         }
 
-        public Response<String> generate() {
+        public <A extends Appendable> Response<A> generate(A sink) {
+            this.sink = sink;
 
             if (brAPIObjectType.getMetadata() != null && brAPIObjectType.getMetadata().getControlledVocabularyProperties() != null
                 && !brAPIObjectType.getMetadata().getControlledVocabularyProperties().isEmpty()) {
                 brAPIObjectType.getProperties()
                     .stream()
-                    .filter(this::isAddingDepreciatedProperty)
+                    .filter(property -> isAddingDepreciatedProperty(options, property))
                     .filter(property -> brAPIObjectType.getMetadata().getControlledVocabularyProperties().contains(property.getName()))
                     .map(property -> new ControlledVocabularyTable(brAPIObjectType, property))
                     .forEach(controlledVocabularyTables::add) ;
@@ -100,34 +414,118 @@ public class ANSICreateTableDDLGenerator implements CreateTableDDLGenerator {
             return createTableDefinition(
                 createTableNameFullName(brAPIObjectType),
                 () -> createTableDescription(brAPIObjectType),
-                () -> createColumnDefinitions(brAPIObjectType),
+                () -> writeColumnDefinitions(brAPIObjectType, this.sink),
                 getTableDescription(brAPIObjectType),
                 findClusterColumns(brAPIObjectType),
                 true)
                 .conditionalMapResultToResponse(options.isGeneratingLinkTables() && !linkTables.isEmpty(), this::appendLinkTableDefinitions)
-                .conditionalMapResultToResponse(options.getControlledVocabulary().isGenerating() && !controlledVocabularyTables.isEmpty(), this::appendControlledVocabularyDefinitions);
+                .conditionalMapResultToResponse(options.getControlledVocabulary().isGenerating() && !controlledVocabularyTables.isEmpty(), this::appendControlledVocabularyDefinitions)
+                .onSuccessDo(() -> indexColumns.forEach((tableName, columns) ->
+                    indexes.addAll(createIndexStatements(tableName, columns, findPartitionColumns(tableName), clusteredTables.contains(tableName)))))
+                .mapResult(written -> sink);
         }
 
-        private Response<String> createTableDefinition(String tableName,
-                                                       Supplier<Response<String>> descriptionSupplier,
-                                                       Supplier<Response<String>> columnSupplier,
-                                                       String description,
-                                                       List<String> clusterColumns,
-                                                       boolean primaryTable) {
+        public Response<Map<String, String>> generateTableDefinitions() {
+            // the definitions are used to create or alter existing tables, so they must never drop them
+            addingDropTable = false;
+            // each table is written to its own definition, so nothing needs to be written to the sink
+            collectingTableDefinitions = true;
+
+            return generate(Writer.nullWriter()).mapResult(ddl -> tableDefinitions);
+        }
+
+        public Response<List<SQLColumn>> generateColumns() {
+            currentTableName = createTableNameFullName(brAPIObjectType);
+            currentPrimaryTable = true;
+            // the constraints and comments are taken from the properties, and nothing is added to the scripts
+            collectingColumns = true;
+
+            return findColumnGroups(brAPIObjectType).stream()
+                .flatMap(List::stream)
+                .map(property -> createColumnDefinition(brAPIObjectType, property)
+                    .mapResult(columnDefinition -> createColumn(property, columnDefinition)))
+                .collect(Response.toList())
+                .mapResult(columns -> columns.stream()
+                    // the properties stored in link tables have no column
+                    .filter(Objects::nonNull)
+                    .toList());
+        }
+
+        private SQLColumn createColumn(BrAPIObjectProperty property, String columnDefinition) {
+            if (columnDefinition.startsWith("--")) {
+                return null;
+            }
+
+            String name = findColumnName(property);
+
+            return SQLColumn.builder()
+                .name(name)
+                .type(columnDefinition.strip().substring(quoteColumnName(name).length()).strip())
+                .notNull(isNotNullColumn(property))
+                .primaryKey(options.isAddingPrimaryKeyConstraints() && isPrimaryKeyColumn(brAPIObjectType, property, true))
+                .comment(options.isAddingTableColumnComments() ? getColumnDescription(brAPIObjectType, property) : null)
+                .property(property)
+                .linkProperty(linkPropertiesByColumn.get(property.getName()))
+                .build();
+        }
+
+        private String findColumnName(BrAPIObjectProperty property) {
+            // the arrays of linked objects are stored as the IDs of the objects
+            if (brAPIClassCache.dereferenceType(property.getType()) instanceof BrAPIArrayType &&
+                getLinkTypeFor(brAPIObjectType, property).getResultIfPresentOrElseResult(LinkType.NONE) == ID) {
+                return options.getProperties().getIdsPropertyNameFor(property);
+            }
+
+            return property.getName();
+        }
+
+        /**
+         * Writes the table definition to the sink, the column definitions are written by the column writer
+         * one at a time as they are created.
+         */
+        private Response<Appendable> createTableDefinition(String tableName,
+                                                           Supplier<Response<String>> descriptionSupplier,
+                                                           Supplier<Response<Appendable>> columnWriter,
+                                                           String description,
+                                                           List<String> clusterColumns,
+                                                           boolean primaryTable) {
 
-            StringBuilder builder = new StringBuilder();
             tables.add(tableName);
+            currentTableName = tableName;
+            currentPrimaryTable = primaryTable;
+            commentStatements.clear();
+
+            Appendable tableSink = sink;
+            StringBuilder definition = new StringBuilder();
+
+            if (collectingTableDefinitions) {
+                sink = definition;
+            }
+
+            try {
+                return Response.empty()
+                    .mapOnCondition(options.isAddingTableHeaderComments(), descriptionSupplier)
+                    .onSuccessIfPresentDoWithResult(this::write)
+                    .map(() -> createTableDefinitionStart(tableName))
+                    .onSuccessDoWithResult(this::write)
+                    .map(columnWriter)
+                    .map(() -> createTableDefinitionEnd(tableName, description, clusterColumns, primaryTable))
+                    .onSuccessDoWithResult(this::write)
+                    .onSuccessDo(() -> commentStatements.forEach(commentStatement -> {
+                        write(commentStatement);
+                        write(newLine());
+                    }))
+                    .onSuccessDoWithResultOnCondition(collectingTableDefinitions, end -> tableDefinitions.put(tableName, definition.toString()))
+                    .mapResult(end -> tableSink);
+            } catch (UncheckedIOException exception) {
+                return fail(Response.ErrorType.VALIDATION, String.format("Can not write table definition for table '%s' due to %s", tableName, exception.getCause().getMessage()));
+            } finally {
+                sink = tableSink;
+            }
+        }
 
-            return Response.empty()
-                .mapOnCondition(options.isAddingTableHeaderComments(), descriptionSupplier)
-                .onSuccessDoWithResult(builder::append)
-                .map(() -> createTableDefinitionStart(tableName))
-                .onSuccessDoWithResult(builder::append)
-                .map(columnSupplier)
-                .onSuccessDoWithResult(builder::append)
-                .map(() -> createTableDefinitionEnd(tableName, description, clusterColumns, primaryTable))
-                .onSuccessDoWithResult(builder::append)
-                .map(() -> success(builder.toString())) ;
+        private Appendable write(CharSequence text) {
+            return append(sink, text);
         }
 
         private Response<String> createTableDefinitionStart(String tableName) {
@@ -136,7 +534,7 @@ public class ANSICreateTableDDLGenerator implements CreateTableDDLGenerator {
 
             appendNewLine(builder) ;
 
-            if (options.isAddingDropTable()) {
+            if (addingDropTable) {
                 builder.append("DROP TABLE IF EXISTS ");
                 builder.append(tableName);
                 builder.append("; ");
@@ -163,6 +561,21 @@ public class ANSICreateTableDDLGenerator implements CreateTableDDLGenerator {
             try {
                 StringBuilder builder = new StringBuilder();
 
+                if (primaryTable && options.isGeneratingIndexScript()) {
+                    addIndexes(tableName);
+                }
+
+                if (primaryTable) {
+                    // each constraint is written as it is created, before the end of the table definition
+                    for (String tableConstraint : createTableConstraints(brAPIObjectType, tableName)) {
+                        StringBuilder constraint = new StringBuilder();
+                        constraint.append(",");
+                        appendNewLine(constraint);
+                        constraint.append(tableConstraint);
+                        write(constraint);
+                    }
+                }
+
                 if (primaryTable && (options.isAddingForeignKeyConstraints() || options.isGeneratingForeignKeyConstraintScript())) {
                     List<BrAPIPropertyWithType> foreignKeyProperties = brAPIObjectType.getProperties()
                         .stream()
@@ -174,30 +587,34 @@ public class ANSICreateTableDDLGenerator implements CreateTableDDLGenerator {
 
                     if (options.isAddingForeignKeyConstraints()) {
                         for (BrAPIPropertyWithType brAPIPropertyWithType : foreignKeyProperties) {
-                            List<BrAPIObjectProperty> sourceLinkProps = options.getProperties().getLinkPropertiesFor(
+                            List<BrAPIObjectProperty> sourceLinkProps = findForeignKeyProperties(
                                 brAPIPropertyWithType.getParentType(), brAPIPropertyWithType.getProperty(), (BrAPIObjectType) brAPIPropertyWithType.getType());
                             if (sourceLinkProps.isEmpty()) {
                                 log.warn("Skipping inline FK constraint on table '{}': no source columns found for property '{}'",
                                     tableName, brAPIPropertyWithType.getProperty().getName());
                                 continue;
                             }
-                            builder.append(",");
-                            appendNewLine(builder);
-                            builder.append("CONSTRAINT ");
-                            builder.append(createTableName(tableName));
-                            builder.append("_");
-                            builder.append(createTableName((BrAPIObjectType) brAPIPropertyWithType.getType()));
-                            builder.append("_fk FOREIGN KEY(");
+                            // each constraint is written as it is created, before the end of the table definition
+                            StringBuilder constraint = new StringBuilder();
+                            constraint.append(",");
+                            appendNewLine(constraint);
+                            constraint.append("CONSTRAINT ");
+                            constraint.append(createTableName(tableName));
+                            constraint.append("_");
+                            constraint.append(createTableName((BrAPIObjectType) brAPIPropertyWithType.getType()));
+                            constraint.append("_fk FOREIGN KEY(");
                             String inlineFkColumns = sourceLinkProps.stream()
                                 .map(BrAPIObjectProperty::getName)
+                                .map(ANSICreateTableDDLGenerator.this::quoteColumnName)
                                 .collect(Collectors.joining(", "));
-                            builder.append(inlineFkColumns);
-                            builder.append(") REFERENCES ");
-                            builder.append(createTableNameFullName((BrAPIObjectType) brAPIPropertyWithType.getType()));
+                            constraint.append(inlineFkColumns);
+                            constraint.append(") REFERENCES ");
+                            constraint.append(createTableNameFullName((BrAPIObjectType) brAPIPropertyWithType.getType()));
+                            write(constraint);
                         }
                     } else {
                         for (BrAPIPropertyWithType brAPIPropertyWithType : foreignKeyProperties) {
-                            List<BrAPIObjectProperty> sourceLinkProps = options.getProperties().getLinkPropertiesFor(
+                            List<BrAPIObjectProperty> sourceLinkProps = findForeignKeyProperties(
                                 brAPIPropertyWithType.getParentType(), brAPIPropertyWithType.getProperty(), (BrAPIObjectType) brAPIPropertyWithType.getType());
                             if (sourceLinkProps.isEmpty()) {
                                 log.warn("Skipping FK constraint script on table '{}': no source columns found for property '{}'",
@@ -221,6 +638,7 @@ public class ANSICreateTableDDLGenerator implements CreateTableDDLGenerator {
                             builder2.append("_fk FOREIGN KEY(");
                             String fkColumns = sourceLinkProps.stream()
                                 .map(BrAPIObjectProperty::getName)
+                                .map(ANSICreateTableDDLGenerator.this::quoteColumnName)
                                 .collect(Collectors.joining(", "));
                             builder2.append(fkColumns);
                             builder2.append(") REFERENCES ");
@@ -235,13 +653,35 @@ public class ANSICreateTableDDLGenerator implements CreateTableDDLGenerator {
                 appendNewLine(builder) ;
                 builder.append(") ");
 
-                if (tableUsing != null) {
+                String using = getTableUsing();
+
+                if (using != null) {
                     appendNewLine(builder) ;
                     builder.append("USING ");
-                    builder.append(tableUsing);
+                    builder.append(using);
                 }
 
-                if (options.isClustering()) {
+                List<String> partitionColumns = primaryTable ? options.getPartitionColumnsFor(brAPIObjectType) : Collections.emptyList();
+
+                List<String> unknownPartitionColumns = partitionColumns.stream()
+                    .filter(column -> !columnNames.contains(column))
+                    .toList();
+
+                if (!unknownPartitionColumns.isEmpty()) {
+                    return fail(Response.ErrorType.VALIDATION, String.format("The partition columns '%s' of table '%s' are not columns of the table",
+                        String.join("', '", unknownPartitionColumns), tableName));
+                }
+
+                if (!partitionColumns.isEmpty()) {
+                    appendNewLine(builder) ;
+                    builder.append(createPartitionClause(tableName, partitionColumns));
+
+                    if (options.isClustering()) {
+                        log.warn("Table {} is partitioned, so will not be clustered", tableName);
+                    }
+                }
+
+                if (options.isClustering() && partitionColumns.isEmpty()) {
 
                     List<String> columns = clusterColumns;
 
@@ -252,16 +692,19 @@ public class ANSICreateTableDDLGenerator implements CreateTableDDLGenerator {
                     }
 
                     if (!columns.isEmpty()) {
-                        appendNewLine(builder) ;
-                        builder.append("CLUSTER BY (");
-                        builder.append(String.join(",", columns));
-                        builder.append(")");
+                        String clusterClause = createClusterClause(tableName, columns);
+
+                        if (clusterClause != null) {
+                            appendNewLine(builder) ;
+                            builder.append(clusterClause);
+                            clusteredTables.add(tableName);
+                        }
                     } else {
                         log.warn("No clustering columns found for table {}", tableName);
                     }
                 }
 
-                if (tableProperties != null && !tableProperties.isEmpty()) {
+                if (isUsingTableProperties() && tableProperties != null && !tableProperties.isEmpty()) {
                     appendNewLine(builder) ;
                     builder.append("TBLPROPERTIES (");
                     builder.append(tableProperties.entrySet().stream().map(this::tableProperty).collect(Collectors.joining()));
@@ -269,17 +712,26 @@ public class ANSICreateTableDDLGenerator implements CreateTableDDLGenerator {
                 }
 
                 if (options.isAddingTableComments()) {
-                    appendNewLine(builder) ;
-                    builder.append("COMMENT '");
+                    if (isUsingInlineComments()) {
+                        appendNewLine(builder) ;
+                        builder.append("COMMENT '");
 
-                    builder.append(escapeSingleSQLQuotes(description));
+                        builder.append(escapeSingleSQLQuotes(description));
 
-                    builder.append("'");
+                        builder.append("'");
+                    } else {
+                        commentStatements.add(0, String.format("COMMENT ON TABLE %s IS '%s' ;", tableName, escapeSingleSQLQuotes(description)));
+                    }
                 }
 
                 builder.append(";");
                 appendNewLine(builder) ;
 
+                for (String partitionStatement : createPartitionStatements(tableName, partitionColumns)) {
+                    builder.append(partitionStatement);
+                    appendNewLine(builder) ;
+                }
+
                 return success(builder.toString());
 
             } catch (Exception e) {
@@ -287,6 +739,58 @@ public class ANSICreateTableDDLGenerator implements CreateTableDDLGenerator {
             }
         }
 
+        private List<String> findPartitionColumns(String tableName) {
+            // only the table for the type is partitioned, not its link tables
+            return tableName.equals(createTableNameFullName(brAPIObjectType)) ? options.getPartitionColumnsFor(brAPIObjectType) : Collections.emptyList();
+        }
+
+        private void addIndexes(String tableName) {
+            // the foreign key columns, used to join to the linked tables
+            brAPIObjectType.getProperties()
+                .stream()
+                .filter(property -> isAddingDepreciatedProperty(options, property))
+                .filter(property -> brAPIClassCache.dereferenceType(property.getType()) instanceof BrAPIObjectType)
+                .filter(property -> getLinkTypeFor(brAPIObjectType, property).getResultIfPresentOrElseResult(LinkType.NONE) == ID)
+                .forEach(property -> {
+                    if (unwrapAndDereferenceType(property.getType()) instanceof BrAPIObjectType linkedType) {
+                        addIndexForProperties(tableName, options.getProperties().getLinkPropertiesFor(brAPIObjectType, property, linkedType));
+                    }
+                });
+
+            // the columns filtered on by the list and search queries, as defined by the request schema,
+            // where the plural request parameter, for example 'studyTypes', matches a column, for example 'studyType'
+            String idColumn = options.getProperties().getIdPropertyFor(brAPIObjectType)
+                .mapResult(BrAPIObjectProperty::getName)
+                .getResultIfPresentOrElseResult("");
+
+            if (brAPIClassCache.getBrAPIClass(String.format("%sRequest", brAPIObjectType.getName())) instanceof BrAPIObjectType requestType) {
+                requestType.getProperties()
+                    .stream()
+                    .map(property -> toSingular(property.getName()))
+                    .filter(indexableColumns::contains)
+                    .filter(column -> !column.equals(idColumn))
+                    .forEach(column -> addIndex(tableName, List.of(column)));
+            }
+        }
+
+        private void addIndexForProperties(String tableName, List<BrAPIObjectProperty> properties) {
+            addIndex(tableName, properties.stream().map(BrAPIObjectProperty::getName).toList());
+        }
+
+        private void addIndex(String tableName, List<String> columns) {
+            if (columns.isEmpty()) {
+                return;
+            }
+
+            indexColumns.computeIfAbsent(tableName, key -> new ArrayList<>()).add(columns);
+        }
+
+        private boolean isIndexable(BrAPIObjectProperty property) {
+            BrAPIType dereferencedType = brAPIClassCache.dereferenceType(property.getType());
+
+            return dereferencedType instanceof BrAPIPrimitiveType || dereferencedType instanceof BrAPIEnumType;
+        }
+
         private String newLine() {
             return System.lineSeparator() + " ".repeat(indent);
         }
@@ -304,27 +808,15 @@ public class ANSICreateTableDDLGenerator implements CreateTableDDLGenerator {
         }
 
         private String createTableNameFullName(BrAPIObjectType brAPIObjectType) {
-            return metadata.getTablePrefix() != null ?
-                metadata.getTablePrefix() + createTableName(brAPIObjectType) : createTableName(brAPIObjectType);
+            return tableNames.getFullTableName(brAPIObjectType);
         }
 
         private String createTableName(String fullTableName) {
-            return metadata.getTablePrefix() != null ?
-                fullTableName.substring(metadata.getTablePrefix().length()) : fullTableName;
+            return removeTablePrefix(fullTableName);
         }
 
         private String createTableName(BrAPIObjectType brAPIObjectType) {
-            String name = brAPIObjectType.getName() ;
-
-            if (options.isUsingPluralTableNames()) {
-                name = toPlural(name) ;
-            }
-
-            if (options.isUsingSnakeCaseTableNames()) {
-                name = toSnakeCase(name) ;
-            }
-
-            return name ;
+            return tableNames.getTableName(brAPIObjectType);
         }
 
         private String getTableDescription(BrAPIObjectType brAPIObjectType) {
@@ -374,6 +866,42 @@ public class ANSICreateTableDDLGenerator implements CreateTableDDLGenerator {
         }
 
         private Response<String> createColumnDefinitions(BrAPIObjectType brAPIObjectType) {
+            return writeColumnDefinitions(brAPIObjectType, new StringBuilder()).mapResult(StringBuilder::toString);
+        }
+
+        private <A extends Appendable> Response<A> writeColumnDefinitions(BrAPIObjectType brAPIObjectType, A target) {
+
+            List<List<BrAPIObjectProperty>> groups = findColumnGroups(brAPIObjectType);
+
+            // Only add the "-- Properties" separator when at least one earlier group
+            // (link or clustering) contributed columns, so tables without those groups
+            // don't get a redundant separator
+            String otherComment = (!groups.get(1).isEmpty() || !groups.get(2).isEmpty()) ? "-- Properties" : "";
+
+            groups.stream()
+                .flatMap(List::stream)
+                .filter(this::isIndexable)
+                .map(BrAPIObjectProperty::getName)
+                .forEach(indexableColumns::add);
+
+            if (arrayStructDepth == 0) {
+                groups.stream()
+                    .flatMap(List::stream)
+                    .map(BrAPIObjectProperty::getName)
+                    .forEach(columnNames::add);
+            }
+
+            return writeGroupedColumnDefinitions(brAPIObjectType,
+                groups,
+                List.of("-- Primary properties", "-- Link properties",   "-- Clustering properties",     otherComment),
+                target);
+        }
+
+        /**
+         * Finds the properties for which columns are created, in four ordered groups: the primary properties,
+         * the link properties, the clustering properties and the other properties.
+         */
+        private List<List<BrAPIObjectProperty>> findColumnGroups(BrAPIObjectType brAPIObjectType) {
 
             // Group 1: Primary properties (dbId, name, PUI) — always come first
             List<BrAPIObjectProperty> primaryProps = new ArrayList<>(options.getProperties().getPrimaryPropertiesFor(brAPIObjectType));
@@ -390,7 +918,7 @@ public class ANSICreateTableDDLGenerator implements CreateTableDDLGenerator {
             List<BrAPIObjectProperty> linkProps = new ArrayList<>();
             brAPIObjectType.getProperties()
                 .stream()
-                .filter(this::isAddingDepreciatedProperty)
+                .filter(property -> isAddingDepreciatedProperty(options, property))
                 .filter(property -> getLinkTypeFor(brAPIObjectType, property).onFailDoWithResponse(this::warn).orElseResult(LinkType.NONE) == ID)
                 .filter(property -> !primaryProps.contains(property))
                 .sorted(Comparator.comparing(BrAPIObjectProperty::getName))
@@ -423,6 +951,7 @@ public class ANSICreateTableDDLGenerator implements CreateTableDDLGenerator {
                     if (dereferencedType instanceof BrAPIObjectType linkObjectType) {
                         for (BrAPIObjectProperty derivedProp : options.getProperties().getLinkPropertiesFor(brAPIObjectType, linkProp, linkObjectType)) {
                             if (seenLinkColumnNames.add(derivedProp.getName())) {
+                                linkPropertiesByColumn.put(derivedProp.getName(), linkProp);
                                 // Prefer the direct property on this type when the names
                                 // match so that its description / nullability are used and
                                 // object-identity dedup works for later groups
@@ -447,7 +976,7 @@ public class ANSICreateTableDDLGenerator implements CreateTableDDLGenerator {
             List<BrAPIObjectProperty> clusterProps = new ArrayList<>();
             options.getProperties().getClusteringPropertiesFor(brAPIObjectType)
                 .stream()
-                .filter(this::isAddingDepreciatedProperty)
+                .filter(property -> isAddingDepreciatedProperty(options, property))
                 .filter(p -> getLinkTypeFor(brAPIObjectType, p).onFailDoWithResponse(this::warn).orElseResult(LinkType.NONE) != LinkType.NONE)
                 .filter(p -> !seen.contains(p))
                 .filter(p -> !seenLinkColumnNames.contains(p.getName()))
@@ -458,71 +987,81 @@ public class ANSICreateTableDDLGenerator implements CreateTableDDLGenerator {
             List<BrAPIObjectProperty> otherProps = new ArrayList<>();
             brAPIObjectType.getProperties()
                 .stream()
-                .filter(this::isAddingDepreciatedProperty)
+                .filter(property -> isAddingDepreciatedProperty(options, property))
                 .filter(p -> getLinkTypeFor(brAPIObjectType, p).onFailDoWithResponse(this::warn).orElseResult(LinkType.NONE) != LinkType.NONE)
                 .filter(p -> !seen.contains(p))
                 .filter(p -> !seenLinkColumnNames.contains(p.getName()))
                 .sorted(Comparator.comparing(BrAPIObjectProperty::getName))
                 .forEach(otherProps::add);
 
-            // Only add the "-- Properties" separator when at least one earlier group
-            // (link or clustering) contributed columns, so tables without those groups
-            // don't get a redundant separator
-            String otherComment = (!expandedLinkProps.isEmpty() || !clusterProps.isEmpty()) ? "-- Properties" : "";
-
-            return buildGroupedColumnDefinitions(brAPIObjectType,
-                List.of(primaryProps,           expandedLinkProps,      clusterProps,                   otherProps),
-                List.of("-- Primary properties", "-- Link properties",   "-- Clustering properties",     otherComment));
-        }
-
-        private boolean isAddingDepreciatedProperty(BrAPIObjectProperty property) {
-            return !(options.getBrAPISchemaReader().isIgnoringDepreciatedProperties() && property.isDeprecated()) ;
+            return List.of(primaryProps, expandedLinkProps, clusterProps, otherProps);
         }
 
         /**
-         * Assembles column definitions from multiple ordered groups into a single
-         * comma-separated SQL column list.  When a group has a non-blank comment string
-         * and is not the very first group of columns, the comment is inserted on its own
-         * line (at the current indent level) just before the first column of that group,
-         * producing output like:
+         * Writes column definitions from multiple ordered groups to the target as a single
+         * comma-separated SQL column list, one column at a time as it is created.  When a group has
+         * a non-blank comment string and is not the very first group of columns, the comment is
+         * inserted on its own line (at the current indent level) just before the first column of
+         * that group, producing output like:
          * <pre>
          *   lastColOfPrevGroup STRING,
          *   -- Comment
          *   firstColOfNextGroup STRING,
          * </pre>
          */
-        private Response<String> buildGroupedColumnDefinitions(
+        private <A extends Appendable> Response<A> writeGroupedColumnDefinitions(
                 BrAPIObjectType brAPIObjectType,
                 List<List<BrAPIObjectProperty>> groups,
-                List<String> comments) {
+                List<String> comments,
+                A target) {
 
-            List<Response<String>> allCols = new ArrayList<>();
+            Response<A> response = success(target);
+            boolean firstColumn = true;
 
-            for (int i = 0; i < groups.size(); i++) {
-                List<BrAPIObjectProperty> group = groups.get(i);
-                if (group.isEmpty()) continue;
+            try {
+                for (int i = 0; i < groups.size(); i++) {
+                    List<BrAPIObjectProperty> group = groups.get(i);
+                    if (group.isEmpty()) continue;
 
-                String comment = (i < comments.size()) ? comments.get(i) : "";
+                    String comment = (i < comments.size()) ? comments.get(i) : "";
 
-                List<Response<String>> groupCols = group.stream()
-                    .map(p -> createColumnDefinition(brAPIObjectType, p))
-                    .toList();
+                    for (int j = 0; j < group.size(); j++) {
+                        StringBuilder prefix = new StringBuilder();
 
-                if (!comment.isBlank()) {
-                    // Prepend "-- comment\n<indent>" to the first column definition of
-                    // this group so it appears on its own line between the groups
-                    String commentPrefix = comment + newLine();
-                    List<Response<String>> annotated = new ArrayList<>(groupCols);
-                    annotated.set(0, groupCols.getFirst().mapResult(col -> commentPrefix + col));
-                    allCols.addAll(annotated);
-                } else {
-                    allCols.addAll(groupCols);
+                        if (!firstColumn) {
+                            prefix.append(",");
+                            appendNewLine(prefix);
+                        }
+
+                        if (j == 0 && !comment.isBlank()) {
+                            // "-- comment\n<indent>" before the first column definition of
+                            // this group so it appears on its own line between the groups
+                            prefix.append(comment);
+                            appendNewLine(prefix);
+                        }
+
+                        response.mergeErrors(createColumnDefinition(brAPIObjectType, group.get(j))
+                            .onSuccessDoWithResult(column -> {
+                                append(target, prefix);
+                                append(target, column);
+                            }));
+
+                        firstColumn = false;
+                    }
                 }
+            } catch (UncheckedIOException exception) {
+                return fail(Response.ErrorType.VALIDATION, String.format("Can not write column definitions for '%s' due to %s", brAPIObjectType.getName(), exception.getCause().getMessage()));
             }
 
-            return allCols.stream()
-                .collect(Response.toList())
-                .mapResult(cols -> String.join("," + newLine(), cols));
+            return response;
+        }
+
+        private Appendable append(Appendable target, CharSequence text) {
+            try {
+                return target.append(text);
+            } catch (IOException exception) {
+                throw new UncheckedIOException(exception);
+            }
         }
 
         private Response<String> createTableDescription(BrAPIObjectType brAPIObjectType) {
@@ -555,42 +1094,57 @@ public class ANSICreateTableDDLGenerator implements CreateTableDDLGenerator {
             return options.getProperties().getLinkTypeFor(brAPIObjectType, property, unwrapAndDereferenceType(property.getType()));
         }
 
-        private Response<String> appendLinkTableDefinitions(String ddl) {
-            StringBuilder builder = new StringBuilder(ddl);
+        private Response<Appendable> appendLinkTableDefinitions(Appendable written) {
+            return appendTableDefinitions(linkTables, this::appendLinkTableDefinition);
+        }
 
-            appendNewLine(builder) ;
+        /**
+         * Writes the definitions of the additional tables to the sink one after another, each on a new line
+         */
+        private <T> Response<Appendable> appendTableDefinitions(List<T> additionalTables, Function<T, Response<Appendable>> tableWriter) {
+            Response<Appendable> response = success(sink);
 
-            return linkTables.stream()
-                .map(this::appendLinkTableDefinition)
-                .collect(Response.toList())
-                .mapResult(result -> String.join(newLine(), result))
-                .mapResult(builder::append)
-                .mapResult(StringBuilder::toString);
+            try {
+                write(newLine());
+
+                for (int i = 0; i < additionalTables.size(); i++) {
+                    if (i > 0) {
+                        write(newLine());
+                    }
+
+                    response.mergeErrors(tableWriter.apply(additionalTables.get(i)));
+                }
+            } catch (UncheckedIOException exception) {
+                return fail(Response.ErrorType.VALIDATION, String.format("Can not write table definitions due to %s", exception.getCause().getMessage()));
+            }
+
+            return response;
         }
 
-        private Response<String> appendLinkTableDefinition(LinkTable linkTable) {
+        private Response<Appendable> appendLinkTableDefinition(LinkTable linkTable) {
+            if (options.isGeneratingIndexScript()) {
+                // the ID columns, so that the link table can be joined in both directions
+                options.getProperties().getIdPropertyFor(linkTable.getDereferencedItemType())
+                    .onSuccessDoWithResult(property -> addIndex(createLinkTableFullName(linkTable), List.of(property.getName())));
+                options.getProperties().getIdPropertyFor(linkTable.getParentType())
+                    .onSuccessDoWithResult(property -> addIndex(createLinkTableFullName(linkTable), List.of(property.getName())));
+            }
+
             return createTableDefinition(
                 createLinkTableFullName(linkTable),
                 () -> createTableDescription(linkTable),
-                () -> createColumnDefinitions(linkTable),
+                () -> createColumnDefinitions(linkTable).mapResult(this::write),
                 getTableComment(linkTable),
                 findClusterColumns(linkTable),
                 false);
         }
 
         private String createLinkTableFullName(LinkTable linkedTable) {
-            return metadata.getTablePrefix() != null ?
-                metadata.getTablePrefix() + createLinkTableName(linkedTable) : createLinkTableName(linkedTable);
+            return tableNames.getFullLinkTableName(linkedTable.getParentType(), linkedTable.getDereferencedItemType());
         }
 
         private String createLinkTableName(LinkTable linkedTable) {
-            String name = linkedTable.getDereferencedItemType().getName() + "By" + linkedTable.getParentType().getName();
-
-            if (options.isUsingSnakeCaseTableNames()) {
-                name = toSnakeCase(name) ;
-            }
-
-            return name ;
+            return tableNames.getLinkTableName(linkedTable.getParentType(), linkedTable.getDereferencedItemType());
         }
 
         private Response<String> createColumnDefinitions(LinkTable linkTable) {
@@ -635,46 +1189,22 @@ public class ANSICreateTableDDLGenerator implements CreateTableDDLGenerator {
             return Collections.emptyList() ;
         }
 
-        private Response<String> appendControlledVocabularyDefinitions(String ddl) {
-            StringBuilder builder = new StringBuilder(ddl);
-
-            appendNewLine(builder) ;
-
-            return controlledVocabularyTables.stream()
-                .map(this::appendControlledVocabularyDefinition)
-                .collect(Response.toList())
-                .mapResult(result -> String.join(newLine(), result))
-                .mapResult(builder::append)
-                .mapResult(StringBuilder::toString);
+        private Response<Appendable> appendControlledVocabularyDefinitions(Appendable written) {
+            return appendTableDefinitions(controlledVocabularyTables, this::appendControlledVocabularyDefinition);
         }
 
-        private Response<String> appendControlledVocabularyDefinition(ControlledVocabularyTable controlledVocabularyTable) {
+        private Response<Appendable> appendControlledVocabularyDefinition(ControlledVocabularyTable controlledVocabularyTable) {
             return createTableDefinition(
                 createControlledVocabularyFullTableName(controlledVocabularyTable),
                 () -> createTableDescription(controlledVocabularyTable),
-                () -> createColumnDefinitions(controlledVocabularyTable),
+                () -> createColumnDefinitions(controlledVocabularyTable).mapResult(this::write),
                 getTableComment(controlledVocabularyTable),
                 findClusterColumns(controlledVocabularyTable),
                 false);
         }
 
         private String createControlledVocabularyFullTableName(ControlledVocabularyTable controlledVocabularyTable) {
-            return metadata.getTablePrefix() != null ?
-                metadata.getTablePrefix() + createControlledVocabularyTableName(controlledVocabularyTable) : createControlledVocabularyTableName(controlledVocabularyTable);
-        }
-
-        private String createControlledVocabularyTableName(ControlledVocabularyTable controlledVocabularyTable) {
-            String name = toSentenceCase(controlledVocabularyTable.getProperty().getName()) ;
-
-            if (options.isUsingPluralTableNames()) {
-                name = toPlural(name) ;
-            }
-
-            if (options.isUsingSnakeCaseTableNames()) {
-                name = toSnakeCase(name) ;
-            }
-
-            return name ;
+            return tableNames.getFullControlledVocabularyTableName(controlledVocabularyTable.getProperty());
         }
 
         private Response<String> createColumnDefinitions(ControlledVocabularyTable controlledVocabularyTable) {
@@ -708,31 +1238,42 @@ public class ANSICreateTableDDLGenerator implements CreateTableDDLGenerator {
 
         private Response<String> addColumnEnd(BrAPIObjectType brAPIObjectType, BrAPIObjectProperty property, String columnDefinition) {
 
+            if (collectingColumns && arrayStructDepth == 0) {
+                return success(columnDefinition);
+            }
+
             StringBuilder builder = new StringBuilder(columnDefinition);
 
-            if (options.isAddingNotNullConstraints() && !property.isNullable()
-                && (arrayStructDepth == 0 || options.isAddingConstraintsInArrayStructs())) {
+            if (isNotNullColumn(property) && (arrayStructDepth == 0 || options.isAddingConstraintsInArrayStructs())) {
                 builder.append(" NOT NULL");
             }
 
-            if (arrayStructDepth == 0 && options.isAddingPrimaryKeyConstraints() && options.getProperties().isPrimaryLinkPropertyFor(brAPIObjectType, property)
-                && arrayStructDepth == 0) {
+            if (arrayStructDepth == 0 && options.isAddingPrimaryKeyConstraints() && isPrimaryKeyColumn(brAPIObjectType, property, currentPrimaryTable)) {
                 builder.append(" PRIMARY KEY");
             }
 
-            builder.append(" COMMENT '");
+            String comment = escapeSingleSQLQuotes(getColumnDescription(brAPIObjectType, property));
 
-            if (property.getDescription() != null) {
-                builder.append(removeCarriageReturns(escapeSingleSQLQuotes(property.getDescription())));
-            } else {
-                builder.append(removeCarriageReturns(escapeSingleSQLQuotes(options.getProperties().getDescriptionFor(brAPIObjectType, property))));
+            if (isUsingInlineComments()) {
+                builder.append(" COMMENT '");
+                builder.append(comment);
+                builder.append("'");
+            } else if (arrayStructDepth == 0) {
+                commentStatements.add(String.format("COMMENT ON COLUMN %s.%s IS '%s' ;", currentTableName, columnName(columnDefinition), comment));
             }
 
-            builder.append("'");
-
             return success(builder.toString());
         }
 
+        private boolean isNotNullColumn(BrAPIObjectProperty property) {
+            return options.isAddingNotNullConstraints() && !property.isNullable();
+        }
+
+        private String getColumnDescription(BrAPIObjectType brAPIObjectType, BrAPIObjectProperty property) {
+            return removeCarriageReturns(property.getDescription() != null ?
+                property.getDescription() : options.getProperties().getDescriptionFor(brAPIObjectType, property));
+        }
+
         private Response<String> createColumnDefinition(BrAPIObjectType parentType, BrAPIObjectProperty property) {
             BrAPIType dereferencedType = brAPIClassCache.dereferenceType(property.getType());
 
@@ -755,10 +1296,21 @@ public class ANSICreateTableDDLGenerator implements CreateTableDDLGenerator {
             return fail(Response.ErrorType.VALIDATION, String.format("Unknown type '%s'", dereferencedType != null ? dereferencedType.getName() : "null"));
         }
 
+        private String getColumnName(BrAPIObjectProperty property) {
+            return quoteColumnName(property.getName());
+        }
+
+        private String columnName(String columnDefinition) {
+            return columnDefinition.strip().split("\\s+", 2)[0];
+        }
+
         private Response<String> createAdditionalInfoColumnDefinition(BrAPIObjectType parentType, BrAPIObjectProperty property) {
 
-            String builder = property.getName() +
-                " MAP<STRING,STRING>";
+            if (currentPrimaryTable && arrayStructDepth == 0 && options.isGeneratingIndexScript() && !collectingColumns) {
+                indexes.addAll(createDocumentIndexStatements(currentTableName, property.getName()));
+            }
+
+            String builder = getColumnName(property) + " " + getDocumentColumnType();
 
             return success(builder).conditionalMapResultToResponse(options.isAddingTableColumnComments(), result -> addColumnEnd(parentType, property, result));
         }
@@ -766,7 +1318,7 @@ public class ANSICreateTableDDLGenerator implements CreateTableDDLGenerator {
         private Response<String> createSimpleColumnDefinition(BrAPIObjectType parentType, BrAPIObjectProperty property, String type) {
 
             StringBuilder builder = new StringBuilder();
-            builder.append(property.getName());
+            builder.append(getColumnName(property));
             builder.append(" ");
 
             return findSimpleColumnType(type)
@@ -775,23 +1327,12 @@ public class ANSICreateTableDDLGenerator implements CreateTableDDLGenerator {
                 .conditionalMapResultToResponse(options.isAddingTableColumnComments(), result -> addColumnEnd(parentType, property, result));
         }
 
-        private Response<String> findSimpleColumnType(String type) {
-            return
-                switch (type) {
-                    case "integer" -> success("INT");
-                    case "number" -> success("DOUBLE");
-                    case "boolean" -> success("BOOLEAN");
-                    case "string" -> success("STRING");
-                    default -> fail(Response.ErrorType.VALIDATION, String.format("Unknown type '%s'", type));
-                };
-        }
-
         private Response<String> createObjectColumnDefinition(BrAPIObjectType parentType, BrAPIObjectProperty property, BrAPIObjectType brAPIObjectType) {
             return options.getProperties().getLinkTypeFor(parentType, property, brAPIObjectType).mapResultToResponse(
                 linkType -> switch (linkType) {
                     case EMBEDDED ->
-                        createObjectColumnType(brAPIObjectType)
-                            .mapResult(columnType -> property.getName() + " " + columnType)
+                        (isUsingNestedColumnTypes() ? createObjectColumnType(brAPIObjectType) : success(getDocumentColumnType()))
+                            .mapResult(columnType -> getColumnName(property) + " " + columnType)
                             .conditionalMapResultToResponse(options.isAddingTableColumnComments(), result -> addColumnEnd(brAPIObjectType, property, result));
                     case ID -> createLinkObjectDefinition(parentType, property, brAPIObjectType);
                     default ->
@@ -842,6 +1383,11 @@ public class ANSICreateTableDDLGenerator implements CreateTableDDLGenerator {
 
         private Response<String> createOneOfTypeColumnDefinition(BrAPIObjectType parentType, BrAPIObjectProperty property, BrAPIOneOfType brAPIOneOfType) {
 
+            if (!isUsingNestedColumnTypes()) {
+                return success(getColumnName(property) + " " + getDocumentColumnType())
+                    .conditionalMapResultToResponse(options.isAddingTableColumnComments(), result -> addColumnEnd(brAPIObjectType, property, result));
+            }
+
             int i = 1;
 
             List<Response<String>> responses = new ArrayList<>(brAPIOneOfType.getPossibleTypes().size());
@@ -903,7 +1449,20 @@ public class ANSICreateTableDDLGenerator implements CreateTableDDLGenerator {
 
             return switch (linkType) {
                 case EMBEDDED -> {
-                    builder.append(property.getName());
+                    builder.append(getColumnName(property));
+
+                    if (!isUsingNestedColumnTypes()) {
+                        builder.append(" ");
+
+                        // arrays of simple values use the native array type, other arrays are stored as documents
+                        yield (isSimpleType(dereferencedItemType) ?
+                            createArrayColumnType(dereferencedItemType).mapResult(ANSICreateTableDDLGenerator.this::createArrayColumnType) :
+                            success(getDocumentColumnType()))
+                            .mapResult(builder::append)
+                            .mapResult(StringBuilder::toString)
+                            .conditionalMapResultToResponse(options.isAddingTableColumnComments(), result -> addColumnEnd(brAPIObjectType, property, result));
+                    }
+
                     if (dereferencedItemType instanceof BrAPIObjectType) {
                         indent();
                         appendNewLine(builder);
@@ -923,14 +1482,13 @@ public class ANSICreateTableDDLGenerator implements CreateTableDDLGenerator {
                 }
                 case ID -> {
                     if (dereferencedItemType instanceof BrAPIObjectType dereferencedItemTypeObjectType) {
-                        builder.append(options.getProperties().getIdsPropertyNameFor(property));
+                        builder.append(quoteColumnName(options.getProperties().getIdsPropertyNameFor(property)));
                         builder.append(" ");
-                        builder.append("ARRAY<");
 
                         yield options.getProperties().getIdPropertyFor(dereferencedItemTypeObjectType)
                             .mapResultToResponse(p -> findSimpleColumnType(p.getType().getName()))
+                            .mapResult(ANSICreateTableDDLGenerator.this::createArrayColumnType)
                             .mapResult(builder::append)
-                            .mapResult(b -> b.append(">"))
                             .mapResult(StringBuilder::toString)
                             .conditionalMapResultToResponse(options.isAddingTableColumnComments(), result -> addColumnEnd(brAPIObjectType, property, result)) ;
                     } else {
@@ -952,6 +1510,10 @@ public class ANSICreateTableDDLGenerator implements CreateTableDDLGenerator {
             };
         }
 
+        private boolean isSimpleType(BrAPIType type) {
+            return type instanceof BrAPIPrimitiveType || type instanceof BrAPIEnumType;
+        }
+
         private Response<String> createArrayColumnType(BrAPIType itemType) {
             return switch (itemType) {
                 case BrAPIObjectType brAPIObjectItemType -> createObjectColumnType(brAPIObjectItemType);
@@ -0,0 +1,546 @@
+package org.brapi.schematools.core.sql;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import lombok.extern.slf4j.Slf4j;
+import org.brapi.schematools.core.brapischema.BrAPISchemaReader;
+import org.brapi.schematools.core.model.*;
+import org.brapi.schematools.core.options.LinkType;
+import org.brapi.schematools.core.response.Response;
+import org.brapi.schematools.core.sql.options.SQLGeneratorOptions;
+import org.brapi.schematools.core.utils.BrAPIClassCacheBuilder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.regex.Pattern;
+
+import static org.brapi.schematools.core.options.LinkType.EMBEDDED;
+import static org.brapi.schematools.core.options.LinkType.ID;
+import static org.brapi.schematools.core.response.Response.fail;
+import static org.brapi.schematools.core.response.Response.success;
+import static org.brapi.schematools.core.sql.SQLGenerator.isAddingDepreciatedProperty;
+import static org.brapi.schematools.core.utils.BrAPITypeUtils.unwrapType;
+import static org.brapi.schematools.core.utils.StringUtils.removeCarriageReturns;
+
+/**
+ * Generates columnar storage schemas for the BrAPI types for which the {@link SQLGenerator} generates
+ * tables with the same options, so that BrAPI data can be written to Parquet files with the same columns as the
+ * tables. For each type a Parquet message type, an Avro schema and, if needed, the Parquet writer properties with
+ * the dictionary encoding hints are generated. The embedded objects and arrays are nested groups and lists, in
+ * the same way as the nested STRUCT and ARRAY column types in the DDL. The links to other entities are the
+ * link columns, for example 'trialDbId', and the links to many entities are a list of their IDs, rather than
+ * separate link tables. The enum columns and the controlled vocabulary columns are dictionary encoded.
+ */
+@Slf4j
+public class ColumnarSchemaGenerator {
+    /**
+     * The file extension of the Parquet message types
+     */
+    public static final String PARQUET_SCHEMA_EXTENSION = ".parquet.schema";
+    /**
+     * The file extension of the Parquet writer properties
+     */
+    public static final String PARQUET_PROPERTIES_EXTENSION = ".parquet.properties";
+    /**
+     * The file extension of the Avro schemas
+     */
+    public static final String AVRO_SCHEMA_EXTENSION = ".avsc";
+
+    private static final Pattern AVRO_NAME = Pattern.compile("[A-Za-z_][A-Za-z0-9_]*");
+    // the suffix of the name of a nested struct built without the constraints, for example in an array
+    private static final String UNCONSTRAINED_SUFFIX = "Nullable";
+
+    private final BrAPISchemaReader schemaReader ;
+    private final SQLGeneratorOptions options ;
+    private final Path outputPath ;
+    private final ObjectMapper objectMapper ;
+
+    /**
+     * Creates a ColumnarSchemaGenerator using a default {@link BrAPISchemaReader} and
+     * the provided {@link SQLGeneratorOptions}.
+     * @param options The options to be used in the generation, the same as used to generate the tables
+     * @param outputPath the path of the output directory
+     */
+    public ColumnarSchemaGenerator(SQLGeneratorOptions options, Path outputPath) {
+        this(new BrAPISchemaReader(options.getBrAPISchemaReader()), options, outputPath) ;
+    }
+
+    /**
+     * Creates a ColumnarSchemaGenerator
+     * @param schemaReader the reader used to read the BrAPI schema
+     * @param options The options to be used in the generation, the same as used to generate the tables
+     * @param outputPath the path of the output directory
+     */
+    public ColumnarSchemaGenerator(BrAPISchemaReader schemaReader, SQLGeneratorOptions options, Path outputPath) {
+        this.schemaReader = schemaReader;
+        this.options = options;
+        this.outputPath = outputPath;
+        this.objectMapper = new ObjectMapper();
+    }
+
+    /**
+     * Generates the columnar storage schemas from the complete BrAPI Specification
+     * @param schemaDirectory the path to the complete BrAPI Specification
+     * @return the paths of the generated files
+     */
+    public Response<List<Path>> generate(Path schemaDirectory) {
+        return options.validate().asResponse()
+            .map(() -> schemaReader.readDirectories(schemaDirectory))
+            .mapResultToResponse(brAPIClasses -> new Generator(brAPIClasses).generate()) ;
+    }
+
+    /**
+     * Generates the columnar storage schemas from the BrAPI classes
+     * @param brAPIClasses the BrAPI classes from which the tables are generated
+     * @return the paths of the generated files
+     */
+    public Response<List<Path>> generate(List<BrAPIClass> brAPIClasses) {
+        return options.validate().asResponse()
+            .map(() -> new Generator(brAPIClasses).generate()) ;
+    }
+
+    private sealed interface ColumnType permits SimpleType, EnumerationType, ListType, MapType, StructType {
+    }
+
+    private record SimpleType(String type) implements ColumnType {
+    }
+
+    private record EnumerationType(String name, String type, List<String> symbols) implements ColumnType {
+    }
+
+    private record ListType(ColumnType itemType, boolean nullableItems) implements ColumnType {
+    }
+
+    private record MapType() implements ColumnType {
+    }
+
+    private record StructType(String name, List<Column> columns) implements ColumnType {
+    }
+
+    private record Column(String name, ColumnType type, boolean nullable, String description, boolean dictionary) {
+    }
+
+    private class Generator {
+        private final BrAPIClassCacheBuilder.BrAPIClassCache brAPIClassCache;
+        private final List<BrAPIObjectType> brAPIObjectTypes;
+        private final Set<String> path = new LinkedHashSet<>();
+
+        private Generator(List<BrAPIClass> brAPIClasses) {
+            this.brAPIClassCache = BrAPIClassCacheBuilder.builder(brAPIClasses).build();
+            this.brAPIObjectTypes = brAPIClasses.stream()
+                .filter(brAPIClass -> brAPIClass instanceof BrAPIObjectType)
+                .filter(brAPIClass -> SQLGenerator.isGeneratingTableFor(options, brAPIClass))
+                .map(BrAPIObjectType.class::cast)
+                .toList();
+        }
+
+        private Response<List<Path>> generate() {
+            try {
+                Files.createDirectories(outputPath) ;
+            } catch (IOException exception) {
+                return fail(Response.ErrorType.VALIDATION, outputPath, String.format("Can not create directory due to %s", exception.getMessage())) ;
+            }
+
+            return brAPIObjectTypes.stream()
+                .map(this::generate)
+                .collect(Response.mergeLists());
+        }
+
+        private Response<List<Path>> generate(BrAPIObjectType brAPIObjectType) {
+            return createColumns(brAPIObjectType, true)
+                .mapResult(columns -> new StructType(brAPIObjectType.getName(), columns))
+                .mapResultToResponse(table -> {
+                    List<Path> paths = new ArrayList<>();
+                    Properties dictionaryColumns = new Properties();
+
+                    return writeToFile(brAPIObjectType.getName() + PARQUET_SCHEMA_EXTENSION, createParquetMessageType(table, dictionaryColumns))
+                        .onSuccessIfPresentDoWithResult(paths::add)
+                        .mergeOnCondition(!dictionaryColumns.isEmpty(), () -> writeToFile(brAPIObjectType.getName() + PARQUET_PROPERTIES_EXTENSION, createParquetProperties(brAPIObjectType, dictionaryColumns)))
+                        .onSuccessIfPresentDoWithResult(paths::add)
+                        .merge(() -> createAvroSchema(table, getDescription(brAPIObjectType)))
+                        .mapResultToResponse(schema -> writeToFile(brAPIObjectType.getName() + AVRO_SCHEMA_EXTENSION, schema))
+                        .onSuccessIfPresentDoWithResult(paths::add)
+                        .map(() -> success(paths));
+                });
+        }
+
+        private Response<List<Column>> createColumns(BrAPIObjectType brAPIObjectType, boolean constrained) {
+            if (!path.add(brAPIObjectType.getName())) {
+                return fail(Response.ErrorType.VALIDATION, String.format("Can not embed '%s' within itself, embedded in '%s'", brAPIObjectType.getName(), String.join(" > ", path)));
+            }
+
+            try {
+                // the primary properties come first, as in the tables
+                Map<String, BrAPIObjectProperty> properties = new LinkedHashMap<>();
+
+                options.getProperties().getPrimaryPropertiesFor(brAPIObjectType)
+                    .forEach(property -> properties.putIfAbsent(property.getName(), property));
+                brAPIObjectType.getProperties()
+                    .stream()
+                    .filter(property -> isAddingDepreciatedProperty(options, property))
+                    .forEach(property -> properties.putIfAbsent(property.getName(), property));
+
+                Set<String> columnNames = new HashSet<>();
+
+                return properties.values()
+                    .stream()
+                    .map(property -> createColumns(brAPIObjectType, property, constrained))
+                    .collect(Response.mergeLists())
+                    // the link columns, for example 'trialDbId', may also be properties of the type
+                    .mapResult(columns -> columns.stream().filter(column -> columnNames.add(column.name())).toList());
+            } finally {
+                path.remove(brAPIObjectType.getName());
+            }
+        }
+
+        private Response<List<Column>> createColumns(BrAPIObjectType brAPIObjectType, BrAPIObjectProperty property, boolean constrained) {
+            BrAPIType type = brAPIClassCache.dereferenceType(property.getType());
+            BrAPIType itemType = unwrapAndDereferenceType(property.getType());
+            LinkType linkType = options.getProperties().getLinkTypeFor(brAPIObjectType, property, itemType).orElseResult(LinkType.NONE);
+
+            if (linkType == LinkType.NONE) {
+                return success(Collections.emptyList());
+            }
+
+            boolean nullable = isNullable(property, constrained);
+            String description = getDescription(brAPIObjectType, property);
+            boolean dictionary = isControlledVocabularyProperty(brAPIObjectType, property);
+
+            if (property.getType().getName().equals("AdditionalInfo")) {
+                return success(List.of(new Column(property.getName(), new MapType(), nullable, description, false)));
+            } else if (type instanceof BrAPIPrimitiveType || type instanceof BrAPIEnumType) {
+                return createColumnType(type, constrained)
+                    .mapResult(columnType -> List.of(new Column(property.getName(), columnType, nullable, description, dictionary)));
+            } else if (type instanceof BrAPIObjectType linkedType && linkType == ID) {
+                return success(options.getProperties().getLinkPropertiesFor(brAPIObjectType, property, linkedType)
+                    .stream()
+                    .filter(linkProperty -> linkProperty.getType() instanceof BrAPIPrimitiveType)
+                    .map(linkProperty -> new Column(linkProperty.getName(), new SimpleType(linkProperty.getType().getName()),
+                        isNullable(linkProperty, constrained), getDescription(brAPIObjectType, linkProperty), false))
+                    .toList());
+            } else if (type instanceof BrAPIArrayType && itemType instanceof BrAPIObjectType && linkType != EMBEDDED) {
+                // the IDs of the linked entities, stored in an array column or in a link table
+                return success(List.of(new Column(options.getProperties().getIdsPropertyNameFor(property),
+                    new ListType(new SimpleType("string"), false), nullable, description, false)));
+            } else if ((type instanceof BrAPIArrayType || type instanceof BrAPIObjectType || type instanceof BrAPIOneOfType) && linkType == EMBEDDED) {
+                return createColumnType(type, constrained)
+                    .mapResult(columnType -> List.of(new Column(property.getName(), columnType, nullable, description, dictionary)));
+            } else {
+                log.debug("Property '{}' on '{}' with link type '{}' has no column", property.getName(), brAPIObjectType.getName(), linkType);
+                return success(Collections.emptyList());
+            }
+        }
+
+        private Response<ColumnType> createColumnType(BrAPIType type, boolean constrained) {
+            BrAPIType dereferencedType = brAPIClassCache.dereferenceType(type);
+
+            if (dereferencedType instanceof BrAPIPrimitiveType brAPIPrimitiveType) {
+                return findSimpleType(brAPIPrimitiveType.getName());
+            } else if (dereferencedType instanceof BrAPIEnumType brAPIEnumType) {
+                return findSimpleType(brAPIEnumType.getType())
+                    .mapResult(simpleType -> new EnumerationType(brAPIEnumType.getName(), simpleType.type(), brAPIEnumType.getValues()
+                        .stream()
+                        .map(BrAPIEnumValue::getValue)
+                        .filter(Objects::nonNull)
+                        .map(Object::toString)
+                        .toList()));
+            } else if (dereferencedType instanceof BrAPIArrayType brAPIArrayType) {
+                // as in the nested STRUCT column types, the constraints are not added in arrays unless required
+                boolean constrainedItems = constrained && options.isAddingConstraintsInArrayStructs();
+
+                return createColumnType(brAPIArrayType.getItems(), constrainedItems)
+                    .mapResult(itemType -> new ListType(itemType, !constrainedItems));
+            } else if (dereferencedType instanceof BrAPIObjectType brAPIObjectType) {
+                // the struct is named by type and constraints, since a record is referenced by name after its first use
+                return createColumns(brAPIObjectType, constrained)
+                    .mapResult(columns -> new StructType(constrained ? brAPIObjectType.getName() : brAPIObjectType.getName() + UNCONSTRAINED_SUFFIX, columns));
+            } else if (dereferencedType instanceof BrAPIOneOfType brAPIOneOfType) {
+                // only one of the columns has a value
+                return brAPIOneOfType.getPossibleTypes()
+                    .stream()
+                    .map(possibleType -> createColumnType(possibleType, false)
+                        .mapResult(columnType -> new Column(possibleType.getName(), columnType, true, null, false)))
+                    .collect(Response.toList())
+                    .mapResult(columns -> new StructType(brAPIOneOfType.getName(), columns));
+            } else {
+                return fail(Response.ErrorType.VALIDATION, String.format("Unsupported type '%s'", type.getName()));
+            }
+        }
+
+        private Response<ColumnType> findSimpleType(String type) {
+            return switch (type) {
+                case "integer", "number", "boolean", "string" -> success(new SimpleType(type));
+                default -> fail(Response.ErrorType.VALIDATION, String.format("Unknown type '%s'", type));
+            };
+        }
+
+        private String createParquetMessageType(StructType table, Properties dictionaryColumns) {
+            StringBuilder builder = new StringBuilder();
+
+            builder.append("message ");
+            builder.append(table.name());
+            builder.append(" {");
+            builder.append(System.lineSeparator());
+
+            table.columns().forEach(column -> appendParquetField(builder, column.name(), column.type(), column.nullable(), column.dictionary(), column.name(), dictionaryColumns, 1));
+
+            builder.append("}");
+            builder.append(System.lineSeparator());
+
+            return builder.toString();
+        }
+
+        private void appendParquetField(StringBuilder builder, String name, ColumnType type, boolean nullable, boolean dictionary,
+                                        String columnPath, Properties dictionaryColumns, int depth) {
+            String indent = " ".repeat(options.getIndentSize() * depth);
+            String repetition = nullable ? "optional " : "required ";
+
+            builder.append(indent);
+            builder.append(repetition);
+
+            switch (type) {
+                case SimpleType simpleType -> {
+                    builder.append(createParquetPrimitiveType(simpleType.type(), name, "STRING"));
+
+                    if (dictionary && simpleType.type().equals("string")) {
+                        dictionaryColumns.setProperty("parquet.enable.dictionary#" + columnPath, "true");
+                    }
+                }
+                case EnumerationType enumerationType -> {
+                    builder.append(createParquetPrimitiveType(enumerationType.type(), name, "ENUM"));
+                    dictionaryColumns.setProperty("parquet.enable.dictionary#" + columnPath, "true");
+                }
+                case ListType listType -> {
+                    builder.append("group ");
+                    builder.append(name);
+                    builder.append(" (LIST) {");
+                    builder.append(System.lineSeparator());
+                    builder.append(indent).append(" ".repeat(options.getIndentSize()));
+                    builder.append("repeated group list {");
+                    builder.append(System.lineSeparator());
+                    appendParquetField(builder, "element", listType.itemType(), listType.nullableItems(), dictionary,
+                        columnPath + ".list.element", dictionaryColumns, depth + 2);
+                    builder.append(indent).append(" ".repeat(options.getIndentSize()));
+                    builder.append("}");
+                    builder.append(System.lineSeparator());
+                    builder.append(indent);
+                    builder.append("}");
+                }
+                case MapType mapType -> {
+                    String keyIndent = indent + " ".repeat(options.getIndentSize() * 2);
+                    builder.append("group ");
+                    builder.append(name);
+                    builder.append(" (MAP) {");
+                    builder.append(System.lineSeparator());
+                    builder.append(indent).append(" ".repeat(options.getIndentSize()));
+                    builder.append("repeated group key_value {");
+                    builder.append(System.lineSeparator());
+                    builder.append(keyIndent).append("required binary key (STRING);");
+                    builder.append(System.lineSeparator());
+                    builder.append(keyIndent).append("optional binary value (STRING);");
+                    builder.append(System.lineSeparator());
+                    builder.append(indent).append(" ".repeat(options.getIndentSize()));
+                    builder.append("}");
+                    builder.append(System.lineSeparator());
+                    builder.append(indent);
+                    builder.append("}");
+                }
+                case StructType structType -> {
+                    builder.append("group ");
+                    builder.append(name);
+                    builder.append(" {");
+                    builder.append(System.lineSeparator());
+                    structType.columns().forEach(column -> appendParquetField(builder, column.name(), column.type(), column.nullable(),
+                        dictionary || column.dictionary(), columnPath + "." + column.name(), dictionaryColumns, depth + 1));
+                    builder.append(indent);
+                    builder.append("}");
+                }
+            }
+
+            builder.append(System.lineSeparator());
+        }
+
+        private String createParquetPrimitiveType(String type, String name, String stringAnnotation) {
+            return switch (type) {
+                case "integer" -> String.format("int32 %s;", name);
+                case "number" -> String.format("double %s;", name);
+                case "boolean" -> String.format("boolean %s;", name);
+                default -> String.format("binary %s (%s);", name, stringAnnotation);
+            };
+        }
+
+        private String createParquetProperties(BrAPIObjectType brAPIObjectType, Properties dictionaryColumns) {
+            StringBuilder builder = new StringBuilder();
+
+            builder.append("# Dictionary encoding for the enum and controlled vocabulary columns of ");
+            builder.append(brAPIObjectType.getName());
+            builder.append(System.lineSeparator());
+
+            dictionaryColumns.stringPropertyNames()
+                .stream()
+                .sorted()
+                .forEach(name -> {
+                    builder.append(name);
+                    builder.append("=");
+                    builder.append(dictionaryColumns.getProperty(name));
+                    builder.append(System.lineSeparator());
+                });
+
+            return builder.toString();
+        }
+
+        private Response<String> createAvroSchema(StructType table, String description) {
+            try {
+                ObjectNode schema = createAvroRecord(table, description, new HashSet<>());
+
+                return success(objectMapper.writerWithDefaultPrettyPrinter().writeValueAsString(schema));
+            } catch (IOException exception) {
+                return fail(Response.ErrorType.VALIDATION, String.format("Can not create Avro schema for '%s' due to %s", table.name(), exception.getMessage()));
+            }
+        }
+
+        private ObjectNode createAvroRecord(StructType structType, String description, Set<String> definedNames) {
+            ObjectNode record = objectMapper.createObjectNode();
+
+            definedNames.add(structType.name());
+
+            record.put("type", "record");
+            record.put("name", structType.name());
+
+            if (description != null && !description.isBlank()) {
+                record.put("doc", description);
+            }
+
+            ArrayNode fields = record.putArray("fields");
+
+            for (Column column : structType.columns()) {
+                ObjectNode field = fields.addObject();
+
+                field.put("name", column.name());
+                field.set("type", createAvroType(column.type(), column.nullable(), definedNames));
+
+                if (column.nullable()) {
+                    field.putNull("default");
+                }
+
+                if (column.description() != null && !column.description().isBlank()) {
+                    field.put("doc", column.description());
+                }
+
+                if (column.dictionary() || column.type() instanceof EnumerationType) {
+                    // a hint for writers that support dictionary encoding, ignored by Avro
+                    field.put("dictionaryEncoded", true);
+                }
+            }
+
+            return record;
+        }
+
+        private JsonNode createAvroType(ColumnType columnType, boolean nullable, Set<String> definedNames) {
+            JsonNode type = switch (columnType) {
+                case SimpleType simpleType -> objectMapper.getNodeFactory().textNode(createAvroPrimitiveType(simpleType.type()));
+                case EnumerationType enumerationType -> createAvroEnum(enumerationType, definedNames);
+                case ListType listType -> {
+                    ObjectNode array = objectMapper.createObjectNode();
+                    array.put("type", "array");
+                    array.set("items", createAvroType(listType.itemType(), listType.nullableItems(), definedNames));
+                    yield array;
+                }
+                case MapType mapType -> {
+                    ObjectNode map = objectMapper.createObjectNode();
+                    map.put("type", "map");
+                    map.set("values", createAvroType(new SimpleType("string"), true, definedNames));
+                    yield map;
+                }
+                case StructType structType -> definedNames.contains(structType.name()) ?
+                    // a record can only be defined once in a schema, after which it is referenced by name
+                    objectMapper.getNodeFactory().textNode(structType.name()) :
+                    createAvroRecord(structType, null, definedNames);
+            };
+
+            if (nullable) {
+                ArrayNode union = objectMapper.createArrayNode();
+                union.add("null");
+                union.add(type);
+                return union;
+            }
+
+            return type;
+        }
+
+        private JsonNode createAvroEnum(EnumerationType enumerationType, Set<String> definedNames) {
+            if (!enumerationType.type().equals("string") || !AVRO_NAME.matcher(enumerationType.name()).matches() ||
+                !enumerationType.symbols().stream().allMatch(symbol -> AVRO_NAME.matcher(symbol).matches())) {
+                // the values can not be Avro enum symbols
+                return objectMapper.getNodeFactory().textNode(createAvroPrimitiveType(enumerationType.type()));
+            }
+
+            if (!definedNames.add(enumerationType.name())) {
+                return objectMapper.getNodeFactory().textNode(enumerationType.name());
+            }
+
+            ObjectNode enumeration = objectMapper.createObjectNode();
+            enumeration.put("type", "enum");
+            enumeration.put("name", enumerationType.name());
+            ArrayNode symbols = enumeration.putArray("symbols");
+            enumerationType.symbols().forEach(symbols::add);
+
+            return enumeration;
+        }
+
+        private String createAvroPrimitiveType(String type) {
+            return switch (type) {
+                case "integer" -> "int";
+                case "number" -> "double";
+                case "boolean" -> "boolean";
+                default -> "string";
+            };
+        }
+
+        private Response<Path> writeToFile(String fileName, String text) {
+            Path path = outputPath.resolve(fileName);
+
+            try {
+                if (!options.isOverwritingExistingFiles() && Files.exists(path)) {
+                    log.warn("Output file '{}' already exists and was not overwritten", path);
+                    return Response.empty() ;
+                }
+
+                Files.writeString(path, text);
+
+                return success(path) ;
+            } catch (IOException exception) {
+                return fail(Response.ErrorType.VALIDATION, path, String.format("Can not write to file due to %s", exception.getMessage())) ;
+            }
+        }
+
+        private boolean isNullable(BrAPIObjectProperty property, boolean constrained) {
+            // as in the DDL, the columns are required if the NOT NULL constraints are added
+            return property.isNullable() || !constrained || !options.isAddingNotNullConstraints();
+        }
+
+        private String getDescription(BrAPIObjectType brAPIObjectType) {
+            return removeCarriageReturns(brAPIObjectType.getDescription() != null ?
+                brAPIObjectType.getDescription() : options.getDescriptionFor(brAPIObjectType));
+        }
+
+        private String getDescription(BrAPIObjectType brAPIObjectType, BrAPIObjectProperty property) {
+            return removeCarriageReturns(property.getDescription() != null ?
+                property.getDescription() : options.getProperties().getDescriptionFor(brAPIObjectType, property));
+        }
+
+        private boolean isControlledVocabularyProperty(BrAPIObjectType brAPIObjectType, BrAPIObjectProperty property) {
+            return options.getControlledVocabulary().isGenerating() && brAPIObjectType.getMetadata() != null &&
+                brAPIObjectType.getMetadata().getControlledVocabularyProperties() != null &&
+                brAPIObjectType.getMetadata().getControlledVocabularyProperties().contains(property.getName());
+        }
+
+        private BrAPIType unwrapAndDereferenceType(BrAPIType type) {
+            return brAPIClassCache.dereferenceType(unwrapType(type));
+        }
+    }
+}
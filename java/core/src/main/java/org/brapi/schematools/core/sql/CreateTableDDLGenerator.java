@@ -1,13 +1,116 @@
 package org.brapi.schematools.core.sql;
 
+import org.brapi.schematools.core.model.BrAPIClass;
 import org.brapi.schematools.core.model.BrAPIObjectType;
 import org.brapi.schematools.core.response.Response;
+import org.brapi.schematools.core.sql.metadata.SQLGeneratorMetadata;
+import org.brapi.schematools.core.sql.options.SQLGeneratorOptions;
 
+import java.util.List;
+import java.util.Map;
 
+/**
+ * Generates the DDL to create the tables for BrAPI types in a specific SQL dialect
+ */
 public interface CreateTableDDLGenerator {
     Response<String> generateDDLForObjectType(BrAPIObjectType brAPIObjectType);
 
+    /**
+     * Writes the DDL for a BrAPI type to a sink as it is generated, including the DDL for
+     * its link and controlled vocabulary tables. The column, link table and constraint definitions
+     * are written one at a time, so the DDL for the whole table is never held in memory.
+     * @param brAPIObjectType the BrAPI type for which the tables are generated
+     * @param sink the sink to which the DDL is written, for example a file writer
+     * @return the sink, or the errors if the DDL could not be generated, in which case the sink may
+     * contain part of the DDL
+     * @param <A> the type of the sink
+     */
+    <A extends Appendable> Response<A> generateDDLForObjectType(BrAPIObjectType brAPIObjectType, A sink);
+
+    /**
+     * Generates the columns of the table for a BrAPI type, with the same names, types and constraints
+     * as in the CREATE TABLE statement. The properties that are stored in link tables have no column.
+     * @param brAPIObjectType the BrAPI type for which the columns are generated
+     * @return the columns of the table, in the order they are created
+     */
+    Response<List<SQLColumn>> generateColumnsForObjectType(BrAPIObjectType brAPIObjectType);
+
+    /**
+     * Generates the CREATE TABLE statements for a BrAPI type, including the statements for
+     * its link and controlled vocabulary tables, without any DROP TABLE statements
+     * @param brAPIObjectType the BrAPI type for which the tables are generated
+     * @return the CREATE TABLE statements by full table name, in the order they are generated
+     */
+    Response<Map<String, String>> generateTableDefinitionsForObjectType(BrAPIObjectType brAPIObjectType);
+
+    /**
+     * Generates the statements to add a column to an existing table. The column is added as nullable,
+     * since the existing rows have no value for it, with its comment if it has one.
+     * @param tableName the full name of the table
+     * @param column the column to be added
+     * @return the statements to add the column
+     */
+    List<String> generateAddColumnStatements(String tableName, SQLColumn column);
+
+    /**
+     * Generates the statement to change the type of a column of an existing table
+     * @param tableName the full name of the table
+     * @param oldColumn the existing column
+     * @param newColumn the column with the new type
+     * @return the statement, or a comment on how to change the type if it can not be changed in place
+     */
+    String generateAlterColumnTypeStatement(String tableName, SQLColumn oldColumn, SQLColumn newColumn);
+
+    /**
+     * Generates the statement to set the comment of a column of an existing table
+     * @param tableName the full name of the table
+     * @param column the column with the new comment
+     * @return the statement to set the comment
+     */
+    String generateColumnCommentStatement(String tableName, SQLColumn column);
+
     Response<String> generateDropScript();
 
+    /**
+     * Writes the DROP TABLE statements for all the tables generated so far to a sink, one statement at a time
+     * @param sink the sink to which the statements are written
+     * @return the sink
+     * @param <A> the type of the sink
+     */
+    <A extends Appendable> Response<A> generateDropScript(A sink);
+
     Response<String> generateForeignKeyConstraintScript();
+
+    /**
+     * Writes the foreign key constraints for all the tables generated so far to a sink, one constraint at a time
+     * @param sink the sink to which the constraints are written
+     * @return the sink
+     * @param <A> the type of the sink
+     */
+    <A extends Appendable> Response<A> generateForeignKeyConstraintScript(A sink);
+
+    Response<String> generateIndexScript();
+
+    /**
+     * Writes the CREATE INDEX statements for all the tables generated so far to a sink, one statement at a time
+     * @param sink the sink to which the statements are written
+     * @return the sink
+     * @param <A> the type of the sink
+     */
+    <A extends Appendable> Response<A> generateIndexScript(A sink);
+
+    /**
+     * Creates the generator for the dialect defined in the options
+     * @param options the options to be used in the generation
+     * @param metadata the metadata to be used in the generation
+     * @param brAPIClasses the BrAPI classes from which the tables are generated
+     * @return the generator for the dialect defined in the options
+     */
+    static CreateTableDDLGenerator forDialect(SQLGeneratorOptions options, SQLGeneratorMetadata metadata, List<BrAPIClass> brAPIClasses) {
+        return switch (options.getDialect()) {
+            case ANSI -> new ANSICreateTableDDLGenerator(options, metadata, brAPIClasses);
+            case SPARK -> new SparkCreateTableDDLGenerator(options, metadata, brAPIClasses);
+            case POSTGRESQL -> new PostgreSQLCreateTableDDLGenerator(options, metadata, brAPIClasses);
+        };
+    }
 }
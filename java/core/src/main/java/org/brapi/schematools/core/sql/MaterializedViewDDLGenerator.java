@@ -0,0 +1,571 @@
+package org.brapi.schematools.core.sql;
+
+import org.brapi.schematools.core.model.*;
+import org.brapi.schematools.core.options.LinkType;
+import org.brapi.schematools.core.response.Response;
+import org.brapi.schematools.core.sql.metadata.SQLGeneratorMetadata;
+import org.brapi.schematools.core.sql.options.MaterializedViewRefresh;
+import org.brapi.schematools.core.sql.options.SQLDialect;
+import org.brapi.schematools.core.sql.options.SQLGeneratorOptions;
+import org.brapi.schematools.core.utils.BrAPIClassCacheBuilder;
+
+import java.util.*;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.brapi.schematools.core.options.LinkType.EMBEDDED;
+import static org.brapi.schematools.core.options.LinkType.ID;
+import static org.brapi.schematools.core.response.Response.fail;
+import static org.brapi.schematools.core.response.Response.success;
+import static org.brapi.schematools.core.sql.SQLGenerator.COMMENT_PREFIX;
+import static org.brapi.schematools.core.sql.SQLGenerator.findIdName;
+import static org.brapi.schematools.core.sql.SQLGenerator.isAddingDepreciatedProperty;
+import static org.brapi.schematools.core.utils.BrAPITypeUtils.unwrapType;
+import static org.brapi.schematools.core.utils.StringUtils.toSentenceCase;
+import static org.brapi.schematools.core.utils.StringUtils.toSingular;
+
+/**
+ * Generates the DDL for the materialised views of the table endpoints, so that the table of a BrAPI type is
+ * downloaded by scanning the view, rather than by joining the tables on every request. The columns of the view
+ * are the header columns of the table response class, for example 'ObservationTable', which are found in the
+ * table for the type, in its embedded objects, or in the tables of the linked entities, followed by the columns
+ * that hold the values of the observation variables, see
+ * {@link org.brapi.schematools.core.sql.options.MaterializedViewOptions#getValueColumnsFor(BrAPIType)}.
+ * Each view has a unique index on the columns that identify a row, which is required to refresh the view in
+ * PostgreSQL with {@code REFRESH MATERIALIZED VIEW CONCURRENTLY}, and is used to read the rows in order, and an
+ * index for each column filtered on by the table endpoint. A concurrent refresh still recomputes the whole view,
+ * but does not lock out the readers while it does so. Databricks does not support indexes, so the view is
+ * clustered instead if clustering is enabled. Materialized views are not part of ANSI SQL, so no views are
+ * generated for the ANSI dialect. The refresh statements for the views of all the types selected by the
+ * {@link org.brapi.schematools.core.sql.options.MaterializedViewOptions} are provided by {@link #generateRefreshScript()}.
+ * For an incremental refresh in PostgreSQL, see {@link MaterializedViewRefresh#INCREMENTAL}, the view is created as a
+ * table, and the refresh script deletes and inserts again the rows of the entities that have changed since the last
+ * refresh, as found by the change tracking column of the joined tables, or whose rows have been deleted. The time of
+ * the last refresh of each view is kept in a separate table. The change tracking column is added to the tables with
+ * the time the row is inserted, and must be set by the application each time a row is updated.
+ */
+public class MaterializedViewDDLGenerator {
+    private static final String TABLE_ALIAS = "t";
+    private static final int MAX_CLUSTERING_COLUMNS = 4;
+    private static final String VIEW_ALIAS = "mv";
+    private static final String REFRESH_ALIAS = "r";
+
+    private final SQLGeneratorOptions options;
+    private final BrAPIClassCacheBuilder.BrAPIClassCache brAPIClassCache;
+    private final SQLTableNames tableNames;
+    private final List<BrAPIObjectType> brAPIObjectTypes;
+
+    /**
+     * Creates a MaterializedViewDDLGenerator
+     * @param options the options to be used in the generation, the same as used to generate the tables
+     * @param metadata the metadata to be used in the generation, the same as used to generate the tables
+     * @param brAPIClasses the BrAPI classes from which the tables are generated
+     */
+    public MaterializedViewDDLGenerator(SQLGeneratorOptions options, SQLGeneratorMetadata metadata, List<BrAPIClass> brAPIClasses) {
+        this.options = options;
+        this.brAPIClassCache = BrAPIClassCacheBuilder.builder(brAPIClasses).build();
+        this.tableNames = new SQLTableNames(options, metadata);
+        this.brAPIObjectTypes = brAPIClasses.stream()
+            .filter(brAPIClass -> brAPIClass instanceof BrAPIObjectType)
+            .map(brAPIClass -> (BrAPIObjectType) brAPIClass)
+            .toList();
+    }
+
+    /**
+     * Generates the DDL for the materialised view of the table endpoint of a BrAPI type, with its indexes
+     * @param brAPIObjectType the BrAPI type with a table endpoint
+     * @return the DDL for the materialised view
+     */
+    public Response<String> generateDDLForObjectType(BrAPIObjectType brAPIObjectType) {
+        return new Generator(brAPIObjectType).generate();
+    }
+
+    /**
+     * Generates the statements to refresh the materialised views of all the types for which views are generated,
+     * see {@link org.brapi.schematools.core.sql.options.MaterializedViewOptions#isGeneratingFor(BrAPIType)}
+     * @return the statements to refresh the materialised views, ordered by the name of the view
+     */
+    public Response<String> generateRefreshScript() {
+        if (options.getDialect() == SQLDialect.ANSI) {
+            return failForANSI();
+        }
+
+        return brAPIObjectTypes.stream()
+            .filter(brAPIObjectType -> options.getMaterializedViews().isGeneratingFor(brAPIObjectType))
+            .sorted(Comparator.comparing(tableNames::getFullMaterializedViewName))
+            .map(brAPIObjectType -> new Generator(brAPIObjectType).generateRefresh())
+            .collect(Response.toList())
+            .mapResult(statements -> String.join(System.lineSeparator(), statements));
+    }
+
+    private <T> Response<T> failForANSI() {
+        return fail(Response.ErrorType.VALIDATION, "Materialized views are not part of ANSI SQL, so can not be generated for the ANSI dialect");
+    }
+
+    /**
+     * A table from which the columns of the view are selected, which is either the table for the type,
+     * or a table that is joined to it on the join column. There are many rows in the table of the values
+     * for each row in the table for the type.
+     */
+    private record Source(BrAPIObjectType type, String tableName, String alias, String joinColumn, boolean values) {
+    }
+
+    /**
+     * A column of the view that identifies a row, which is the ID column of the table of the source
+     */
+    private record KeyColumn(String name, Source source, String column) {
+    }
+
+    private class Generator {
+        private final BrAPIObjectType brAPIObjectType;
+        private final String viewName;
+        private final Map<String, String> columns = new LinkedHashMap<>();
+        private final Set<Source> joinedSources = new LinkedHashSet<>();
+        private final List<String> missingColumns = new ArrayList<>();
+        private final List<KeyColumn> keyColumns = new ArrayList<>();
+        private Source table;
+
+        private Generator(BrAPIObjectType brAPIObjectType) {
+            this.brAPIObjectType = brAPIObjectType;
+            this.viewName = tableNames.getFullMaterializedViewName(brAPIObjectType);
+        }
+
+        private Response<String> generate() {
+            return findColumns().mapResult(generator -> createDDL());
+        }
+
+        private Response<String> generateRefresh() {
+            return findColumns().mapResult(generator -> isRefreshingIncrementally() ? createIncrementalRefresh() : createRefresh());
+        }
+
+        private boolean isRefreshingIncrementally() {
+            return options.getDialect() == SQLDialect.POSTGRESQL && options.getMaterializedViews().getRefresh() == MaterializedViewRefresh.INCREMENTAL;
+        }
+
+        private Response<Generator> findColumns() {
+            if (options.getDialect() == SQLDialect.ANSI) {
+                return failForANSI();
+            }
+
+            String tableClassName = options.getMaterializedViews().getTableClassNameFor(brAPIObjectType);
+
+            if (!(brAPIClassCache.getBrAPIClass(tableClassName) instanceof BrAPIObjectType tableClass)) {
+                return fail(Response.ErrorType.VALIDATION, String.format("Can not find the table class '%s' for the materialized view of '%s'", tableClassName, brAPIObjectType.getName()));
+            }
+
+            Optional<String> idColumn = findIdName(options, brAPIObjectType);
+
+            if (idColumn.isEmpty()) {
+                return fail(Response.ErrorType.VALIDATION, String.format("Can not find the ID property for the materialized view of '%s'", brAPIObjectType.getName()));
+            }
+
+            table = new Source(brAPIObjectType, tableNames.getFullTableName(brAPIObjectType), TABLE_ALIAS, null, false);
+
+            List<Source> sources = new ArrayList<>();
+            sources.add(table);
+            sources.addAll(findLinkedSources(idColumn.get()));
+
+            findHeaderColumns(tableClass).forEach(column -> addColumn(sources, column));
+            options.getMaterializedViews().getValueColumnsFor(brAPIObjectType).forEach(column -> addColumn(sources, column));
+
+            // the columns that identify a row, which are the ID of the type and of the entity of the values, if any
+            keyColumns.add(addKeyColumn(table, idColumn.get()));
+
+            joinedSources.stream()
+                .filter(Source::values)
+                .findFirst()
+                .flatMap(source -> findIdName(options, source.type()).map(id -> addKeyColumn(source, id)))
+                .ifPresent(keyColumns::add);
+
+            return success(this);
+        }
+
+        /**
+         * Finds the tables of the linked entities, which are the entities that the type links to by ID,
+         * followed by the first entity that links back to the type by ID, for example the observations of an
+         * observation unit. Since there are many of the latter for each row of the table, only one is joined.
+         */
+        private List<Source> findLinkedSources(String idColumn) {
+            List<Source> sources = new ArrayList<>();
+            Source valueSource = null;
+
+            for (BrAPIObjectProperty property : brAPIObjectType.getProperties()) {
+                if (!isAddingDepreciatedProperty(options, property)) {
+                    continue;
+                }
+
+                BrAPIType type = brAPIClassCache.dereferenceType(property.getType());
+                BrAPIType itemType = brAPIClassCache.dereferenceType(unwrapType(property.getType()));
+
+                if (!(itemType instanceof BrAPIObjectType linkedType) || !SQLGenerator.isGeneratingTableFor(options, linkedType)) {
+                    continue;
+                }
+
+                if (type instanceof BrAPIObjectType && getLinkTypeFor(brAPIObjectType, property, linkedType) == ID) {
+                    findIdName(options, linkedType).ifPresent(linkedIdColumn -> sources.add(
+                        new Source(linkedType, tableNames.getFullTableName(linkedType), "j" + (sources.size() + 1), linkedIdColumn, false)));
+                } else if (type instanceof BrAPIArrayType && valueSource == null && isLinkingBack(linkedType)) {
+                    valueSource = new Source(linkedType, tableNames.getFullTableName(linkedType), "v", idColumn, true);
+                }
+            }
+
+            if (valueSource != null) {
+                sources.add(valueSource);
+            }
+
+            return sources;
+        }
+
+        private boolean isLinkingBack(BrAPIObjectType linkedType) {
+            return linkedType.getProperties()
+                .stream()
+                .filter(property -> isAddingDepreciatedProperty(options, property))
+                .anyMatch(property -> brAPIClassCache.dereferenceType(property.getType()) instanceof BrAPIObjectType type &&
+                    type.getName().equals(brAPIObjectType.getName()) && getLinkTypeFor(linkedType, property, type) == ID);
+        }
+
+        private List<String> findHeaderColumns(BrAPIObjectType tableClass) {
+            return tableClass.getProperties()
+                .stream()
+                .filter(property -> property.getName().equals("headerRow"))
+                .map(property -> brAPIClassCache.dereferenceType(unwrapType(property.getType())))
+                .filter(type -> type instanceof BrAPIEnumType)
+                .flatMap(type -> ((BrAPIEnumType) type).getValues().stream())
+                .map(value -> String.valueOf(value.getValue()))
+                .toList();
+        }
+
+        private void addColumn(List<Source> sources, String column) {
+            if (columns.containsKey(column)) {
+                return;
+            }
+
+            for (Source source : sources) {
+                Optional<String> expression = findColumnExpression(source, column);
+
+                if (expression.isPresent()) {
+                    columns.put(column, expression.get());
+
+                    if (source.joinColumn() != null) {
+                        joinedSources.add(source);
+                    }
+
+                    return;
+                }
+            }
+
+            missingColumns.add(column);
+        }
+
+        /**
+         * Adds a column that identifies a row, if it is not already a column of the view
+         * @return the column of the view
+         */
+        private KeyColumn addKeyColumn(Source source, String column) {
+            String expression = source.alias() + "." + tableNames.getColumnName(column);
+
+            Optional<String> existingColumn = columns.entrySet()
+                .stream()
+                .filter(entry -> entry.getValue().equals(expression))
+                .map(Map.Entry::getKey)
+                .findFirst();
+
+            if (existingColumn.isPresent()) {
+                return new KeyColumn(existingColumn.get(), source, column);
+            }
+
+            String name = columns.containsKey(column) ? source.alias() + toSentenceCase(column) : column;
+
+            columns.put(name, expression);
+
+            return new KeyColumn(name, source, column);
+        }
+
+        /**
+         * Finds the column in the table of the source, or the field of an embedded object in the table of the source
+         */
+        private Optional<String> findColumnExpression(Source source, String column) {
+            if (findSimpleColumns(source.type()).contains(column)) {
+                return Optional.of(source.alias() + "." + tableNames.getColumnName(column));
+            }
+
+            return source.type().getProperties()
+                .stream()
+                .filter(property -> isAddingDepreciatedProperty(options, property))
+                .filter(property -> brAPIClassCache.dereferenceType(property.getType()) instanceof BrAPIObjectType embeddedType &&
+                    getLinkTypeFor(source.type(), property, embeddedType) == EMBEDDED && isSimpleField(embeddedType, column))
+                .findFirst()
+                .map(property -> createFieldExpression(source.alias() + "." + tableNames.getColumnName(property.getName()), column));
+        }
+
+        private Set<String> findSimpleColumns(BrAPIObjectType type) {
+            Set<String> simpleColumns = new HashSet<>();
+
+            options.getProperties().getPrimaryPropertiesFor(type).forEach(property -> simpleColumns.add(property.getName()));
+
+            type.getProperties()
+                .stream()
+                .filter(property -> isAddingDepreciatedProperty(options, property))
+                .forEach(property -> {
+                    BrAPIType propertyType = brAPIClassCache.dereferenceType(property.getType());
+
+                    if (propertyType instanceof BrAPIPrimitiveType || propertyType instanceof BrAPIEnumType) {
+                        simpleColumns.add(property.getName());
+                    } else if (propertyType instanceof BrAPIObjectType linkedType && getLinkTypeFor(type, property, linkedType) == ID) {
+                        options.getProperties().getLinkPropertiesFor(type, property, linkedType)
+                            .forEach(linkProperty -> simpleColumns.add(linkProperty.getName()));
+                    }
+                });
+
+            return simpleColumns;
+        }
+
+        private boolean isSimpleField(BrAPIObjectType embeddedType, String field) {
+            return embeddedType.getProperties()
+                .stream()
+                .filter(property -> property.getName().equals(field))
+                .map(property -> brAPIClassCache.dereferenceType(property.getType()))
+                .anyMatch(type -> type instanceof BrAPIPrimitiveType || type instanceof BrAPIEnumType);
+        }
+
+        private String createFieldExpression(String column, String field) {
+            // the embedded objects are JSONB columns in PostgreSQL, and STRUCT columns otherwise
+            return options.getDialect() == SQLDialect.POSTGRESQL ?
+                String.format("%s ->> '%s'", column, field) :
+                String.format("%s.%s", column, field);
+        }
+
+        private String createDDL() {
+            StringBuilder builder = new StringBuilder();
+
+            boolean incremental = isRefreshingIncrementally();
+
+            builder.append(COMMENT_PREFIX);
+            builder.append(String.format("Materialized view for the table endpoint of %s", brAPIObjectType.getName()));
+            builder.append(System.lineSeparator());
+
+            if (!missingColumns.isEmpty()) {
+                builder.append(COMMENT_PREFIX);
+                builder.append(String.format("The columns %s are not in the tables and are left out",
+                    missingColumns.stream().map(column -> "'" + column + "'").collect(Collectors.joining(", "))));
+                builder.append(System.lineSeparator());
+            }
+
+            if (incremental) {
+                // the rows that have changed since the last refresh are found by the change tracking column of each table
+                findSourceTableNames().forEach(tableName -> {
+                    builder.append(String.format("ALTER TABLE %s ADD COLUMN IF NOT EXISTS %s TIMESTAMPTZ NOT NULL DEFAULT now() ;",
+                        tableName, getChangeTrackingColumn()));
+                    builder.append(System.lineSeparator());
+                });
+            }
+
+            if (options.isAddingDropTable()) {
+                builder.append(String.format(incremental ? "DROP TABLE IF EXISTS %s ;" : "DROP MATERIALIZED VIEW IF EXISTS %s ;", viewName));
+                builder.append(System.lineSeparator());
+            }
+
+            List<String> keyColumnNames = keyColumns.stream().map(KeyColumn::name).toList();
+            List<String> filterColumns = findFilterColumns(keyColumnNames);
+
+            // a materialized view can not be changed, so for an incremental refresh the view is a table
+            builder.append(incremental ? "CREATE TABLE " : "CREATE MATERIALIZED VIEW ");
+            if (options.isAddingIfNotExists()) {
+                builder.append("IF NOT EXISTS ");
+            }
+            builder.append(viewName);
+            if (options.getDialect() == SQLDialect.SPARK && options.isClustering()) {
+                builder.append(" CLUSTER BY (");
+                builder.append(Stream.concat(keyColumnNames.stream(), filterColumns.stream())
+                    .limit(MAX_CLUSTERING_COLUMNS)
+                    .map(tableNames::getColumnName)
+                    .collect(Collectors.joining(", ")));
+                builder.append(")");
+            }
+            builder.append(" AS");
+            builder.append(System.lineSeparator());
+
+            appendSelect(builder, null);
+
+            builder.append(" ;");
+            builder.append(System.lineSeparator());
+
+            if (options.getDialect() == SQLDialect.POSTGRESQL) {
+                builder.append(createIndexStatement(keyColumnNames, true));
+                builder.append(System.lineSeparator());
+
+                filterColumns.forEach(column -> {
+                    builder.append(createIndexStatement(List.of(column), false));
+                    builder.append(System.lineSeparator());
+                });
+            }
+
+            if (incremental) {
+                String refreshTableName = tableNames.getFullMaterializedViewRefreshTableName();
+
+                builder.append(String.format("CREATE TABLE IF NOT EXISTS %s (viewName TEXT PRIMARY KEY, refreshedAt TIMESTAMPTZ NOT NULL) ;", refreshTableName));
+                builder.append(System.lineSeparator());
+                builder.append(String.format("INSERT INTO %s (viewName, refreshedAt) VALUES ('%s', now()) ON CONFLICT (viewName) DO UPDATE SET refreshedAt = EXCLUDED.refreshedAt ;",
+                    refreshTableName, viewName));
+                builder.append(System.lineSeparator());
+            }
+
+            return builder.toString();
+        }
+
+        private String createRefresh() {
+            return options.getDialect() == SQLDialect.POSTGRESQL ?
+                String.format("REFRESH MATERIALIZED VIEW CONCURRENTLY %s ;", viewName) :
+                String.format("REFRESH MATERIALIZED VIEW %s ;", viewName);
+        }
+
+        /**
+         * Creates the statements that delete and insert again the rows of the entities that have changed since the last
+         * refresh, or whose rows have been deleted, in a single transaction. The changed entities are found by comparing
+         * the change tracking column of each joined table with the time of the last refresh.
+         */
+        private String createIncrementalRefresh() {
+            StringBuilder builder = new StringBuilder();
+
+            String indent = " ".repeat(options.getIndentSize());
+            String refreshTableName = tableNames.getFullMaterializedViewRefreshTableName();
+            String changesTableName = tableNames.removeTablePrefix(viewName) + "_changes";
+            KeyColumn idColumn = keyColumns.getFirst();
+            String idName = tableNames.getColumnName(idColumn.name());
+
+            builder.append(COMMENT_PREFIX);
+            builder.append(String.format("Incremental refresh of %s, for the entities that have changed since the last refresh", viewName));
+            builder.append(System.lineSeparator());
+            builder.append("BEGIN ;");
+            builder.append(System.lineSeparator());
+
+            builder.append(String.format("CREATE TEMPORARY TABLE %s ON COMMIT DROP AS", changesTableName));
+            builder.append(System.lineSeparator());
+            builder.append(String.format("SELECT %s.%s AS %s", TABLE_ALIAS, tableNames.getColumnName(idColumn.column()), idName));
+            builder.append(System.lineSeparator());
+            appendFrom(builder, indent);
+            builder.append(System.lineSeparator());
+            builder.append(indent);
+            builder.append(String.format("JOIN %s %s ON %s.viewName = '%s'", refreshTableName, REFRESH_ALIAS, REFRESH_ALIAS, viewName));
+            builder.append(System.lineSeparator());
+            builder.append("WHERE ");
+            builder.append(Stream.concat(Stream.of(table), joinedSources.stream())
+                .map(source -> String.format("%s.%s > %s.refreshedAt", source.alias(), getChangeTrackingColumn(), REFRESH_ALIAS))
+                .collect(Collectors.joining(" OR ")));
+
+            // the rows whose entity, or entity of the values, has been deleted
+            keyColumns.forEach(keyColumn -> {
+                builder.append(System.lineSeparator());
+                builder.append("UNION");
+                builder.append(System.lineSeparator());
+                builder.append(String.format("SELECT %s.%s FROM %s %s WHERE ", VIEW_ALIAS, idName, viewName, VIEW_ALIAS));
+                if (keyColumn != idColumn) {
+                    builder.append(String.format("%s.%s IS NOT NULL AND ", VIEW_ALIAS, tableNames.getColumnName(keyColumn.name())));
+                }
+                builder.append(String.format("NOT EXISTS (SELECT 1 FROM %s %s WHERE %s.%s = %s.%s)",
+                    keyColumn.source().tableName(), keyColumn.source().alias(), keyColumn.source().alias(), tableNames.getColumnName(keyColumn.column()),
+                    VIEW_ALIAS, tableNames.getColumnName(keyColumn.name())));
+            });
+
+            builder.append(" ;");
+            builder.append(System.lineSeparator());
+
+            builder.append(String.format("DELETE FROM %s WHERE %s IN (SELECT %s FROM %s) ;", viewName, idName, idName, changesTableName));
+            builder.append(System.lineSeparator());
+
+            builder.append(String.format("INSERT INTO %s", viewName));
+            builder.append(System.lineSeparator());
+            appendSelect(builder, String.format("%s.%s IN (SELECT %s FROM %s)", TABLE_ALIAS, tableNames.getColumnName(idColumn.column()), idName, changesTableName));
+            builder.append(" ;");
+            builder.append(System.lineSeparator());
+
+            // the time of the refresh is the start of the transaction, so no changes made during the refresh are missed
+            builder.append(String.format("UPDATE %s SET refreshedAt = now() WHERE viewName = '%s' ;", refreshTableName, viewName));
+            builder.append(System.lineSeparator());
+            builder.append("COMMIT ;");
+
+            return builder.toString();
+        }
+
+        private void appendSelect(StringBuilder builder, String condition) {
+            String indent = " ".repeat(options.getIndentSize());
+
+            builder.append("SELECT");
+            builder.append(System.lineSeparator());
+            builder.append(columns.entrySet()
+                .stream()
+                .map(entry -> indent + entry.getValue() + " AS " + tableNames.getColumnName(entry.getKey()))
+                .collect(Collectors.joining("," + System.lineSeparator())));
+            builder.append(System.lineSeparator());
+            appendFrom(builder, indent);
+
+            if (condition != null) {
+                builder.append(System.lineSeparator());
+                builder.append("WHERE ");
+                builder.append(condition);
+            }
+        }
+
+        private void appendFrom(StringBuilder builder, String indent) {
+            builder.append("FROM ").append(table.tableName()).append(" ").append(table.alias());
+
+            // the linked entities are outer joined, so that every row of the table is in the view
+            joinedSources.forEach(source -> {
+                builder.append(System.lineSeparator());
+                builder.append(indent);
+                builder.append(String.format("LEFT JOIN %s %s ON %s.%s = %s.%s", source.tableName(), source.alias(),
+                    source.alias(), tableNames.getColumnName(source.joinColumn()), TABLE_ALIAS, tableNames.getColumnName(source.joinColumn())));
+            });
+        }
+
+        private List<String> findSourceTableNames() {
+            return Stream.concat(Stream.of(table), joinedSources.stream())
+                .map(Source::tableName)
+                .distinct()
+                .toList();
+        }
+
+        private String getChangeTrackingColumn() {
+            return tableNames.getColumnName(options.getMaterializedViews().getChangeTrackingColumn());
+        }
+
+        /**
+         * Finds the columns of the view that are filtered on by the table endpoint, as defined by the request schema,
+         * where the plural request parameter, for example 'studyDbIds', matches a column, for example 'studyDbId'
+         */
+        private List<String> findFilterColumns(List<String> keyColumns) {
+            if (!(brAPIClassCache.getBrAPIRequestClass(brAPIObjectType) instanceof BrAPIObjectType requestType)) {
+                return Collections.emptyList();
+            }
+
+            return requestType.getProperties()
+                .stream()
+                .map(property -> toSingular(property.getName()))
+                .filter(columns::containsKey)
+                .filter(column -> !column.equals(keyColumns.getFirst()))
+                .distinct()
+                .toList();
+        }
+
+        private String createIndexStatement(List<String> indexColumns, boolean unique) {
+            StringBuilder builder = new StringBuilder();
+
+            builder.append(unique ? "CREATE UNIQUE INDEX " : "CREATE INDEX ");
+            if (options.isAddingIfNotExists()) {
+                builder.append("IF NOT EXISTS ");
+            }
+            builder.append(tableNames.getIndexName(viewName, indexColumns));
+            builder.append(" ON ");
+            builder.append(viewName);
+            builder.append(" (");
+            builder.append(indexColumns.stream().map(tableNames::getColumnName).collect(Collectors.joining(", ")));
+            builder.append(") ;");
+
+            return builder.toString();
+        }
+
+        private LinkType getLinkTypeFor(BrAPIObjectType type, BrAPIObjectProperty property, BrAPIType linkedType) {
+            return options.getProperties().getLinkTypeFor(type, property, linkedType).orElseResult(LinkType.NONE);
+        }
+    }
+}
@@ -0,0 +1,221 @@
+package org.brapi.schematools.core.sql;
+
+import lombok.extern.slf4j.Slf4j;
+import org.brapi.schematools.core.model.BrAPIClass;
+import org.brapi.schematools.core.model.BrAPIObjectProperty;
+import org.brapi.schematools.core.model.BrAPIObjectType;
+import org.brapi.schematools.core.response.Response;
+import org.brapi.schematools.core.sql.metadata.SQLGeneratorMetadata;
+import org.brapi.schematools.core.sql.options.SQLGeneratorOptions;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.brapi.schematools.core.response.Response.fail;
+import static org.brapi.schematools.core.response.Response.success;
+
+/**
+ * Generates the DDL to create PostgreSQL tables for BrAPI types. Arrays of simple values are stored in native
+ * array columns, and the additional info, embedded objects and arrays of objects are stored in JSONB columns,
+ * which are indexed with GIN indexes in the index script. Partitioned tables use declarative partitioning, by list
+ * with a DEFAULT partition for a single partition column, otherwise by hash with a fixed number of partitions.
+ * Comments are added with COMMENT ON statements and only the ID column of each table is a PRIMARY KEY, except for
+ * partitioned tables, where the PRIMARY KEY must also include the partition columns. A foreign key that references
+ * a partitioned table includes its partition columns, so it is only added if the referencing table has those columns.
+ * Columns named with PostgreSQL reserved words, such as 'end', are quoted.
+ */
+@Slf4j
+public class PostgreSQLCreateTableDDLGenerator extends ANSICreateTableDDLGenerator {
+    // the reserved key words that can not be used as column names, see https://www.postgresql.org/docs/current/sql-keywords-appendix.html
+    private static final Set<String> RESERVED_WORDS = Set.of(
+        "all", "analyse", "analyze", "and", "any", "array", "as", "asc", "asymmetric", "authorization", "binary", "both",
+        "case", "cast", "check", "collate", "collation", "column", "concurrently", "constraint", "create", "cross",
+        "current_catalog", "current_date", "current_role", "current_schema", "current_time", "current_timestamp",
+        "current_user", "default", "deferrable", "desc", "distinct", "do", "else", "end", "except", "false", "fetch",
+        "for", "foreign", "freeze", "from", "full", "grant", "group", "having", "ilike", "in", "initially", "inner",
+        "intersect", "into", "is", "isnull", "join", "lateral", "leading", "left", "like", "limit", "localtime",
+        "localtimestamp", "natural", "not", "notnull", "null", "offset", "on", "only", "or", "order", "outer",
+        "overlaps", "placing", "primary", "references", "returning", "right", "select", "session_user", "similar",
+        "some", "symmetric", "system_user", "table", "tablesample", "then", "to", "trailing", "true", "union", "unique",
+        "user", "using", "variadic", "verbose", "when", "where", "window", "with");
+
+    public PostgreSQLCreateTableDDLGenerator(SQLGeneratorOptions options, SQLGeneratorMetadata metadata, List<BrAPIClass> brAPIClasses) {
+        super(options, metadata, brAPIClasses);
+
+        if (super.getTableUsing() != null) {
+            log.warn("Table format '{}' is not supported by PostgreSQL, the USING clause will not be added", super.getTableUsing());
+        }
+    }
+
+    @Override
+    protected Response<String> findSimpleColumnType(String type) {
+        return
+            switch (type) {
+                case "integer" -> success("INTEGER");
+                case "number" -> success("DOUBLE PRECISION");
+                case "boolean" -> success("BOOLEAN");
+                case "string" -> success("TEXT");
+                default -> fail(Response.ErrorType.VALIDATION, String.format("Unknown type '%s'", type));
+            };
+    }
+
+    @Override
+    protected String createArrayColumnType(String itemColumnType) {
+        return itemColumnType + "[]";
+    }
+
+    @Override
+    protected boolean isUsingNestedColumnTypes() {
+        return false;
+    }
+
+    @Override
+    protected String getDocumentColumnType() {
+        return "JSONB";
+    }
+
+    @Override
+    protected boolean isUsingInlineComments() {
+        return false;
+    }
+
+    @Override
+    protected boolean isPrimaryKeyColumn(BrAPIObjectType brAPIObjectType, BrAPIObjectProperty property, boolean primaryTable) {
+        return primaryTable && options.getPartitionColumnsFor(brAPIObjectType).isEmpty() &&
+            options.getProperties().getIdPropertyFor(brAPIObjectType)
+                .mapResult(idProperty -> idProperty.getName().equals(property.getName()))
+                .getResultIfPresentOrElseResult(false);
+    }
+
+    @Override
+    protected List<String> createTableConstraints(BrAPIObjectType brAPIObjectType, String tableName) {
+        if (!options.isAddingPrimaryKeyConstraints() || options.getPartitionColumnsFor(brAPIObjectType).isEmpty()) {
+            return List.of();
+        }
+
+        return options.getProperties().getIdPropertyFor(brAPIObjectType)
+            .mapResult(idProperty -> findPrimaryKeyColumns(brAPIObjectType, idProperty).stream()
+                .map(this::quoteColumnName)
+                .collect(Collectors.joining(", ")))
+            .mapResult(columns -> List.of(String.format("CONSTRAINT %s_pk PRIMARY KEY (%s)", removeTablePrefix(tableName), columns)))
+            .getResultIfPresentOrElseResult(List.of());
+    }
+
+    @Override
+    protected List<BrAPIObjectProperty> findForeignKeyProperties(BrAPIObjectType brAPIObjectType, BrAPIObjectProperty property, BrAPIObjectType linkedType) {
+        // the foreign key references the PRIMARY KEY of the linked table, which is only its ID column
+        if (!options.getProperties().getId().isLinkForTypeOrProperty(brAPIObjectType, property, linkedType)) {
+            return List.of();
+        }
+
+        List<BrAPIObjectProperty> idProperties = super.findForeignKeyProperties(brAPIObjectType, property, linkedType).stream().limit(1).toList();
+
+        if (idProperties.isEmpty() || options.getPartitionColumnsFor(linkedType).isEmpty()) {
+            return idProperties;
+        }
+
+        // unless the linked table is partitioned, in which case the PRIMARY KEY also includes its partition columns,
+        // which must have the same names in the table for the type
+        Set<String> columnNames = generateColumnsForObjectType(brAPIObjectType)
+            .mapResult(columns -> columns.stream().map(SQLColumn::getName).collect(Collectors.toSet()))
+            .getResultIfPresentOrElseResult(Set.of());
+
+        List<String> partitionColumns = options.getProperties().getIdPropertyFor(linkedType)
+            .mapResult(idProperty -> findPrimaryKeyColumns(linkedType, idProperty).stream().skip(1).toList())
+            .getResultIfPresentOrElseResult(List.of());
+
+        if (!columnNames.containsAll(partitionColumns)) {
+            log.warn("No foreign key from type '{}' to '{}', since the table for '{}' has no columns for the partition columns '{}'",
+                brAPIObjectType.getName(), linkedType.getName(), brAPIObjectType.getName(), String.join("', '", partitionColumns));
+            return List.of();
+        }
+
+        return Stream.concat(idProperties.stream(), partitionColumns.stream().map(column -> BrAPIObjectProperty.builder().name(column).build())).toList();
+    }
+
+    /**
+     * Finds the columns of the PRIMARY KEY of a partitioned table, which are the ID column followed by the partition columns
+     * @param brAPIObjectType the type for which the table is generated
+     * @param idProperty the ID property of the type
+     * @return the columns of the PRIMARY KEY, unquoted
+     */
+    private List<String> findPrimaryKeyColumns(BrAPIObjectType brAPIObjectType, BrAPIObjectProperty idProperty) {
+        return Stream.concat(Stream.of(idProperty.getName()), options.getPartitionColumnsFor(brAPIObjectType).stream())
+            .distinct()
+            .toList();
+    }
+
+    @Override
+    protected String quoteColumnName(String columnName) {
+        return quoteReservedWord(columnName);
+    }
+
+    /**
+     * Quotes a name if it is a reserved key word in PostgreSQL
+     * @param name the name of the column
+     * @return the name quoted if it is reserved, otherwise the name
+     */
+    static String quoteReservedWord(String name) {
+        return RESERVED_WORDS.contains(name.toLowerCase()) ? "\"" + name + "\"" : name;
+    }
+
+    @Override
+    protected String createDropTableStatement(String tableName) {
+        // also drops the foreign key constraints that reference the table
+        return "DROP TABLE IF EXISTS " + tableName + " CASCADE ;";
+    }
+
+    @Override
+    public String generateAlterColumnTypeStatement(String tableName, SQLColumn oldColumn, SQLColumn newColumn) {
+        String columnName = quoteColumnName(newColumn.getName());
+
+        // the existing values are converted with an explicit cast, since there may be no implicit cast
+        return String.format("ALTER TABLE %s ALTER COLUMN %s TYPE %s USING %s::%s ;", tableName, columnName, newColumn.getType(), columnName, newColumn.getType());
+    }
+
+    @Override
+    protected String getTableUsing() {
+        return null;
+    }
+
+    @Override
+    protected String createPartitionClause(String tableName, List<String> columns) {
+        // list partitioning only supports a single column
+        return columns.size() == 1 ?
+            "PARTITION BY LIST (" + quoteColumnName(columns.getFirst()) + ")" :
+            "PARTITION BY HASH (" + columns.stream().map(this::quoteColumnName).collect(Collectors.joining(", ")) + ")";
+    }
+
+    @Override
+    protected List<String> createPartitionStatements(String tableName, List<String> columns) {
+        // rows can not be inserted into a partitioned table that has no partition for them
+        if (columns.size() == 1) {
+            return List.of(String.format("CREATE TABLE %s_default PARTITION OF %s DEFAULT ;", tableName, tableName));
+        }
+
+        int partitions = options.getHashPartitions();
+
+        return IntStream.range(0, partitions)
+            .mapToObj(remainder -> String.format("CREATE TABLE %s_p%d PARTITION OF %s FOR VALUES WITH (MODULUS %d, REMAINDER %d) ;",
+                tableName, remainder, tableName, partitions, remainder))
+            .toList();
+    }
+
+    @Override
+    protected String createClusterClause(String tableName, List<String> columns) {
+        return null;
+    }
+
+    @Override
+    protected boolean isUsingTableProperties() {
+        return false;
+    }
+
+    @Override
+    protected List<String> createDocumentIndexStatements(String tableName, String column) {
+        return List.of(createIndexStatement(tableName, List.of(column), "GIN"));
+    }
+}
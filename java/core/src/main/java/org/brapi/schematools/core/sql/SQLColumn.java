@@ -0,0 +1,36 @@
+package org.brapi.schematools.core.sql;
+
+import lombok.Builder;
+import lombok.Value;
+import org.brapi.schematools.core.model.BrAPIObjectProperty;
+
+/**
+ * A column of the table for a BrAPI type, as it is created by a {@link CreateTableDDLGenerator}
+ */
+@Builder(toBuilder = true)
+@Value
+public class SQLColumn {
+    /**
+     * The name of the column, unquoted
+     */
+    String name;
+    /**
+     * The column type in the dialect, for example 'STRING' or 'TEXT[]'
+     */
+    String type;
+    boolean notNull;
+    boolean primaryKey;
+    /**
+     * The comment of the column, or {@code null} if no comments are added
+     */
+    String comment;
+    /**
+     * The property from which the value of the column is taken
+     */
+    BrAPIObjectProperty property;
+    /**
+     * The property of the type that links to another type, from which the link column
+     * is derived, for example 'trial' for the column 'trialDbId', or {@code null}
+     */
+    BrAPIObjectProperty linkProperty;
+}
@@ -0,0 +1,580 @@
+package org.brapi.schematools.core.sql;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.brapi.schematools.core.brapischema.BrAPISchemaReader;
+import org.brapi.schematools.core.model.*;
+import org.brapi.schematools.core.options.LinkType;
+import org.brapi.schematools.core.response.Response;
+import org.brapi.schematools.core.sql.metadata.SQLGeneratorMetadata;
+import org.brapi.schematools.core.sql.options.SQLDataLoadFormat;
+import org.brapi.schematools.core.sql.options.SQLDialect;
+import org.brapi.schematools.core.sql.options.SQLGeneratorOptions;
+import org.brapi.schematools.core.utils.BrAPIClassCacheBuilder;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
+
+import static org.brapi.schematools.core.options.LinkType.EMBEDDED;
+import static org.brapi.schematools.core.options.LinkType.ID;
+import static org.brapi.schematools.core.options.LinkType.SUB_QUERY;
+import static org.brapi.schematools.core.response.Response.fail;
+import static org.brapi.schematools.core.response.Response.success;
+import static org.brapi.schematools.core.sql.SQLGenerator.COMMENT_PREFIX;
+import static org.brapi.schematools.core.sql.SQLGenerator.isAddingDepreciatedProperty;
+import static org.brapi.schematools.core.utils.BrAPITypeUtils.unwrapType;
+import static org.brapi.schematools.core.utils.StringUtils.escapeSQLStringLiteral;
+import static org.brapi.schematools.core.utils.StringUtils.escapeSparkSQLStringLiteral;
+
+/**
+ * Generates the scripts and files to bulk load BrAPI entities, for example example or seed data, into
+ * the tables generated by the {@link SQLGenerator} with the same options. The entities are provided as
+ * JSON arrays by entity name, such as the output of the {@link org.brapi.schematools.core.examples.ExamplesGenerator}.
+ * The rows of the link tables and controlled vocabulary tables are derived from the entities. Depending
+ * on the {@link SQLGeneratorOptions#getDataLoadFormat()} either a script of multi-row INSERT statements
+ * is generated, or a CSV file for each table with a script to bulk load the CSV files.
+ * In the dialects that use nested STRUCT columns the embedded objects are not loaded, and neither are
+ * the ARRAY and MAP columns when loading from CSV files, since these can not be represented in CSV.
+ */
+@Slf4j
+public class SQLDataLoadGenerator {
+    /**
+     * The name of the script that loads the data
+     */
+    public static final String LOAD_SCRIPT = "load_data.sql";
+
+    private final BrAPISchemaReader schemaReader ;
+    private final SQLGeneratorOptions options ;
+    private final Path outputPath ;
+    private final ObjectMapper objectMapper ;
+
+    /**
+     * Creates a SQLDataLoadGenerator using a default {@link BrAPISchemaReader} and
+     * the provided {@link SQLGeneratorOptions}.
+     * @param options The options to be used in the generation, the same as used to generate the tables
+     * @param outputPath the path of the output directory
+     */
+    public SQLDataLoadGenerator(SQLGeneratorOptions options, Path outputPath) {
+        this(new BrAPISchemaReader(options.getBrAPISchemaReader()), options, outputPath) ;
+    }
+
+    /**
+     * Creates a SQLDataLoadGenerator
+     * @param schemaReader the reader used to read the BrAPI schema
+     * @param options The options to be used in the generation, the same as used to generate the tables
+     * @param outputPath the path of the output directory
+     */
+    public SQLDataLoadGenerator(BrAPISchemaReader schemaReader, SQLGeneratorOptions options, Path outputPath) {
+        this.schemaReader = schemaReader;
+        this.options = options;
+        this.outputPath = outputPath;
+        this.objectMapper = new ObjectMapper();
+    }
+
+    /**
+     * Generates the data load script and files from the complete BrAPI Specification
+     * @param schemaDirectory the path to the complete BrAPI Specification
+     * @param metadata the metadata used to generate the tables
+     * @param entities the JSON arrays of entities by entity name, for example 'Study'
+     * @return the paths of the generated files
+     */
+    public Response<List<Path>> generate(Path schemaDirectory, SQLGeneratorMetadata metadata, Map<String, JsonNode> entities) {
+        return options.validate().asResponse()
+            .map(() -> schemaReader.readDirectories(schemaDirectory))
+            .mapResultToResponse(brAPIClasses -> new Generator(brAPIClasses, metadata).generate(entities)) ;
+    }
+
+    /**
+     * Generates the data load script and files from the BrAPI classes
+     * @param brAPIClasses the BrAPI classes from which the tables were generated
+     * @param metadata the metadata used to generate the tables
+     * @param entities the JSON arrays of entities by entity name, for example 'Study'
+     * @return the paths of the generated files
+     */
+    public Response<List<Path>> generate(List<BrAPIClass> brAPIClasses, SQLGeneratorMetadata metadata, Map<String, JsonNode> entities) {
+        return options.validate().asResponse()
+            .map(() -> new Generator(brAPIClasses, metadata).generate(entities)) ;
+    }
+
+    private enum ColumnType {
+        SIMPLE,
+        ARRAY,
+        MAP,
+        DOCUMENT
+    }
+
+    private record Column(String name, ColumnType type) {
+    }
+
+    private static class TableData {
+        private final String name;
+        private final List<Column> columns;
+        private final Collection<List<JsonNode>> rows;
+
+        private TableData(String name, List<Column> columns, boolean distinct) {
+            this.name = name;
+            this.columns = columns;
+            this.rows = distinct ? new LinkedHashSet<>() : new ArrayList<>();
+        }
+    }
+
+    private class Generator {
+        private final BrAPIClassCacheBuilder.BrAPIClassCache brAPIClassCache;
+        private final SQLTableNames tableNames;
+        private final CreateTableDDLGenerator createTableDDLGenerator;
+        private final Map<String, TableData> tables = new LinkedHashMap<>();
+
+        private Generator(List<BrAPIClass> brAPIClasses, SQLGeneratorMetadata metadata) {
+            this.brAPIClassCache = BrAPIClassCacheBuilder.builder(brAPIClasses).build();
+            this.tableNames = new SQLTableNames(options, metadata);
+            // the columns are those created by the DDL, so that the data matches the tables
+            this.createTableDDLGenerator = CreateTableDDLGenerator.forDialect(options, metadata, brAPIClasses);
+        }
+
+        private Response<List<Path>> generate(Map<String, JsonNode> entities) {
+            return entities.keySet()
+                .stream()
+                .sorted()
+                .map(entityName -> addEntities(entityName, entities.get(entityName)))
+                .collect(Response.toList())
+                .map(this::write);
+        }
+
+        private Response<String> addEntities(String entityName, JsonNode entities) {
+            if (!(brAPIClassCache.getBrAPIClass(entityName) instanceof BrAPIObjectType brAPIObjectType)) {
+                return fail(Response.ErrorType.VALIDATION, String.format("Unknown entity '%s'", entityName));
+            }
+
+            if (entities == null || !entities.isArray()) {
+                return fail(Response.ErrorType.VALIDATION, String.format("The entities for '%s' must be a JSON array", entityName));
+            }
+
+            return createTableDDLGenerator.generateColumnsForObjectType(brAPIObjectType)
+                .onSuccessDoWithResult(tableColumns -> addEntities(brAPIObjectType, tableColumns, entities))
+                .mapResult(tableColumns -> entityName);
+        }
+
+        private void addEntities(BrAPIObjectType brAPIObjectType, List<SQLColumn> tableColumns, JsonNode entities) {
+            List<BrAPIObjectProperty> properties = brAPIObjectType.getProperties()
+                .stream()
+                .filter(property -> isAddingDepreciatedProperty(options, property))
+                .toList();
+
+            Map<Column, PropertyValue> columns = new LinkedHashMap<>();
+
+            tableColumns.forEach(column -> addColumn(brAPIObjectType, column, columns));
+
+            TableData table = getTable(tableNames.getFullTableName(brAPIObjectType), new ArrayList<>(columns.keySet()), false);
+
+            // the controlled vocabulary tables have the same column as the table for the entity
+            Map<BrAPIObjectProperty, Map<Column, PropertyValue>> controlledVocabularyColumns = new LinkedHashMap<>();
+
+            properties.stream()
+                .filter(property -> isControlledVocabularyProperty(brAPIObjectType, property))
+                .forEach(property -> {
+                    Map<Column, PropertyValue> controlledVocabularyColumn = new LinkedHashMap<>();
+                    tableColumns.stream()
+                        .filter(column -> column.getProperty().getName().equals(property.getName()))
+                        .forEach(column -> addColumn(brAPIObjectType, column, controlledVocabularyColumn));
+                    controlledVocabularyColumns.put(property, controlledVocabularyColumn);
+                });
+
+            for (JsonNode entity : entities) {
+                table.rows.add(createRow(columns, entity));
+
+                properties.forEach(property -> addLinkTableRows(brAPIObjectType, property, entity));
+                controlledVocabularyColumns.forEach((property, controlledVocabularyColumn) ->
+                    addControlledVocabularyRow(property, controlledVocabularyColumn, entity));
+            }
+        }
+
+        private void addColumn(BrAPIObjectType brAPIObjectType, SQLColumn column, Map<Column, PropertyValue> columns) {
+            BrAPIObjectProperty property = column.getProperty();
+            BrAPIType type = brAPIClassCache.dereferenceType(property.getType());
+            BrAPIType itemType = unwrapAndDereferenceType(property.getType());
+            LinkType linkType = options.getProperties().getLinkTypeFor(brAPIObjectType, property, itemType).orElseResult(LinkType.NONE);
+
+            if (column.getLinkProperty() != null) {
+                // the link columns, for example 'trialDbId', are either in the entity or in the nested object
+                String linkPropertyName = column.getLinkProperty().getName();
+
+                addColumn(columns, new Column(column.getName(), ColumnType.SIMPLE),
+                    entity -> entity.has(column.getName()) ? entity.get(column.getName()) : entity.path(linkPropertyName).get(column.getName()));
+            } else if (property.getType().getName().equals("AdditionalInfo")) {
+                addColumn(columns, new Column(column.getName(), ColumnType.MAP), entity -> entity.get(property.getName()));
+            } else if (type instanceof BrAPIPrimitiveType || type instanceof BrAPIEnumType) {
+                addColumn(columns, new Column(column.getName(), ColumnType.SIMPLE), entity -> entity.get(property.getName()));
+            } else if (type instanceof BrAPIArrayType && itemType instanceof BrAPIObjectType linkedType && linkType == ID) {
+                addColumn(columns, new Column(column.getName(), ColumnType.ARRAY),
+                    entity -> entity.has(column.getName()) ? entity.get(column.getName()) : findIds(linkedType, entity.get(property.getName())));
+            } else if (type instanceof BrAPIArrayType && linkType == EMBEDDED) {
+                ColumnType columnType = itemType instanceof BrAPIPrimitiveType || itemType instanceof BrAPIEnumType ? ColumnType.ARRAY : ColumnType.DOCUMENT;
+
+                addColumn(columns, new Column(column.getName(), columnType), entity -> entity.get(property.getName()));
+            } else {
+                addColumn(columns, new Column(column.getName(), ColumnType.DOCUMENT), entity -> entity.get(property.getName()));
+            }
+        }
+
+        private void addColumn(Map<Column, PropertyValue> columns, Column column, PropertyValue value) {
+            if (isLoading(column)) {
+                columns.put(column, value);
+            } else {
+                log.debug("Column '{}' can not be loaded in the dialect {} with format {}", column.name(), options.getDialect(), options.getDataLoadFormat());
+            }
+        }
+
+        private boolean isLoading(Column column) {
+            if (options.getDialect() == SQLDialect.POSTGRESQL) {
+                return true;
+            }
+
+            return switch (column.type()) {
+                case SIMPLE -> true;
+                case ARRAY, MAP -> options.getDataLoadFormat() == SQLDataLoadFormat.INSERT;
+                case DOCUMENT -> false;
+            };
+        }
+
+        private void addLinkTableRows(BrAPIObjectType brAPIObjectType, BrAPIObjectProperty property, JsonNode entity) {
+            if (!options.isGeneratingLinkTables() || !(brAPIClassCache.dereferenceType(property.getType()) instanceof BrAPIArrayType)) {
+                return;
+            }
+
+            if (!(unwrapAndDereferenceType(property.getType()) instanceof BrAPIObjectType itemType) ||
+                options.getProperties().getLinkTypeFor(brAPIObjectType, property, itemType).orElseResult(LinkType.NONE) != SUB_QUERY) {
+                return;
+            }
+
+            List<BrAPIObjectProperty> itemLinkProperties = options.getProperties().getLinkPropertiesFor(itemType);
+            List<BrAPIObjectProperty> parentLinkProperties = options.getProperties().getLinkPropertiesFor(brAPIObjectType);
+
+            List<Column> columns = new ArrayList<>();
+
+            itemLinkProperties.forEach(linkProperty -> columns.add(new Column(linkProperty.getName(), ColumnType.SIMPLE)));
+            parentLinkProperties.forEach(linkProperty -> columns.add(new Column(linkProperty.getName(), ColumnType.SIMPLE)));
+
+            TableData table = getTable(tableNames.getFullLinkTableName(brAPIObjectType, itemType), columns, true);
+
+            List<JsonNode> parentValues = parentLinkProperties.stream().map(linkProperty -> entity.get(linkProperty.getName())).toList();
+
+            // the items are either nested objects, or the IDs of the items
+            String idsName = options.getProperties().getIdsPropertyNameFor(property);
+            JsonNode items = entity.has(property.getName()) ? entity.get(property.getName()) : entity.get(idsName);
+
+            if (items == null || !items.isArray()) {
+                return;
+            }
+
+            for (JsonNode item : items) {
+                List<JsonNode> row = new ArrayList<>();
+
+                for (int i = 0; i < itemLinkProperties.size(); i++) {
+                    row.add(item.isObject() ? item.get(itemLinkProperties.get(i).getName()) : i == 0 ? item : null);
+                }
+
+                row.addAll(parentValues);
+
+                table.rows.add(row);
+            }
+        }
+
+        private boolean isControlledVocabularyProperty(BrAPIObjectType brAPIObjectType, BrAPIObjectProperty property) {
+            return options.getControlledVocabulary().isGenerating() && brAPIObjectType.getMetadata() != null &&
+                brAPIObjectType.getMetadata().getControlledVocabularyProperties() != null &&
+                brAPIObjectType.getMetadata().getControlledVocabularyProperties().contains(property.getName());
+        }
+
+        private void addControlledVocabularyRow(BrAPIObjectProperty property, Map<Column, PropertyValue> columns, JsonNode entity) {
+            if (columns.isEmpty()) {
+                return;
+            }
+
+            List<JsonNode> row = createRow(columns, entity);
+
+            if (row.stream().allMatch(value -> value == null || value.isNull())) {
+                return;
+            }
+
+            getTable(tableNames.getFullControlledVocabularyTableName(property), new ArrayList<>(columns.keySet()), true).rows.add(row);
+        }
+
+        private List<JsonNode> createRow(Map<Column, PropertyValue> columns, JsonNode entity) {
+            return columns.values().stream().map(value -> value.get(entity)).toList();
+        }
+
+        private JsonNode findIds(BrAPIObjectType linkedType, JsonNode items) {
+            if (items == null || !items.isArray()) {
+                return null;
+            }
+
+            String idName = options.getProperties().getIdPropertyFor(linkedType)
+                .mapResult(BrAPIObjectProperty::getName)
+                .getResultIfPresentOrElseResult("");
+
+            return objectMapper.valueToTree(StreamSupport.stream(items.spliterator(), false)
+                .map(item -> item.isObject() ? item.get(idName) : item)
+                .filter(Objects::nonNull)
+                .toList());
+        }
+
+        private TableData getTable(String name, List<Column> columns, boolean distinct) {
+            return tables.computeIfAbsent(name, key -> new TableData(name, columns, distinct));
+        }
+
+        private Response<List<Path>> write() {
+            try {
+                Files.createDirectories(outputPath) ;
+            } catch (IOException e) {
+                return fail(Response.ErrorType.VALIDATION, outputPath, String.format("Can not create directory due to %s", e.getMessage())) ;
+            }
+
+            List<TableData> loadedTables = tables.values().stream()
+                .filter(table -> !table.rows.isEmpty())
+                .toList();
+
+            if (options.getDataLoadFormat() == SQLDataLoadFormat.CSV) {
+                List<Path> paths = new ArrayList<>() ;
+
+                return loadedTables.stream()
+                    .map(table -> writeToFile(outputPath.resolve(table.name + ".csv"), writer -> writeCSV(table, writer)))
+                    .filter(Response::isPresent)
+                    .collect(Response.toList())
+                    .onSuccessDoWithResult(paths::addAll)
+                    .map(() -> writeToFile(outputPath.resolve(LOAD_SCRIPT), writer -> loadedTables.forEach(table ->
+                        writer.println(createLoadStatement(table, outputPath.resolve(table.name + ".csv").toAbsolutePath())))))
+                    .onSuccessIfPresentDoWithResult(paths::add)
+                    .map(() -> success(paths));
+            } else {
+                return writeToFile(outputPath.resolve(LOAD_SCRIPT), writer -> {
+                    for (int i = 0; i < loadedTables.size(); i++) {
+                        if (i > 0) {
+                            writer.println();
+                        }
+
+                        writeInsertStatements(loadedTables.get(i), writer);
+                    }
+                })
+                    .mapResult(List::of);
+            }
+        }
+
+        /**
+         * Writes the INSERT statements for the rows of a table to the writer, one row at a time
+         */
+        private void writeInsertStatements(TableData table, PrintWriter writer) {
+            List<List<JsonNode>> rows = new ArrayList<>(table.rows);
+
+            for (int start = 0; start < rows.size(); start += options.getInsertBatchSize()) {
+                writer.print("INSERT INTO ");
+                writer.print(table.name);
+                writer.print(" (");
+                writer.print(table.columns.stream().map(Column::name).map(tableNames::getColumnName).collect(Collectors.joining(", ")));
+                writer.print(") VALUES");
+
+                List<List<JsonNode>> batch = rows.subList(start, Math.min(start + options.getInsertBatchSize(), rows.size()));
+
+                for (int i = 0; i < batch.size(); i++) {
+                    writer.println();
+                    writer.print(" ".repeat(options.getIndentSize()));
+                    writer.print("(");
+
+                    List<JsonNode> row = batch.get(i);
+                    List<String> values = new ArrayList<>();
+
+                    for (int j = 0; j < table.columns.size(); j++) {
+                        values.add(createLiteral(table.columns.get(j), row.get(j)));
+                    }
+
+                    writer.print(String.join(", ", values));
+                    writer.print(")");
+                    writer.print(i < batch.size() - 1 ? "," : " ;");
+                }
+
+                writer.println();
+            }
+        }
+
+        private String createLiteral(Column column, JsonNode value) {
+            if (value == null || value.isNull() || value.isMissingNode()) {
+                return "NULL";
+            }
+
+            if (options.getDialect() == SQLDialect.POSTGRESQL) {
+                // arrays and documents are cast from their text representation
+                return switch (column.type()) {
+                    case SIMPLE -> createSimpleLiteral(value);
+                    case ARRAY -> quote(createPostgreSQLArray(value));
+                    case MAP, DOCUMENT -> quote(toJson(value));
+                };
+            }
+
+            return switch (column.type()) {
+                case SIMPLE -> createSimpleLiteral(value);
+                case ARRAY -> StreamSupport.stream(value.spliterator(), false)
+                    .map(this::createSimpleLiteral)
+                    .collect(Collectors.joining(", ", "array(", ")"));
+                case MAP -> {
+                    List<String> entries = new ArrayList<>();
+
+                    value.fields().forEachRemaining(entry -> entries.add(quote(entry.getKey()) + ", " +
+                        quote(entry.getValue().isValueNode() ? entry.getValue().asText() : toJson(entry.getValue()))));
+
+                    yield "map(" + String.join(", ", entries) + ")";
+                }
+                case DOCUMENT -> quote(toJson(value));
+            };
+        }
+
+        private String createSimpleLiteral(JsonNode value) {
+            if (value == null || value.isNull()) {
+                return "NULL";
+            } else if (value.isNumber()) {
+                return value.asText();
+            } else if (value.isBoolean()) {
+                return value.asBoolean() ? "TRUE" : "FALSE";
+            } else if (value.isTextual()) {
+                return quote(value.asText());
+            } else {
+                return quote(toJson(value));
+            }
+        }
+
+        /**
+         * Writes the header and the rows of a table to the writer as CSV, one row at a time
+         */
+        private void writeCSV(TableData table, PrintWriter writer) {
+            writer.print(table.columns.stream().map(Column::name).map(this::escapeCSV).collect(Collectors.joining(",")));
+
+            for (List<JsonNode> row : table.rows) {
+                writer.println();
+
+                List<String> values = new ArrayList<>();
+
+                for (int j = 0; j < table.columns.size(); j++) {
+                    values.add(createCSVValue(table.columns.get(j), row.get(j)));
+                }
+
+                writer.print(String.join(",", values));
+            }
+        }
+
+        private String createCSVValue(Column column, JsonNode value) {
+            // an empty unquoted value is loaded as NULL
+            if (value == null || value.isNull() || value.isMissingNode()) {
+                return "";
+            }
+
+            return escapeCSV(switch (column.type()) {
+                case SIMPLE -> value.isValueNode() ? value.asText() : toJson(value);
+                case ARRAY -> createPostgreSQLArray(value);
+                case MAP, DOCUMENT -> toJson(value);
+            });
+        }
+
+        private String createLoadStatement(TableData table, Path csvPath) {
+            String columns = table.columns.stream().map(Column::name).map(tableNames::getColumnName).collect(Collectors.joining(", "));
+
+            return switch (options.getDialect()) {
+                case POSTGRESQL -> String.format("COPY %s (%s) FROM '%s' WITH (FORMAT csv, HEADER true) ;", table.name, columns, escapeLiteral(csvPath.toString()));
+                case SPARK -> String.format("COPY INTO %s FROM (SELECT %s FROM '%s') FILEFORMAT = CSV FORMAT_OPTIONS ('header' = 'true', 'inferSchema' = 'true') ;", table.name, columns, escapeLiteral(csvPath.toUri().toString()));
+                case ANSI -> String.format("LOAD DATA INFILE '%s' INTO TABLE %s FIELDS TERMINATED BY ',' OPTIONALLY ENCLOSED BY '\"' IGNORE 1 LINES (%s) ;", escapeLiteral(csvPath.toString()), table.name, columns);
+            };
+        }
+
+        private String createPostgreSQLArray(JsonNode value) {
+            if (!value.isArray()) {
+                return toJson(value);
+            }
+
+            return StreamSupport.stream(value.spliterator(), false)
+                .map(item -> item == null || item.isNull() ? "NULL" :
+                    "\"" + (item.isValueNode() ? item.asText() : toJson(item)).replace("\\", "\\\\").replace("\"", "\\\"") + "\"")
+                .collect(Collectors.joining(",", "{", "}"));
+        }
+
+        private String escapeCSV(String value) {
+            if (value.contains(",") || value.contains("\"") || value.contains("\n") || value.contains("\r") || value.isEmpty()) {
+                return "\"" + value.replace("\"", "\"\"") + "\"";
+            }
+
+            return value;
+        }
+
+        private String quote(String value) {
+            return "'" + escapeLiteral(value) + "'";
+        }
+
+        private String escapeLiteral(String value) {
+            return options.getDialect() == SQLDialect.SPARK ? escapeSparkSQLStringLiteral(value) : escapeSQLStringLiteral(value);
+        }
+
+        private String toJson(JsonNode value) {
+            try {
+                return objectMapper.writeValueAsString(value);
+            } catch (JsonProcessingException e) {
+                throw new IllegalArgumentException(e);
+            }
+        }
+
+        private BrAPIType unwrapAndDereferenceType(BrAPIType type) {
+            return brAPIClassCache.dereferenceType(unwrapType(type));
+        }
+
+        /**
+         * Writes the text to the file as it is created, so that the rows are never all held in memory as text.
+         * The file is removed if the text could not be created.
+         */
+        private Response<Path> writeToFile(Path path, Consumer<PrintWriter> textWriter) {
+            try {
+                if (!options.isOverwritingExistingFiles() && Files.exists(path)) {
+                    log.warn("Output file '{}' already exists and was not overwritten", path);
+                    return Response.empty() ;
+                } else {
+                    PrintWriter printWriter = new PrintWriter(Files.newBufferedWriter(path, Charset.defaultCharset()));
+
+                    try {
+                        textWriter.accept(printWriter);
+                    } catch (IllegalArgumentException exception) {
+                        printWriter.close();
+                        // the file would only contain part of the text
+                        Files.deleteIfExists(path);
+                        return fail(Response.ErrorType.VALIDATION, path, String.format("Can not write to file due to %s", exception.getMessage())) ;
+                    }
+
+                    printWriter.println();
+
+                    if (options.isAddingGeneratorComments() && path.getFileName().toString().endsWith(".sql")) {
+                        printWriter.println();
+                        printWriter.print(COMMENT_PREFIX) ;
+                        printWriter.println("Generated by Schema Tools " + SQLDataLoadGenerator.class.getSimpleName() + " Version: '" + options.getSchemaToolsVersion() +"'");
+                    }
+
+                    printWriter.close();
+
+                    if (printWriter.checkError()) {
+                        return fail(Response.ErrorType.VALIDATION, path, "Can not write to file");
+                    }
+
+                    return success(path) ;
+                }
+            } catch (IOException exception){
+                return fail(Response.ErrorType.VALIDATION, path, String.format("Can not write to file due to %s", exception.getMessage())) ;
+            }
+        }
+    }
+
+    @FunctionalInterface
+    private interface PropertyValue {
+        JsonNode get(JsonNode entity);
+    }
+}
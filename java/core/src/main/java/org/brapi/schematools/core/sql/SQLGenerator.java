@@ -4,6 +4,7 @@ import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.brapi.schematools.core.brapischema.BrAPISchemaReader;
 import org.brapi.schematools.core.model.BrAPIClass;
+import org.brapi.schematools.core.model.BrAPIObjectProperty;
 import org.brapi.schematools.core.model.BrAPIObjectType;
 import org.brapi.schematools.core.response.Response;
 import org.brapi.schematools.core.sql.metadata.SQLGeneratorMetadata;
@@ -16,6 +17,8 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import static org.brapi.schematools.core.response.Response.fail;
@@ -69,13 +72,49 @@ public class SQLGenerator {
             .mapResultToResponse(brAPISchemas -> new Generator(brAPISchemas, metadata).generate()) ;
     }
 
+    /**
+     * Determines if a table is generated for a BrAPI class, which must be a primary model
+     * @param options the options used in the generation
+     * @param brAPIClass the BrAPI class
+     * @return {@code true} if a table is generated for the BrAPI class, {@code false} otherwise
+     */
+    static boolean isGeneratingTableFor(SQLGeneratorOptions options, BrAPIClass brAPIClass) {
+        return brAPIClass.getMetadata() != null &&
+            (!brAPIClass.isDeprecated() || !options.getBrAPISchemaReader().isIgnoringDepreciatedSchemas()) &&
+            brAPIClass.getMetadata().isPrimaryModel() && options.isGeneratingFor(brAPIClass);
+    }
+
+    /**
+     * Determines if a column is generated for a property, which is not the case for a deprecated
+     * property if deprecated properties are ignored
+     * @param options the options used in the generation
+     * @param property the property
+     * @return {@code true} if a column is generated for the property, {@code false} otherwise
+     */
+    static boolean isAddingDepreciatedProperty(SQLGeneratorOptions options, BrAPIObjectProperty property) {
+        return !(options.getBrAPISchemaReader().isIgnoringDepreciatedProperties() && property.isDeprecated()) ;
+    }
+
+    /**
+     * Finds the name of the ID property of a BrAPI type, which is the name of its primary key column
+     * @param options the options used in the generation
+     * @param brAPIObjectType the BrAPI type
+     * @return the name of the ID property, or empty if the type has no ID property
+     */
+    static Optional<String> findIdName(SQLGeneratorOptions options, BrAPIObjectType brAPIObjectType) {
+        return Optional.ofNullable(options.getProperties().getIdPropertyFor(brAPIObjectType)
+            .mapResult(BrAPIObjectProperty::getName)
+            .orElseResult(null));
+    }
+
     private class Generator {
         private final CreateTableDDLGenerator createTableDDLGenerator ;
+        private final MaterializedViewDDLGenerator materializedViewDDLGenerator ;
         private final List<BrAPIObjectType> brAPIObjectTypes;
 
         public Generator(List<BrAPIClass> brAPIObjectTypes, SQLGeneratorMetadata metadata) {
-            // TODO other dialects
-            createTableDDLGenerator = new ANSICreateTableDDLGenerator(options, metadata, brAPIObjectTypes) ;
+            createTableDDLGenerator = CreateTableDDLGenerator.forDialect(options, metadata, brAPIObjectTypes) ;
+            materializedViewDDLGenerator = new MaterializedViewDDLGenerator(options, metadata, brAPIObjectTypes) ;
             this.brAPIObjectTypes = brAPIObjectTypes.stream()
                 .filter(this::isGenerating)
                 .filter(brAPIClass -> brAPIClass instanceof BrAPIObjectType)
@@ -94,6 +133,10 @@ public class SQLGenerator {
                     .onSuccessIfPresentDoWithResult(paths::add)
                     .mergeOnCondition(options.isGeneratingForeignKeyConstraintScript(), this::generateForeignKeyConstraintScript)
                     .onSuccessIfPresentDoWithResult(paths::add)
+                    .mergeOnCondition(options.isGeneratingIndexScript(), this::generateIndexScript)
+                    .onSuccessIfPresentDoWithResult(paths::add)
+                    .mergeOnCondition(options.getMaterializedViews().isGenerating(), this::generateMaterializedViews)
+                    .onSuccessIfPresentDoWithResult(paths::addAll)
                     .map(() -> success(paths));
             } catch (Exception e) {
                 return fail(Response.ErrorType.VALIDATION, e.getMessage()) ;
@@ -101,38 +144,66 @@ public class SQLGenerator {
         }
 
         private Response<Path> generateDropScript() {
-            return createTableDDLGenerator.generateDropScript()
-                .mapResultToResponse(sql -> writeToFile(outputPath.resolve("drop_tables.sql"), sql));
+            return writeToFile(outputPath.resolve("drop_tables.sql"), createTableDDLGenerator::generateDropScript);
         }
 
         private Response<Path> generateForeignKeyConstraintScript() {
-            return createTableDDLGenerator.generateForeignKeyConstraintScript()
-                .mapResultToResponse(sql -> writeToFile(outputPath.resolve("add_constraints.sql"), sql));
+            return writeToFile(outputPath.resolve("add_constraints.sql"), createTableDDLGenerator::generateForeignKeyConstraintScript);
         }
 
-        private boolean isGenerating(BrAPIClass brAPIClass) {
-            return brAPIClass.getMetadata() != null &&
-                isAddingDepreciatedClass(brAPIClass) &&
-                brAPIClass.getMetadata().isPrimaryModel() && options.isGeneratingFor(brAPIClass);
+        private Response<Path> generateIndexScript() {
+            return writeToFile(outputPath.resolve("add_indexes.sql"), createTableDDLGenerator::generateIndexScript);
         }
 
-        private boolean isAddingDepreciatedClass(BrAPIClass brAPIClass) {
-            return !brAPIClass.isDeprecated() || !options.getBrAPISchemaReader().isIgnoringDepreciatedSchemas() ;
+        private Response<List<Path>> generateMaterializedViews() {
+            List<Path> paths = new ArrayList<>() ;
+
+            // the views are generated after the tables, since they select from the tables
+            return brAPIObjectTypes.stream()
+                .filter(brAPIObjectType -> options.getMaterializedViews().isGeneratingFor(brAPIObjectType))
+                .map(this::generateMaterializedView)
+                .collect(Response.toList())
+                .onSuccessDoWithResult(paths::addAll)
+                .map(() -> paths.isEmpty() ? Response.<Path>empty() : writeToFile(outputPath.resolve("refresh_materialized_views.sql"), writer ->
+                    materializedViewDDLGenerator.generateRefreshScript().mapResult(script -> print(writer, script))))
+                .onSuccessIfPresentDoWithResult(paths::add)
+                .map(() -> success(paths));
+        }
+
+        private Response<Path> generateMaterializedView(BrAPIObjectType brAPIObjectType) {
+            return writeToFile(outputPath.resolve(String.format("%s.sql", options.getMaterializedViews().getViewNameFor(brAPIObjectType))), writer ->
+                materializedViewDDLGenerator.generateDDLForObjectType(brAPIObjectType).mapResult(ddl -> print(writer, ddl)));
+        }
+
+        private PrintWriter print(PrintWriter writer, String text) {
+            writer.print(text);
+
+            return writer;
+        }
+
+        private boolean isGenerating(BrAPIClass brAPIClass) {
+            return isGeneratingTableFor(options, brAPIClass);
         }
 
         private Response<List<Path>> generateSQLFiles(List<BrAPIObjectType> brAPIClasses) {
-            return brAPIClasses.stream()
+            // each table, with its link and controlled vocabulary tables, is generated and written independently,
+            // the paths are collected in encounter order, so the returned list is the same in parallel mode
+            return (options.isGeneratingInParallel() ? brAPIClasses.parallelStream() : brAPIClasses.stream())
                 .map(this::generateSQL)
                 .filter(Response::isPresent)
                 .collect(Response.toList());
         }
 
         private Response<Path> generateSQL(BrAPIObjectType brAPIObjectType) {
-            return createTableDDLGenerator.generateDDLForObjectType(brAPIObjectType)
-                    .mapResultToResponse(sql -> writeToFile(outputPath.resolve(String.format("%s.sql", brAPIObjectType.getName())), brAPIObjectType, sql));
+            return writeToFile(outputPath.resolve(String.format("%s.sql", brAPIObjectType.getName())), brAPIObjectType,
+                writer -> createTableDDLGenerator.generateDDLForObjectType(brAPIObjectType, writer));
         }
 
-        private Response<Path> writeToFile(Path path, BrAPIObjectType brAPIObjectType, String text) {
+        /**
+         * Writes the DDL to the file as it is generated, so that the DDL is never held in memory.
+         * The file is removed if the DDL could not be generated.
+         */
+        private Response<Path> writeToFile(Path path, BrAPIObjectType brAPIObjectType, Function<PrintWriter, Response<PrintWriter>> ddlWriter) {
             try {
                 if (!options.isOverwritingExistingFiles() && Files.exists(path)) {
                     log.warn("Output file '{}' already exists and was not overwritten", path);
@@ -157,23 +228,14 @@ public class SQLGenerator {
                         printWriter.println(COMMENT_END);
                     }
 
-                    printWriter.println(text);
-
-                    if (options.isAddingGeneratorComments()) {
-                        printWriter.println();
-                        printWriter.print(COMMENT_PREFIX) ;
-                        printWriter.println("Generated by Schema Tools " + this.getClass().getSimpleName() + " Version: '" + options.getSchemaToolsVersion() +"'");
-                    }
-
-                    printWriter.close();
-                    return success(path) ;
+                    return writeToFile(path, printWriter, ddlWriter);
                 }
             } catch (IOException exception){
                 return fail(Response.ErrorType.VALIDATION, path, String.format("Can not write to file due to %s", exception.getMessage())) ;
             }
         }
 
-        private Response<Path> writeToFile(Path path, String text) {
+        private Response<Path> writeToFile(Path path, Function<PrintWriter, Response<PrintWriter>> scriptWriter) {
             try {
                 if (!options.isOverwritingExistingFiles() && Files.exists(path)) {
                     log.warn("Output file '{}' already exists and was not overwritten", path);
@@ -182,20 +244,35 @@ public class SQLGenerator {
                     Files.createDirectories(path.getParent()) ;
 
                     PrintWriter printWriter = new PrintWriter(Files.newBufferedWriter(path, Charset.defaultCharset()));
-                    printWriter.println(text);
-
-                    if (options.isAddingGeneratorComments()) {
-                        printWriter.println();
-                        printWriter.print(COMMENT_PREFIX) ;
-                        printWriter.println("Generated by Schema Tools " + this.getClass().getSimpleName() + " Version: '" + options.getSchemaToolsVersion() +"'");
-                    }
 
-                    printWriter.close();
-                    return success(path) ;
+                    return writeToFile(path, printWriter, scriptWriter);
                 }
             } catch (IOException exception){
                 return fail(Response.ErrorType.VALIDATION, path, String.format("Can not write to file due to %s", exception.getMessage())) ;
             }
         }
+
+        private Response<Path> writeToFile(Path path, PrintWriter printWriter, Function<PrintWriter, Response<PrintWriter>> textWriter) throws IOException {
+            Response<PrintWriter> response = textWriter.apply(printWriter);
+
+            printWriter.println();
+
+            if (options.isAddingGeneratorComments()) {
+                printWriter.println();
+                printWriter.print(COMMENT_PREFIX) ;
+                printWriter.println("Generated by Schema Tools " + this.getClass().getSimpleName() + " Version: '" + options.getSchemaToolsVersion() +"'");
+            }
+
+            printWriter.close();
+
+            if (response.hasErrors()) {
+                // the file would only contain part of the text
+                Files.deleteIfExists(path);
+            } else if (printWriter.checkError()) {
+                return fail(Response.ErrorType.VALIDATION, path, "Can not write to file");
+            }
+
+            return response.map(() -> success(path));
+        }
     }
 }
@@ -0,0 +1,320 @@
+package org.brapi.schematools.core.sql;
+
+import lombok.extern.slf4j.Slf4j;
+import org.brapi.schematools.core.brapischema.BrAPISchemaReader;
+import org.brapi.schematools.core.model.BrAPIClass;
+import org.brapi.schematools.core.model.BrAPIObjectType;
+import org.brapi.schematools.core.response.Response;
+import org.brapi.schematools.core.sql.metadata.SQLGeneratorMetadata;
+import org.brapi.schematools.core.sql.options.SQLGeneratorOptions;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import static org.brapi.schematools.core.response.Response.fail;
+import static org.brapi.schematools.core.response.Response.success;
+import static org.brapi.schematools.core.sql.SQLGenerator.COMMENT_PREFIX;
+
+/**
+ * Generates a script to migrate the tables generated by the {@link SQLGenerator} from an old version of the
+ * BrAPI schema to a new version, without dropping and reloading the tables. The tables and columns generated
+ * with the same options from both versions are compared, and only the tables and columns that have been added,
+ * removed or changed are created, dropped or altered. The statements are ordered so that the online-safe
+ * changes, such as creating tables and adding nullable columns, come first, followed by the blocking changes,
+ * such as changing column types, adding NOT NULL and foreign key constraints, and finally the destructive
+ * changes that drop columns and tables.
+ * The columns are compared using the column model of the {@link CreateTableDDLGenerator} for the dialect,
+ * which also creates the dialect specific statements to add columns, change their types and set their comments.
+ * The link and controlled vocabulary tables are created or dropped, but are not altered if their definitions
+ * change.
+ */
+@Slf4j
+public class SQLMigrationGenerator {
+    /**
+     * The name of the migration script
+     */
+    public static final String MIGRATION_SCRIPT = "migrate_tables.sql";
+
+    private static final Pattern CONSTRAINT_STATEMENT =
+        Pattern.compile("^ALTER TABLE (?:IF EXISTS )?(\\S+) ADD CONSTRAINT (\\S+) .*$");
+
+    private final BrAPISchemaReader schemaReader ;
+    private final SQLGeneratorOptions options ;
+    private final Path outputPath ;
+
+    /**
+     * Creates a SQLMigrationGenerator using a default {@link BrAPISchemaReader} and
+     * the provided {@link SQLGeneratorOptions}.
+     * @param options The options to be used in the generation, the same as used to generate the tables
+     * @param outputPath the path of the output directory
+     */
+    public SQLMigrationGenerator(SQLGeneratorOptions options, Path outputPath) {
+        this(new BrAPISchemaReader(options.getBrAPISchemaReader()), options, outputPath) ;
+    }
+
+    /**
+     * Creates a SQLMigrationGenerator
+     * @param schemaReader the reader used to read the BrAPI schemas
+     * @param options The options to be used in the generation, the same as used to generate the tables
+     * @param outputPath the path of the output directory
+     */
+    public SQLMigrationGenerator(BrAPISchemaReader schemaReader, SQLGeneratorOptions options, Path outputPath) {
+        this.schemaReader = schemaReader;
+        this.options = options;
+        this.outputPath = outputPath;
+    }
+
+    /**
+     * Generates the migration script between two versions of the complete BrAPI Specification
+     * @param oldSchemaDirectory the path to the version of the BrAPI Specification from which the existing tables were generated
+     * @param newSchemaDirectory the path to the version of the BrAPI Specification to which the tables are migrated
+     * @param metadata the metadata used to generate the tables
+     * @return the path of the migration script
+     */
+    public Response<Path> generate(Path oldSchemaDirectory, Path newSchemaDirectory, SQLGeneratorMetadata metadata) {
+        return options.validate().asResponse()
+            .map(() -> schemaReader.readDirectories(oldSchemaDirectory))
+            .mapResultToResponse(oldBrAPIClasses -> schemaReader.readDirectories(newSchemaDirectory)
+                .mapResultToResponse(newBrAPIClasses -> new Generator(oldBrAPIClasses, newBrAPIClasses, metadata).generate())) ;
+    }
+
+    /**
+     * Generates the migration script between two versions of the BrAPI classes
+     * @param oldBrAPIClasses the BrAPI classes from which the existing tables were generated
+     * @param newBrAPIClasses the BrAPI classes to which the tables are migrated
+     * @param metadata the metadata used to generate the tables
+     * @return the path of the migration script
+     */
+    public Response<Path> generate(List<BrAPIClass> oldBrAPIClasses, List<BrAPIClass> newBrAPIClasses, SQLGeneratorMetadata metadata) {
+        return options.validate().asResponse()
+            .map(() -> new Generator(oldBrAPIClasses, newBrAPIClasses, metadata).generate()) ;
+    }
+
+    private static class SchemaTables {
+        private final CreateTableDDLGenerator createTableDDLGenerator;
+        private final Map<String, String> tableDefinitions = new LinkedHashMap<>();
+        private final Map<String, Map<String, SQLColumn>> columns = new LinkedHashMap<>();
+        private final Map<String, String> constraints = new LinkedHashMap<>();
+
+        private SchemaTables(CreateTableDDLGenerator createTableDDLGenerator) {
+            this.createTableDDLGenerator = createTableDDLGenerator;
+        }
+    }
+
+    private class Generator {
+        private final List<BrAPIClass> oldBrAPIClasses;
+        private final List<BrAPIClass> newBrAPIClasses;
+        private final SQLGeneratorMetadata metadata;
+        private final SQLTableNames tableNames;
+        private final List<String> onlineStatements = new ArrayList<>();
+        private final List<String> blockingStatements = new ArrayList<>();
+        private final List<String> destructiveStatements = new ArrayList<>();
+
+        private Generator(List<BrAPIClass> oldBrAPIClasses, List<BrAPIClass> newBrAPIClasses, SQLGeneratorMetadata metadata) {
+            this.oldBrAPIClasses = oldBrAPIClasses;
+            this.newBrAPIClasses = newBrAPIClasses;
+            this.metadata = metadata;
+            this.tableNames = new SQLTableNames(options, metadata);
+        }
+
+        private Response<Path> generate() {
+            return findTables(oldBrAPIClasses)
+                .mapResultToResponse(oldTables -> findTables(newBrAPIClasses)
+                    .onSuccessDoWithResult(newTables -> compare(oldTables, newTables)))
+                .map(() -> writeToFile(outputPath.resolve(MIGRATION_SCRIPT), createScript()));
+        }
+
+        private Response<SchemaTables> findTables(List<BrAPIClass> brAPIClasses) {
+            // a generator for each schema version, so that the constraints of each version are kept separately
+            CreateTableDDLGenerator createTableDDLGenerator = CreateTableDDLGenerator.forDialect(options, metadata, brAPIClasses);
+            SchemaTables schemaTables = new SchemaTables(createTableDDLGenerator);
+
+            return brAPIClasses.stream()
+                .filter(this::isGenerating)
+                .map(BrAPIObjectType.class::cast)
+                .map(brAPIObjectType -> createTableDDLGenerator.generateTableDefinitionsForObjectType(brAPIObjectType)
+                    .onSuccessDoWithResult(schemaTables.tableDefinitions::putAll)
+                    .map(() -> createTableDDLGenerator.generateColumnsForObjectType(brAPIObjectType))
+                    .onSuccessDoWithResult(columns -> schemaTables.columns.put(tableNames.getFullTableName(brAPIObjectType), columns.stream()
+                        .collect(Collectors.toMap(SQLColumn::getName, Function.identity(), (first, second) -> first, LinkedHashMap::new)))))
+                .collect(Response.toList())
+                .mapOnCondition(options.isGeneratingForeignKeyConstraintScript(), createTableDDLGenerator::generateForeignKeyConstraintScript)
+                .onSuccessIfPresentDoWithResult(script -> script.lines()
+                    .filter(statement -> !statement.isBlank())
+                    .forEach(statement -> schemaTables.constraints.put(findConstraintName(statement), statement)))
+                .map(() -> success(schemaTables));
+        }
+
+        private boolean isGenerating(BrAPIClass brAPIClass) {
+            return brAPIClass instanceof BrAPIObjectType && SQLGenerator.isGeneratingTableFor(options, brAPIClass);
+        }
+
+        private String findConstraintName(String statement) {
+            Matcher matcher = CONSTRAINT_STATEMENT.matcher(statement);
+
+            return matcher.matches() ? matcher.group(1) + "." + matcher.group(2) : statement;
+        }
+
+        private void compare(SchemaTables oldTables, SchemaTables newTables) {
+            // the old constraints are dropped first, since they may refer to columns or tables that are dropped
+            oldTables.constraints.forEach((name, statement) -> {
+                if (!newTables.constraints.containsKey(name)) {
+                    blockingStatements.add(createDropConstraintStatement(statement));
+                }
+            });
+
+            newTables.tableDefinitions.forEach((tableName, tableDefinition) -> {
+                if (!oldTables.tableDefinitions.containsKey(tableName)) {
+                    onlineStatements.add(tableDefinition.strip());
+                } else if (oldTables.columns.containsKey(tableName) && newTables.columns.containsKey(tableName)) {
+                    compareColumns(newTables.createTableDDLGenerator, tableName, oldTables.columns.get(tableName), newTables.columns.get(tableName));
+                } else if (!oldTables.tableDefinitions.get(tableName).equals(tableDefinition)) {
+                    log.warn("The definition of table '{}' has changed, but only the tables for BrAPI types are altered", tableName);
+                }
+            });
+
+            newTables.constraints.forEach((name, statement) -> {
+                if (!oldTables.constraints.containsKey(name)) {
+                    blockingStatements.add(statement);
+                }
+            });
+
+            oldTables.tableDefinitions.keySet().stream()
+                .filter(tableName -> !newTables.tableDefinitions.containsKey(tableName))
+                .forEach(tableName -> destructiveStatements.add(String.format("DROP TABLE IF EXISTS %s ;", tableName)));
+        }
+
+        private void compareColumns(CreateTableDDLGenerator createTableDDLGenerator, String tableName, Map<String, SQLColumn> oldColumns, Map<String, SQLColumn> newColumns) {
+            newColumns.forEach((columnName, column) -> {
+                SQLColumn oldColumn = oldColumns.get(columnName);
+
+                if (oldColumn == null) {
+                    addColumn(createTableDDLGenerator, tableName, column);
+                } else {
+                    alterColumn(createTableDDLGenerator, tableName, oldColumn, column);
+                }
+            });
+
+            oldColumns.keySet().stream()
+                .filter(columnName -> !newColumns.containsKey(columnName))
+                .forEach(columnName -> destructiveStatements.add(String.format("ALTER TABLE %s DROP COLUMN %s ;", tableName, tableNames.getColumnName(columnName))));
+        }
+
+        private void addColumn(CreateTableDDLGenerator createTableDDLGenerator, String tableName, SQLColumn column) {
+            // added as a nullable column, which does not need the existing rows to be rewritten or checked
+            onlineStatements.addAll(createTableDDLGenerator.generateAddColumnStatements(tableName, column));
+
+            String columnName = tableNames.getColumnName(column.getName());
+
+            // the existing rows have no value for the new column, so it is left nullable and the constraints
+            // are only added, commented out, to be run once the existing rows have been backfilled
+            if (column.isNotNull()) {
+                log.warn("The new required column '{}' of table '{}' is added as nullable, it needs to be backfilled before it is set to NOT NULL", column.getName(), tableName);
+                blockingStatements.add(createBackfillComment(tableName, String.format("ALTER TABLE %s ALTER COLUMN %s SET NOT NULL ;", tableName, columnName)));
+            }
+
+            if (column.isPrimaryKey()) {
+                log.warn("The new primary key column '{}' of table '{}' needs to be backfilled before the primary key is added", column.getName(), tableName);
+                blockingStatements.add(createBackfillComment(tableName, String.format("ALTER TABLE %s ADD PRIMARY KEY (%s) ;", tableName, columnName)));
+            }
+        }
+
+        private void alterColumn(CreateTableDDLGenerator createTableDDLGenerator, String tableName, SQLColumn oldColumn, SQLColumn newColumn) {
+            String columnName = tableNames.getColumnName(newColumn.getName());
+
+            if (!oldColumn.getType().equals(newColumn.getType())) {
+                blockingStatements.add(createTableDDLGenerator.generateAlterColumnTypeStatement(tableName, oldColumn, newColumn));
+            }
+
+            if (!oldColumn.isNotNull() && newColumn.isNotNull()) {
+                blockingStatements.add(String.format("ALTER TABLE %s ALTER COLUMN %s SET NOT NULL ;", tableName, columnName));
+            } else if (oldColumn.isNotNull() && !newColumn.isNotNull()) {
+                onlineStatements.add(String.format("ALTER TABLE %s ALTER COLUMN %s DROP NOT NULL ;", tableName, columnName));
+            }
+
+            if (!oldColumn.isPrimaryKey() && newColumn.isPrimaryKey()) {
+                blockingStatements.add(String.format("ALTER TABLE %s ADD PRIMARY KEY (%s) ;", tableName, columnName));
+            } else if (oldColumn.isPrimaryKey() && !newColumn.isPrimaryKey()) {
+                log.warn("The primary key on column '{}' of table '{}' is no longer generated, but is not dropped", newColumn.getName(), tableName);
+            }
+
+            if (newColumn.getComment() != null && !newColumn.getComment().equals(oldColumn.getComment())) {
+                onlineStatements.add(createTableDDLGenerator.generateColumnCommentStatement(tableName, newColumn));
+            }
+        }
+
+        private String createBackfillComment(String tableName, String statement) {
+            return String.format("%sBackfill the existing rows of %s, then run: %s", COMMENT_PREFIX, tableName, statement);
+        }
+
+        private String createDropConstraintStatement(String statement) {
+            Matcher matcher = CONSTRAINT_STATEMENT.matcher(statement);
+
+            return matcher.matches() ?
+                String.format("ALTER TABLE %s DROP CONSTRAINT IF EXISTS %s ;", matcher.group(1), matcher.group(2)) :
+                COMMENT_PREFIX + "Can not drop constraint: " + statement;
+        }
+
+        private String createScript() {
+            StringBuilder builder = new StringBuilder();
+
+            appendStatements(builder, "Online-safe changes", onlineStatements);
+            appendStatements(builder, "Blocking changes", blockingStatements);
+            appendStatements(builder, "Destructive changes", destructiveStatements);
+
+            return builder.toString();
+        }
+
+        private void appendStatements(StringBuilder builder, String heading, List<String> statements) {
+            if (statements.isEmpty()) {
+                return;
+            }
+
+            if (!builder.isEmpty()) {
+                builder.append(System.lineSeparator());
+            }
+
+            builder.append(COMMENT_PREFIX);
+            builder.append(heading);
+            builder.append(System.lineSeparator());
+
+            for (String statement : statements) {
+                builder.append(statement);
+                builder.append(System.lineSeparator());
+            }
+        }
+
+        private Response<Path> writeToFile(Path path, String text) {
+            try {
+                if (!options.isOverwritingExistingFiles() && Files.exists(path)) {
+                    log.warn("Output file '{}' already exists and was not overwritten", path);
+                    return Response.empty() ;
+                } else {
+                    Files.createDirectories(path.getParent()) ;
+
+                    PrintWriter printWriter = new PrintWriter(Files.newBufferedWriter(path, Charset.defaultCharset()));
+                    printWriter.println(text);
+
+                    if (options.isAddingGeneratorComments()) {
+                        printWriter.println();
+                        printWriter.print(COMMENT_PREFIX) ;
+                        printWriter.println("Generated by Schema Tools " + SQLMigrationGenerator.class.getSimpleName() + " Version: '" + options.getSchemaToolsVersion() +"'");
+                    }
+
+                    printWriter.close();
+                    return success(path) ;
+                }
+            } catch (IOException exception){
+                return fail(Response.ErrorType.VALIDATION, path, String.format("Can not write to file due to %s", exception.getMessage())) ;
+            }
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package org.brapi.schematools.core.sql;
+
+import lombok.Builder;
+import lombok.Singular;
+import lombok.Value;
+import org.brapi.schematools.core.response.Response;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import static org.brapi.schematools.core.response.Response.fail;
+import static org.brapi.schematools.core.response.Response.success;
+
+/**
+ * A parameterised list or search query for a BrAPI type, as it is created by the {@link SQLQueryTemplateGenerator}.
+ * The statement is rendered for the parameters that have values, with the condition of each of those parameters,
+ * so that the plan of the prepared statement only has to work for those parameters and can use their indexes.
+ */
+@Builder
+@Value
+public class SQLQueryTemplate {
+    /**
+     * The name of the BrAPI type that is queried
+     */
+    String typeName;
+    /**
+     * {@code true} for the search query, in which each parameter is an array of values, or {@code false}
+     * for the list query, in which each parameter is a single value
+     */
+    boolean search;
+    /**
+     * The SELECT and FROM clauses
+     */
+    String select;
+    /**
+     * The condition for each parameter by parameter name, in the order that they are added to the WHERE clause
+     */
+    @Singular
+    Map<String, String> conditions;
+    /**
+     * The ORDER BY clause and the clause that limits the rows to the page size
+     */
+    String orderBy;
+    /**
+     * The parameters of the request schema that can not be used, since they do not match a column
+     */
+    @Singular
+    List<String> unsupportedParameters;
+    int indentSize;
+
+    /**
+     * Renders the statement for the parameters that have values. The other parameters have no condition.
+     * @param parameterNames the names of the parameters that have values, which must all have a condition
+     * @return the statement, or a failed response if any of the parameters has no condition
+     */
+    public Response<String> render(Collection<String> parameterNames) {
+        List<String> unknownParameters = parameterNames.stream()
+            .filter(parameterName -> !conditions.containsKey(parameterName))
+            .toList();
+
+        if (!unknownParameters.isEmpty()) {
+            return fail(Response.ErrorType.VALIDATION, String.format("The parameters '%s' can not be used in the %s query for '%s'",
+                String.join("', '", unknownParameters), search ? "search" : "list", typeName));
+        }
+
+        StringBuilder builder = new StringBuilder();
+
+        builder.append(select);
+
+        String indent = " ".repeat(indentSize);
+        boolean first = true;
+
+        for (Map.Entry<String, String> condition : conditions.entrySet()) {
+            if (parameterNames.contains(condition.getKey())) {
+                builder.append(System.lineSeparator());
+                builder.append(first ? "WHERE " : indent + "AND ").append(condition.getValue());
+                first = false;
+            }
+        }
+
+        builder.append(System.lineSeparator());
+        builder.append(orderBy);
+
+        return success(builder.toString());
+    }
+
+    /**
+     * Renders the statement with the condition of every parameter
+     * @return the statement
+     */
+    public String renderAll() {
+        return render(conditions.keySet()).getResultOrThrow();
+    }
+}
@@ -0,0 +1,483 @@
+package org.brapi.schematools.core.sql;
+
+import lombok.extern.slf4j.Slf4j;
+import org.brapi.schematools.core.brapischema.BrAPISchemaReader;
+import org.brapi.schematools.core.model.*;
+import org.brapi.schematools.core.options.LinkType;
+import org.brapi.schematools.core.response.Response;
+import org.brapi.schematools.core.sql.metadata.SQLGeneratorMetadata;
+import org.brapi.schematools.core.sql.options.SQLDialect;
+import org.brapi.schematools.core.sql.options.SQLGeneratorOptions;
+import org.brapi.schematools.core.utils.BrAPIClassCacheBuilder;
+import org.brapi.schematools.core.utils.BrAPITypeUtils;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.brapi.schematools.core.options.LinkType.EMBEDDED;
+import static org.brapi.schematools.core.options.LinkType.ID;
+import static org.brapi.schematools.core.options.LinkType.SUB_QUERY;
+import static org.brapi.schematools.core.response.Response.fail;
+import static org.brapi.schematools.core.response.Response.success;
+import static org.brapi.schematools.core.sql.SQLGenerator.COMMENT_PREFIX;
+import static org.brapi.schematools.core.sql.SQLGenerator.findIdName;
+import static org.brapi.schematools.core.sql.SQLGenerator.isAddingDepreciatedProperty;
+import static org.brapi.schematools.core.utils.BrAPITypeUtils.findQueryParameters;
+import static org.brapi.schematools.core.utils.BrAPITypeUtils.unwrapType;
+import static org.brapi.schematools.core.utils.StringUtils.toSingular;
+
+/**
+ * Generates parameterised query templates for the list and search endpoints of the BrAPI types for
+ * which the {@link SQLGenerator} generates tables with the same options. The parameters of the templates
+ * are those of the request schema, for example 'StudyRequest', found in the same way as the query parameters of the
+ * list endpoints in the OpenAPI specification, see {@link BrAPITypeUtils#findQueryParameters(BrAPIObjectType)}.
+ * The list query takes a single value for each parameter, for example ':studyType', and the search query takes
+ * an array of values, for example ':studyTypes'. Each query is a {@link SQLQueryTemplate}, which renders the statement
+ * with only the conditions of the parameters that have values. A catch-all condition such as
+ * '(:studyType IS NULL OR ...)' is not used, since the plan of a prepared statement must then work for any of
+ * the parameters and can not use the index for one of them. The parameters that link to many entities are filtered
+ * through the link tables, or the arrays of IDs if the link tables are not generated. The query files contain
+ * the statements with the conditions of all the parameters.
+ * <p>
+ * The queries use keyset pagination, rather than offset pagination, so that a deep page is as quick to
+ * retrieve as the first page. The rows are ordered by the primary key and the ':pageToken' parameter is the
+ * primary key of the last row of the previous page, its condition is left out for the first page. A script with
+ * the composite indexes that support the filters together with the ordering by the primary key is also generated,
+ * for the parameters given by {@link SQLGeneratorOptions#getQueryIndexParametersFor}.
+ */
+@Slf4j
+public class SQLQueryTemplateGenerator {
+    /**
+     * The file extension of the query templates
+     */
+    public static final String QUERIES_EXTENSION = ".queries.sql";
+    /**
+     * The name of the script that creates the indexes for the query templates
+     */
+    public static final String INDEX_SCRIPT = "add_query_indexes.sql";
+
+    private static final String PAGE_TOKEN_PARAMETER = "pageToken";
+    private static final String PAGE_SIZE_PARAMETER = "pageSize";
+    private static final String TABLE_ALIAS = "t";
+
+    private final BrAPISchemaReader schemaReader ;
+    private final SQLGeneratorOptions options ;
+    private final Path outputPath ;
+
+    /**
+     * Creates a SQLQueryTemplateGenerator using a default {@link BrAPISchemaReader} and
+     * the provided {@link SQLGeneratorOptions}.
+     * @param options The options to be used in the generation, the same as used to generate the tables
+     * @param outputPath the path of the output directory
+     */
+    public SQLQueryTemplateGenerator(SQLGeneratorOptions options, Path outputPath) {
+        this(new BrAPISchemaReader(options.getBrAPISchemaReader()), options, outputPath) ;
+    }
+
+    /**
+     * Creates a SQLQueryTemplateGenerator
+     * @param schemaReader the reader used to read the BrAPI schema
+     * @param options The options to be used in the generation, the same as used to generate the tables
+     * @param outputPath the path of the output directory
+     */
+    public SQLQueryTemplateGenerator(BrAPISchemaReader schemaReader, SQLGeneratorOptions options, Path outputPath) {
+        this.schemaReader = schemaReader;
+        this.options = options;
+        this.outputPath = outputPath;
+    }
+
+    /**
+     * Generates the query templates and the index script from the complete BrAPI Specification
+     * @param schemaDirectory the path to the complete BrAPI Specification
+     * @param metadata the metadata used to generate the tables
+     * @return the paths of the generated files
+     */
+    public Response<List<Path>> generate(Path schemaDirectory, SQLGeneratorMetadata metadata) {
+        return options.validate().asResponse()
+            .map(() -> schemaReader.readDirectories(schemaDirectory))
+            .mapResultToResponse(brAPIClasses -> new Generator(brAPIClasses, metadata).generate()) ;
+    }
+
+    /**
+     * Generates the query templates and the index script from the BrAPI classes
+     * @param brAPIClasses the BrAPI classes from which the tables were generated
+     * @param metadata the metadata used to generate the tables
+     * @return the paths of the generated files
+     */
+    public Response<List<Path>> generate(List<BrAPIClass> brAPIClasses, SQLGeneratorMetadata metadata) {
+        return options.validate().asResponse()
+            .map(() -> new Generator(brAPIClasses, metadata).generate()) ;
+    }
+
+    /**
+     * Generates the list and search query templates for the BrAPI types, without writing any files
+     * @param brAPIClasses the BrAPI classes from which the tables were generated
+     * @param metadata the metadata used to generate the tables
+     * @return the list and search query templates for each type, in the order of the types
+     */
+    public Response<List<SQLQueryTemplate>> generateTemplates(List<BrAPIClass> brAPIClasses, SQLGeneratorMetadata metadata) {
+        return options.validate().asResponse()
+            .map(() -> success(new Generator(brAPIClasses, metadata).generateTemplates())) ;
+    }
+
+    private enum FilterType {
+        COLUMN,
+        ARRAY_COLUMN,
+        LINK_TABLE
+    }
+
+    /**
+     * How a parameter is filtered on. For a link table the column is the column of the linked
+     * entity in the link table, which is joined to the table on the primary key.
+     */
+    private record Filter(FilterType type, String tableName, String column) {
+    }
+
+    /**
+     * A parameter of the request schema, with the name used in the list query and the name
+     * used in the search query, and how it is filtered on, or {@code null} if it has no column.
+     */
+    private record Parameter(String listName, String searchName, Filter filter) {
+    }
+
+    private class Generator {
+        private final BrAPIClassCacheBuilder.BrAPIClassCache brAPIClassCache;
+        private final SQLTableNames tableNames;
+        private final Set<String> indexes = new LinkedHashSet<>();
+
+        private Generator(List<BrAPIClass> brAPIClasses, SQLGeneratorMetadata metadata) {
+            this.brAPIClassCache = BrAPIClassCacheBuilder.builder(brAPIClasses).build();
+            this.tableNames = new SQLTableNames(options, metadata);
+        }
+
+        private Response<List<Path>> generate() {
+            try {
+                Files.createDirectories(outputPath) ;
+            } catch (IOException e) {
+                return fail(Response.ErrorType.VALIDATION, outputPath, String.format("Can not create directory due to %s", e.getMessage())) ;
+            }
+
+            List<Path> paths = new ArrayList<>() ;
+
+            return streamObjectTypes()
+                .map(this::generateQueries)
+                .filter(Response::isPresent)
+                .collect(Response.toList())
+                .onSuccessDoWithResult(paths::addAll)
+                .mergeOnCondition(!indexes.isEmpty(), () -> writeToFile(outputPath.resolve(INDEX_SCRIPT), String.join(System.lineSeparator(), indexes)))
+                .onSuccessIfPresentDoWithResult(paths::add)
+                .map(() -> success(paths));
+        }
+
+        private List<SQLQueryTemplate> generateTemplates() {
+            return streamObjectTypes()
+                .flatMap(brAPIObjectType -> createTemplates(brAPIObjectType).stream())
+                .toList();
+        }
+
+        private Stream<BrAPIObjectType> streamObjectTypes() {
+            return brAPIClassCache.getBrAPIClasses()
+                .stream()
+                .filter(brAPIClass -> brAPIClass instanceof BrAPIObjectType)
+                .filter(brAPIClass -> SQLGenerator.isGeneratingTableFor(options, brAPIClass))
+                .map(BrAPIObjectType.class::cast);
+        }
+
+        private Response<Path> generateQueries(BrAPIObjectType brAPIObjectType) {
+            List<SQLQueryTemplate> templates = createTemplates(brAPIObjectType);
+
+            if (templates.isEmpty()) {
+                return Response.empty();
+            }
+
+            String queries = templates.stream()
+                .map(this::createQuery)
+                .collect(Collectors.joining(System.lineSeparator()));
+
+            return writeToFile(outputPath.resolve(brAPIObjectType.getName() + QUERIES_EXTENSION), queries);
+        }
+
+        /**
+         * Creates the list and search query templates, and adds the indexes that support them
+         */
+        private List<SQLQueryTemplate> createTemplates(BrAPIObjectType brAPIObjectType) {
+            Optional<String> idColumn = findIdName(options, brAPIObjectType);
+
+            if (idColumn.isEmpty()) {
+                log.warn("Can not generate the query templates for '{}', since it has no ID property", brAPIObjectType.getName());
+                return Collections.emptyList();
+            }
+
+            String tableName = tableNames.getFullTableName(brAPIObjectType);
+
+            List<Parameter> parameters = findParameters(brAPIObjectType, findFilters(brAPIObjectType));
+
+            addIndexes(brAPIObjectType, tableName, idColumn.get(), parameters);
+
+            return List.of(
+                createTemplate(brAPIObjectType, tableName, idColumn.get(), parameters, false),
+                createTemplate(brAPIObjectType, tableName, idColumn.get(), parameters, true));
+        }
+
+        /**
+         * Finds the columns that can be filtered on by the parameter name, which is the singular
+         * name of the request property, for example 'studyType' for 'studyTypes'
+         */
+        private Map<String, Filter> findFilters(BrAPIObjectType brAPIObjectType) {
+            String tableName = tableNames.getFullTableName(brAPIObjectType);
+
+            Map<String, Filter> filters = new LinkedHashMap<>();
+
+            options.getProperties().getPrimaryPropertiesFor(brAPIObjectType)
+                .forEach(property -> filters.putIfAbsent(property.getName(), new Filter(FilterType.COLUMN, tableName, property.getName())));
+
+            brAPIObjectType.getProperties()
+                .stream()
+                .filter(property -> isAddingDepreciatedProperty(options, property))
+                .forEach(property -> addFilters(brAPIObjectType, tableName, property, filters));
+
+            return filters;
+        }
+
+        private void addFilters(BrAPIObjectType brAPIObjectType, String tableName, BrAPIObjectProperty property, Map<String, Filter> filters) {
+            BrAPIType type = brAPIClassCache.dereferenceType(property.getType());
+            BrAPIType itemType = brAPIClassCache.dereferenceType(unwrapType(property.getType()));
+            LinkType linkType = options.getProperties().getLinkTypeFor(brAPIObjectType, property, itemType).orElseResult(LinkType.NONE);
+
+            if (linkType == LinkType.NONE || property.getType().getName().equals("AdditionalInfo")) {
+                return;
+            }
+
+            if (type instanceof BrAPIPrimitiveType || type instanceof BrAPIEnumType) {
+                filters.putIfAbsent(property.getName(), new Filter(FilterType.COLUMN, tableName, property.getName()));
+            } else if (type instanceof BrAPIObjectType linkedType && linkType == ID) {
+                options.getProperties().getLinkPropertiesFor(brAPIObjectType, property, linkedType)
+                    .forEach(linkProperty -> filters.putIfAbsent(linkProperty.getName(), new Filter(FilterType.COLUMN, tableName, linkProperty.getName())));
+            } else if (type instanceof BrAPIArrayType && itemType instanceof BrAPIObjectType linkedType && linkType == ID) {
+                findIdName(options, linkedType).ifPresent(idName ->
+                    filters.putIfAbsent(idName, new Filter(FilterType.ARRAY_COLUMN, tableName, options.getProperties().getIdsPropertyNameFor(property))));
+            } else if (type instanceof BrAPIArrayType && itemType instanceof BrAPIObjectType linkedType && linkType == SUB_QUERY && options.isGeneratingLinkTables()) {
+                findIdName(options, linkedType).ifPresent(idName ->
+                    filters.putIfAbsent(idName, new Filter(FilterType.LINK_TABLE, tableNames.getFullLinkTableName(brAPIObjectType, linkedType), idName)));
+            } else if (type instanceof BrAPIArrayType && (itemType instanceof BrAPIPrimitiveType || itemType instanceof BrAPIEnumType) && linkType == EMBEDDED) {
+                filters.putIfAbsent(toSingular(property.getName()), new Filter(FilterType.ARRAY_COLUMN, tableName, property.getName()));
+            }
+        }
+
+        /**
+         * Finds the parameters from the request schema in the same way as the query parameters of the list
+         * endpoint in the OpenAPI specification. The search query uses the property names.
+         */
+        private List<Parameter> findParameters(BrAPIObjectType brAPIObjectType, Map<String, Filter> filters) {
+            if (!(brAPIClassCache.getBrAPIRequestClass(brAPIObjectType) instanceof BrAPIObjectType requestType)) {
+                return Collections.emptyList();
+            }
+
+            return findQueryParameters(requestType)
+                .stream()
+                .filter(parameter -> isAddingDepreciatedProperty(options, parameter.getProperty()))
+                .map(parameter -> new Parameter(parameter.getName(), parameter.getProperty().getName(), filters.get(parameter.getSingularName())))
+                .toList();
+        }
+
+        private SQLQueryTemplate createTemplate(BrAPIObjectType brAPIObjectType, String tableName, String idColumn, List<Parameter> parameters, boolean search) {
+            SQLQueryTemplate.SQLQueryTemplateBuilder builder = SQLQueryTemplate.builder()
+                .typeName(brAPIObjectType.getName())
+                .search(search)
+                .select("SELECT " + TABLE_ALIAS + ".*" + System.lineSeparator() + "FROM " + tableName + " " + TABLE_ALIAS)
+                .indentSize(options.getIndentSize());
+
+            int linkTableCount = 0;
+
+            for (Parameter parameter : parameters) {
+                String name = search ? parameter.searchName() : parameter.listName();
+
+                if (parameter.filter() != null) {
+                    String alias = "l" + (parameter.filter().type() == FilterType.LINK_TABLE ? ++linkTableCount : 0);
+
+                    builder.condition(name, search ?
+                        createSearchCondition(name, parameter.filter(), idColumn, alias) :
+                        createListCondition(name, parameter.filter(), idColumn, alias));
+                } else {
+                    builder.unsupportedParameter(name);
+                }
+            }
+
+            String id = column(idColumn);
+
+            builder.condition(PAGE_TOKEN_PARAMETER, String.format("%s > :%s", id, PAGE_TOKEN_PARAMETER));
+
+            builder.orderBy("ORDER BY " + id + System.lineSeparator() + (options.getDialect() == SQLDialect.ANSI ?
+                String.format("FETCH FIRST :%s ROWS ONLY ;", PAGE_SIZE_PARAMETER) :
+                String.format("LIMIT :%s ;", PAGE_SIZE_PARAMETER)));
+
+            return builder.build();
+        }
+
+        /**
+         * Creates the query for the query file, with the conditions of all the parameters
+         */
+        private String createQuery(SQLQueryTemplate template) {
+            StringBuilder builder = new StringBuilder();
+
+            builder.append(COMMENT_PREFIX);
+            builder.append(template.isSearch() ?
+                String.format("Search the %s, each parameter is an array of values", template.getTypeName()) :
+                String.format("List the %s, each parameter is a single value", template.getTypeName()));
+            builder.append(System.lineSeparator());
+
+            if (!template.getUnsupportedParameters().isEmpty()) {
+                builder.append(COMMENT_PREFIX);
+                builder.append(String.format("The parameters '%s' are not supported, since they do not match a column",
+                    String.join("', '", template.getUnsupportedParameters())));
+                builder.append(System.lineSeparator());
+            }
+
+            builder.append(COMMENT_PREFIX);
+            builder.append("Only include the condition of each parameter that has a value, see SQLQueryTemplate");
+            builder.append(System.lineSeparator());
+
+            builder.append(COMMENT_PREFIX);
+            builder.append(String.format("':%s' is the ID of the last row of the previous page, its condition is left out for the first page", PAGE_TOKEN_PARAMETER));
+            builder.append(System.lineSeparator());
+
+            builder.append(template.renderAll());
+            builder.append(System.lineSeparator());
+
+            return builder.toString();
+        }
+
+        private String createListCondition(String name, Filter filter, String idColumn, String alias) {
+            String value = ":" + name;
+
+            return switch (filter.type()) {
+                case COLUMN -> String.format("%s = %s", column(filter.column()), value);
+                case ARRAY_COLUMN -> createContains(column(filter.column()), value);
+                case LINK_TABLE -> createLinkTableExists(filter, idColumn, alias, String.format("%s.%s = %s", alias, tableNames.getColumnName(filter.column()), value));
+            };
+        }
+
+        private String createSearchCondition(String name, Filter filter, String idColumn, String alias) {
+            String values = ":" + name;
+
+            return switch (filter.type()) {
+                case COLUMN -> createContains(values, column(filter.column()));
+                case ARRAY_COLUMN -> createOverlaps(column(filter.column()), values);
+                case LINK_TABLE -> createLinkTableExists(filter, idColumn, alias, createContains(values, alias + "." + tableNames.getColumnName(filter.column())));
+            };
+        }
+
+        /**
+         * The linked entities are joined though the link table as a semi join, so that a row is
+         * returned once however many of the linked entities match
+         */
+        private String createLinkTableExists(Filter filter, String idColumn, String alias, String condition) {
+            return String.format("EXISTS (SELECT 1 FROM %s %s WHERE %s.%s = %s AND %s)",
+                filter.tableName(), alias, alias, tableNames.getColumnName(idColumn), column(idColumn), condition);
+        }
+
+        private String createContains(String array, String value) {
+            return switch (options.getDialect()) {
+                case POSTGRESQL -> String.format("%s = ANY(%s)", value, array);
+                case SPARK -> String.format("array_contains(%s, %s)", array, value);
+                case ANSI -> String.format("%s IN (SELECT * FROM UNNEST(%s))", value, array);
+            };
+        }
+
+        private String createOverlaps(String array, String values) {
+            return switch (options.getDialect()) {
+                case POSTGRESQL -> String.format("%s && %s", array, values);
+                case SPARK -> String.format("arrays_overlap(%s, %s)", array, values);
+                case ANSI -> String.format("EXISTS (SELECT * FROM UNNEST(%s) AS a(v) WHERE %s)", array, createContains(values, "a.v"));
+            };
+        }
+
+        /**
+         * Adds the composite indexes that support each indexed filter followed by the ordering on the primary key,
+         * so that the next page is found by seeking in the index. The link tables are indexed on the
+         * linked entity followed by the primary key of the table.
+         */
+        private void addIndexes(BrAPIObjectType brAPIObjectType, String tableName, String idColumn, List<Parameter> parameters) {
+            if (options.getDialect() == SQLDialect.SPARK) {
+                // Delta Lake does not support secondary indexes, the data is co-located by the index script of the SQLGenerator
+                return;
+            }
+
+            Set<String> indexedParameters = new HashSet<>(options.getQueryIndexParametersFor(brAPIObjectType));
+
+            parameters.stream()
+                .filter(parameter -> indexedParameters.contains(parameter.listName()))
+                .map(Parameter::filter)
+                .filter(Objects::nonNull)
+                .forEach(filter -> {
+                    switch (filter.type()) {
+                        case COLUMN -> {
+                            if (!filter.column().equals(idColumn)) {
+                                indexes.add(createIndexStatement(tableName, List.of(filter.column(), idColumn), null));
+                            }
+                        }
+                        case ARRAY_COLUMN -> {
+                            if (options.getDialect() == SQLDialect.POSTGRESQL) {
+                                indexes.add(createIndexStatement(tableName, List.of(filter.column()), "GIN"));
+                            }
+                        }
+                        case LINK_TABLE -> indexes.add(createIndexStatement(filter.tableName(), List.of(filter.column(), idColumn), null));
+                    }
+                });
+        }
+
+        private String createIndexStatement(String tableName, List<String> columns, String method) {
+            StringBuilder builder = new StringBuilder();
+
+            builder.append("CREATE INDEX ");
+            if (options.isAddingIfNotExists()) {
+                builder.append("IF NOT EXISTS ");
+            }
+            builder.append(tableNames.getIndexName(tableName, columns));
+            builder.append(" ON ");
+            builder.append(tableName);
+            if (method != null) {
+                builder.append(" USING ");
+                builder.append(method);
+            }
+            builder.append(" (");
+            builder.append(columns.stream().map(tableNames::getColumnName).collect(Collectors.joining(", ")));
+            builder.append(") ;");
+
+            return builder.toString();
+        }
+
+        private String column(String name) {
+            return TABLE_ALIAS + "." + tableNames.getColumnName(name);
+        }
+
+        private Response<Path> writeToFile(Path path, String text) {
+            try {
+                if (!options.isOverwritingExistingFiles() && Files.exists(path)) {
+                    log.warn("Output file '{}' already exists and was not overwritten", path);
+                    return Response.empty() ;
+                } else {
+                    PrintWriter printWriter = new PrintWriter(Files.newBufferedWriter(path, Charset.defaultCharset()));
+                    printWriter.println(text);
+
+                    if (options.isAddingGeneratorComments()) {
+                        printWriter.println();
+                        printWriter.print(COMMENT_PREFIX) ;
+                        printWriter.println("Generated by Schema Tools " + SQLQueryTemplateGenerator.class.getSimpleName() + " Version: '" + options.getSchemaToolsVersion() +"'");
+                    }
+
+                    printWriter.close();
+                    return success(path) ;
+                }
+            } catch (IOException exception){
+                return fail(Response.ErrorType.VALIDATION, path, String.format("Can not write to file due to %s", exception.getMessage())) ;
+            }
+        }
+    }
+}
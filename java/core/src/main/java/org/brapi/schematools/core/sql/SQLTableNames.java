@@ -0,0 +1,183 @@
+package org.brapi.schematools.core.sql;
+
+import lombok.AllArgsConstructor;
+import org.brapi.schematools.core.model.BrAPIObjectProperty;
+import org.brapi.schematools.core.model.BrAPIType;
+import org.brapi.schematools.core.sql.metadata.SQLGeneratorMetadata;
+import org.brapi.schematools.core.sql.options.SQLDialect;
+import org.brapi.schematools.core.sql.options.SQLGeneratorOptions;
+import org.brapi.schematools.core.utils.HashUtils;
+
+import java.util.List;
+
+import static org.brapi.schematools.core.utils.StringUtils.*;
+
+/**
+ * Creates the names of the tables, link tables and controlled vocabulary tables for BrAPI types,
+ * and the names of their columns, so that the DDL and the data loaded into the tables use the same names.
+ */
+@AllArgsConstructor
+class SQLTableNames {
+    // the longest identifier in PostgreSQL, longer names are silently truncated, so may collide
+    static final int MAX_IDENTIFIER_LENGTH = 63;
+    private static final String INDEX_SUFFIX = "_idx";
+    private static final int HASH_LENGTH = 8;
+    private static final String MATERIALIZED_VIEW_REFRESH_TABLE_NAME = "MaterializedViewRefreshes";
+
+    private final SQLGeneratorOptions options;
+    private final SQLGeneratorMetadata metadata;
+
+    /**
+     * Gets the full name, including the table prefix, of the table for a BrAPI type
+     * @param brAPIType the BrAPI type
+     * @return the full name of the table
+     */
+    String getFullTableName(BrAPIType brAPIType) {
+        return addTablePrefix(getTableName(brAPIType));
+    }
+
+    /**
+     * Gets the name, without the table prefix, of the table for a BrAPI type
+     * @param brAPIType the BrAPI type
+     * @return the name of the table
+     */
+    String getTableName(BrAPIType brAPIType) {
+        String name = brAPIType.getName() ;
+
+        if (options.isUsingPluralTableNames()) {
+            name = toPlural(name) ;
+        }
+
+        if (options.isUsingSnakeCaseTableNames()) {
+            name = toSnakeCase(name) ;
+        }
+
+        return name ;
+    }
+
+    /**
+     * Gets the full name, including the table prefix, of the table that links the items of an array property to its parent
+     * @param parentType the type that has the array property
+     * @param itemType the type of the items of the array
+     * @return the full name of the link table
+     */
+    String getFullLinkTableName(BrAPIType parentType, BrAPIType itemType) {
+        return addTablePrefix(getLinkTableName(parentType, itemType));
+    }
+
+    /**
+     * Gets the name, without the table prefix, of the table that links the items of an array property to its parent
+     * @param parentType the type that has the array property
+     * @param itemType the type of the items of the array
+     * @return the name of the link table
+     */
+    String getLinkTableName(BrAPIType parentType, BrAPIType itemType) {
+        String name = itemType.getName() + "By" + parentType.getName();
+
+        if (options.isUsingSnakeCaseTableNames()) {
+            name = toSnakeCase(name) ;
+        }
+
+        return name ;
+    }
+
+    /**
+     * Gets the full name, including the table prefix, of the controlled vocabulary table for a property
+     * @param property the property with a controlled vocabulary
+     * @return the full name of the controlled vocabulary table
+     */
+    String getFullControlledVocabularyTableName(BrAPIObjectProperty property) {
+        return addTablePrefix(getControlledVocabularyTableName(property));
+    }
+
+    /**
+     * Gets the name, without the table prefix, of the controlled vocabulary table for a property
+     * @param property the property with a controlled vocabulary
+     * @return the name of the controlled vocabulary table
+     */
+    String getControlledVocabularyTableName(BrAPIObjectProperty property) {
+        String name = toSentenceCase(property.getName()) ;
+
+        if (options.isUsingPluralTableNames()) {
+            name = toPlural(name) ;
+        }
+
+        if (options.isUsingSnakeCaseTableNames()) {
+            name = toSnakeCase(name) ;
+        }
+
+        return name ;
+    }
+
+    /**
+     * Gets the full name, including the table prefix, of the materialised view for the table endpoint of a BrAPI type
+     * @param brAPIType the BrAPI type
+     * @return the full name of the materialised view
+     */
+    String getFullMaterializedViewName(BrAPIType brAPIType) {
+        String name = options.getMaterializedViews().getViewNameFor(brAPIType) ;
+
+        if (options.isUsingSnakeCaseTableNames()) {
+            name = toSnakeCase(name) ;
+        }
+
+        return addTablePrefix(name) ;
+    }
+
+    /**
+     * Gets the full name, including the table prefix, of the table that holds the time of the last refresh of
+     * each materialised view that is refreshed incrementally
+     * @return the full name of the refresh table
+     */
+    String getFullMaterializedViewRefreshTableName() {
+        String name = MATERIALIZED_VIEW_REFRESH_TABLE_NAME ;
+
+        if (options.isUsingSnakeCaseTableNames()) {
+            name = toSnakeCase(name) ;
+        }
+
+        return addTablePrefix(name) ;
+    }
+
+    /**
+     * Gets the name of the column for a property, which is quoted if it is a reserved word in the dialect
+     * @param propertyName the name of the property
+     * @return the name of the column
+     */
+    String getColumnName(String propertyName) {
+        return options.getDialect() == SQLDialect.POSTGRESQL ? PostgreSQLCreateTableDDLGenerator.quoteReservedWord(propertyName) : propertyName;
+    }
+
+    /**
+     * Gets the name of an index on the columns of a table or view. Names longer than {@link #MAX_IDENTIFIER_LENGTH}
+     * are truncated and end with a hash of the full name, so that they remain unique.
+     * @param fullTableName the full name of the table or view
+     * @param columns the indexed columns
+     * @return the name of the index
+     */
+    String getIndexName(String fullTableName, List<String> columns) {
+        String name = removeTablePrefix(fullTableName) + "_" + String.join("_", columns) ;
+
+        if (name.length() + INDEX_SUFFIX.length() <= MAX_IDENTIFIER_LENGTH) {
+            return name + INDEX_SUFFIX ;
+        }
+
+        String hash = HashUtils.sha256(name).substring(0, HASH_LENGTH) ;
+
+        return name.substring(0, MAX_IDENTIFIER_LENGTH - HASH_LENGTH - INDEX_SUFFIX.length() - 1) + "_" + hash + INDEX_SUFFIX ;
+    }
+
+    /**
+     * Removes the table prefix, if any, from a full table name
+     * @param fullTableName the full name of the table
+     * @return the name of the table without the prefix, or the full name if it does not start with the prefix
+     */
+    String removeTablePrefix(String fullTableName) {
+        return metadata.getTablePrefix() != null && fullTableName.startsWith(metadata.getTablePrefix()) ?
+            fullTableName.substring(metadata.getTablePrefix().length()) : fullTableName;
+    }
+
+    private String addTablePrefix(String tableName) {
+        return metadata.getTablePrefix() != null ? metadata.getTablePrefix() + tableName : tableName;
+    }
+}
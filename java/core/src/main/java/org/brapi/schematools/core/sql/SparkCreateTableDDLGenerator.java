@@ -0,0 +1,90 @@
+package org.brapi.schematools.core.sql;
+
+import lombok.extern.slf4j.Slf4j;
+import org.brapi.schematools.core.model.BrAPIClass;
+import org.brapi.schematools.core.sql.metadata.SQLGeneratorMetadata;
+import org.brapi.schematools.core.sql.options.SQLGeneratorOptions;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Generates the DDL to create Delta Lake tables for BrAPI types in Spark SQL. The tables use the DELTA
+ * format if no other format is defined in the options. Delta Lake does not support secondary indexes, so
+ * instead the index script co-locates the data of each table that is not clustered with OPTIMIZE ZORDER BY,
+ * on the columns that would otherwise have been indexed. Tables that are clustered use liquid clustering,
+ * which can not be combined with Z-ordering.
+ * Delta Lake can only widen the type of an existing column, for example from INT to DOUBLE, and only if
+ * type widening is enabled on the table with the table property 'delta.enableTypeWidening'. Any other change
+ * to the type of a column needs the table to be reloaded.
+ */
+@Slf4j
+public class SparkCreateTableDDLGenerator extends ANSICreateTableDDLGenerator {
+    private static final String DELTA = "DELTA";
+    private static final int MAX_ZORDER_COLUMNS = 4;
+    // the types to which the type of a column can be widened in place, see https://docs.delta.io/latest/delta-type-widening.html
+    private static final Map<String, Set<String>> WIDENED_TYPES = Map.of(
+        "INT", Set.of("BIGINT", "DOUBLE"),
+        "FLOAT", Set.of("DOUBLE"));
+
+    public SparkCreateTableDDLGenerator(SQLGeneratorOptions options, SQLGeneratorMetadata metadata, List<BrAPIClass> brAPIClasses) {
+        super(options, metadata, brAPIClasses);
+    }
+
+    @Override
+    protected String getTableUsing() {
+        return super.getTableUsing() != null ? super.getTableUsing() : DELTA;
+    }
+
+    @Override
+    public String generateAlterColumnTypeStatement(String tableName, SQLColumn oldColumn, SQLColumn newColumn) {
+        if (WIDENED_TYPES.getOrDefault(oldColumn.getType(), Set.of()).contains(newColumn.getType())) {
+            return String.format("ALTER TABLE %s ALTER COLUMN %s TYPE %s ;", tableName, quoteColumnName(newColumn.getName()), newColumn.getType());
+        }
+
+        log.warn("The type of column '{}' of table '{}' can not be changed in place, the table needs to be reloaded", newColumn.getName(), tableName);
+
+        return String.format("%sReload the table %s to change the type of column %s from %s to %s, which can not be changed in place",
+            SQLGenerator.COMMENT_PREFIX, tableName, newColumn.getName(), singleLine(oldColumn.getType()), singleLine(newColumn.getType()));
+    }
+
+    @Override
+    protected boolean isAlteringColumnComments() {
+        return true;
+    }
+
+    @Override
+    protected List<String> createIndexStatements(String tableName, List<List<String>> indexColumns, List<String> partitionColumns, boolean clustered) {
+        if (clustered) {
+            return Collections.emptyList();
+        }
+
+        // partition columns can not be used to Z-order the data
+        List<String> columns = indexColumns.stream()
+            .flatMap(Collection::stream)
+            .distinct()
+            .filter(column -> !partitionColumns.contains(column))
+            .toList();
+
+        if (columns.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        if (columns.size() > MAX_ZORDER_COLUMNS) {
+            log.warn("Z-ordering on more than {} columns is not effective, table {} has {} indexed columns. Removing extra ones. ", MAX_ZORDER_COLUMNS, tableName, columns.size());
+
+            columns = columns.subList(0, MAX_ZORDER_COLUMNS);
+        }
+
+        return List.of(String.format("OPTIMIZE %s ZORDER BY (%s) ;", tableName, columns.stream().map(this::quoteColumnName).collect(Collectors.joining(", "))));
+    }
+
+    // the nested types span several lines, which would end the comment
+    private String singleLine(String type) {
+        return type.strip().replaceAll("\\s+", " ");
+    }
+}
@@ -0,0 +1,148 @@
+package org.brapi.schematools.core.sql.options;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.Setter;
+import org.brapi.schematools.core.model.BrAPIType;
+import org.brapi.schematools.core.options.Options;
+import org.brapi.schematools.core.validiation.Validation;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Provides options for the generation of the materialised views for the table endpoints
+ * (GET &lt;entity&gt;/table endpoints that return CSV text), which flatten the entities into
+ * the columns of the table response.
+ */
+@Getter(AccessLevel.PRIVATE)
+@Setter
+public class MaterializedViewOptions implements Options {
+    private Boolean generate;
+    private String tableClassNameFormat;
+    private String viewNameFormat;
+    @Getter
+    private MaterializedViewRefresh refresh;
+    @Getter
+    private String changeTrackingColumn;
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.PRIVATE)
+    private Map<String, Boolean> generateFor = new HashMap<>();
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.PRIVATE)
+    private Map<String, List<String>> valueColumnsFor = new HashMap<>();
+
+    /**
+     * Checks if the current options are valid, return a list of errors if the options are not valid
+     *
+     * @return a Validation object than can be used queried to find if the options are valid and any errors
+     * if the options are not valid
+     */
+    public Validation validate() {
+        return Validation.valid()
+            .assertNotNull(generate, "'generate' option on %s is null", this.getClass().getSimpleName())
+            .assertNotNull(tableClassNameFormat, "'tableClassNameFormat' option on %s is null", this.getClass().getSimpleName())
+            .assertNotNull(viewNameFormat, "'viewNameFormat' option on %s is null", this.getClass().getSimpleName())
+            .assertNotNull(refresh, "'refresh' option on %s is null", this.getClass().getSimpleName())
+            .assertTrue(refresh != MaterializedViewRefresh.INCREMENTAL || changeTrackingColumn != null,
+                "'changeTrackingColumn' option on %s is required for an incremental refresh", this.getClass().getSimpleName())
+            .assertNotNull(generateFor, "'generateFor' option on %s is null", this.getClass().getSimpleName())
+            .assertNotNull(valueColumnsFor, "'valueColumnsFor' option on %s is null", this.getClass().getSimpleName());
+    }
+
+    /**
+     * Overrides the values in this Options Object from the provided Options Object if they are non-null
+     * @param overrideOptions the options which will be used to override this Options Object
+     */
+    public void override(MaterializedViewOptions overrideOptions) {
+        if (overrideOptions.generate != null) {
+            setGenerate(overrideOptions.generate);
+        }
+
+        if (overrideOptions.tableClassNameFormat != null) {
+            setTableClassNameFormat(overrideOptions.tableClassNameFormat);
+        }
+
+        if (overrideOptions.viewNameFormat != null) {
+            setViewNameFormat(overrideOptions.viewNameFormat);
+        }
+
+        if (overrideOptions.refresh != null) {
+            setRefresh(overrideOptions.refresh);
+        }
+
+        if (overrideOptions.changeTrackingColumn != null) {
+            setChangeTrackingColumn(overrideOptions.changeTrackingColumn);
+        }
+
+        if (overrideOptions.generateFor != null) {
+            overrideOptions.generateFor.forEach((key, value) -> {
+                if (value == null) generateFor.remove(key);
+                else generateFor.put(key, value);
+            });
+        }
+
+        if (overrideOptions.valueColumnsFor != null) {
+            overrideOptions.valueColumnsFor.forEach((key, value) -> {
+                if (value == null) valueColumnsFor.remove(key);
+                else valueColumnsFor.put(key, value);
+            });
+        }
+    }
+
+    /**
+     * Determines if the materialised views are generated
+     * @return {@code true} if the materialised views are generated, {@code false} otherwise
+     */
+    @JsonIgnore
+    public boolean isGenerating() {
+        return generate != null && generate;
+    }
+
+    /**
+     * Determines if the materialised view is generated for a primary model, which should be
+     * the primary models that have a table endpoint
+     * @param type the primary model
+     * @return {@code true} if the materialised view is generated for the primary model, {@code false} otherwise
+     */
+    @JsonIgnore
+    public boolean isGeneratingFor(@NonNull BrAPIType type) {
+        return isGenerating() && generateFor.getOrDefault(type.getName(), false);
+    }
+
+    /**
+     * Gets the name of the class that defines the table response for a primary model, for example 'ObservationTable'
+     * @param type the primary model
+     * @return the name of the table response class
+     */
+    @JsonIgnore
+    public String getTableClassNameFor(@NonNull BrAPIType type) {
+        return String.format(tableClassNameFormat, type.getName());
+    }
+
+    /**
+     * Gets the name of the materialised view for a primary model, without the table prefix
+     * @param type the primary model
+     * @return the name of the materialised view
+     */
+    @JsonIgnore
+    public String getViewNameFor(@NonNull BrAPIType type) {
+        return String.format(viewNameFormat, type.getName());
+    }
+
+    /**
+     * Gets the columns that hold the values of the observation variables for a primary model. The table response
+     * has a column for each observation variable, which depends on the data, so the view has a row for each
+     * value instead, which is pivoted into the columns of the response as the rows are read.
+     * @param type the primary model
+     * @return the columns that hold the values of the observation variables, or an empty list if there are none
+     */
+    @JsonIgnore
+    public List<String> getValueColumnsFor(@NonNull BrAPIType type) {
+        return valueColumnsFor.getOrDefault(type.getName(), Collections.emptyList());
+    }
+}
@@ -0,0 +1,21 @@
+package org.brapi.schematools.core.sql.options;
+
+/**
+ * The strategies by which the {@link org.brapi.schematools.core.sql.MaterializedViewDDLGenerator} refreshes
+ * the materialised views of the table endpoints
+ */
+public enum MaterializedViewRefresh {
+
+    /**
+     * The whole view is recomputed with REFRESH MATERIALIZED VIEW, concurrently in PostgreSQL
+     */
+    FULL,
+    /**
+     * Only the rows of the entities that have changed since the last refresh are recomputed, as found by the
+     * change tracking column of the tables, see {@link MaterializedViewOptions#getChangeTrackingColumn()}.
+     * In PostgreSQL the view is a table, whose rows are deleted and inserted again for each changed entity.
+     * Databricks already refreshes materialised views incrementally where it can, so the refresh is the same
+     * as for {@link #FULL}.
+     */
+    INCREMENTAL
+}
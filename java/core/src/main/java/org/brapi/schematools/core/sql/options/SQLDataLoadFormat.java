@@ -0,0 +1,17 @@
+package org.brapi.schematools.core.sql.options;
+
+/**
+ * The formats in which the {@link org.brapi.schematools.core.sql.SQLDataLoadGenerator} generates the data to be loaded
+ */
+public enum SQLDataLoadFormat {
+
+    /**
+     * A script of multi-row INSERT statements, with up to {@link SQLGeneratorOptions#getInsertBatchSize()} rows in each statement
+     */
+    INSERT,
+    /**
+     * A CSV file for each table, and a script to bulk load the CSV files, using COPY in PostgreSQL,
+     * COPY INTO in Spark SQL and LOAD DATA otherwise
+     */
+    CSV
+}
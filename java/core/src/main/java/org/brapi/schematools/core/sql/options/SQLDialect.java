@@ -0,0 +1,20 @@
+package org.brapi.schematools.core.sql.options;
+
+/**
+ * The SQL dialects for which the {@link org.brapi.schematools.core.sql.SQLGenerator} can generate DDL
+ */
+public enum SQLDialect {
+
+    /**
+     * Generic SQL, with nested STRUCT, ARRAY and MAP column types and inline comments
+     */
+    ANSI,
+    /**
+     * Spark SQL, for Delta Lake tables with liquid clustering or Z-ordering
+     */
+    SPARK,
+    /**
+     * PostgreSQL, with native array columns, JSONB documents and declarative partitioning
+     */
+    POSTGRESQL
+}
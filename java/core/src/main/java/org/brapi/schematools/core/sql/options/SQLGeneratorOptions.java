@@ -5,8 +5,10 @@ import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
+import lombok.NonNull;
 import lombok.Setter;
 import lombok.experimental.Accessors;
+import org.brapi.schematools.core.model.BrAPIType;
 import org.brapi.schematools.core.options.AbstractMainGeneratorOptions;
 import org.brapi.schematools.core.options.ControlledVocabularyOptions;
 import org.brapi.schematools.core.options.PropertiesOptions;
@@ -17,7 +19,9 @@ import org.brapi.schematools.core.validiation.Validation;
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.file.Path;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -49,12 +53,23 @@ public class SQLGeneratorOptions extends AbstractMainGeneratorOptions {
     private PropertiesOptions properties;
     @Setter(AccessLevel.PRIVATE)
     private ControlledVocabularyOptions controlledVocabulary;
+    @Setter(AccessLevel.PRIVATE)
+    private MaterializedViewOptions materializedViews;
     private Boolean generateLinkTables;
     private Boolean snakeCaseTableNames;
     private Boolean pluralTableNames;
     private Boolean generateDropScript;
     private Boolean generateForeignKeyConstraintScript;
     private Boolean addConstraintsInArrayStructs;
+    private Boolean generateInParallel;
+    private Boolean generateIndexScript;
+    private Map<String, List<String>> partitionColumnsFor;
+    private Integer hashPartitions;
+    private List<String> queryIndexParameters;
+    private Map<String, List<String>> queryIndexParametersFor;
+    private SQLDialect dialect;
+    private SQLDataLoadFormat dataLoadFormat;
+    private Integer insertBatchSize;
 
     /**
      * Load the default options
@@ -106,10 +121,17 @@ public class SQLGeneratorOptions extends AbstractMainGeneratorOptions {
             .assertEqualsOnCondition(isGeneratingForeignKeyConstraintScript(), Boolean.TRUE, isAddingPrimaryKeyConstraints(), "If generateForeignKeyConstraintScript is true if addPrimaryKeyConstraints must also be true")
             .assertEqualsOnCondition(isAddingConstraintIfExists(), Boolean.TRUE, isGeneratingForeignKeyConstraintScript(), "If addConstraintIfExists is true if generateForeignKeyConstraintScript must also be true")
             .assertFlagsMutuallyExclusive(this, "addForeignKeyConstraints", "generateForeignKeyConstraintScript")
+            .assertNotNull(dialect, "SQL Dialect is null")
+            .assertNotNull(dataLoadFormat, "Data Load Format is null")
+            .assertTrue(insertBatchSize != null && insertBatchSize > 0, "Insert Batch Size must be greater than zero")
+            .assertTrue(hashPartitions != null && hashPartitions > 0, "Hash Partitions must be greater than zero")
             .assertNotNull(properties, "Properties Options are null")
             .merge(properties)
             .assertNotNull(controlledVocabulary, "Controlled Vocabulary Options are null")
             .merge(controlledVocabulary)
+            .assertNotNull(materializedViews, "Materialized View Options are null")
+            .merge(materializedViews)
+            .assertNotEqualsOnCondition(materializedViews != null && materializedViews.isGenerating(), SQLDialect.ANSI, dialect, "Materialized views are not part of ANSI SQL, so can not be generated for the ANSI dialect")
             .assertFlagsMutuallyExclusive(this, "ifNotExists", "dropTable") ;
     }
 
@@ -188,6 +210,10 @@ public class SQLGeneratorOptions extends AbstractMainGeneratorOptions {
             controlledVocabulary = overrideOptions.controlledVocabulary ;
         }
 
+        if (overrideOptions.materializedViews != null) {
+            materializedViews.override(overrideOptions.getMaterializedViews()) ;
+        }
+
         if (overrideOptions.generateLinkTables != null) {
             generateLinkTables = overrideOptions.generateLinkTables;
         }
@@ -212,6 +238,48 @@ public class SQLGeneratorOptions extends AbstractMainGeneratorOptions {
             addConstraintsInArrayStructs = overrideOptions.addConstraintsInArrayStructs;
         }
 
+        if (overrideOptions.generateInParallel != null) {
+            generateInParallel = overrideOptions.generateInParallel;
+        }
+
+        if (overrideOptions.generateIndexScript != null) {
+            generateIndexScript = overrideOptions.generateIndexScript;
+        }
+
+        if (overrideOptions.partitionColumnsFor != null) {
+            if (partitionColumnsFor == null) {
+                partitionColumnsFor = new HashMap<>();
+            }
+            partitionColumnsFor.putAll(overrideOptions.partitionColumnsFor);
+        }
+
+        if (overrideOptions.hashPartitions != null) {
+            hashPartitions = overrideOptions.hashPartitions;
+        }
+
+        if (overrideOptions.queryIndexParameters != null) {
+            queryIndexParameters = overrideOptions.queryIndexParameters;
+        }
+
+        if (overrideOptions.queryIndexParametersFor != null) {
+            if (queryIndexParametersFor == null) {
+                queryIndexParametersFor = new HashMap<>();
+            }
+            queryIndexParametersFor.putAll(overrideOptions.queryIndexParametersFor);
+        }
+
+        if (overrideOptions.dialect != null) {
+            dialect = overrideOptions.dialect;
+        }
+
+        if (overrideOptions.dataLoadFormat != null) {
+            dataLoadFormat = overrideOptions.dataLoadFormat;
+        }
+
+        if (overrideOptions.insertBatchSize != null) {
+            insertBatchSize = overrideOptions.insertBatchSize;
+        }
+
         return this;
     }
 
@@ -405,6 +473,59 @@ public class SQLGeneratorOptions extends AbstractMainGeneratorOptions {
         return addConstraintsInArrayStructs != null && addConstraintsInArrayStructs;
     }
 
+    /**
+     * Determines if the Generator should generate and write the SQL file for each table in parallel.
+     * The drop and foreign key constraint scripts are written once all the tables have been generated,
+     * and are the same as when the tables are generated sequentially.
+     *
+     * @return {@code true} if the Generator should generate the tables in parallel, {@code false} otherwise
+     */
+    @JsonIgnore
+    public boolean isGeneratingInParallel() {
+        return generateInParallel != null && generateInParallel;
+    }
+
+    /**
+     * Determines if the Generator should generate a script to create the secondary indexes. Indexes are created
+     * for the foreign key columns, the join columns of the link tables, and the columns of each table that are
+     * filtered on by the list and search queries, as defined by the request schema for the table.
+     *
+     * @return {@code true} if the Generator should generate a script to create the indexes, {@code false} otherwise
+     */
+    @JsonIgnore
+    public boolean isGeneratingIndexScript() {
+        return generateIndexScript != null && generateIndexScript;
+    }
+
+    /**
+     * Gets the columns by which the table for a BrAPI type is partitioned, for example for high-volume types such
+     * as Observations or Calls. Partitioned tables are not also clustered.
+     *
+     * @param type the BrAPI type
+     * @return the columns by which the table is partitioned, or an empty list if the table is not partitioned
+     */
+    @JsonIgnore
+    public List<String> getPartitionColumnsFor(@NonNull BrAPIType type) {
+        return partitionColumnsFor != null ? partitionColumnsFor.getOrDefault(type.getName(), Collections.emptyList()) : Collections.emptyList();
+    }
+
+    /**
+     * Gets the list query parameters, for example 'trialDbId', that are indexed for the query templates of a BrAPI
+     * type, see {@link org.brapi.schematools.core.sql.SQLQueryTemplateGenerator}. Each index slows down the inserts
+     * and updates of the table, so only the parameters that are commonly filtered on are indexed.
+     *
+     * @param type the BrAPI type
+     * @return the parameters set for the type, otherwise the parameters indexed for all types
+     */
+    @JsonIgnore
+    public List<String> getQueryIndexParametersFor(@NonNull BrAPIType type) {
+        if (queryIndexParametersFor != null && queryIndexParametersFor.containsKey(type.getName())) {
+            return queryIndexParametersFor.get(type.getName());
+        }
+
+        return queryIndexParameters != null ? queryIndexParameters : Collections.emptyList();
+    }
+
     /**
      * Determines if the Generator should add IF EXISTS when adding constraints using ALTER TABLE statements.
      * Required for dialects such as Databricks Delta Lake that do not support adding constraints if they already exist.
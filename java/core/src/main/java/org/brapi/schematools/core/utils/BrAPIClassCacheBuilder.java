@@ -406,6 +406,16 @@ public class BrAPIClassCacheBuilder {
             return brAPIClass != null && isPrimaryModel(brAPIClass);
         }
 
+        /**
+         * Gets the name of the BrAPI Request class for a BrAPI Class
+         *
+         * @param name the name of the BrAPIClass
+         * @return the name of the BrAPI Request class for a BrAPI Class
+         */
+        public static String getRequestClassName(String name) {
+            return String.format(REQUEST_NAME_FORMAT, name);
+        }
+
         /**
          * Gets the BrAPI Request class for a BrAPI Class
          *
@@ -413,7 +423,7 @@ public class BrAPIClassCacheBuilder {
          * @return the BrAPI Request class for a BrAPI Class
          */
         public BrAPIClass getBrAPIRequestClass(String name) {
-            return brAPIClassMap.get(String.format(REQUEST_NAME_FORMAT, name));
+            return brAPIClassMap.get(getRequestClassName(name));
         }
 
         /**
@@ -423,7 +433,7 @@ public class BrAPIClassCacheBuilder {
          * @return the BrAPI Request class for a BrAPI Class
          */
         public BrAPIClass getBrAPIRequestClass(BrAPIClass brAPIClass) {
-            return brAPIClassMap.get(String.format(REQUEST_NAME_FORMAT, brAPIClass.getName()));
+            return brAPIClassMap.get(getRequestClassName(brAPIClass.getName()));
         }
 
         /**
@@ -3,10 +3,14 @@ package org.brapi.schematools.core.utils;
 import org.brapi.schematools.core.model.BrAPIArrayType;
 import org.brapi.schematools.core.model.BrAPIClass;
 import org.brapi.schematools.core.model.BrAPIMetadata;
+import org.brapi.schematools.core.model.BrAPIObjectType;
+import org.brapi.schematools.core.model.BrAPIQueryParameter;
 import org.brapi.schematools.core.model.BrAPIType;
 import org.brapi.schematools.core.response.Response;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.LinkedHashSet;
 import java.util.LinkedList;
 import java.util.List;
@@ -14,6 +18,7 @@ import java.util.Set;
 
 import static org.brapi.schematools.core.response.Response.fail;
 import static org.brapi.schematools.core.response.Response.success;
+import static org.brapi.schematools.core.utils.StringUtils.toSingular;
 
 /**
  * Provides utility methods for BrAPI Types
@@ -176,5 +181,34 @@ public class BrAPITypeUtils {
         }
     }
 
-
+    /**
+     * Finds the query parameters of the list endpoints of a BrAPI type from the properties of its request class,
+     * in the order of the properties. The parameter for an array property is singular, for example 'studyType' for
+     * 'studyTypes', unless the property is listed in the 'noSingularizeProperties' of the request class. The parameter
+     * is a sub-query parameter if the property is listed in the 'subQueryProperties' of the request class.
+     *
+     * @param requestType the request class
+     * @return the query parameters
+     */
+    public static List<BrAPIQueryParameter> findQueryParameters(BrAPIObjectType requestType) {
+        BrAPIMetadata requestMetadata = requestType.getMetadata();
+
+        Set<String> noSingularizeProperties = requestMetadata != null && requestMetadata.getNoSingularizeProperties() != null
+            ? new HashSet<>(requestMetadata.getNoSingularizeProperties()) : Collections.emptySet();
+        Set<String> subQueryProperties = requestMetadata != null && requestMetadata.getSubQueryProperties() != null
+            ? new HashSet<>(requestMetadata.getSubQueryProperties()) : Collections.emptySet();
+
+        return requestType.getProperties().stream()
+            .map(property -> {
+                String singularName = property.getType() instanceof BrAPIArrayType ? toSingular(property.getName()) : property.getName();
+
+                return BrAPIQueryParameter.builder()
+                    .property(property)
+                    .name(noSingularizeProperties.contains(property.getName()) ? property.getName() : singularName)
+                    .singularName(singularName)
+                    .subQuery(subQueryProperties.contains(property.getName()))
+                    .build();
+            })
+            .toList();
+    }
 }
@@ -0,0 +1,127 @@
+package org.brapi.schematools.core.utils;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import lombok.extern.slf4j.Slf4j;
+import org.brapi.schematools.core.response.Response;
+
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.brapi.schematools.core.response.Response.fail;
+import static org.brapi.schematools.core.response.Response.success;
+
+/**
+ * A sidecar manifest of the content hashes of the files written to an output directory, used to skip
+ * writing files whose content has not changed since the previous run, so that their timestamps are
+ * preserved. The manifest records the hash of the content and the last modified time of each file, so
+ * files are not read to check if they have changed, and a file modified since it was written is always
+ * rewritten. Only the files written or found unchanged in the current run are recorded when the
+ * manifest is saved. The manifest is thread-safe.
+ */
+@Slf4j
+public class ContentHashManifest {
+    /**
+     * The name of the manifest file in the output directory
+     */
+    public static final String MANIFEST_FILE_NAME = ".schema-tools-manifest.json";
+
+    private static final ObjectMapper MAPPER = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    private final Path outputPath;
+    private final Map<String, Entry> previousEntries;
+    private final Map<String, Entry> currentEntries = new ConcurrentHashMap<>();
+
+    private ContentHashManifest(Path outputPath, Map<String, Entry> previousEntries) {
+        this.outputPath = outputPath;
+        this.previousEntries = previousEntries;
+    }
+
+    /**
+     * Loads the manifest from an output directory. If the manifest is missing or can not be read,
+     * an empty manifest is returned, so all files will be written.
+     * @param outputPath the output directory
+     * @return the manifest for the output directory
+     */
+    public static ContentHashManifest load(Path outputPath) {
+        Path manifestFile = outputPath.resolve(MANIFEST_FILE_NAME);
+
+        if (Files.isRegularFile(manifestFile)) {
+            try {
+                return new ContentHashManifest(outputPath, MAPPER.readValue(manifestFile.toFile(), new TypeReference<Map<String, Entry>>() {}));
+            } catch (IOException e) {
+                log.warn("Can not read manifest '{}', all files will be written: {}", manifestFile, e.getMessage());
+            }
+        }
+
+        return new ContentHashManifest(outputPath, Map.of());
+    }
+
+    /**
+     * Writes the content to a file, unless the file exists and the content has not changed since it was
+     * recorded in the manifest
+     * @param path the path of the file
+     * @param content the content of the file
+     * @return {@code true} if the file was written, {@code false} if the content was unchanged
+     * @throws IOException if the file can not be written
+     */
+    public boolean write(Path path, String content) throws IOException {
+        String key = getKey(path);
+        String hash = HashUtils.sha256(content);
+
+        Entry previousEntry = previousEntries.get(key);
+
+        if (previousEntry != null && previousEntry.hash().equals(hash) && Files.exists(path) &&
+            Files.getLastModifiedTime(path).toMillis() == previousEntry.lastModified()) {
+            currentEntries.put(key, previousEntry);
+
+            log.debug("Output file '{}' is unchanged and was not written", path);
+
+            return false;
+        }
+
+        Files.createDirectories(path.getParent());
+        Files.writeString(path, content, Charset.defaultCharset());
+
+        currentEntries.put(key, new Entry(hash, Files.getLastModifiedTime(path).toMillis()));
+
+        return true;
+    }
+
+    /**
+     * Saves the manifest to the output directory, recording the files written or found unchanged
+     * since the manifest was loaded
+     * @return the path of the manifest file, or a failed response if it can not be written
+     */
+    public Response<Path> save() {
+        Path manifestFile = outputPath.resolve(MANIFEST_FILE_NAME);
+
+        try {
+            Files.createDirectories(outputPath);
+
+            MAPPER.writeValue(manifestFile.toFile(), new TreeMap<>(currentEntries));
+
+            return success(manifestFile);
+        } catch (IOException e) {
+            return fail(Response.ErrorType.VALIDATION, manifestFile, String.format("Can not write manifest due to %s", e.getMessage()));
+        }
+    }
+
+    private String getKey(Path path) {
+        return outputPath.toAbsolutePath().normalize().relativize(path.toAbsolutePath().normalize()).toString().replace('\\', '/');
+    }
+
+    /**
+     * An entry in the manifest
+     * @param hash the SHA-256 hash of the content of the file
+     * @param lastModified the last modified time of the file in milliseconds, when it was written
+     */
+    public record Entry(String hash, long lastModified) {
+    }
+}
@@ -0,0 +1,62 @@
+package org.brapi.schematools.core.utils;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collection;
+import java.util.HexFormat;
+
+/**
+ * Utility class for creating content hashes, used to detect if inputs or outputs have changed
+ */
+public class HashUtils {
+
+    private static final String ALGORITHM = "SHA-256";
+
+    /**
+     * Creates a new SHA-256 message digest
+     * @return a new SHA-256 message digest
+     */
+    public static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance(ALGORITHM);
+        } catch (NoSuchAlgorithmException e) {
+            // every Java platform is required to support SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Creates the SHA-256 hash of a string value, encoded in UTF-8
+     * @param value the string value to be hashed
+     * @return the SHA-256 hash as a lower case hex string
+     */
+    public static String sha256(String value) {
+        return HexFormat.of().formatHex(newDigest().digest(value.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    /**
+     * Creates a single SHA-256 hash over the content of a collection of files. The path of each file
+     * relative to the base directory is included in the hash, so renaming or moving a file
+     * changes the hash. The files are hashed in the order provided.
+     * @param baseDirectory the directory that the file paths are relative to
+     * @param files the files to be hashed
+     * @return the SHA-256 hash as a lower case hex string
+     * @throws IOException if any of the files can not be read
+     */
+    public static String sha256(Path baseDirectory, Collection<Path> files) throws IOException {
+        MessageDigest digest = newDigest();
+
+        for (Path file : files) {
+            digest.update(baseDirectory.relativize(file).toString().replace('\\', '/').getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            digest.update(Files.readAllBytes(file));
+            digest.update((byte) 0);
+        }
+
+        return HexFormat.of().formatHex(digest.digest());
+    }
+}
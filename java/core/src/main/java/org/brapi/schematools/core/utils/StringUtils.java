@@ -408,6 +408,30 @@ public class StringUtils {
         return inputString.replace("'", "''").replace(";", ",");
     }
 
+    /**
+     * Escapes a string for use inside a single-quoted SQL string literal, following the ANSI SQL standard,
+     * which is also followed by PostgreSQL. Single quotes are doubled ({@code ''}), all other characters,
+     * including semicolons and backslashes, are unchanged, so the literal has exactly the value of the string.
+     *
+     * @param inputString the string to escape
+     * @return the escaped string, to be enclosed in single quotes
+     */
+    public static String escapeSQLStringLiteral(String inputString) {
+        return inputString.replace("'", "''");
+    }
+
+    /**
+     * Escapes a string for use inside a single-quoted Spark SQL string literal. Spark SQL treats backslashes
+     * as escape characters and concatenates adjacent literals, so doubled single quotes do not work.
+     * Backslashes and single quotes are escaped with a backslash, all other characters are unchanged.
+     *
+     * @param inputString the string to escape
+     * @return the escaped string, to be enclosed in single quotes
+     */
+    public static String escapeSparkSQLStringLiteral(String inputString) {
+        return inputString.replace("\\", "\\\\").replace("'", "\\'");
+    }
+
     /**
      * Sanitizes the body of a SQL block comment ({@code /* ... *}{@code /}) so that the comment
      * is not closed prematurely and so that applications which naively split SQL on {@code ;}
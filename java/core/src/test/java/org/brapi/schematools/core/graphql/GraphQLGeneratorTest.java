@@ -5,6 +5,13 @@ import graphql.ExecutionResult;
 import graphql.GraphQL;
 import graphql.introspection.IntrospectionQuery;
 import graphql.schema.GraphQLSchema;
+import graphql.schema.idl.SchemaPrinter;
+import org.brapi.schematools.core.brapischema.BrAPISchemaReader;
+import org.brapi.schematools.core.graphql.options.GraphQLGeneratorOptions;
+import org.brapi.schematools.core.model.BrAPIClass;
+import org.brapi.schematools.core.model.BrAPIObjectProperty;
+import org.brapi.schematools.core.model.BrAPIObjectType;
+import org.brapi.schematools.core.model.BrAPIPrimitiveType;
 import org.brapi.schematools.core.response.Response;
 import org.brapi.schematools.core.utils.StringUtils;
 import org.junit.jupiter.api.Test;
@@ -14,6 +21,8 @@ import java.net.URISyntaxException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
@@ -39,6 +48,54 @@ class GraphQLGeneratorTest {
         assertSchemaEquals("GraphQLGenerator/BrAPI-Schema.json", schema.getResult()) ;
     }
 
+    @Test
+    void generateInParallel() {
+        Response<GraphQLSchema> schema = null;
+        try {
+            schema = new GraphQLGenerator(GraphQLGeneratorOptions.load().setGenerateInParallel(true))
+                .generate(Path.of(ClassLoader.getSystemResource("BrAPI-Schema").toURI()));
+        } catch (URISyntaxException e) {
+            e.printStackTrace();
+            throw new RuntimeException(e);
+        }
+        assertNotNull(schema);
+
+        schema.getAllErrors().forEach(this::printError);
+
+        assertFalse(schema.hasErrors());
+
+        assertSchemaEquals("GraphQLGenerator/BrAPI-Schema.json", schema.getResult()) ;
+    }
+
+    @Test
+    void generateInParallelWithDuplicateTypeNames() throws URISyntaxException {
+        List<BrAPIClass> brAPIClasses = new ArrayList<>(new BrAPISchemaReader()
+            .readDirectories(Path.of(ClassLoader.getSystemResource("BrAPI-Schema").toURI())).getResultOrThrow());
+
+        // has the same name as the list response type generated for studies
+        brAPIClasses.add(BrAPIObjectType.builder()
+            .name("StudyListResponse")
+            .description("A class with the same name as a generated type")
+            .properties(List.of(BrAPIObjectProperty.builder().name("count").type(BrAPIPrimitiveType.integerType()).build()))
+            .interfaces(List.of())
+            .build());
+
+        String sequential = printSchema(new GraphQLGenerator(GraphQLGeneratorOptions.load()).generate(brAPIClasses));
+
+        // the types are constructed in a different order each time, so the schema is generated several times
+        for (int i = 0; i < 5; i++) {
+            assertEquals(sequential, printSchema(new GraphQLGenerator(GraphQLGeneratorOptions.load().setGenerateInParallel(true)).generate(brAPIClasses)));
+        }
+    }
+
+    private String printSchema(Response<GraphQLSchema> schema) {
+        schema.getAllErrors().forEach(this::printError);
+
+        assertFalse(schema.hasErrors());
+
+        return new SchemaPrinter().print(schema.getResult());
+    }
+
     private void assertSchemaEquals(String classPath, GraphQLSchema schema) {
         try {
             GraphQL graphQL = GraphQL.newGraphQL(schema).build();
@@ -0,0 +1,103 @@
+package org.brapi.schematools.core.graphql;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import graphql.ExecutionResult;
+import graphql.GraphQL;
+import graphql.introspection.IntrospectionQuery;
+import graphql.language.ArrayValue;
+import graphql.language.StringValue;
+import graphql.schema.GraphQLEnumType;
+import graphql.schema.GraphQLInputObjectType;
+import graphql.schema.GraphQLObjectType;
+import graphql.schema.GraphQLSchema;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import static graphql.Scalars.GraphQLInt;
+import static graphql.Scalars.GraphQLString;
+import static graphql.schema.GraphQLArgument.newArgument;
+import static graphql.schema.GraphQLFieldDefinition.newFieldDefinition;
+import static graphql.schema.GraphQLInputObjectField.newInputObjectField;
+import static graphql.schema.GraphQLList.list;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GraphQLIntrospectionWriterTest {
+
+    private static GraphQLSchema schema;
+
+    @BeforeAll
+    static void generateSchema() throws Exception {
+        schema = new GraphQLGenerator().generate(Path.of(ClassLoader.getSystemResource("BrAPI-Schema").toURI()))
+            .onFailDoWithResponse(response -> fail(response.getMessagesCombined(", "))).getResult();
+
+        assertNotNull(schema);
+    }
+
+    @Test
+    void writeStandardQuery() throws IOException {
+        assertSameAsExecuted(new GraphQLIntrospectionWriter(), IntrospectionQuery.INTROSPECTION_QUERY);
+    }
+
+    @Test
+    void writeDefaultValues() throws IOException {
+        GraphQLEnumType order = GraphQLEnumType.newEnum().name("Order").value("ASC").value("DESC").build();
+
+        GraphQLInputObjectType filter = GraphQLInputObjectType.newInputObject().name("Filter")
+            .field(newInputObjectField().name("names").type(list(GraphQLString)))
+            .field(newInputObjectField().name("limit").type(GraphQLInt).defaultValueProgrammatic(10))
+            .build();
+
+        GraphQLObjectType queryType = GraphQLObjectType.newObject().name("Query")
+            .field(newFieldDefinition().name("items").type(GraphQLString)
+                .argument(newArgument().name("pageSize").type(GraphQLInt).defaultValueProgrammatic(100))
+                .argument(newArgument().name("order").type(order).defaultValueProgrammatic("DESC"))
+                .argument(newArgument().name("filter").type(filter).defaultValueProgrammatic(Map.of("names", List.of("a", "b"))))
+                .argument(newArgument().name("ids").type(list(GraphQLString))
+                    .defaultValueLiteral(ArrayValue.newArrayValue().value(StringValue.of("x")).build())))
+            .build();
+
+        assertSameAsExecuted(GraphQLSchema.newSchema().query(queryType).build(),
+            new GraphQLIntrospectionWriter(), IntrospectionQuery.INTROSPECTION_QUERY);
+    }
+
+    @Test
+    void writeTypeQuery() throws IOException {
+        String query = "{ study: __type(name: \"Study\") { name kind ...Fields } __typename } " +
+            "fragment Fields on __Type { fields { name args { name defaultValue } type { kind name ofType { name } } } }";
+
+        assertSameAsExecuted(new GraphQLIntrospectionWriter(query), query);
+    }
+
+    @Test
+    void writeUnsupportedField() {
+        StringWriter writer = new StringWriter();
+
+        assertTrue(new GraphQLIntrospectionWriter("{ __schema { unknown } }").write(schema, writer).hasErrors());
+    }
+
+    private void assertSameAsExecuted(GraphQLIntrospectionWriter introspectionWriter, String query) throws IOException {
+        assertSameAsExecuted(schema, introspectionWriter, query);
+    }
+
+    private void assertSameAsExecuted(GraphQLSchema schema, GraphQLIntrospectionWriter introspectionWriter, String query) throws IOException {
+        ExecutionResult executionResult = GraphQL.newGraphQL(schema).build().execute(query);
+
+        assertTrue(executionResult.getErrors().isEmpty(), () -> executionResult.getErrors().toString());
+
+        StringWriter writer = new StringWriter();
+
+        introspectionWriter.write(schema, writer)
+            .onFailDoWithResponse(response -> fail(response.getMessagesCombined(", ")));
+
+        ObjectMapper mapper = new ObjectMapper();
+
+        assertEquals(mapper.valueToTree(executionResult.getData()), mapper.readTree(writer.toString()));
+    }
+}
@@ -0,0 +1,121 @@
+package org.brapi.schematools.core.graphql;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import graphql.schema.GraphQLSchema;
+import graphql.schema.idl.SchemaPrinter;
+import org.brapi.schematools.core.graphql.metadata.GraphQLGeneratorMetadata;
+import org.brapi.schematools.core.graphql.options.GraphQLGeneratorOptions;
+import org.brapi.schematools.core.response.Response;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GraphQLSchemaOutputCacheTest {
+
+    private static Path schemaDirectory;
+    private static GraphQLSchema schema;
+
+    @TempDir
+    Path directory;
+
+    private final AtomicInteger generated = new AtomicInteger();
+    private final Supplier<Response<GraphQLSchema>> schemaSupplier = () -> {
+        generated.incrementAndGet();
+        return Response.success(schema);
+    };
+
+    @BeforeAll
+    static void generateSchema() throws Exception {
+        schemaDirectory = Path.of(ClassLoader.getSystemResource("BrAPI-Schema").toURI());
+        schema = new GraphQLGenerator().generate(schemaDirectory)
+            .onFailDoWithResponse(response -> fail(response.getMessagesCombined(", "))).getResult();
+
+        assertNotNull(schema);
+    }
+
+    @Test
+    void fingerprint() {
+        String fingerprint = GraphQLSchemaOutputCache.fingerprint(schemaDirectory, GraphQLGeneratorOptions.load(), new GraphQLGeneratorMetadata())
+            .getResultOrThrow();
+
+        assertEquals(fingerprint, GraphQLSchemaOutputCache.fingerprint(schemaDirectory, GraphQLGeneratorOptions.load(), new GraphQLGeneratorMetadata())
+            .getResultOrThrow());
+
+        GraphQLGeneratorOptions options = GraphQLGeneratorOptions.load();
+        options.getQueryComplexity().setMaxDepth(1);
+
+        assertNotEquals(fingerprint, GraphQLSchemaOutputCache.fingerprint(schemaDirectory, options, new GraphQLGeneratorMetadata())
+            .getResultOrThrow());
+    }
+
+    @Test
+    void writeIDL() {
+        GraphQLSchemaOutputCache cache = new GraphQLSchemaOutputCache(directory);
+
+        assertEquals(new SchemaPrinter().print(schema), cache.writeIDL("fingerprint", schemaSupplier, new StringWriter()).getResultOrThrow().toString());
+        assertEquals(new SchemaPrinter().print(schema), cache.writeIDL("fingerprint", schemaSupplier, new StringWriter()).getResultOrThrow().toString());
+
+        assertEquals(1, generated.get());
+        assertTrue(Files.isRegularFile(directory.resolve("schema-fingerprint.graphqls")));
+    }
+
+    @Test
+    void writeIntrospectionFromCacheDirectory() throws Exception {
+        String introspection = new GraphQLSchemaOutputCache(directory).writeIntrospection("fingerprint", schemaSupplier, new StringWriter()).getResultOrThrow().toString();
+
+        assertEquals(introspection, new GraphQLSchemaOutputCache(directory).writeIntrospection("fingerprint", schemaSupplier, new StringWriter()).getResultOrThrow().toString());
+        assertTrue(new ObjectMapper().readTree(introspection).has("__schema"));
+
+        assertEquals(1, generated.get());
+    }
+
+    @Test
+    void writeIntrospectionWithoutCacheDirectory() {
+        GraphQLSchemaOutputCache cache = new GraphQLSchemaOutputCache(null);
+
+        String introspection = cache.writeIntrospection("fingerprint", schemaSupplier, new StringWriter()).getResultOrThrow().toString();
+
+        assertEquals(introspection, cache.writeIntrospection("fingerprint", schemaSupplier, new StringWriter()).getResultOrThrow().toString());
+
+        assertEquals(2, generated.get());
+    }
+
+    @Test
+    void writeIntrospectionToFailingWriter() throws Exception {
+        Writer writer = new Writer() {
+            @Override
+            public void write(char[] buffer, int offset, int length) throws IOException {
+                throw new IOException("Connection reset");
+            }
+
+            @Override
+            public void flush() {
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+
+        Response<Writer> response = new GraphQLSchemaOutputCache(directory).writeIntrospection("fingerprint", schemaSupplier, writer);
+
+        assertTrue(response.hasErrors());
+        assertTrue(response.getMessagesCombined(", ").contains("Connection reset"), response.getMessagesCombined(", "));
+
+        // neither the cache file nor the temporary file is left in the cache directory
+        try (Stream<Path> files = Files.list(directory)) {
+            assertEquals(0, files.count());
+        }
+    }
+}
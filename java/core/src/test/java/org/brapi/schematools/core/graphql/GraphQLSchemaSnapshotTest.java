@@ -0,0 +1,83 @@
+package org.brapi.schematools.core.graphql;
+
+import graphql.schema.GraphQLSchema;
+import graphql.schema.GraphQLUnionType;
+import org.brapi.schematools.core.response.Response;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+class GraphQLSchemaSnapshotTest {
+
+    private static GraphQLSchema schema;
+
+    @TempDir
+    Path directory;
+
+    @BeforeAll
+    static void generateSchema() throws Exception {
+        schema = new GraphQLGenerator().generate(Path.of(ClassLoader.getSystemResource("BrAPI-Schema").toURI()))
+            .onFailDoWithResponse(response -> fail(response.getMessagesCombined(", "))).getResult();
+
+        assertNotNull(schema);
+    }
+
+    @Test
+    void writeAndRead() {
+        GraphQLSchemaSnapshot snapshot = new GraphQLSchemaSnapshot();
+
+        Path snapshotFile = directory.resolve("snapshot").resolve("schema.json.gz");
+
+        assertEquals(snapshotFile, snapshot.write(schema, snapshotFile)
+            .onFailDoWithResponse(response -> fail(response.getMessagesCombined(", "))).getResult());
+
+        assertTrue(Files.isRegularFile(snapshotFile));
+
+        GraphQLSchema loadedSchema = snapshot.read(snapshotFile)
+            .onFailDoWithResponse(response -> fail(response.getMessagesCombined(", "))).getResult();
+
+        assertNotNull(loadedSchema);
+        assertEquals(snapshot.printSchema(schema), snapshot.printSchema(loadedSchema));
+    }
+
+    @Test
+    void readTypeResolvers() {
+        GraphQLSchemaSnapshot snapshot = new GraphQLSchemaSnapshot();
+
+        Path snapshotFile = directory.resolve("schema.json.gz");
+
+        GraphQLSchema loadedSchema = snapshot.write(schema, snapshotFile)
+            .mapResultToResponse(snapshot::read)
+            .onFailDoWithResponse(response -> fail(response.getMessagesCombined(", "))).getResult();
+
+        assertNotNull(loadedSchema);
+
+        schema.getAllTypesAsList().stream()
+            .filter(GraphQLUnionType.class::isInstance)
+            .map(GraphQLUnionType.class::cast)
+            .forEach(unionType -> {
+                DefaultTypeResolver expected = assertInstanceOf(DefaultTypeResolver.class, schema.getCodeRegistry().getTypeResolver(unionType));
+                DefaultTypeResolver actual = assertInstanceOf(DefaultTypeResolver.class,
+                    loadedSchema.getCodeRegistry().getTypeResolver((GraphQLUnionType) loadedSchema.getType(unionType.getName())));
+
+                assertEquals(expected.getDefaultTypeName(), actual.getDefaultTypeName());
+            });
+    }
+
+    @Test
+    void readInvalid() {
+        Response<GraphQLSchema> response = new GraphQLSchemaSnapshot().read(new ByteArrayInputStream("not a snapshot".getBytes()));
+
+        assertTrue(response.hasErrors());
+    }
+}
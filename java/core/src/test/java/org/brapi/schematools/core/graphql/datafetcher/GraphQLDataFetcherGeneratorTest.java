@@ -0,0 +1,147 @@
+package org.brapi.schematools.core.graphql.datafetcher;
+
+import graphql.ExecutionInput;
+import graphql.ExecutionResult;
+import graphql.GraphQL;
+import graphql.schema.GraphQLSchema;
+import org.brapi.schematools.core.graphql.GraphQLGenerator;
+import org.brapi.schematools.core.graphql.options.GraphQLGeneratorOptions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GraphQLDataFetcherGeneratorTest {
+
+    private static Path schemaDirectory;
+    private static GraphQLSchema schema;
+
+    private CountingDataStore store;
+    private ExecutableGraphQLSchema executableSchema;
+
+    @BeforeAll
+    static void generateSchema() throws Exception {
+        schemaDirectory = Path.of(ClassLoader.getSystemResource("BrAPI-Schema").toURI());
+
+        schema = new GraphQLGenerator().generate(schemaDirectory)
+            .onFailDoWithResponse(response -> fail(response.getMessagesCombined(", "))).getResult();
+
+        assertNotNull(schema);
+    }
+
+    @BeforeEach
+    void generateDataFetchers() {
+        GraphQLGeneratorOptions options = GraphQLGeneratorOptions.load();
+
+        InMemoryBrAPIDataStore inMemoryStore = new InMemoryBrAPIDataStore(options.getProperties().getIds()::getIDFieldFor)
+            .add("Study", List.of(
+                Map.of("studyDbId", "s1", "studyName", "Study 1", "commonCropName", "Maize",
+                    "observationVariables", List.of(Map.of("observationVariableDbId", "v1"), Map.of("observationVariableDbId", "v2"))),
+                Map.of("studyDbId", "s2", "studyName", "Study 2", "commonCropName", "Wheat",
+                    "observationVariables", List.of(Map.of("observationVariableDbId", "v2"), Map.of("observationVariableDbId", "v3")))))
+            .add("ObservationVariable", List.of(
+                Map.of("observationVariableDbId", "v1", "observationVariableName", "Variable 1"),
+                Map.of("observationVariableDbId", "v2", "observationVariableName", "Variable 2"),
+                Map.of("observationVariableDbId", "v3", "observationVariableName", "Variable 3")));
+
+        store = new CountingDataStore(inMemoryStore);
+
+        executableSchema = new GraphQLDataFetcherGenerator(options, store).generate(schemaDirectory, schema)
+            .onFailDoWithResponse(response -> fail(response.getMessagesCombined(", "))).getResult();
+
+        assertNotNull(executableSchema);
+    }
+
+    @Test
+    void singleQuery() {
+        Map<String, Object> data = execute("{ study(studyDbId: \"s1\") { studyDbId studyName } }");
+
+        assertEquals(Map.of("studyDbId", "s1", "studyName", "Study 1"), data.get("study"));
+    }
+
+    @Test
+    void singleQueryWithCommonCropName() {
+        Map<String, Object> data = execute("{ study(studyDbId: \"s1\", commonCropName: \"Wheat\") { studyDbId } }");
+
+        assertNull(data.get("study"));
+    }
+
+    @Test
+    void listQueryWithPaging() {
+        Map<String, Object> data = execute("{ studies(paging: {page: 1, pageSize: 1}) { data { studyDbId } page { currentPage pageSize totalCount totalPages } } }");
+
+        Map<String, Object> studies = asMap(data.get("studies"));
+
+        assertEquals(List.of(Map.of("studyDbId", "s2")), studies.get("data"));
+        assertEquals(Map.of("currentPage", 1, "pageSize", 1, "totalCount", 2, "totalPages", 2), studies.get("page"));
+    }
+
+    @Test
+    void subQueryIsBatched() {
+        Map<String, Object> data = execute("{ studies { data { studyDbId observationVariables { data { observationVariableDbId observationVariableName } } } } }");
+
+        List<?> studies = (List<?>) asMap(data.get("studies")).get("data");
+
+        assertEquals(2, studies.size());
+
+        assertEquals(List.of(
+                Map.of("observationVariableDbId", "v1", "observationVariableName", "Variable 1"),
+                Map.of("observationVariableDbId", "v2", "observationVariableName", "Variable 2")),
+            asMap(asMap(studies.get(0)).get("observationVariables")).get("data"));
+
+        assertEquals(List.of(
+                Map.of("observationVariableDbId", "v2", "observationVariableName", "Variable 2"),
+                Map.of("observationVariableDbId", "v3", "observationVariableName", "Variable 3")),
+            asMap(asMap(studies.get(1)).get("observationVariables")).get("data"));
+
+        assertEquals(1, store.getFindByIdsCount("ObservationVariable"));
+    }
+
+    private Map<String, Object> execute(String query) {
+        ExecutionResult result = GraphQL.newGraphQL(executableSchema.getSchema()).build().execute(
+            ExecutionInput.newExecutionInput()
+                .query(query)
+                .dataLoaderRegistry(executableSchema.createDataLoaderRegistry())
+                .build());
+
+        assertTrue(result.getErrors().isEmpty(), () -> result.getErrors().toString());
+
+        return result.getData();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> asMap(Object value) {
+        return assertInstanceOf(Map.class, value);
+    }
+
+    private static class CountingDataStore implements BrAPIDataStore {
+        private final BrAPIDataStore store;
+        private final Map<String, AtomicInteger> findByIdsCounts = new ConcurrentHashMap<>();
+
+        private CountingDataStore(BrAPIDataStore store) {
+            this.store = store;
+        }
+
+        private int getFindByIdsCount(String typeName) {
+            return findByIdsCounts.getOrDefault(typeName, new AtomicInteger()).get();
+        }
+
+        @Override
+        public List<Map<String, Object>> findAll(String typeName) {
+            return store.findAll(typeName);
+        }
+
+        @Override
+        public Map<String, Map<String, Object>> findByIds(String typeName, Set<String> ids) {
+            findByIdsCounts.computeIfAbsent(typeName, key -> new AtomicInteger()).incrementAndGet();
+
+            return store.findByIds(typeName, ids);
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package org.brapi.schematools.core.graphql.execution;
+
+import graphql.ExecutionInput;
+import graphql.ExecutionResult;
+import graphql.GraphQL;
+import graphql.schema.GraphQLSchema;
+import graphql.schema.idl.RuntimeWiring;
+import graphql.schema.idl.SchemaGenerator;
+import graphql.schema.idl.SchemaParser;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PersistedQueryDocumentProviderTest {
+
+    private static final GraphQLSchema SCHEMA = new SchemaGenerator().makeExecutableSchema(
+        new SchemaParser().parse("type Query { name: String, count: Int }"),
+        RuntimeWiring.newRuntimeWiring()
+            .type("Query", builder -> builder
+                .dataFetcher("name", environment -> "BrAPI")
+                .dataFetcher("count", environment -> 1))
+            .build());
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void adHocQuery() {
+        PersistedQueryDocumentProvider provider = new PersistedQueryDocumentProvider(10);
+
+        assertEquals(Map.of("name", "BrAPI"), execute(provider, ExecutionInput.newExecutionInput("{ name }").build()).getData());
+        assertEquals(Map.of("name", "BrAPI"), execute(provider, ExecutionInput.newExecutionInput("{ name }").build()).getData());
+
+        assertEquals(1, provider.getHitCount());
+        assertEquals(1, provider.getMissCount());
+        assertEquals(0.5, provider.getHitRatio());
+        assertEquals(1, provider.getCachedDocumentCount());
+    }
+
+    @Test
+    void adHocQueryEviction() {
+        PersistedQueryDocumentProvider provider = new PersistedQueryDocumentProvider(1);
+
+        execute(provider, ExecutionInput.newExecutionInput("{ name }").build());
+        execute(provider, ExecutionInput.newExecutionInput("{ count }").build());
+        execute(provider, ExecutionInput.newExecutionInput("{ name }").build());
+
+        assertEquals(0, provider.getHitCount());
+        assertEquals(3, provider.getMissCount());
+        assertEquals(1, provider.getCachedDocumentCount());
+    }
+
+    @Test
+    void invalidQueryIsNotCached() {
+        PersistedQueryDocumentProvider provider = new PersistedQueryDocumentProvider(10);
+
+        ExecutionResult result = GraphQL.newGraphQL(SCHEMA).preparsedDocumentProvider(provider).build()
+            .execute(ExecutionInput.newExecutionInput("{ unknown }").build());
+
+        assertFalse(result.getErrors().isEmpty());
+        assertEquals(0, provider.getCachedDocumentCount());
+    }
+
+    @Test
+    void persistedQuery() throws IOException {
+        PersistedQueryDocumentProvider provider = new PersistedQueryDocumentProvider(0);
+
+        Files.writeString(directory.resolve("name.graphql"), "{ name }");
+        Files.writeString(directory.resolve("count.graphql"), "{ count }");
+        Files.writeString(directory.resolve("README.md"), "not a query");
+
+        List<String> hashes = provider.registerAll(directory).getResultOrThrow();
+
+        assertEquals(List.of(PersistedQueryDocumentProvider.hash("{ count }"), PersistedQueryDocumentProvider.hash("{ name }")), hashes);
+        assertEquals(2, provider.getPersistedQueryCount());
+
+        ExecutionInput executionInput = ExecutionInput.newExecutionInput("")
+            .extensions(Map.of("persistedQuery", Map.of("version", 1, "sha256Hash", hashes.get(1))))
+            .build();
+
+        assertEquals(Map.of("name", "BrAPI"), execute(provider, executionInput).getData());
+        assertEquals(Map.of("name", "BrAPI"), execute(provider, executionInput).getData());
+        // the full query text uses the same cached document
+        assertEquals(Map.of("name", "BrAPI"), execute(provider, ExecutionInput.newExecutionInput("{ name }").build()).getData());
+
+        assertEquals(2, provider.getHitCount());
+        assertEquals(1, provider.getMissCount());
+    }
+
+    @Test
+    void unknownPersistedQuery() {
+        PersistedQueryDocumentProvider provider = new PersistedQueryDocumentProvider(10);
+
+        ExecutionResult result = GraphQL.newGraphQL(SCHEMA).preparsedDocumentProvider(provider).build()
+            .execute(ExecutionInput.newExecutionInput("")
+                .extensions(Map.of("persistedQuery", Map.of("version", 1, "sha256Hash", "unknown")))
+                .build());
+
+        assertEquals(1, result.getErrors().size());
+        assertEquals("PersistedQueryNotFound", result.getErrors().get(0).getMessage());
+    }
+
+    @Test
+    void automaticPersistedQuery() {
+        PersistedQueryDocumentProvider provider = new PersistedQueryDocumentProvider(10);
+
+        String hash = PersistedQueryDocumentProvider.hash("{ name }");
+        Map<String, Object> extensions = Map.of("persistedQuery", Map.of("version", 1, "sha256Hash", hash));
+
+        GraphQL graphQL = GraphQL.newGraphQL(SCHEMA).preparsedDocumentProvider(provider).build();
+
+        // the hash only, before the query is known
+        ExecutionResult result = graphQL.execute(ExecutionInput.newExecutionInput("").extensions(extensions).build());
+
+        assertEquals("PersistedQueryNotFound", result.getErrors().get(0).getMessage());
+        assertTrue(provider.findQuery(hash).isEmpty());
+
+        // the hash and the query, which registers the query
+        assertEquals(Map.of("name", "BrAPI"), execute(provider, ExecutionInput.newExecutionInput("{ name }").extensions(extensions).build()).getData());
+        assertEquals(Optional.of("{ name }"), provider.findQuery(hash));
+        assertFalse(provider.isPersisted(hash));
+
+        // the hash only, after the query is known
+        assertEquals(Map.of("name", "BrAPI"), execute(provider, ExecutionInput.newExecutionInput("").extensions(extensions).build()).getData());
+
+        assertEquals(1, provider.getHitCount());
+    }
+
+    @Test
+    void automaticPersistedQueryWithWrongHash() {
+        PersistedQueryDocumentProvider provider = new PersistedQueryDocumentProvider(10);
+
+        String hash = PersistedQueryDocumentProvider.hash("{ count }");
+
+        ExecutionResult result = GraphQL.newGraphQL(SCHEMA).preparsedDocumentProvider(provider).build()
+            .execute(ExecutionInput.newExecutionInput("{ name }")
+                .extensions(Map.of("persistedQuery", Map.of("version", 1, "sha256Hash", hash)))
+                .build());
+
+        assertEquals(1, result.getErrors().size());
+        assertTrue(provider.findQuery(hash).isEmpty());
+    }
+
+    private ExecutionResult execute(PersistedQueryDocumentProvider provider, ExecutionInput executionInput) {
+        ExecutionResult result = GraphQL.newGraphQL(SCHEMA).preparsedDocumentProvider(provider).build().execute(executionInput);
+
+        assertTrue(result.getErrors().isEmpty(), () -> result.getErrors().toString());
+
+        return result;
+    }
+}
@@ -0,0 +1,141 @@
+package org.brapi.schematools.core.graphql.instrumentation;
+
+import graphql.ExecutionResult;
+import graphql.GraphQL;
+import graphql.execution.CoercedVariables;
+import graphql.introspection.IntrospectionQuery;
+import graphql.parser.Parser;
+import graphql.schema.GraphQLSchema;
+import org.brapi.schematools.core.brapischema.BrAPISchemaReader;
+import org.brapi.schematools.core.graphql.GraphQLGenerator;
+import org.brapi.schematools.core.graphql.options.GraphQLGeneratorOptions;
+import org.brapi.schematools.core.model.BrAPIClass;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class QueryCostCalculatorTest {
+
+    private static final String NESTED_QUERY =
+        "{ studies(paging: {pageSize: 10}) { data { observationVariables %s { data { observationVariableDbId } } } } }";
+
+    private static GraphQLSchema schema;
+    private static List<BrAPIClass> brAPIClasses;
+
+    @BeforeAll
+    static void generateSchema() throws Exception {
+        Path schemaDirectory = Path.of(ClassLoader.getSystemResource("BrAPI-Schema").toURI());
+
+        GraphQLGeneratorOptions options = GraphQLGeneratorOptions.load();
+
+        schema = new GraphQLGenerator(options).generate(schemaDirectory)
+            .onFailDoWithResponse(response -> fail(response.getMessagesCombined(", "))).getResult();
+
+        brAPIClasses = new BrAPISchemaReader(options.getBrAPISchemaReader()).readDirectories(schemaDirectory)
+            .onFailDoWithResponse(response -> fail(response.getMessagesCombined(", "))).getResult();
+    }
+
+    @Test
+    void singleQuery() {
+        QueryCost cost = calculate(GraphQLGeneratorOptions.load(), "{ study(studyDbId: \"s1\") { studyDbId studyName } }");
+
+        assertEquals(2, cost.getDepth());
+        assertEquals(3, cost.getComplexity());
+    }
+
+    @Test
+    void listQuery() {
+        GraphQLGeneratorOptions options = GraphQLGeneratorOptions.load();
+
+        assertEquals(21, calculate(options, "{ studies(paging: {pageSize: 10}) { data { studyDbId } } }").getComplexity());
+        assertEquals(2001, calculate(options, "{ studies { data { studyDbId } } }").getComplexity());
+    }
+
+    @Test
+    void subQuery() {
+        GraphQLGeneratorOptions options = GraphQLGeneratorOptions.load();
+
+        QueryCost cost = calculate(options, String.format(NESTED_QUERY, ""));
+
+        assertEquals(5, cost.getDepth());
+        // observationVariables is many-to-many, expected to return 100 variables per study
+        assertEquals(2021, cost.getComplexity());
+
+        // the requested page size caps the expected cardinality
+        assertEquals(121, calculate(options, String.format(NESTED_QUERY, "(paging: {pageSize: 5})")).getComplexity());
+    }
+
+    @Test
+    void rejectComplexQuery() {
+        GraphQLGeneratorOptions options = GraphQLGeneratorOptions.load();
+
+        options.getQueryComplexity().setMaxComplexity(1000);
+
+        List<String> rejections = new ArrayList<>();
+
+        QueryComplexityInstrumentation instrumentation = new QueryComplexityInstrumentation(
+            new QueryCostCalculator(options, brAPIClasses), options.getQueryComplexity(), new QueryCostListener() {
+                @Override
+                public void costCalculated(QueryCost cost) {
+                }
+
+                @Override
+                public void queryRejected(QueryCost cost, String reason) {
+                    rejections.add(reason);
+                }
+            });
+
+        GraphQL graphQL = GraphQL.newGraphQL(schema).instrumentation(instrumentation).build();
+
+        ExecutionResult rejected = graphQL.execute(String.format(NESTED_QUERY, ""));
+
+        assertFalse(rejected.getErrors().isEmpty());
+        assertTrue(rejected.getErrors().get(0).getMessage().contains("complexity"));
+        assertEquals(List.of("complexity"), rejections);
+
+        ExecutionResult accepted = graphQL.execute(String.format(NESTED_QUERY, "(paging: {pageSize: 5})"));
+
+        assertTrue(accepted.getErrors().isEmpty(), () -> accepted.getErrors().toString());
+        assertEquals(List.of("complexity"), rejections);
+    }
+
+    @Test
+    void introspectionQuery() {
+        GraphQLGeneratorOptions options = GraphQLGeneratorOptions.load();
+
+        QueryCost cost = calculate(options, IntrospectionQuery.INTROSPECTION_QUERY);
+
+        assertEquals(0, cost.getDepth());
+        assertEquals(0, cost.getComplexity());
+
+        List<String> rejections = new ArrayList<>();
+
+        QueryComplexityInstrumentation instrumentation = new QueryComplexityInstrumentation(
+            new QueryCostCalculator(options, brAPIClasses), options.getQueryComplexity(), new QueryCostListener() {
+                @Override
+                public void costCalculated(QueryCost cost) {
+                }
+
+                @Override
+                public void queryRejected(QueryCost cost, String reason) {
+                    rejections.add(reason);
+                }
+            });
+
+        ExecutionResult result = GraphQL.newGraphQL(schema).instrumentation(instrumentation).build()
+            .execute(IntrospectionQuery.INTROSPECTION_QUERY);
+
+        assertTrue(result.getErrors().isEmpty(), () -> result.getErrors().toString());
+        assertTrue(rejections.isEmpty(), rejections.toString());
+    }
+
+    private QueryCost calculate(GraphQLGeneratorOptions options, String query) {
+        return new QueryCostCalculator(options, brAPIClasses)
+            .calculate(schema, Parser.parse(query), null, CoercedVariables.emptyVariables());
+    }
+}
@@ -0,0 +1,145 @@
+package org.brapi.schematools.core.graphql.instrumentation;
+
+import graphql.ExecutionInput;
+import graphql.ExecutionResult;
+import graphql.GraphQL;
+import org.brapi.schematools.core.brapischema.BrAPISchemaReader;
+import org.brapi.schematools.core.graphql.GraphQLGenerator;
+import org.brapi.schematools.core.graphql.datafetcher.ExecutableGraphQLSchema;
+import org.brapi.schematools.core.graphql.datafetcher.GraphQLDataFetcherGenerator;
+import org.brapi.schematools.core.graphql.datafetcher.InMemoryBrAPIDataStore;
+import org.brapi.schematools.core.graphql.options.GraphQLGeneratorOptions;
+import org.brapi.schematools.core.model.BrAPIClass;
+import org.dataloader.DataLoaderFactory;
+import org.dataloader.DataLoaderRegistry;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ResolverMetricsInstrumentationTest {
+
+    private static final String QUERY =
+        "{ studies { data { studyDbId studyName observationVariables { data { observationVariableDbId } } } } }";
+
+    private static GraphQLGeneratorOptions options;
+    private static List<BrAPIClass> brAPIClasses;
+    private static ExecutableGraphQLSchema executableSchema;
+
+    @BeforeAll
+    static void generateSchema() throws Exception {
+        Path schemaDirectory = Path.of(ClassLoader.getSystemResource("BrAPI-Schema").toURI());
+
+        options = GraphQLGeneratorOptions.load();
+
+        brAPIClasses = new BrAPISchemaReader(options.getBrAPISchemaReader()).readDirectories(schemaDirectory)
+            .onFailDoWithResponse(response -> fail(response.getMessagesCombined(", "))).getResult();
+
+        InMemoryBrAPIDataStore store = new InMemoryBrAPIDataStore(options.getProperties().getIds()::getIDFieldFor)
+            .add("Study", List.of(
+                Map.of("studyDbId", "s1", "studyName", "Study 1",
+                    "observationVariables", List.of(Map.of("observationVariableDbId", "v1"), Map.of("observationVariableDbId", "v2"))),
+                Map.of("studyDbId", "s2", "studyName", "Study 2",
+                    "observationVariables", List.of(Map.of("observationVariableDbId", "v2"), Map.of("observationVariableDbId", "v3")))))
+            .add("ObservationVariable", List.of(
+                Map.of("observationVariableDbId", "v1"),
+                Map.of("observationVariableDbId", "v2"),
+                Map.of("observationVariableDbId", "v3")));
+
+        executableSchema = new GraphQLGenerator(options).generate(schemaDirectory)
+            .mapResultToResponse(schema -> new GraphQLDataFetcherGenerator(options, store).generate(brAPIClasses, schema))
+            .onFailDoWithResponse(response -> fail(response.getMessagesCombined(", "))).getResult();
+    }
+
+    @Test
+    void fieldResolved() {
+        Queue<ResolverTiming> timings = new ConcurrentLinkedQueue<>();
+        Queue<BatchLoadTiming> batches = new ConcurrentLinkedQueue<>();
+
+        ResolverMetricsInstrumentation instrumentation = new ResolverMetricsInstrumentation(options, brAPIClasses, new ResolverMetricsListener() {
+            @Override
+            public void fieldResolved(ResolverTiming timing) {
+                timings.add(timing);
+            }
+
+            @Override
+            public void batchLoaded(BatchLoadTiming timing) {
+                batches.add(timing);
+            }
+        });
+
+        ExecutionResult result = execute(instrumentation);
+
+        assertTrue(result.getExtensions() == null || !result.getExtensions().containsKey(ResolverMetricsInstrumentation.TRACING_EXTENSION));
+
+        // only the query and the relationship are timed, not the scalar fields
+        assertEquals(3, timings.size());
+
+        ResolverTiming studies = timings.stream().filter(timing -> timing.getFieldName().equals("studies")).findFirst().orElseThrow();
+
+        assertEquals("Query", studies.getTypeName());
+        assertEquals("Study", studies.getEntity());
+        assertEquals("list-query", studies.getRelationship());
+        assertEquals(2, studies.getResultCount());
+        assertFalse(studies.isFailed());
+
+        List<ResolverTiming> variables = timings.stream().filter(timing -> timing.getFieldName().equals("observationVariables")).toList();
+
+        assertEquals(2, variables.size());
+        assertEquals(List.of("/studies/data[0]/observationVariables", "/studies/data[1]/observationVariables"),
+            variables.stream().map(ResolverTiming::getPath).sorted().toList());
+
+        variables.forEach(timing -> {
+            assertEquals("Study", timing.getTypeName());
+            assertEquals("Study", timing.getEntity());
+            assertEquals("many-to-many", timing.getRelationship());
+            assertEquals(2, timing.getResultCount());
+        });
+
+        // the variables of both studies are loaded in a single batch
+        assertEquals(1, batches.size());
+        assertEquals("ObservationVariable", batches.peek().getLoaderName());
+        assertEquals(3, batches.peek().getBatchSize());
+        assertEquals(3, batches.peek().getResultCount());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void tracing() {
+        ResolverMetricsInstrumentation instrumentation = new ResolverMetricsInstrumentation(options, brAPIClasses, timing -> {}, true);
+
+        ExecutionResult result = execute(instrumentation);
+
+        Map<String, Object> tracing = assertInstanceOf(Map.class, result.getExtensions().get(ResolverMetricsInstrumentation.TRACING_EXTENSION));
+
+        List<Map<String, Object>> resolvers = assertInstanceOf(List.class, tracing.get("resolvers"));
+
+        assertEquals(3, resolvers.size());
+        assertEquals("/studies", resolvers.get(0).get("path"));
+        assertEquals("list-query", resolvers.get(0).get("relationship"));
+        assertEquals(2, resolvers.get(0).get("resultCount"));
+        assertInstanceOf(Long.class, tracing.get("duration"));
+    }
+
+    private ExecutionResult execute(ResolverMetricsInstrumentation instrumentation) {
+        DataLoaderRegistry registry = new DataLoaderRegistry();
+
+        executableSchema.getBatchLoaders().forEach((name, batchLoader) ->
+            registry.register(name, DataLoaderFactory.newMappedDataLoader(instrumentation.instrument(name, batchLoader))));
+
+        ExecutionResult result = GraphQL.newGraphQL(executableSchema.getSchema())
+            .instrumentation(instrumentation)
+            .build()
+            .execute(ExecutionInput.newExecutionInput().query(QUERY).dataLoaderRegistry(registry).build());
+
+        assertTrue(result.getErrors().isEmpty(), () -> result.getErrors().toString());
+
+        return result;
+    }
+}
@@ -7,6 +7,7 @@ import com.fasterxml.jackson.databind.ObjectWriter;
 import lombok.extern.slf4j.Slf4j;
 import org.brapi.schematools.core.model.BrAPIObjectProperty;
 import org.brapi.schematools.core.model.BrAPIObjectType;
+import org.brapi.schematools.core.model.BrAPIRelationshipType;
 import org.brapi.schematools.core.options.LinkType;
 import org.brapi.schematools.core.options.OptionsTestBase;
 import org.brapi.schematools.core.validiation.Validation;
@@ -82,6 +83,11 @@ class GraphQLGeneratorOptionsTest extends OptionsTestBase {
         assertFalse(options.getQueryType().getListQuery().isGenerating());
         assertTrue(options.getQueryType().getSearchQuery().isGenerating());
 
+        assertFalse(options.getQueryComplexity().isLimitingDepth());
+        assertTrue(options.getQueryComplexity().isLimitingComplexity());
+        assertEquals(5, options.getQueryComplexity().getExpectedCardinalityFor(BrAPIRelationshipType.ONE_TO_MANY));
+        assertEquals(100, options.getQueryComplexity().getExpectedCardinalityFor(BrAPIRelationshipType.MANY_TO_MANY));
+
         assertEquals(LinkType.ID,
             options.getProperties().getLinkTypeFor(
                 BrAPIObjectType.builder().name("CallSet").build(),
@@ -192,6 +198,12 @@ class GraphQLGeneratorOptionsTest extends OptionsTestBase {
         assertTrue(options.getQueryType().getListQuery().isGenerating());
         assertTrue(options.getQueryType().getSearchQuery().isGenerating());
 
+        assertTrue(options.getQueryComplexity().isLimitingDepth());
+        assertTrue(options.getQueryComplexity().isLimitingComplexity());
+        assertEquals(10, options.getQueryComplexity().getExpectedCardinalityFor(BrAPIRelationshipType.ONE_TO_MANY));
+        assertEquals(100, options.getQueryComplexity().getExpectedCardinalityFor(BrAPIRelationshipType.MANY_TO_MANY));
+        assertEquals(1, options.getQueryComplexity().getExpectedCardinalityFor(BrAPIRelationshipType.MANY_TO_ONE));
+
         assertEquals(LinkType.SUB_QUERY,
             options.getProperties().getLinkTypeFor(
                 BrAPIObjectType.builder().name("CallSet").build(),
@@ -0,0 +1,96 @@
+package org.brapi.schematools.core.markdown;
+
+import graphql.schema.GraphQLSchema;
+import org.brapi.schematools.core.graphql.GraphQLGenerator;
+import org.brapi.schematools.core.markdown.options.GraphQLMarkdownGeneratorOptions;
+import org.brapi.schematools.core.utils.ContentHashManifest;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GraphQLMarkdownGeneratorTest {
+
+    private static GraphQLSchema schema;
+
+    @TempDir
+    Path directory;
+
+    @BeforeAll
+    static void generateSchema() throws Exception {
+        schema = new GraphQLGenerator().generate(Path.of(ClassLoader.getSystemResource("BrAPI-Schema").toURI()))
+            .onFailDoWithResponse(response -> fail(response.getMessagesCombined(", "))).getResult();
+
+        assertNotNull(schema);
+    }
+
+    @Test
+    void generateInParallel() throws IOException {
+        Path sequentialPath = directory.resolve("sequential");
+        Path parallelPath = directory.resolve("parallel");
+
+        List<Path> sequentialPaths = GraphQLMarkdownGenerator.generator(sequentialPath)
+            .options(GraphQLMarkdownGeneratorOptions.load())
+            .generate(schema)
+            .onFailDoWithResponse(response -> fail(response.getMessagesCombined(", "))).getResult();
+
+        List<Path> parallelPaths = GraphQLMarkdownGenerator.generator(parallelPath)
+            .options(GraphQLMarkdownGeneratorOptions.load().setGenerateInParallel(true).setWriterThreads(4))
+            .generate(schema)
+            .onFailDoWithResponse(response -> fail(response.getMessagesCombined(", "))).getResult();
+
+        assertFalse(sequentialPaths.isEmpty());
+
+        assertEquals(sequentialPaths.stream().map(sequentialPath::relativize).toList(),
+            parallelPaths.stream().map(parallelPath::relativize).toList());
+
+        for (Path path : sequentialPaths) {
+            assertEquals(Files.readString(path), Files.readString(parallelPath.resolve(sequentialPath.relativize(path))));
+        }
+    }
+
+    @Test
+    void skipUnchanged() throws IOException {
+        GraphQLMarkdownGeneratorOptions options = GraphQLMarkdownGeneratorOptions.load().setOverwrite(true).setSkipUnchanged(true);
+
+        List<Path> paths = GraphQLMarkdownGenerator.generator(directory)
+            .options(options)
+            .generate(schema)
+            .onFailDoWithResponse(response -> fail(response.getMessagesCombined(", "))).getResult();
+
+        assertFalse(paths.isEmpty());
+        assertTrue(Files.isRegularFile(directory.resolve(ContentHashManifest.MANIFEST_FILE_NAME)));
+
+        Map<Path, FileTime> lastModified = new HashMap<>();
+
+        for (Path path : paths) {
+            lastModified.put(path, Files.getLastModifiedTime(path));
+        }
+
+        Path editedPath = paths.getFirst();
+        String content = Files.readString(editedPath);
+
+        Files.writeString(editedPath, "Edited");
+        Files.setLastModifiedTime(editedPath, FileTime.fromMillis(lastModified.get(editedPath).toMillis() + 10000));
+
+        assertEquals(paths, GraphQLMarkdownGenerator.generator(directory)
+            .options(options)
+            .generate(schema)
+            .onFailDoWithResponse(response -> fail(response.getMessagesCombined(", "))).getResult());
+
+        assertEquals(content, Files.readString(editedPath));
+
+        for (Path path : paths.subList(1, paths.size())) {
+            assertEquals(lastModified.get(path), Files.getLastModifiedTime(path), path::toString);
+        }
+    }
+}
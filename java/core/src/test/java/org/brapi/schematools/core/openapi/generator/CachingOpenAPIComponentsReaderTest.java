@@ -0,0 +1,117 @@
+package org.brapi.schematools.core.openapi.generator;
+
+import io.swagger.v3.oas.models.Components;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.fail;
+
+class CachingOpenAPIComponentsReaderTest {
+
+    @TempDir
+    Path cacheDirectory;
+
+    @BeforeEach
+    void clearCache() {
+        CachingOpenAPIComponentsReader.clearMemoryCache();
+    }
+
+    @Test
+    void readComponents() {
+        Components components = readComponents(new CachingOpenAPIComponentsReader(), componentsDirectory());
+
+        assertNotNull(components);
+        assertEquals(9, components.getParameters().size());
+        assertEquals(5, components.getResponses().size());
+        assertEquals(9, components.getSchemas().size());
+        assertEquals(1, components.getSecuritySchemes().size());
+    }
+
+    @Test
+    void readComponentsLazily() {
+        Components components = readComponents(new CachingOpenAPIComponentsReader(), componentsDirectory());
+
+        LazyComponentMap<?> parameters = assertInstanceOf(LazyComponentMap.class, components.getParameters());
+
+        assertEquals(0, parameters.getDeserialisedCount());
+        assertNotNull(components.getParameters().get("page"));
+        assertEquals(1, parameters.getDeserialisedCount());
+        assertEquals("page", components.getParameters().get("page").getName());
+    }
+
+    @Test
+    void readComponentsFromCacheDirectory() throws IOException {
+        Components components = readComponents(new CachingOpenAPIComponentsReader(cacheDirectory), componentsDirectory());
+
+        assertEquals(1, countCacheFiles());
+
+        CachingOpenAPIComponentsReader.clearMemoryCache();
+
+        Components cachedComponents = readComponents(new CachingOpenAPIComponentsReader(cacheDirectory), componentsDirectory());
+
+        assertEquals(1, countCacheFiles());
+        assertEquals(components.getParameters().keySet(), cachedComponents.getParameters().keySet());
+        assertEquals(components.getResponses().keySet(), cachedComponents.getResponses().keySet());
+        assertEquals(components.getParameters().get("pageSize"), cachedComponents.getParameters().get("pageSize"));
+        assertEquals(components.getResponses().get("400BadRequest"), cachedComponents.getResponses().get("400BadRequest"));
+    }
+
+    @Test
+    void readComponentsAfterChange(@TempDir Path copyDirectory) throws IOException {
+        copyDirectory(componentsDirectory(), copyDirectory);
+
+        CachingOpenAPIComponentsReader reader = new CachingOpenAPIComponentsReader(cacheDirectory);
+
+        assertEquals(9, readComponents(reader, copyDirectory).getParameters().size());
+
+        Files.delete(copyDirectory.resolve("Parameters").resolve("pageToken.yaml"));
+
+        assertEquals(8, readComponents(reader, copyDirectory).getParameters().size());
+        assertEquals(2, countCacheFiles());
+    }
+
+    private Components readComponents(CachingOpenAPIComponentsReader reader, Path directory) {
+        Components components = reader.readComponents(directory)
+            .onFailDoWithResponse(response -> fail(response.getMessagesCombined(", "))).getResult();
+
+        assertNotNull(components);
+
+        return components;
+    }
+
+    private long countCacheFiles() throws IOException {
+        try (Stream<Path> files = Files.list(cacheDirectory)) {
+            return files.filter(path -> path.getFileName().toString().endsWith(".json")).count();
+        }
+    }
+
+    private Path componentsDirectory() {
+        try {
+            return Path.of(ClassLoader.getSystemResource("OpenAPI-Components").toURI());
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private void copyDirectory(Path source, Path target) throws IOException {
+        try (Stream<Path> paths = Files.walk(source)) {
+            for (Path path : paths.toList()) {
+                Path copy = target.resolve(source.relativize(path).toString());
+                if (Files.isDirectory(path)) {
+                    Files.createDirectories(copy);
+                } else {
+                    Files.copy(path, copy);
+                }
+            }
+        }
+    }
+}
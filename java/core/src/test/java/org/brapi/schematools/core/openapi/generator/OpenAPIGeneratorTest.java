@@ -22,6 +22,7 @@ import static org.brapi.schematools.core.utils.OpenAPIUtils.prettyPrint;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 @Slf4j
@@ -108,6 +109,11 @@ class OpenAPIGeneratorTest {
         assertSpecificationEquals("OpenAPIGenerator/BrAPI-Germplasm.json", byTitle.get("BrAPI-Germplasm"), true) ;
         assertSpecificationEquals("OpenAPIGenerator/BrAPI-Phenotyping.json", byTitle.get("BrAPI-Phenotyping"), true) ;
         assertSpecificationEquals("OpenAPIGenerator/BrAPI-Genotyping.json", byTitle.get("BrAPI-Genotyping"), true) ;
+
+        // the schemas of the common classes are created once and shared between the modules, without being copied
+        assertNotNull(byTitle.get("BrAPI-Core").getComponents().getSchemas().get("ExternalReference"));
+        assertSame(byTitle.get("BrAPI-Core").getComponents().getSchemas().get("ExternalReference"),
+            byTitle.get("BrAPI-Germplasm").getComponents().getSchemas().get("ExternalReference"));
     }
 
     @Test
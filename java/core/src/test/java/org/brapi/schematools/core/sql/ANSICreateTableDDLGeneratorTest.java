@@ -12,6 +12,9 @@ import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.Writer;
 import java.net.URISyntaxException;
 import java.nio.file.Files;
 import java.nio.file.Path;
@@ -21,8 +24,10 @@ import java.util.Map;
 
 import static org.brapi.schematools.core.test.TestUtils.assertMultilineEqual;
 import static org.brapi.schematools.core.utils.StringUtils.isMultilineEqual;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 @Slf4j
 class ANSICreateTableDDLGeneratorTest {
@@ -103,6 +108,109 @@ class ANSICreateTableDDLGeneratorTest {
         generate(SQLGeneratorOptions.load().setDropTable(true), SQLGeneratorMetadata.load(),"Study", "SQLGenerator/ANSI/Study-drop-table.sql") ;
     }
 
+    @Test
+    void generateStudyIndexes() {
+        ANSICreateTableDDLGenerator generator = new ANSICreateTableDDLGenerator(
+            SQLGeneratorOptions.load().setGenerateIndexScript(true), SQLGeneratorMetadata.load(), brAPIClasses);
+
+        assertFalse(generator.generateDDLForObjectType(find("Study")).hasErrors());
+
+        String indexes = generator.generateIndexScript().getResultOrThrow();
+
+        // list query filter from the request schema
+        assertTrue(indexes.contains("CREATE INDEX Studies_studyType_idx ON brapi_Studies (studyType) ;"), indexes);
+        // foreign key
+        assertTrue(indexes.contains("CREATE INDEX Studies_locationDbId"), indexes);
+        // link table join columns
+        assertTrue(indexes.contains("CREATE INDEX ObservationVariableByStudy_observationVariableDbId_idx ON brapi_ObservationVariableByStudy (observationVariableDbId) ;"), indexes);
+        assertTrue(indexes.contains("CREATE INDEX ObservationVariableByStudy_studyDbId_idx ON brapi_ObservationVariableByStudy (studyDbId) ;"), indexes);
+        // the primary key is already indexed
+        assertFalse(indexes.contains("ON brapi_Studies (studyDbId)"), indexes);
+    }
+
+    @Test
+    void generateStudyWithPartitioning() {
+        Response<String> response = new ANSICreateTableDDLGenerator(
+            SQLGeneratorOptions.load().setClustering(true).setPartitionColumnsFor(Map.of("Study", List.of("trialDbId"))), SQLGeneratorMetadata.load(), brAPIClasses)
+            .generateDDLForObjectType(find("Study"));
+
+        String ddl = response.getResultOrThrow();
+
+        assertTrue(ddl.contains("PARTITIONED BY (trialDbId)"), ddl);
+        // partitioned tables are not clustered
+        assertFalse(ddl.contains("CLUSTER BY"), ddl);
+    }
+
+    @Test
+    void generateStudyWithUnknownPartitionColumn() {
+        Response<String> response = new ANSICreateTableDDLGenerator(
+            SQLGeneratorOptions.load().setPartitionColumnsFor(Map.of("Study", List.of("trialDbId", "unknown"))), SQLGeneratorMetadata.load(), brAPIClasses)
+            .generateDDLForObjectType(find("Study"));
+
+        assertTrue(response.hasErrors());
+        assertTrue(response.getMessagesCombined(", ").contains("'unknown'"), response.getMessagesCombined(", "));
+    }
+
+    @Test
+    void generateStudyColumns() {
+        List<SQLColumn> columns = new ANSICreateTableDDLGenerator(SQLGeneratorOptions.load(), SQLGeneratorMetadata.load(), brAPIClasses)
+            .generateColumnsForObjectType(find("Study"))
+            .getResultOrThrow();
+
+        SQLColumn studyDbId = findColumn(columns, "studyDbId");
+
+        assertEquals("STRING", studyDbId.getType());
+        assertTrue(studyDbId.isNotNull());
+        assertTrue(studyDbId.isPrimaryKey());
+        assertTrue(studyDbId.getComment().startsWith("The ID which uniquely identifies a study"), studyDbId.getComment());
+
+        // the link columns are derived from the linked type
+        assertEquals("trial", findColumn(columns, "trialDbId").getLinkProperty().getName());
+
+        assertEquals("ARRAY<STRING>", findColumn(columns, "seasons").getType());
+        assertFalse(findColumn(columns, "seasons").isPrimaryKey());
+
+        // the properties stored in link tables have no column
+        assertTrue(columns.stream().noneMatch(column -> column.getName().equals("observationVariables")), columns.toString());
+    }
+
+    @Test
+    void generateStudyToSink() {
+        StringWriter writer = new StringWriter();
+
+        Response<StringWriter> response = new ANSICreateTableDDLGenerator(SQLGeneratorOptions.load(), SQLGeneratorMetadata.load(), brAPIClasses)
+            .generateDDLForObjectType(find("Study"), writer);
+
+        response.getAllErrors().forEach(this::printError);
+        assertFalse(response.hasErrors());
+
+        assertDDLEquals("SQLGenerator/ANSI/Study.sql", writer.toString()) ;
+    }
+
+    @Test
+    void generateStudyToFailingSink() {
+        Appendable sink = new Writer() {
+            @Override
+            public void write(char[] buffer, int offset, int length) throws IOException {
+                throw new IOException("Disk full");
+            }
+
+            @Override
+            public void flush() {
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+
+        Response<Appendable> response = new ANSICreateTableDDLGenerator(SQLGeneratorOptions.load(), SQLGeneratorMetadata.load(), brAPIClasses)
+            .generateDDLForObjectType(find("Study"), sink);
+
+        assertTrue(response.hasErrors());
+        assertTrue(response.getMessagesCombined(", ").contains("Disk full"), response.getMessagesCombined(", "));
+    }
+
     void generate(SQLGeneratorOptions options, SQLGeneratorMetadata metadata, String className, String classPath) {
         Response<String> response = null;
         try {
@@ -127,6 +235,10 @@ class ANSICreateTableDDLGeneratorTest {
         System.out.println(error.toString());
     }
 
+    private SQLColumn findColumn(List<SQLColumn> columns, String name) {
+        return columns.stream().filter(column -> column.getName().equals(name)).findFirst().orElseThrow() ;
+    }
+
     private BrAPIObjectType find(String className) {
         return (BrAPIObjectType)brAPIClasses.stream().filter(brAPIClass -> brAPIClass instanceof BrAPIObjectType && brAPIClass.getName().equals(className)).findFirst().orElseThrow() ;
     }
@@ -0,0 +1,157 @@
+package org.brapi.schematools.core.sql;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.brapi.schematools.core.brapischema.BrAPISchemaReader;
+import org.brapi.schematools.core.model.BrAPIClass;
+import org.brapi.schematools.core.response.Response;
+import org.brapi.schematools.core.sql.options.SQLGeneratorOptions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.StreamSupport;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ColumnarSchemaGeneratorTest {
+
+    private static final Path OUTPUT_PATH = Path.of("build/test-output/ColumnarSchemaGenerator");
+    private static final Set<String> AVRO_PRIMITIVE_TYPES = Set.of("null", "boolean", "int", "long", "float", "double", "bytes", "string");
+
+    private static List<BrAPIClass> brAPIClasses;
+    private static List<Path> paths;
+
+    @BeforeAll
+    static void setup() throws Exception {
+        brAPIClasses = new BrAPISchemaReader().readDirectories(Path.of(ClassLoader.getSystemResource("BrAPI-Schema").toURI())).getResultOrThrow() ;
+
+        Response<List<Path>> response = new ColumnarSchemaGenerator(SQLGeneratorOptions.load().setOverwrite(true), OUTPUT_PATH)
+            .generate(brAPIClasses);
+
+        assertFalse(response.hasErrors(), response.getMessagesCombined(", "));
+
+        paths = response.getResult();
+    }
+
+    @Test
+    void generate() {
+        assertTrue(paths.contains(OUTPUT_PATH.resolve("Study" + ColumnarSchemaGenerator.PARQUET_SCHEMA_EXTENSION)));
+        assertTrue(paths.contains(OUTPUT_PATH.resolve("Study" + ColumnarSchemaGenerator.AVRO_SCHEMA_EXTENSION)));
+        assertTrue(paths.contains(OUTPUT_PATH.resolve("Study" + ColumnarSchemaGenerator.PARQUET_PROPERTIES_EXTENSION)));
+    }
+
+    @Test
+    void generateStudyParquetMessageType() throws Exception {
+        String schema = Files.readString(OUTPUT_PATH.resolve("Study" + ColumnarSchemaGenerator.PARQUET_SCHEMA_EXTENSION));
+
+        assertTrue(schema.startsWith("message Study {"), schema);
+        assertTrue(schema.contains("required binary studyDbId (STRING);"), schema);
+        // link columns
+        assertTrue(schema.contains("binary trialDbId (STRING);"), schema);
+        assertTrue(schema.contains("group observationVariableDbIds (LIST) {"), schema);
+        // arrays of simple values and embedded objects
+        assertTrue(schema.contains("group seasons (LIST) {"), schema);
+        assertTrue(schema.contains("repeated group list {"), schema);
+        assertTrue(schema.contains("optional binary element (STRING);"), schema);
+        assertTrue(schema.contains("group contacts (LIST) {"), schema);
+        assertTrue(schema.contains("optional group element {"), schema);
+        // additional info
+        assertTrue(schema.contains("group additionalInfo (MAP) {"), schema);
+        assertTrue(schema.contains("repeated group key_value {"), schema);
+    }
+
+    @Test
+    void generateStudyDictionaryEncoding() throws Exception {
+        String properties = Files.readString(OUTPUT_PATH.resolve("Study" + ColumnarSchemaGenerator.PARQUET_PROPERTIES_EXTENSION));
+
+        // controlled vocabulary columns
+        assertTrue(properties.contains("parquet.enable.dictionary#studyType=true"), properties);
+        assertTrue(properties.contains("parquet.enable.dictionary#observationLevels.list.element.levelName=true"), properties);
+        assertFalse(properties.contains("#studyName="), properties);
+    }
+
+    @Test
+    void generateProgramEnum() throws Exception {
+        String schema = Files.readString(OUTPUT_PATH.resolve("Program" + ColumnarSchemaGenerator.PARQUET_SCHEMA_EXTENSION));
+
+        assertTrue(schema.contains("binary programType (ENUM);"), schema);
+
+        JsonNode avro = new ObjectMapper().readTree(OUTPUT_PATH.resolve("Program" + ColumnarSchemaGenerator.AVRO_SCHEMA_EXTENSION).toFile());
+
+        JsonNode programType = findField(avro, "programType");
+
+        assertTrue(programType.get("dictionaryEncoded").asBoolean());
+
+        JsonNode type = findType(programType);
+
+        assertEquals("enum", type.get("type").asText());
+        assertTrue(type.get("symbols").toString().contains("STANDARD"), type.toString());
+    }
+
+    @Test
+    void generateStudyAvroSchema() throws Exception {
+        JsonNode avro = new ObjectMapper().readTree(OUTPUT_PATH.resolve("Study" + ColumnarSchemaGenerator.AVRO_SCHEMA_EXTENSION).toFile());
+
+        assertEquals("record", avro.get("type").asText());
+        assertEquals("Study", avro.get("name").asText());
+
+        assertEquals("string", findField(avro, "studyDbId").get("type").asText());
+        assertEquals("null", findField(avro, "studyName").get("type").get(0).asText());
+        assertTrue(findField(avro, "studyName").has("default"));
+
+        assertEquals("array", findType(findField(avro, "seasons")).get("type").asText());
+        assertEquals("map", findType(findField(avro, "additionalInfo")).get("type").asText());
+
+        assertTrue(findField(avro, "studyType").get("dictionaryEncoded").asBoolean());
+    }
+
+    @Test
+    void generateAvroNamedTypes() throws Exception {
+        for (Path path : paths) {
+            if (path.toString().endsWith(ColumnarSchemaGenerator.AVRO_SCHEMA_EXTENSION)) {
+                Map<String, JsonNode> namedTypes = new HashMap<>();
+
+                assertNamedTypes(new ObjectMapper().readTree(path.toFile()), namedTypes, path);
+            }
+        }
+    }
+
+    // checks, in document order, that each named type is defined once and only referenced after its definition
+    private void assertNamedTypes(JsonNode type, Map<String, JsonNode> namedTypes, Path path) {
+        if (type.isTextual()) {
+            assertTrue(AVRO_PRIMITIVE_TYPES.contains(type.asText()) || namedTypes.containsKey(type.asText()),
+                () -> String.format("Type '%s' in '%s' is referenced before it is defined", type.asText(), path));
+        } else if (type.isArray()) {
+            type.forEach(unionType -> assertNamedTypes(unionType, namedTypes, path));
+        } else {
+            switch (type.get("type").asText()) {
+                case "record" -> {
+                    assertNull(namedTypes.put(type.get("name").asText(), type), () -> String.format("Record '%s' in '%s' is defined more than once", type.get("name").asText(), path));
+                    type.get("fields").forEach(field -> assertNamedTypes(field.get("type"), namedTypes, path));
+                }
+                case "enum" -> assertNull(namedTypes.put(type.get("name").asText(), type), () -> String.format("Enum '%s' in '%s' is defined more than once", type.get("name").asText(), path));
+                case "array" -> assertNamedTypes(type.get("items"), namedTypes, path);
+                case "map" -> assertNamedTypes(type.get("values"), namedTypes, path);
+                default -> assertNamedTypes(type.get("type"), namedTypes, path);
+            }
+        }
+    }
+
+    private JsonNode findType(JsonNode field) {
+        // the type is a union with null if the column is nullable
+        return field.get("type").isArray() ? field.get("type").get(1) : field.get("type");
+    }
+
+    private JsonNode findField(JsonNode record, String name) {
+        return StreamSupport.stream(record.get("fields").spliterator(), false)
+            .filter(field -> field.get("name").asText().equals(name))
+            .findFirst()
+            .orElseThrow(() -> new AssertionError(String.format("No field '%s'", name)));
+    }
+}
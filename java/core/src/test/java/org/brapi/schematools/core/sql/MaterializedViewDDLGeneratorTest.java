@@ -0,0 +1,169 @@
+package org.brapi.schematools.core.sql;
+
+import org.brapi.schematools.core.brapischema.BrAPISchemaReader;
+import org.brapi.schematools.core.model.BrAPIClass;
+import org.brapi.schematools.core.model.BrAPIObjectType;
+import org.brapi.schematools.core.response.Response;
+import org.brapi.schematools.core.sql.metadata.SQLGeneratorMetadata;
+import org.brapi.schematools.core.sql.options.MaterializedViewRefresh;
+import org.brapi.schematools.core.sql.options.SQLDialect;
+import org.brapi.schematools.core.sql.options.SQLGeneratorOptions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.net.URISyntaxException;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MaterializedViewDDLGeneratorTest {
+
+    private static List<BrAPIClass> brAPIClasses;
+
+    @BeforeAll
+    static void setup() throws URISyntaxException {
+        BrAPISchemaReader schemaReader = new BrAPISchemaReader();
+        brAPIClasses = schemaReader.readDirectories(Path.of(ClassLoader.getSystemResource("BrAPI-Schema").toURI())).getResultOrThrow() ;
+    }
+
+    @Test
+    void generateObservation() {
+        MaterializedViewDDLGenerator generator = new MaterializedViewDDLGenerator(
+            createOptions(SQLDialect.POSTGRESQL), SQLGeneratorMetadata.load(), brAPIClasses);
+
+        Response<String> response = generator.generateDDLForObjectType(find("Observation"));
+
+        assertFalse(response.hasErrors(), response.getMessagesCombined(", "));
+
+        String ddl = response.getResult();
+
+        assertTrue(ddl.contains("CREATE MATERIALIZED VIEW brapi_ObservationTable AS"), ddl);
+        assertTrue(ddl.contains("FROM brapi_Observations t"), ddl);
+
+        // the header columns, from the table, its link columns and the tables of the linked entities
+        assertTrue(ddl.contains("t.observationTimeStamp AS observationTimeStamp"), ddl);
+        assertTrue(ddl.contains("t.observationUnitName AS observationUnitName"), ddl);
+        assertTrue(ddl.contains("observationUnitPosition ->> 'positionCoordinateX' AS positionCoordinateX"), ddl);
+        assertTrue(ddl.contains("LEFT JOIN brapi_ObservationUnits j"), ddl);
+        assertTrue(ddl.contains("'sub-plot'"), ddl);
+
+        // the values of the observation variables
+        assertTrue(ddl.contains("t.observationVariableDbId AS observationVariableDbId"), ddl);
+        assertTrue(ddl.contains("t.value AS value"), ddl);
+
+        // indexes
+        assertTrue(ddl.contains("CREATE UNIQUE INDEX ObservationTable_observationDbId_idx ON brapi_ObservationTable (observationDbId) ;"), ddl);
+        assertTrue(ddl.contains("CREATE INDEX ObservationTable_studyDbId_idx ON brapi_ObservationTable (studyDbId) ;"), ddl);
+
+        String refresh = generator.generateRefreshScript().getResultOrThrow();
+
+        assertTrue(refresh.contains("REFRESH MATERIALIZED VIEW CONCURRENTLY brapi_ObservationTable ;"), refresh);
+    }
+
+    @Test
+    void generateRefreshScript() {
+        // the views to be refreshed are those selected by the options, whether or not their DDL has been generated
+        String refresh = new MaterializedViewDDLGenerator(createOptions(SQLDialect.POSTGRESQL), SQLGeneratorMetadata.load(), brAPIClasses)
+            .generateRefreshScript().getResultOrThrow();
+
+        assertTrue(refresh.contains("REFRESH MATERIALIZED VIEW CONCURRENTLY brapi_ObservationTable ;"), refresh);
+        assertTrue(refresh.contains("REFRESH MATERIALIZED VIEW CONCURRENTLY brapi_ObservationUnitTable ;"), refresh);
+        assertFalse(refresh.contains("StudyTable"), refresh);
+    }
+
+    @Test
+    void generateObservationUnitIncremental() {
+        SQLGeneratorOptions options = createOptions(SQLDialect.POSTGRESQL);
+        options.getMaterializedViews().setRefresh(MaterializedViewRefresh.INCREMENTAL);
+
+        MaterializedViewDDLGenerator generator = new MaterializedViewDDLGenerator(options, SQLGeneratorMetadata.load(), brAPIClasses);
+
+        String ddl = generator.generateDDLForObjectType(find("ObservationUnit")).getResultOrThrow();
+
+        // the view is a table, so that its rows can be changed
+        assertTrue(ddl.contains("CREATE TABLE brapi_ObservationUnitTable AS"), ddl);
+        assertFalse(ddl.contains("CREATE MATERIALIZED VIEW"), ddl);
+        assertTrue(ddl.contains("ALTER TABLE brapi_ObservationUnits ADD COLUMN IF NOT EXISTS updatedAt TIMESTAMPTZ NOT NULL DEFAULT now() ;"), ddl);
+        assertTrue(ddl.contains("ALTER TABLE brapi_Observations ADD COLUMN IF NOT EXISTS updatedAt TIMESTAMPTZ NOT NULL DEFAULT now() ;"), ddl);
+        assertTrue(ddl.contains("CREATE TABLE IF NOT EXISTS brapi_MaterializedViewRefreshes"), ddl);
+        assertTrue(ddl.contains("VALUES ('brapi_ObservationUnitTable', now())"), ddl);
+
+        String refresh = generator.generateRefreshScript().getResultOrThrow();
+
+        assertFalse(refresh.contains("REFRESH MATERIALIZED VIEW"), refresh);
+        // the changed entities, and the entities whose rows have been deleted
+        assertTrue(refresh.contains("CREATE TEMPORARY TABLE ObservationUnitTable_changes ON COMMIT DROP AS"), refresh);
+        assertTrue(refresh.contains("t.updatedAt > r.refreshedAt OR "), refresh);
+        assertTrue(refresh.contains("v.updatedAt > r.refreshedAt"), refresh);
+        assertTrue(refresh.contains("NOT EXISTS (SELECT 1 FROM brapi_ObservationUnits t WHERE t.observationUnitDbId = mv.observationUnitDbId)"), refresh);
+        assertTrue(refresh.contains("mv.observationDbId IS NOT NULL AND NOT EXISTS (SELECT 1 FROM brapi_Observations v WHERE v.observationDbId = mv.observationDbId)"), refresh);
+        // the rows of the changed entities are deleted and inserted again
+        assertTrue(refresh.contains("DELETE FROM brapi_ObservationUnitTable WHERE observationUnitDbId IN (SELECT observationUnitDbId FROM ObservationUnitTable_changes) ;"), refresh);
+        assertTrue(refresh.contains("INSERT INTO brapi_ObservationUnitTable"), refresh);
+        assertTrue(refresh.contains("WHERE t.observationUnitDbId IN (SELECT observationUnitDbId FROM ObservationUnitTable_changes) ;"), refresh);
+        assertTrue(refresh.contains("UPDATE brapi_MaterializedViewRefreshes SET refreshedAt = now() WHERE viewName = 'brapi_ObservationUnitTable' ;"), refresh);
+    }
+
+    @Test
+    void generateObservationUnit() {
+        String ddl = new MaterializedViewDDLGenerator(
+            SQLGeneratorOptions.load().setDialect(SQLDialect.POSTGRESQL), SQLGeneratorMetadata.load(), brAPIClasses)
+            .generateDDLForObjectType(find("ObservationUnit")).getResultOrThrow();
+
+        // the values are in the observations of the observation unit
+        assertTrue(ddl.contains("LEFT JOIN brapi_Observations v ON v.observationUnitDbId = t.observationUnitDbId"), ddl);
+        assertTrue(ddl.contains("v.value AS value"), ddl);
+        assertTrue(ddl.contains("CREATE UNIQUE INDEX ObservationUnitTable_observationUnitDbId_observationDbId_idx ON brapi_ObservationUnitTable (observationUnitDbId, observationDbId) ;"), ddl);
+    }
+
+    @Test
+    void generateObservationSpark() {
+        MaterializedViewDDLGenerator generator = new MaterializedViewDDLGenerator(
+            createOptions(SQLDialect.SPARK).setClustering(true), SQLGeneratorMetadata.load(), brAPIClasses);
+
+        String ddl = generator.generateDDLForObjectType(find("Observation")).getResultOrThrow();
+
+        assertTrue(ddl.contains("CREATE MATERIALIZED VIEW brapi_ObservationTable CLUSTER BY (observationDbId"), ddl);
+        assertTrue(ddl.contains("observationUnitPosition.positionCoordinateX AS positionCoordinateX"), ddl);
+        assertFalse(ddl.contains("CREATE INDEX"), ddl);
+
+        String refresh = generator.generateRefreshScript().getResultOrThrow();
+
+        assertTrue(refresh.contains("REFRESH MATERIALIZED VIEW brapi_ObservationTable ;"), refresh);
+    }
+
+    @Test
+    void generateWithoutTableClass() {
+        Response<String> response = new MaterializedViewDDLGenerator(
+            SQLGeneratorOptions.load().setDialect(SQLDialect.POSTGRESQL), SQLGeneratorMetadata.load(), brAPIClasses)
+            .generateDDLForObjectType(find("Study"));
+
+        assertTrue(response.hasErrors());
+        assertTrue(response.getMessagesCombined(", ").contains("'StudyTable'"), response.getMessagesCombined(", "));
+    }
+
+    @Test
+    void generateANSI() {
+        MaterializedViewDDLGenerator generator = new MaterializedViewDDLGenerator(
+            SQLGeneratorOptions.load().setDialect(SQLDialect.ANSI), SQLGeneratorMetadata.load(), brAPIClasses);
+
+        Response<String> response = generator.generateDDLForObjectType(find("Observation"));
+
+        assertTrue(response.hasErrors());
+        assertTrue(response.getMessagesCombined(", ").contains("ANSI"), response.getMessagesCombined(", "));
+        assertTrue(generator.generateRefreshScript().hasErrors());
+    }
+
+    private SQLGeneratorOptions createOptions(SQLDialect dialect) {
+        SQLGeneratorOptions options = SQLGeneratorOptions.load().setDialect(dialect);
+        options.getMaterializedViews().setGenerate(true);
+
+        return options;
+    }
+
+    private BrAPIObjectType find(String className) {
+        return (BrAPIObjectType)brAPIClasses.stream().filter(brAPIClass -> brAPIClass instanceof BrAPIObjectType && brAPIClass.getName().equals(className)).findFirst().orElseThrow() ;
+    }
+}
@@ -0,0 +1,144 @@
+package org.brapi.schematools.core.sql;
+
+import org.brapi.schematools.core.brapischema.BrAPISchemaReader;
+import org.brapi.schematools.core.model.BrAPIClass;
+import org.brapi.schematools.core.model.BrAPIObjectType;
+import org.brapi.schematools.core.sql.metadata.SQLGeneratorMetadata;
+import org.brapi.schematools.core.sql.options.SQLDialect;
+import org.brapi.schematools.core.sql.options.SQLGeneratorOptions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.net.URISyntaxException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PostgreSQLCreateTableDDLGeneratorTest {
+
+    private static List<BrAPIClass> brAPIClasses;
+
+    @BeforeAll
+    static void setup() throws URISyntaxException {
+        BrAPISchemaReader schemaReader = new BrAPISchemaReader();
+        brAPIClasses = schemaReader.readDirectories(Path.of(ClassLoader.getSystemResource("BrAPI-Schema").toURI())).getResultOrThrow() ;
+    }
+
+    @Test
+    void forDialect() {
+        assertInstanceOf(PostgreSQLCreateTableDDLGenerator.class, CreateTableDDLGenerator.forDialect(
+            SQLGeneratorOptions.load().setDialect(SQLDialect.POSTGRESQL), SQLGeneratorMetadata.load(), brAPIClasses));
+    }
+
+    @Test
+    void generateStudy() {
+        String ddl = new PostgreSQLCreateTableDDLGenerator(SQLGeneratorOptions.load().setTableUsing("delta").setClustering(true), SQLGeneratorMetadata.load(), brAPIClasses)
+            .generateDDLForObjectType(find("Study")).getResultOrThrow();
+
+        // native types
+        assertTrue(ddl.contains("studyDbId TEXT NOT NULL PRIMARY KEY"), ddl);
+        assertTrue(ddl.contains("seasons TEXT[]"), ddl);
+        assertTrue(ddl.contains("additionalInfo JSONB"), ddl);
+        assertTrue(ddl.contains("contacts JSONB"), ddl);
+        assertTrue(ddl.contains("externalReferences JSONB"), ddl);
+        assertFalse(ddl.contains("STRUCT<"), ddl);
+        assertFalse(ddl.contains("ARRAY<"), ddl);
+        assertFalse(ddl.contains("MAP<"), ddl);
+
+        // only the ID column of the study table is a primary key
+        assertEquals(1, ddl.split("PRIMARY KEY", -1).length - 1, ddl);
+
+        // comments are added in separate statements
+        assertFalse(ddl.contains(" COMMENT '"), ddl);
+        assertTrue(ddl.contains("COMMENT ON TABLE brapi_Studies IS '"), ddl);
+        assertTrue(ddl.contains("COMMENT ON COLUMN brapi_Studies.studyDbId IS '"), ddl);
+
+        // table formats, clustering and table properties are not supported
+        assertFalse(ddl.contains("USING"), ddl);
+        assertFalse(ddl.contains("CLUSTER BY"), ddl);
+    }
+
+    @Test
+    void generateStudyIndexes() {
+        PostgreSQLCreateTableDDLGenerator generator = new PostgreSQLCreateTableDDLGenerator(
+            SQLGeneratorOptions.load().setGenerateIndexScript(true), SQLGeneratorMetadata.load(), brAPIClasses);
+
+        assertFalse(generator.generateDDLForObjectType(find("Study")).hasErrors());
+
+        String indexes = generator.generateIndexScript().getResultOrThrow();
+
+        assertTrue(indexes.contains("CREATE INDEX Studies_studyType_idx ON brapi_Studies (studyType) ;"), indexes);
+        assertTrue(indexes.contains("CREATE INDEX Studies_additionalInfo_idx ON brapi_Studies USING GIN (additionalInfo) ;"), indexes);
+    }
+
+    @Test
+    void generateStudyWithPartitioning() {
+        String ddl = new PostgreSQLCreateTableDDLGenerator(
+            SQLGeneratorOptions.load().setPartitionColumnsFor(Map.of("Study", List.of("trialDbId"))), SQLGeneratorMetadata.load(), brAPIClasses)
+            .generateDDLForObjectType(find("Study")).getResultOrThrow();
+
+        assertTrue(ddl.contains("PARTITION BY LIST (trialDbId)"), ddl);
+        // the primary key of a partitioned table must include the partition columns
+        assertTrue(ddl.contains("CONSTRAINT Studies_pk PRIMARY KEY (studyDbId, trialDbId)"), ddl);
+        assertFalse(ddl.contains("studyDbId TEXT NOT NULL PRIMARY KEY"), ddl);
+        // rows are inserted into the default partition, until other partitions are attached
+        assertTrue(ddl.contains("CREATE TABLE brapi_Studies_default PARTITION OF brapi_Studies DEFAULT ;"), ddl);
+    }
+
+    @Test
+    void generateStudyWithHashPartitioning() {
+        String ddl = new PostgreSQLCreateTableDDLGenerator(
+            SQLGeneratorOptions.load().setHashPartitions(2).setPartitionColumnsFor(Map.of("Study", List.of("trialDbId", "locationDbId"))), SQLGeneratorMetadata.load(), brAPIClasses)
+            .generateDDLForObjectType(find("Study")).getResultOrThrow();
+
+        assertTrue(ddl.contains("PARTITION BY HASH (trialDbId, locationDbId)"), ddl);
+        assertTrue(ddl.contains("CONSTRAINT Studies_pk PRIMARY KEY (studyDbId, trialDbId, locationDbId)"), ddl);
+        assertTrue(ddl.contains("CREATE TABLE brapi_Studies_p0 PARTITION OF brapi_Studies FOR VALUES WITH (MODULUS 2, REMAINDER 0) ;"), ddl);
+        assertTrue(ddl.contains("CREATE TABLE brapi_Studies_p1 PARTITION OF brapi_Studies FOR VALUES WITH (MODULUS 2, REMAINDER 1) ;"), ddl);
+        assertFalse(ddl.contains("brapi_Studies_p2"), ddl);
+    }
+
+    @Test
+    void generateObservationUnitConstraintsWithPartitionedStudy() {
+        PostgreSQLCreateTableDDLGenerator generator = new PostgreSQLCreateTableDDLGenerator(
+            SQLGeneratorOptions.load().setPartitionColumnsFor(Map.of("Study", List.of("trialDbId"))), SQLGeneratorMetadata.load(), brAPIClasses);
+
+        assertFalse(generator.generateDDLForObjectType(find("ObservationUnit")).hasErrors());
+
+        // the foreign key references the primary key of the partitioned table, including its partition columns
+        String constraints = generator.generateForeignKeyConstraintScript().getResultOrThrow();
+        assertTrue(constraints.contains("FOREIGN KEY(studyDbId, trialDbId) REFERENCES brapi_Studies"), constraints);
+    }
+
+    @Test
+    void generateSampleWithReservedWord() {
+        String ddl = new PostgreSQLCreateTableDDLGenerator(SQLGeneratorOptions.load(), SQLGeneratorMetadata.load(), brAPIClasses)
+            .generateDDLForObjectType(find("Sample")).getResultOrThrow();
+
+        assertTrue(ddl.contains("\"column\" "), ddl);
+    }
+
+    @Test
+    void generateStudyConstraints() {
+        PostgreSQLCreateTableDDLGenerator generator = new PostgreSQLCreateTableDDLGenerator(
+            SQLGeneratorOptions.load(), SQLGeneratorMetadata.load(), brAPIClasses);
+
+        assertFalse(generator.generateDDLForObjectType(find("Study")).hasErrors());
+
+        // the foreign key references the primary key of the linked table
+        String constraints = generator.generateForeignKeyConstraintScript().getResultOrThrow();
+        assertTrue(constraints.contains("FOREIGN KEY(trialDbId) REFERENCES brapi_Trials"), constraints);
+
+        String drop = generator.generateDropScript().getResultOrThrow();
+        assertTrue(drop.contains("DROP TABLE IF EXISTS brapi_Studies CASCADE ;"), drop);
+    }
+
+    private BrAPIObjectType find(String className) {
+        return (BrAPIObjectType)brAPIClasses.stream().filter(brAPIClass -> brAPIClass instanceof BrAPIObjectType && brAPIClass.getName().equals(className)).findFirst().orElseThrow() ;
+    }
+}
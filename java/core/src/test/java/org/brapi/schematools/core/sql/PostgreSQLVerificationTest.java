@@ -0,0 +1,145 @@
+package org.brapi.schematools.core.sql;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.brapi.schematools.core.brapischema.BrAPISchemaReader;
+import org.brapi.schematools.core.model.BrAPIClass;
+import org.brapi.schematools.core.sql.metadata.SQLGeneratorMetadata;
+import org.brapi.schematools.core.sql.options.SQLDialect;
+import org.brapi.schematools.core.sql.options.SQLGeneratorOptions;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Applies the scripts generated for the PostgreSQL dialect to an embedded PostgreSQL database, loads a synthetic
+ * dataset, and checks that the list, search and join queries return the expected rows using the indexes.
+ * Tagged 'postgres', so it is only run by the 'postgresTest' task and not by the 'test' task.
+ */
+@Tag("postgres")
+class PostgreSQLVerificationTest {
+
+    private static final int COUNT = 10;
+    private static final Set<String> SCRIPTS = Set.of("drop_tables.sql", "add_constraints.sql", "add_indexes.sql");
+
+    private static EmbeddedPostgres postgres;
+    private static Path schemaDirectory;
+    private static List<BrAPIClass> brAPIClasses;
+
+    @BeforeAll
+    static void setup() throws Exception {
+        postgres = EmbeddedPostgres.start();
+
+        schemaDirectory = Path.of(ClassLoader.getSystemResource("BrAPI-Schema").toURI());
+        brAPIClasses = new BrAPISchemaReader().readDirectories(schemaDirectory).getResultOrThrow();
+    }
+
+    @AfterAll
+    static void tearDown() throws Exception {
+        if (postgres != null) {
+            postgres.close();
+        }
+    }
+
+    @Test
+    void verify() throws Exception {
+        Path outputPath = Path.of("build/test-output/PostgreSQLVerification");
+
+        SQLGeneratorOptions options = SQLGeneratorOptions.load()
+            .setOverwrite(true)
+            .setDialect(SQLDialect.POSTGRESQL)
+            .setGenerateIndexScript(true);
+        SQLGeneratorMetadata metadata = SQLGeneratorMetadata.load();
+
+        List<Path> paths = new SQLGenerator(options, outputPath.resolve("ddl")).generate(schemaDirectory, metadata).getResultOrThrow();
+
+        Map<String, JsonNode> entities = new SyntheticEntityGenerator(options).generate(brAPIClasses, COUNT).getResultOrThrow();
+
+        List<Path> loadPaths = new SQLDataLoadGenerator(options, outputPath.resolve("data")).generate(brAPIClasses, metadata, entities).getResultOrThrow();
+
+        try (Connection connection = postgres.getPostgresDatabase().getConnection(); Statement statement = connection.createStatement()) {
+            // the tables, link tables and controlled vocabulary tables
+            for (Path path : paths) {
+                if (!SCRIPTS.contains(path.getFileName().toString())) {
+                    execute(statement, path);
+                }
+            }
+
+            execute(statement, loadPaths.getFirst());
+
+            // the constraints are added after the data is loaded, so they also check that all the links are valid
+            execute(statement, outputPath.resolve("ddl/add_constraints.sql"));
+            execute(statement, outputPath.resolve("ddl/add_indexes.sql"));
+            statement.execute("ANALYZE");
+
+            // list
+            assertEquals(5, count(statement, "SELECT studyDbId, studyName FROM brapi_Studies ORDER BY studyDbId LIMIT 5"));
+
+            // search
+            assertEquals(1, count(statement, "SELECT studyDbId FROM brapi_Studies WHERE studyType = 'studyType-3'"));
+
+            // join to a linked entity and through a link table
+            assertEquals(COUNT, count(statement, "SELECT s.studyDbId, t.trialName FROM brapi_Studies s JOIN brapi_Trials t ON t.trialDbId = s.trialDbId"));
+            assertEquals(COUNT * 2, count(statement, "SELECT s.studyDbId, v.observationVariableName FROM brapi_Studies s " +
+                "JOIN brapi_ObservationVariableByStudy l ON l.studyDbId = s.studyDbId " +
+                "JOIN brapi_ObservationVariables v ON v.observationVariableDbId = l.observationVariableDbId"));
+
+            // the search and join columns are indexed, the data set is too small for the planner to prefer the indexes
+            statement.execute("SET enable_seqscan = off");
+            assertTrue(explain(statement, "SELECT studyDbId FROM brapi_Studies WHERE studyType = 'studyType-3'").contains("Index"));
+            assertTrue(explain(statement, "SELECT studyDbId FROM brapi_Studies WHERE trialDbId = 'trialDbId-3'").contains("Index"));
+            assertTrue(explain(statement, "SELECT studyDbId FROM brapi_ObservationVariableByStudy WHERE observationVariableDbId = 'observationVariableDbId-3'").contains("Index"));
+            statement.execute("SET enable_seqscan = on");
+
+            execute(statement, outputPath.resolve("ddl/drop_tables.sql"));
+
+            assertEquals(0, count(statement, "SELECT table_name FROM information_schema.tables WHERE table_schema = 'public'"));
+        }
+    }
+
+    private void execute(Statement statement, Path path) throws Exception {
+        try {
+            statement.execute(Files.readString(path));
+        } catch (SQLException exception) {
+            fail(String.format("Script '%s' failed: %s", path, exception.getMessage()));
+        }
+    }
+
+    private int count(Statement statement, String query) throws SQLException {
+        int count = 0;
+
+        try (ResultSet resultSet = statement.executeQuery(query)) {
+            while (resultSet.next()) {
+                ++count;
+            }
+        }
+
+        return count;
+    }
+
+    private String explain(Statement statement, String query) throws SQLException {
+        StringBuilder builder = new StringBuilder();
+
+        try (ResultSet resultSet = statement.executeQuery("EXPLAIN " + query)) {
+            while (resultSet.next()) {
+                builder.append(resultSet.getString(1));
+                builder.append(System.lineSeparator());
+            }
+        }
+
+        return builder.toString();
+    }
+}
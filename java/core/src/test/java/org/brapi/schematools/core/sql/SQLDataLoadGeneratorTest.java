@@ -0,0 +1,195 @@
+package org.brapi.schematools.core.sql;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.brapi.schematools.core.brapischema.BrAPISchemaReader;
+import org.brapi.schematools.core.model.BrAPIClass;
+import org.brapi.schematools.core.response.Response;
+import org.brapi.schematools.core.sql.metadata.SQLGeneratorMetadata;
+import org.brapi.schematools.core.sql.options.SQLDataLoadFormat;
+import org.brapi.schematools.core.sql.options.SQLDialect;
+import org.brapi.schematools.core.sql.options.SQLGeneratorOptions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SQLDataLoadGeneratorTest {
+
+    private static final String STUDIES = """
+        [
+          {
+            "studyDbId": "s1",
+            "studyName": "Study 1",
+            "studyType": "Yield Trial",
+            "trialDbId": "t1",
+            "seasons": ["2020", "2021"],
+            "additionalInfo": {"key": "it's a value"},
+            "observationVariableDbIds": ["v1", "v2"]
+          },
+          {
+            "studyDbId": "s2",
+            "studyName": "Study 2",
+            "studyType": "Yield Trial",
+            "trial": {"trialDbId": "t1"},
+            "observationVariables": [{"observationVariableDbId": "v2"}]
+          },
+          {
+            "studyDbId": "s3",
+            "studyName": "Study 3",
+            "studyType": "Disease Trial"
+          }
+        ]
+        """;
+
+    // a semicolon, single quote and backslash, which must be loaded unchanged
+    private static final String SPECIAL_VALUE = "a;b 'c' \\d";
+
+    private static final String SPECIAL_STUDIES = String.format("""
+        [
+          {
+            "studyDbId": "s4",
+            "studyName": "%s",
+            "additionalInfo": {"key": "%s"}
+          }
+        ]
+        """, SPECIAL_VALUE.replace("\\", "\\\\"), SPECIAL_VALUE.replace("\\", "\\\\"));
+
+    private static List<BrAPIClass> brAPIClasses;
+    private static Map<String, JsonNode> entities;
+
+    @BeforeAll
+    static void setup() throws Exception {
+        BrAPISchemaReader schemaReader = new BrAPISchemaReader();
+        brAPIClasses = schemaReader.readDirectories(Path.of(ClassLoader.getSystemResource("BrAPI-Schema").toURI())).getResultOrThrow() ;
+
+        entities = Map.of("Study", new ObjectMapper().readTree(STUDIES));
+    }
+
+    @Test
+    void generateInserts() throws Exception {
+        Path outputPath = Path.of("build/test-output/SQLDataLoadGenerator/insert");
+
+        List<Path> paths = generate(SQLGeneratorOptions.load().setOverwrite(true).setInsertBatchSize(2), outputPath);
+
+        assertEquals(List.of(outputPath.resolve(SQLDataLoadGenerator.LOAD_SCRIPT)), paths);
+
+        String script = Files.readString(paths.getFirst());
+
+        // three studies in batches of two
+        assertEquals(2, script.split("INSERT INTO brapi_Studies ", -1).length - 1, script);
+        assertTrue(script.contains("'s1', 'Study 1'"), script);
+        // link columns from the entity or from the nested object
+        assertEquals(2, script.split("'t1'", -1).length - 1, script);
+        assertTrue(script.contains("array('2020', '2021')"), script);
+        assertTrue(script.contains("map('key', 'it''s a value')"), script);
+
+        // link table rows from the IDs or the nested objects
+        assertTrue(script.contains("INSERT INTO brapi_ObservationVariableByStudy (observationVariableDbId, observationVariablePUI, observationVariableName, studyDbId, studyPUI, studyName) VALUES"), script);
+        assertTrue(script.contains("('v1', NULL, NULL, 's1', NULL, 'Study 1')"), script);
+        assertTrue(script.contains("('v2', NULL, NULL, 's2', NULL, 'Study 2')"), script);
+
+        // distinct controlled vocabulary values
+        assertTrue(script.contains("INSERT INTO brapi_StudyTypes (studyType) VALUES"), script);
+        assertEquals(1, script.split("\\('Yield Trial'\\)", -1).length - 1, script);
+        assertTrue(script.contains("('Disease Trial') ;"), script);
+    }
+
+    @Test
+    void generatePostgreSQLCSV() throws Exception {
+        Path outputPath = Path.of("build/test-output/SQLDataLoadGenerator/csv");
+
+        List<Path> paths = generate(SQLGeneratorOptions.load().setOverwrite(true)
+            .setDialect(SQLDialect.POSTGRESQL).setDataLoadFormat(SQLDataLoadFormat.CSV), outputPath);
+
+        assertTrue(paths.contains(outputPath.resolve("brapi_Studies.csv")), paths.toString());
+        assertTrue(paths.contains(outputPath.resolve("brapi_ObservationVariableByStudy.csv")), paths.toString());
+        assertTrue(paths.contains(outputPath.resolve(SQLDataLoadGenerator.LOAD_SCRIPT)), paths.toString());
+
+        String studies = Files.readString(outputPath.resolve("brapi_Studies.csv"));
+
+        assertTrue(studies.startsWith("studyDbId,"), studies);
+        // native array and JSONB values
+        assertTrue(studies.contains("\"{\"\"2020\"\",\"\"2021\"\"}\""), studies);
+        assertTrue(studies.contains("\"{\"\"key\"\":\"\"it's a value\"\"}\""), studies);
+
+        String script = Files.readString(outputPath.resolve(SQLDataLoadGenerator.LOAD_SCRIPT));
+
+        assertTrue(script.contains("COPY brapi_Studies (studyDbId, "), script);
+        assertTrue(script.contains("WITH (FORMAT csv, HEADER true) ;"), script);
+    }
+
+    @Test
+    void generateSparkCSV() throws Exception {
+        Path outputPath = Path.of("build/test-output/SQLDataLoadGenerator/spark");
+
+        generate(SQLGeneratorOptions.load().setOverwrite(true)
+            .setDialect(SQLDialect.SPARK).setDataLoadFormat(SQLDataLoadFormat.CSV), outputPath);
+
+        String studies = Files.readString(outputPath.resolve("brapi_Studies.csv"));
+
+        // arrays and maps can not be loaded from CSV
+        assertFalse(studies.lines().findFirst().orElseThrow().contains("seasons"), studies);
+        assertFalse(studies.lines().findFirst().orElseThrow().contains("additionalInfo"), studies);
+
+        String script = Files.readString(outputPath.resolve(SQLDataLoadGenerator.LOAD_SCRIPT));
+
+        assertTrue(script.contains("COPY INTO brapi_Studies FROM (SELECT studyDbId, "), script);
+    }
+
+    @Test
+    void escapeLiterals() throws Exception {
+        Map<String, JsonNode> specialEntities = Map.of("Study", new ObjectMapper().readTree(SPECIAL_STUDIES));
+
+        for (SQLDialect dialect : SQLDialect.values()) {
+            Path outputPath = Path.of("build/test-output/SQLDataLoadGenerator/escape", dialect.name());
+
+            List<Path> paths = generate(SQLGeneratorOptions.load().setOverwrite(true).setDialect(dialect), outputPath, specialEntities);
+
+            String script = Files.readString(paths.getFirst());
+
+            String literal = dialect == SQLDialect.SPARK ? "'a;b \\'c\\' \\\\d'" : "'a;b ''c'' \\d'";
+
+            assertTrue(script.contains("'s4', " + literal), script);
+            if (dialect != SQLDialect.POSTGRESQL) {
+                assertTrue(script.contains("map('key', " + literal + ")"), script);
+            }
+            assertEquals(SPECIAL_VALUE, unquote(literal, dialect));
+        }
+    }
+
+    @Test
+    void unknownEntity() {
+        Response<List<Path>> response = new SQLDataLoadGenerator(SQLGeneratorOptions.load(), Path.of("build/test-output/SQLDataLoadGenerator/unknown"))
+            .generate(brAPIClasses, SQLGeneratorMetadata.load(), Map.of("Unknown", new ObjectMapper().createArrayNode()));
+
+        assertTrue(response.hasErrors());
+    }
+
+    private List<Path> generate(SQLGeneratorOptions options, Path outputPath) {
+        return generate(options, outputPath, entities);
+    }
+
+    private List<Path> generate(SQLGeneratorOptions options, Path outputPath, Map<String, JsonNode> entities) {
+        Response<List<Path>> response = new SQLDataLoadGenerator(options, outputPath)
+            .generate(brAPIClasses, SQLGeneratorMetadata.load(), entities);
+
+        assertFalse(response.hasErrors(), response.getMessagesCombined(", "));
+
+        return response.getResult();
+    }
+
+    // reads a single-quoted string literal as the database would
+    private static String unquote(String literal, SQLDialect dialect) {
+        String value = literal.substring(1, literal.length() - 1);
+
+        return dialect == SQLDialect.SPARK ?
+            value.replaceAll("\\\\(.)", "$1") :
+            value.replace("''", "'");
+    }
+}
@@ -33,6 +33,12 @@ class SQLGeneratorTest {
         generate(SQLGeneratorOptions.load().setOverwrite(true), SQLGeneratorMetadata.load(), 36, "build/test-output/SQLGenerator/defaults") ;
     }
 
+    @Test
+    void generateInParallel() {
+        // the same files, including the drop and constraint scripts, as when generated sequentially
+        generate(SQLGeneratorOptions.load().setOverwrite(true).setGenerateInParallel(true), SQLGeneratorMetadata.load(), 36, "build/test-output/SQLGenerator/parallel") ;
+    }
+
     void generate(SQLGeneratorOptions options, SQLGeneratorMetadata metadata, int expectedSize, String classpath) {
         Response<List<Path>> response = null;
         try {
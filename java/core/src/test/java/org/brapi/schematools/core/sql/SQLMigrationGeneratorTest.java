@@ -0,0 +1,159 @@
+package org.brapi.schematools.core.sql;
+
+import org.brapi.schematools.core.brapischema.BrAPISchemaReader;
+import org.brapi.schematools.core.model.BrAPIClass;
+import org.brapi.schematools.core.model.BrAPIObjectProperty;
+import org.brapi.schematools.core.model.BrAPIObjectType;
+import org.brapi.schematools.core.model.BrAPIPrimitiveType;
+import org.brapi.schematools.core.response.Response;
+import org.brapi.schematools.core.sql.metadata.SQLGeneratorMetadata;
+import org.brapi.schematools.core.sql.options.SQLDialect;
+import org.brapi.schematools.core.sql.options.SQLGeneratorOptions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SQLMigrationGeneratorTest {
+
+    private static List<BrAPIClass> oldBrAPIClasses;
+    private static List<BrAPIClass> newBrAPIClasses;
+
+    @BeforeAll
+    static void setup() throws Exception {
+        BrAPISchemaReader schemaReader = new BrAPISchemaReader();
+        oldBrAPIClasses = schemaReader.readDirectories(Path.of(ClassLoader.getSystemResource("BrAPI-Schema").toURI())).getResultOrThrow() ;
+
+        newBrAPIClasses = oldBrAPIClasses.stream()
+            .map(brAPIClass -> brAPIClass.getName().equals("Study") ? changeStudy((BrAPIObjectType) brAPIClass) : brAPIClass)
+            .toList();
+    }
+
+    @Test
+    void generate() throws Exception {
+        String script = generate(SQLGeneratorOptions.load().setOverwrite(true), "ansi");
+
+        // online-safe changes, with the comments in separate statements
+        assertTrue(script.contains("ALTER TABLE brapi_Studies ADD COLUMN studyPurpose STRING ;"), script);
+        assertTrue(script.contains("COMMENT ON COLUMN brapi_Studies.studyPurpose IS 'The purpose of the study' ;"), script);
+        assertTrue(script.contains("COMMENT ON COLUMN brapi_Studies.studyDescription IS 'The new description' ;"), script);
+        assertFalse(script.contains(" COMMENT '"), script);
+
+        // blocking changes
+        assertTrue(script.contains("ALTER TABLE brapi_Studies ALTER COLUMN culturalPractices SET NOT NULL ;"), script);
+        assertTrue(script.contains("ALTER TABLE brapi_Studies ALTER COLUMN documentationURL SET DATA TYPE INT ;"), script);
+
+        // a new required column is added as nullable, and set to NOT NULL once backfilled
+        assertTrue(script.contains("ALTER TABLE brapi_Studies ADD COLUMN studyVersion STRING ;"), script);
+        assertTrue(script.contains("-- Backfill the existing rows of brapi_Studies, then run: ALTER TABLE brapi_Studies ALTER COLUMN studyVersion SET NOT NULL ;"), script);
+        assertFalse(script.lines().anyMatch(line -> line.startsWith("ALTER TABLE brapi_Studies ALTER COLUMN studyVersion SET NOT NULL")), script);
+        assertTrue(script.contains("DROP CONSTRAINT IF EXISTS"), script);
+
+        // destructive changes
+        assertTrue(script.contains("ALTER TABLE brapi_Studies DROP COLUMN studyCode ;"), script);
+        assertTrue(script.contains("ALTER TABLE brapi_Studies DROP COLUMN trialDbId ;"), script);
+        assertTrue(script.contains("DROP TABLE IF EXISTS brapi_ObservationVariableByStudy ;"), script);
+
+        // the unchanged columns and tables are not altered
+        assertFalse(script.contains("studyName"), script);
+        assertFalse(script.contains("CREATE TABLE"), script);
+        assertFalse(script.contains("brapi_Trials "), script);
+
+        // online-safe changes first, destructive changes last
+        assertTrue(script.indexOf("ADD COLUMN studyPurpose") < script.indexOf("SET NOT NULL"), script);
+        assertTrue(script.indexOf("DROP CONSTRAINT") < script.indexOf("DROP COLUMN trialDbId"), script);
+        assertTrue(script.indexOf("SET NOT NULL") < script.indexOf("DROP COLUMN studyCode"), script);
+    }
+
+    @Test
+    void generateSpark() throws Exception {
+        String script = generate(SQLGeneratorOptions.load().setOverwrite(true).setDialect(SQLDialect.SPARK), "spark");
+
+        assertTrue(script.contains("ALTER TABLE brapi_Studies ADD COLUMN studyPurpose STRING COMMENT 'The purpose of the study' ;"), script);
+        assertTrue(script.contains("ALTER TABLE brapi_Studies ALTER COLUMN studyDescription COMMENT 'The new description' ;"), script);
+        assertFalse(script.contains("COMMENT ON COLUMN"), script);
+        // Delta Lake can not change a STRING column to INT in place
+        assertTrue(script.contains("-- Reload the table brapi_Studies to change the type of column documentationURL from STRING to INT"), script);
+        assertFalse(script.contains("ALTER COLUMN documentationURL TYPE"), script);
+    }
+
+    @Test
+    void generateReverse() throws Exception {
+        Path outputPath = Path.of("build/test-output/SQLMigrationGenerator/reverse");
+
+        Response<Path> response = new SQLMigrationGenerator(SQLGeneratorOptions.load().setOverwrite(true), outputPath)
+            .generate(newBrAPIClasses, oldBrAPIClasses, SQLGeneratorMetadata.load());
+
+        assertFalse(response.hasErrors(), response.getMessagesCombined(", "));
+
+        String script = Files.readString(response.getResult());
+
+        assertTrue(script.contains("CREATE TABLE IF NOT EXISTS brapi_ObservationVariableByStudy") ||
+            script.contains("CREATE TABLE brapi_ObservationVariableByStudy"), script);
+        assertTrue(script.contains("ALTER TABLE brapi_Studies ADD COLUMN trialDbId "), script);
+        assertTrue(script.contains("ALTER TABLE brapi_Studies ALTER COLUMN culturalPractices DROP NOT NULL ;"), script);
+        assertTrue(script.contains("ADD CONSTRAINT"), script);
+    }
+
+    @Test
+    void generatePostgreSQL() throws Exception {
+        String script = generate(SQLGeneratorOptions.load().setOverwrite(true).setDialect(SQLDialect.POSTGRESQL), "postgresql");
+
+        assertTrue(script.contains("ALTER TABLE brapi_Studies ADD COLUMN studyPurpose TEXT ;"), script);
+        assertTrue(script.contains("ALTER TABLE brapi_Studies ALTER COLUMN documentationURL TYPE INTEGER USING documentationURL::INTEGER ;"), script);
+        assertFalse(script.contains(" COMMENT '"), script);
+    }
+
+    @Test
+    void unchanged() throws Exception {
+        Path outputPath = Path.of("build/test-output/SQLMigrationGenerator/unchanged");
+
+        Response<Path> response = new SQLMigrationGenerator(SQLGeneratorOptions.load().setOverwrite(true), outputPath)
+            .generate(oldBrAPIClasses, oldBrAPIClasses, SQLGeneratorMetadata.load());
+
+        assertFalse(response.hasErrors(), response.getMessagesCombined(", "));
+
+        assertFalse(Files.readString(response.getResult()).contains("ALTER TABLE"));
+    }
+
+    private String generate(SQLGeneratorOptions options, String directory) throws Exception {
+        Path outputPath = Path.of("build/test-output/SQLMigrationGenerator").resolve(directory);
+
+        Response<Path> response = new SQLMigrationGenerator(options, outputPath)
+            .generate(oldBrAPIClasses, newBrAPIClasses, SQLGeneratorMetadata.load());
+
+        assertFalse(response.hasErrors(), response.getMessagesCombined(", "));
+        assertEquals(outputPath.resolve(SQLMigrationGenerator.MIGRATION_SCRIPT), response.getResult());
+
+        return Files.readString(response.getResult());
+    }
+
+    private static BrAPIObjectType changeStudy(BrAPIObjectType study) {
+        List<BrAPIObjectProperty> properties = new ArrayList<>();
+
+        for (BrAPIObjectProperty property : study.getProperties()) {
+            switch (property.getName()) {
+                case "studyCode" -> {
+                    properties.add(property.toBuilder().name("studyPurpose").description("The purpose of the study").build());
+                    properties.add(property.toBuilder().name("studyVersion").nullable(false).build());
+                }
+                case "culturalPractices" -> properties.add(property.toBuilder().nullable(false).build());
+                case "studyDescription" -> properties.add(property.toBuilder().description("The new description").build());
+                case "documentationURL" -> properties.add(property.toBuilder().type(BrAPIPrimitiveType.integerType()).build());
+                default -> {
+                    if (!Set.of("trial", "observationVariables").contains(property.getName())) {
+                        properties.add(property);
+                    }
+                }
+            }
+        }
+
+        return study.toBuilder().properties(properties).build();
+    }
+}
@@ -0,0 +1,164 @@
+package org.brapi.schematools.core.sql;
+
+import org.brapi.schematools.core.brapischema.BrAPISchemaReader;
+import org.brapi.schematools.core.model.BrAPIClass;
+import org.brapi.schematools.core.response.Response;
+import org.brapi.schematools.core.sql.metadata.SQLGeneratorMetadata;
+import org.brapi.schematools.core.sql.options.SQLDialect;
+import org.brapi.schematools.core.sql.options.SQLGeneratorOptions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SQLQueryTemplateGeneratorTest {
+
+    private static final Path OUTPUT_PATH = Path.of("build/test-output/SQLQueryTemplateGenerator");
+
+    private static List<BrAPIClass> brAPIClasses;
+
+    @BeforeAll
+    static void setup() throws Exception {
+        brAPIClasses = new BrAPISchemaReader().readDirectories(Path.of(ClassLoader.getSystemResource("BrAPI-Schema").toURI())).getResultOrThrow() ;
+    }
+
+    @Test
+    void generatePostgreSQL() throws Exception {
+        Path outputPath = OUTPUT_PATH.resolve("POSTGRESQL");
+
+        List<Path> paths = generate(SQLDialect.POSTGRESQL, outputPath);
+
+        assertTrue(paths.contains(outputPath.resolve("Study" + SQLQueryTemplateGenerator.QUERIES_EXTENSION)));
+        assertTrue(paths.contains(outputPath.resolve(SQLQueryTemplateGenerator.INDEX_SCRIPT)));
+
+        String queries = Files.readString(outputPath.resolve("Study" + SQLQueryTemplateGenerator.QUERIES_EXTENSION));
+
+        // list query, with a single value for each parameter
+        assertFalse(queries.contains("WHERE 1 = 1"), queries);
+        assertTrue(queries.contains("  AND t.studyType = :studyType"), queries);
+        assertTrue(queries.contains("  AND t.trialDbId = :trialDbId"), queries);
+        assertTrue(queries.contains("  AND EXISTS (SELECT 1 FROM brapi_ObservationVariableByStudy l1 " +
+            "WHERE l1.studyDbId = t.studyDbId AND l1.observationVariableDbId = :observationVariableDbId)"), queries);
+        // no catch-all conditions, which can not use the indexes
+        assertFalse(queries.contains("IS NULL OR"), queries);
+
+        // search query, with an array of values for each parameter
+        assertTrue(queries.contains("  AND t.studyType = ANY(:studyTypes)"), queries);
+        assertTrue(queries.contains("l1.observationVariableDbId = ANY(:observationVariableDbIds)"), queries);
+
+        // keyset pagination
+        assertTrue(queries.contains("  AND t.studyDbId > :pageToken"), queries);
+        assertTrue(queries.contains("ORDER BY t.studyDbId"), queries);
+        assertTrue(queries.contains("LIMIT :pageSize ;"), queries);
+        assertFalse(queries.contains("OFFSET"), queries);
+
+        // parameters without a column
+        assertTrue(queries.contains("'sortBy'"), queries);
+        assertFalse(queries.contains(":sortBy"), queries);
+
+        String indexes = Files.readString(outputPath.resolve(SQLQueryTemplateGenerator.INDEX_SCRIPT));
+
+        // only the parameters in the queryIndexParameters option are indexed
+        assertTrue(indexes.contains("CREATE INDEX Studies_trialDbId_studyDbId_idx ON brapi_Studies (trialDbId, studyDbId) ;"), indexes);
+        assertTrue(indexes.contains("CREATE INDEX ObservationVariableByStudy_observationVariableDbId_studyDbId_idx ON brapi_ObservationVariableByStudy (observationVariableDbId, studyDbId) ;"), indexes);
+        assertFalse(indexes.contains("Studies_studyType_studyDbId_idx"), indexes);
+        assertFalse(indexes.contains("Studies_studyDbId_studyDbId_idx"), indexes);
+    }
+
+    @Test
+    void generateIndexesForType() throws Exception {
+        Path outputPath = OUTPUT_PATH.resolve("indexes");
+
+        SQLGeneratorOptions options = SQLGeneratorOptions.load().setOverwrite(true).setDialect(SQLDialect.POSTGRESQL)
+            .setQueryIndexParametersFor(Map.of("Study", List.of("studyType")));
+
+        generate(options, outputPath);
+
+        String indexes = Files.readString(outputPath.resolve(SQLQueryTemplateGenerator.INDEX_SCRIPT));
+
+        assertTrue(indexes.contains("CREATE INDEX Studies_studyType_studyDbId_idx ON brapi_Studies (studyType, studyDbId) ;"), indexes);
+        assertFalse(indexes.contains("Studies_trialDbId_studyDbId_idx"), indexes);
+        // the other types use the default parameters
+        assertTrue(indexes.contains("CREATE INDEX Trials_programDbId_trialDbId_idx ON brapi_Trials (programDbId, trialDbId) ;"), indexes);
+    }
+
+    @Test
+    void generateANSI() throws Exception {
+        Path outputPath = OUTPUT_PATH.resolve("ANSI");
+
+        generate(SQLDialect.ANSI, outputPath);
+
+        String queries = Files.readString(outputPath.resolve("Study" + SQLQueryTemplateGenerator.QUERIES_EXTENSION));
+
+        assertTrue(queries.contains("  AND t.studyType IN (SELECT * FROM UNNEST(:studyTypes))"), queries);
+        assertTrue(queries.contains("FETCH FIRST :pageSize ROWS ONLY ;"), queries);
+    }
+
+    @Test
+    void generateSpark() throws Exception {
+        Path outputPath = OUTPUT_PATH.resolve("SPARK");
+
+        List<Path> paths = generate(SQLDialect.SPARK, outputPath);
+
+        String queries = Files.readString(outputPath.resolve("Study" + SQLQueryTemplateGenerator.QUERIES_EXTENSION));
+
+        assertTrue(queries.contains("  AND array_contains(:studyTypes, t.studyType)"), queries);
+
+        // secondary indexes are not supported
+        assertFalse(paths.contains(outputPath.resolve(SQLQueryTemplateGenerator.INDEX_SCRIPT)));
+    }
+
+    @Test
+    void renderTemplate() {
+        Response<List<SQLQueryTemplate>> response = new SQLQueryTemplateGenerator(
+            SQLGeneratorOptions.load().setDialect(SQLDialect.POSTGRESQL), OUTPUT_PATH)
+            .generateTemplates(brAPIClasses, SQLGeneratorMetadata.load());
+
+        assertFalse(response.hasErrors(), response.getMessagesCombined(", "));
+
+        SQLQueryTemplate template = response.getResult().stream()
+            .filter(queryTemplate -> queryTemplate.getTypeName().equals("Study") && !queryTemplate.isSearch())
+            .findFirst()
+            .orElseThrow();
+
+        // only the conditions of the parameters that have values
+        String query = template.render(List.of("studyType")).getResultOrThrow();
+
+        assertTrue(query.contains("WHERE t.studyType = :studyType"), query);
+        assertFalse(query.contains("trialDbId"), query);
+        assertFalse(query.contains(":pageToken"), query);
+        assertTrue(query.contains("LIMIT :pageSize ;"), query);
+
+        query = template.render(List.of("studyType", "pageToken")).getResultOrThrow();
+
+        assertTrue(query.contains("WHERE t.studyType = :studyType"), query);
+        assertTrue(query.contains("  AND t.studyDbId > :pageToken"), query);
+
+        // no WHERE clause without parameters
+        query = template.render(List.of()).getResultOrThrow();
+
+        assertFalse(query.contains("WHERE"), query);
+
+        // parameters without a column can not be used
+        assertTrue(template.render(List.of("sortBy")).hasErrors());
+        assertTrue(template.render(List.of("unknown")).hasErrors());
+    }
+
+    private List<Path> generate(SQLDialect dialect, Path outputPath) {
+        return generate(SQLGeneratorOptions.load().setOverwrite(true).setDialect(dialect), outputPath);
+    }
+
+    private List<Path> generate(SQLGeneratorOptions options, Path outputPath) {
+        Response<List<Path>> response = new SQLQueryTemplateGenerator(options, outputPath)
+            .generate(brAPIClasses, SQLGeneratorMetadata.load());
+
+        assertFalse(response.hasErrors(), response.getMessagesCombined(", "));
+
+        return response.getResult();
+    }
+}
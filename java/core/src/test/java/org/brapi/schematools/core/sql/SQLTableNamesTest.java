@@ -0,0 +1,44 @@
+package org.brapi.schematools.core.sql;
+
+import org.brapi.schematools.core.sql.metadata.SQLGeneratorMetadata;
+import org.brapi.schematools.core.sql.options.SQLGeneratorOptions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SQLTableNamesTest {
+
+    private final SQLTableNames tableNames = new SQLTableNames(SQLGeneratorOptions.load(), SQLGeneratorMetadata.load());
+
+    @Test
+    void getIndexName() {
+        assertEquals("Studies_studyType_idx", tableNames.getIndexName("brapi_Studies", List.of("studyType")));
+    }
+
+    @Test
+    void removeTablePrefix() {
+        assertEquals("Studies", tableNames.removeTablePrefix("brapi_Studies"));
+        // names without the prefix are not truncated
+        assertEquals("Studies", tableNames.removeTablePrefix("Studies"));
+    }
+
+    @Test
+    void getLongIndexName() {
+        List<String> columns = List.of("observationUnitDbId", "observationVariableDbId", "observationTimeStamp");
+
+        String indexName = tableNames.getIndexName("brapi_ObservationUnitByObservationVariable", columns);
+
+        assertEquals(SQLTableNames.MAX_IDENTIFIER_LENGTH, indexName.length(), indexName);
+        assertTrue(indexName.startsWith("ObservationUnitByObservationVariable_observation"), indexName);
+        assertTrue(indexName.endsWith("_idx"), indexName);
+
+        // names that only differ after the truncation are still unique
+        String otherIndexName = tableNames.getIndexName("brapi_ObservationUnitByObservationVariable",
+            List.of("observationUnitDbId", "observationVariableDbId", "observationTimeZone"));
+
+        assertEquals(SQLTableNames.MAX_IDENTIFIER_LENGTH, otherIndexName.length(), otherIndexName);
+        assertNotEquals(indexName, otherIndexName);
+    }
+}
@@ -0,0 +1,122 @@
+package org.brapi.schematools.core.sql;
+
+import org.brapi.schematools.core.brapischema.BrAPISchemaReader;
+import org.brapi.schematools.core.model.BrAPIClass;
+import org.brapi.schematools.core.model.BrAPIObjectType;
+import org.brapi.schematools.core.sql.metadata.SQLGeneratorMetadata;
+import org.brapi.schematools.core.sql.options.SQLDialect;
+import org.brapi.schematools.core.sql.options.SQLGeneratorOptions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.net.URISyntaxException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SparkCreateTableDDLGeneratorTest {
+
+    private static List<BrAPIClass> brAPIClasses;
+
+    @BeforeAll
+    static void setup() throws URISyntaxException {
+        BrAPISchemaReader schemaReader = new BrAPISchemaReader();
+        brAPIClasses = schemaReader.readDirectories(Path.of(ClassLoader.getSystemResource("BrAPI-Schema").toURI())).getResultOrThrow() ;
+    }
+
+    @Test
+    void forDialect() {
+        assertInstanceOf(SparkCreateTableDDLGenerator.class, CreateTableDDLGenerator.forDialect(
+            SQLGeneratorOptions.load().setDialect(SQLDialect.SPARK), SQLGeneratorMetadata.load(), brAPIClasses));
+    }
+
+    @Test
+    void generateStudy() {
+        String ddl = new SparkCreateTableDDLGenerator(SQLGeneratorOptions.load(), SQLGeneratorMetadata.load(), brAPIClasses)
+            .generateDDLForObjectType(find("Study")).getResultOrThrow();
+
+        assertTrue(ddl.contains("USING DELTA"), ddl);
+        assertTrue(ddl.contains("additionalInfo MAP<STRING,STRING>"), ddl);
+        assertTrue(ddl.contains("seasons ARRAY<STRING>"), ddl);
+    }
+
+    @Test
+    void generateStudyWithUsing() {
+        String ddl = new SparkCreateTableDDLGenerator(SQLGeneratorOptions.load().setTableUsing("parquet"), SQLGeneratorMetadata.load(), brAPIClasses)
+            .generateDDLForObjectType(find("Study")).getResultOrThrow();
+
+        assertTrue(ddl.contains("USING parquet"), ddl);
+        assertFalse(ddl.contains("USING DELTA"), ddl);
+    }
+
+    @Test
+    void generateStudyIndexes() {
+        SparkCreateTableDDLGenerator generator = new SparkCreateTableDDLGenerator(
+            SQLGeneratorOptions.load().setGenerateIndexScript(true), SQLGeneratorMetadata.load(), brAPIClasses);
+
+        assertFalse(generator.generateDDLForObjectType(find("Study")).hasErrors());
+
+        String indexes = generator.generateIndexScript().getResultOrThrow();
+
+        // Delta Lake has no secondary indexes, so the indexed columns are used to Z-order the data
+        assertFalse(indexes.contains("CREATE INDEX"), indexes);
+        assertTrue(indexes.contains("OPTIMIZE brapi_Studies ZORDER BY ("), indexes);
+        assertTrue(indexes.contains("OPTIMIZE brapi_ObservationVariableByStudy ZORDER BY (observationVariableDbId, studyDbId) ;"), indexes);
+    }
+
+    @Test
+    void generateStudyIndexesWithClustering() {
+        SparkCreateTableDDLGenerator generator = new SparkCreateTableDDLGenerator(
+            SQLGeneratorOptions.load().setGenerateIndexScript(true).setClustering(true), SQLGeneratorMetadata.load(), brAPIClasses);
+
+        String ddl = generator.generateDDLForObjectType(find("Study")).getResultOrThrow();
+
+        String indexes = generator.generateIndexScript().getResultOrThrow();
+
+        // liquid clustering can not be combined with Z-ordering
+        assertTrue(ddl.contains("CLUSTER BY"), ddl);
+        assertFalse(indexes.contains("OPTIMIZE brapi_Studies "), indexes);
+    }
+
+    @Test
+    void generateStudyIndexesWithPartitioning() {
+        SparkCreateTableDDLGenerator generator = new SparkCreateTableDDLGenerator(
+            SQLGeneratorOptions.load().setGenerateIndexScript(true).setPartitionColumnsFor(Map.of("Study", List.of("trialDbId"))), SQLGeneratorMetadata.load(), brAPIClasses);
+
+        String ddl = generator.generateDDLForObjectType(find("Study")).getResultOrThrow();
+
+        String zOrder = generator.generateIndexScript().getResultOrThrow().lines()
+            .filter(line -> line.startsWith("OPTIMIZE brapi_Studies "))
+            .findFirst()
+            .orElseThrow();
+
+        assertTrue(ddl.contains("PARTITIONED BY (trialDbId)"), ddl);
+        // partition columns can not be used to Z-order the data
+        assertFalse(zOrder.contains("trialDbId"), zOrder);
+    }
+
+    @Test
+    void generateAlterColumnTypeStatement() {
+        SparkCreateTableDDLGenerator generator = new SparkCreateTableDDLGenerator(SQLGeneratorOptions.load(), SQLGeneratorMetadata.load(), brAPIClasses);
+
+        SQLColumn column = SQLColumn.builder().name("count").type("INT").build();
+
+        // Delta Lake can widen the type in place
+        assertEquals("ALTER TABLE brapi_Studies ALTER COLUMN count TYPE DOUBLE ;",
+            generator.generateAlterColumnTypeStatement("brapi_Studies", column, column.toBuilder().type("DOUBLE").build()));
+
+        // but any other change needs the table to be reloaded
+        String statement = generator.generateAlterColumnTypeStatement("brapi_Studies", column, column.toBuilder().type("STRING").build());
+
+        assertTrue(statement.startsWith("-- Reload the table brapi_Studies"), statement);
+    }
+
+    private BrAPIObjectType find(String className) {
+        return (BrAPIObjectType)brAPIClasses.stream().filter(brAPIClass -> brAPIClass instanceof BrAPIObjectType && brAPIClass.getName().equals(className)).findFirst().orElseThrow() ;
+    }
+}
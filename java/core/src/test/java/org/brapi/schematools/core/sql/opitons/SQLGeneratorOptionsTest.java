@@ -9,6 +9,7 @@ import org.brapi.schematools.core.model.BrAPIObjectProperty;
 import org.brapi.schematools.core.model.BrAPIObjectType;
 import org.brapi.schematools.core.options.LinkType;
 import org.brapi.schematools.core.options.OptionsTestBase;
+import org.brapi.schematools.core.sql.options.SQLDialect;
 import org.brapi.schematools.core.sql.options.SQLGeneratorOptions;
 import org.brapi.schematools.core.utils.ConfigurationUtils;
 import org.brapi.schematools.core.validiation.Validation;
@@ -220,6 +221,18 @@ class SQLGeneratorOptionsTest extends OptionsTestBase {
         validateTrue(SQLGeneratorOptions.load().setAddConstraintIfExists(true).setGenerateForeignKeyConstraintScript(true).setAddForeignKeyConstraints(false).validate());
     }
 
+    @Test
+    void checkMaterializedViewOptions() {
+        SQLGeneratorOptions options = SQLGeneratorOptions.load().setDialect(SQLDialect.ANSI);
+        validateTrue(options.validate());
+
+        options.getMaterializedViews().setGenerate(true);
+        validateFalse(options.validate());
+
+        validateTrue(options.setDialect(SQLDialect.POSTGRESQL).validate());
+        validateTrue(options.setDialect(SQLDialect.SPARK).validate());
+    }
+
     private void checkDefaultOptions(SQLGeneratorOptions options) {
         checkOptions(options);
 
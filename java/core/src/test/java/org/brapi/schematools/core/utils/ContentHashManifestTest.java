@@ -0,0 +1,70 @@
+package org.brapi.schematools.core.utils;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ContentHashManifestTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void writeUnchanged() throws IOException {
+        Path file = directory.resolve("fields").resolve("name.md");
+
+        ContentHashManifest manifest = ContentHashManifest.load(directory);
+
+        assertTrue(manifest.write(file, "Name"));
+        assertTrue(manifest.save().hasNoErrors());
+        assertTrue(Files.isRegularFile(directory.resolve(ContentHashManifest.MANIFEST_FILE_NAME)));
+
+        FileTime lastModified = Files.getLastModifiedTime(file);
+
+        manifest = ContentHashManifest.load(directory);
+
+        assertFalse(manifest.write(file, "Name"));
+        assertEquals(lastModified, Files.getLastModifiedTime(file));
+
+        assertTrue(manifest.write(file, "New Name"));
+        assertEquals("New Name", Files.readString(file));
+    }
+
+    @Test
+    void writeModified() throws IOException {
+        Path file = directory.resolve("name.md");
+
+        ContentHashManifest manifest = ContentHashManifest.load(directory);
+
+        manifest.write(file, "Name");
+        manifest.save();
+
+        // a file changed since it was written is rewritten, even if the content to be written has not changed
+        Files.writeString(file, "Edited");
+        Files.setLastModifiedTime(file, FileTime.fromMillis(Files.getLastModifiedTime(file).toMillis() + 10000));
+
+        assertTrue(ContentHashManifest.load(directory).write(file, "Name"));
+        assertEquals("Name", Files.readString(file));
+    }
+
+    @Test
+    void writeDeleted() throws IOException {
+        Path file = directory.resolve("name.md");
+
+        ContentHashManifest manifest = ContentHashManifest.load(directory);
+
+        manifest.write(file, "Name");
+        manifest.save();
+
+        Files.delete(file);
+
+        assertTrue(ContentHashManifest.load(directory).write(file, "Name"));
+        assertTrue(Files.isRegularFile(file));
+    }
+}
@@ -202,6 +202,16 @@ class StringUtilsTest {
             StringUtils.escapeQuotes("`levelOrder` defines where that level exists in the hierarchy of levels. `levelOrder`'s lower numbers \nare at the top of the hierarchy (ie field -> 1) and higher numbers are at the bottom of the hierarchy (ie plant -> 9). \n\nFor more information on Observation Levels, please review the <a target=\"_blank\" href=\"https://wiki.brapi.org/index.php/Observation_Levels\">Observation Levels documentation</a>. ")) ;
     }
 
+    @Test
+    void testEscapeSQLStringLiteral() {
+        assertEquals("it''s; C:\\data", StringUtils.escapeSQLStringLiteral("it's; C:\\data"));
+    }
+
+    @Test
+    void testEscapeSparkSQLStringLiteral() {
+        assertEquals("it\\'s; C:\\\\data", StringUtils.escapeSparkSQLStringLiteral("it's; C:\\data"));
+    }
+
     @Test
     void testEscapeSpecialCharacters() {
         assertEquals("\\#\\$\\%\\^\\&\\*\\(\\)\\ SimpleText123\\ ", StringUtils.escapeSpecialCharacters("#$%^&*() SimpleText123 "));
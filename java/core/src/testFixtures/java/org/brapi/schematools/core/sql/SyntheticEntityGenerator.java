@@ -0,0 +1,157 @@
+package org.brapi.schematools.core.sql;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.brapi.schematools.core.model.*;
+import org.brapi.schematools.core.options.LinkType;
+import org.brapi.schematools.core.response.Response;
+import org.brapi.schematools.core.sql.options.SQLGeneratorOptions;
+import org.brapi.schematools.core.utils.BrAPIClassCacheBuilder;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.brapi.schematools.core.response.Response.success;
+import static org.brapi.schematools.core.utils.BrAPITypeUtils.unwrapType;
+
+/**
+ * Generates a synthetic dataset from the BrAPI classes, with the same number of entities for each of the BrAPI
+ * types for which a table is generated by the {@link SQLGenerator}. Every property that is stored in the tables
+ * has a value, and the links to other entities refer to entities in the dataset, so the dataset can be loaded
+ * with the {@link SQLDataLoadGenerator} into the tables with the foreign key constraints. The values are derived
+ * from the property names and the index of the entity, so the same dataset is generated each time.
+ */
+public class SyntheticEntityGenerator {
+    private static final int LINKED_ITEMS = 2;
+
+    private final SQLGeneratorOptions options ;
+    private final ObjectMapper objectMapper ;
+
+    /**
+     * Creates a SyntheticEntityGenerator
+     * @param options The options to be used in the generation, the same as used to generate the tables
+     */
+    public SyntheticEntityGenerator(SQLGeneratorOptions options) {
+        this.options = options;
+        this.objectMapper = new ObjectMapper();
+    }
+
+    /**
+     * Generates the synthetic entities
+     * @param brAPIClasses the BrAPI classes from which the tables were generated
+     * @param count the number of entities for each BrAPI type
+     * @return the JSON arrays of entities by entity name, for example 'Study'
+     */
+    public Response<Map<String, JsonNode>> generate(List<BrAPIClass> brAPIClasses, int count) {
+        return options.validate().asResponse()
+            .map(() -> success(new Generator(brAPIClasses, count).generate())) ;
+    }
+
+    private class Generator {
+        private final BrAPIClassCacheBuilder.BrAPIClassCache brAPIClassCache;
+        private final List<BrAPIObjectType> brAPIObjectTypes;
+        private final int count;
+
+        private Generator(List<BrAPIClass> brAPIClasses, int count) {
+            this.brAPIClassCache = BrAPIClassCacheBuilder.builder(brAPIClasses).build();
+            this.brAPIObjectTypes = brAPIClasses.stream()
+                .filter(brAPIClass -> brAPIClass instanceof BrAPIObjectType)
+                .filter(brAPIClass -> SQLGenerator.isGeneratingTableFor(options, brAPIClass))
+                .map(BrAPIObjectType.class::cast)
+                .toList();
+            this.count = count;
+        }
+
+        private Map<String, JsonNode> generate() {
+            Map<String, JsonNode> entities = new LinkedHashMap<>();
+
+            for (BrAPIObjectType brAPIObjectType : brAPIObjectTypes) {
+                ArrayNode array = objectMapper.createArrayNode();
+
+                for (int index = 0; index < count; index++) {
+                    array.add(createEntity(brAPIObjectType, index));
+                }
+
+                entities.put(brAPIObjectType.getName(), array);
+            }
+
+            return entities;
+        }
+
+        private ObjectNode createEntity(BrAPIObjectType brAPIObjectType, int index) {
+            ObjectNode entity = objectMapper.createObjectNode();
+
+            List<BrAPIObjectProperty> properties = brAPIObjectType.getProperties();
+
+            for (int i = 0; i < properties.size(); i++) {
+                addValue(brAPIObjectType, properties.get(i), entity, index, linkedIndex(index, i));
+            }
+
+            return entity;
+        }
+
+        private void addValue(BrAPIObjectType brAPIObjectType, BrAPIObjectProperty property, ObjectNode entity, int index, int linkedIndex) {
+            BrAPIType type = brAPIClassCache.dereferenceType(property.getType());
+            BrAPIType itemType = brAPIClassCache.dereferenceType(unwrapType(property.getType()));
+            LinkType linkType = options.getProperties().getLinkTypeFor(brAPIObjectType, property, itemType).orElseResult(LinkType.NONE);
+
+            if (linkType == LinkType.NONE) {
+                return;
+            }
+
+            if (property.getType().getName().equals("AdditionalInfo")) {
+                entity.putObject(property.getName()).put("index", String.valueOf(index));
+            } else if (type instanceof BrAPIPrimitiveType || type instanceof BrAPIEnumType) {
+                entity.set(property.getName(), createSimpleValue(type, property.getName(), index));
+            } else if (type instanceof BrAPIObjectType linkedType && linkType == LinkType.ID) {
+                // the link columns, for example 'locationDbId', refer to the linked entity by its ID
+                List<BrAPIObjectProperty> linkProperties = options.getProperties().getLinkPropertiesFor(brAPIObjectType, property, linkedType);
+                boolean idLink = options.getProperties().getId().isLinkForTypeOrProperty(brAPIObjectType, property, linkedType);
+
+                for (int i = 0; i < linkProperties.size(); i++) {
+                    String name = linkProperties.get(i).getName();
+                    entity.put(name, (i == 0 && idLink ? findIdName(linkedType) : name) + "-" + linkedIndex);
+                }
+            } else if (type instanceof BrAPIArrayType && itemType instanceof BrAPIObjectType linkedType && linkType != LinkType.EMBEDDED) {
+                // the IDs of the linked entities, stored in an array column or in a link table
+                ArrayNode ids = entity.putArray(options.getProperties().getIdsPropertyNameFor(property));
+                String idName = findIdName(linkedType);
+
+                for (int i = 0; i < Math.min(LINKED_ITEMS, count); i++) {
+                    ids.add(idName + "-" + (linkedIndex + i) % count);
+                }
+            } else if (type instanceof BrAPIArrayType && (itemType instanceof BrAPIPrimitiveType || itemType instanceof BrAPIEnumType)) {
+                entity.putArray(property.getName()).add(createSimpleValue(itemType, property.getName(), index));
+            } else if (type instanceof BrAPIArrayType) {
+                entity.putArray(property.getName());
+            } else if (type instanceof BrAPIObjectType || type instanceof BrAPIOneOfType) {
+                entity.putObject(property.getName());
+            }
+        }
+
+        private JsonNode createSimpleValue(BrAPIType type, String name, int index) {
+            String typeName = type instanceof BrAPIEnumType enumType ? enumType.getType() : type.getName();
+
+            return switch (typeName) {
+                case "integer" -> objectMapper.getNodeFactory().numberNode(index);
+                case "number" -> objectMapper.getNodeFactory().numberNode(index + 0.5);
+                case "boolean" -> objectMapper.getNodeFactory().booleanNode(index % 2 == 0);
+                default -> objectMapper.getNodeFactory().textNode(name + "-" + index);
+            };
+        }
+
+        private String findIdName(BrAPIObjectType brAPIObjectType) {
+            return options.getProperties().getIdPropertyFor(brAPIObjectType)
+                .mapResult(BrAPIObjectProperty::getName)
+                .getResultIfPresentOrElseResult(brAPIObjectType.getName());
+        }
+
+        private int linkedIndex(int index, int propertyIndex) {
+            // spreads the links over the linked entities, so that each entity is linked to several others
+            return (index * 31 + propertyIndex) % count;
+        }
+    }
+}